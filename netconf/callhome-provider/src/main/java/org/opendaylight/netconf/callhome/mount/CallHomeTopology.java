@@ -49,6 +49,6 @@ public class CallHomeTopology extends BaseCallHomeTopology {
 
     @Override
     protected RemoteDeviceHandler<NetconfSessionPreferences> createSalFacade(final RemoteDeviceId id) {
-        return new NetconfDeviceSalFacade(id, mountPointService, dataBroker, topologyId);
+        return new NetconfDeviceSalFacade(id, mountPointService, dataBroker, topologyId, statusWriter);
     }
 }
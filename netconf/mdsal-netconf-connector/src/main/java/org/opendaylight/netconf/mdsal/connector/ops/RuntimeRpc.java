@@ -32,6 +32,7 @@ import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
+import org.opendaylight.netconf.mapping.api.NetconfOperationKey;
 import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
@@ -96,6 +97,12 @@ public class RuntimeRpc extends AbstractSingletonNetconfOperation {
         throw new UnsupportedOperationException("Runtime rpc does not have a stable name");
     }
 
+    @Override
+    public NetconfOperationKey operationKey() {
+        // We handle any RPC known to the current schema context, hence we need to be consulted on each request
+        return null;
+    }
+
     private static URI createNsUri(final String namespace) {
         // May throw IllegalArgumentException, but that should never happen, as the namespace comes from parsed XML
         return URI.create(namespace);
@@ -7,34 +7,49 @@
  */
 package org.opendaylight.netconf.mdsal.connector.ops.get;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.FluentFuture;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.dom.DOMResult;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeReadOperations;
 import org.opendaylight.netconf.api.DocumentedException;
-import org.opendaylight.netconf.api.DocumentedException.ErrorSeverity;
-import org.opendaylight.netconf.api.DocumentedException.ErrorTag;
-import org.opendaylight.netconf.api.DocumentedException.ErrorType;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
 import org.opendaylight.netconf.mdsal.connector.ops.Datastore;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
 import org.opendaylight.yangtools.yang.data.codec.xml.XMLStreamNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.w3c.dom.Document;
@@ -67,8 +82,15 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
 
         final XMLStreamWriter xmlWriter = getXmlStreamWriter(result);
 
+        writeNormalizedNode(xmlWriter, schemaContext.getCurrentContext(), data, dataRoot);
+
+        return result.getNode();
+    }
+
+    private static void writeNormalizedNode(final XMLStreamWriter xmlWriter, final EffectiveModelContext context,
+                                            final NormalizedNode<?, ?> data, final YangInstanceIdentifier dataRoot) {
         final NormalizedNodeStreamWriter nnStreamWriter = XMLStreamNormalizedNodeStreamWriter.create(xmlWriter,
-                schemaContext.getCurrentContext(), getSchemaPath(dataRoot));
+                context, getSchemaPath(dataRoot));
 
         final NormalizedNodeWriter nnWriter = NormalizedNodeWriter.forStreamWriter(nnStreamWriter, true);
 
@@ -80,8 +102,6 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
             throw new IllegalArgumentException("Unable to transform node of type: " +  data.getClass().toString()
                     + " offending node: " + data.toString());
         }
-
-        return result.getNode();
     }
 
     private static XMLStreamWriter getXmlStreamWriter(final DOMResult result) {
@@ -142,38 +162,186 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
     }
 
     /**
-     * Obtain data root according to filter from operation element.
+     * Serialize data read for a request. Data read without any filter is not subject to further processing, hence
+     * it is not serialized into the DOM, but it is rather streamed when the reply is sent. This avoids building a DOM
+     * of a potentially whole datastore. The server streams it into bounded buffers before handing the reply over to
+     * the event loop, which then only copies them.
      *
+     * @param document document to create the data element in
      * @param operationElement operation element
-     * @return if filter is present and not empty returns Optional of the InstanceIdentifier to the read location
-     *      in datastore. Empty filter returns Optional.absent() which should equal an empty &lt;data/&gt;
-     *      container in the response. If filter is not present we want to read the entire datastore - return ROOT.
-     * @throws DocumentedException if not possible to get identifier from filter
+     * @param data data read, keyed by its location
+     * @return data element
      */
-    protected Optional<YangInstanceIdentifier> getDataRootFromFilter(final XmlElement operationElement)
-            throws DocumentedException {
-        final Optional<XmlElement> filterElement = operationElement.getOnlyChildElementOptionally(FILTER);
-        if (filterElement.isPresent()) {
-            if (filterElement.get().getChildElements().size() == 0) {
-                return Optional.empty();
+    protected Element serializeData(final Document document, final XmlElement operationElement,
+            final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> data) {
+        if (operationElement.getOnlyChildElementOptionally(FILTER).isPresent()) {
+            // Filtering needs the DOM
+            return serializeNodesWithParentStructure(document, data);
+        }
+
+        final EffectiveModelContext context = schemaContext.getCurrentContext();
+        final NormalizedNode<?, ?> root = withParentStructure(context, data);
+        // The reply element is in the base namespace, so that it is not recreated, losing its streamed content
+        final Element element = XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY,
+                Optional.of(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0));
+        XmlUtil.setStreamedContent(element, writer -> writeNormalizedNode(writer, context, root, ROOT));
+        return element;
+    }
+
+    /**
+     * Serialize data read from multiple locations, merging their parent structures.
+     *
+     * @param document document to create the data element in
+     * @param data data read, keyed by its location
+     * @return data element
+     */
+    protected Element serializeNodesWithParentStructure(final Document document,
+            final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> data) {
+        if (data.size() == 1) {
+            final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry = data.entrySet().iterator().next();
+            return serializeNodeWithParentStructure(document, entry.getKey(), entry.getValue());
+        }
+        return (Element) transformNormalizedNode(document, withParentStructure(schemaContext.getCurrentContext(),
+            data), ROOT);
+    }
+
+    private static NormalizedNode<?, ?> withParentStructure(final EffectiveModelContext context,
+            final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> data) {
+        if (data.size() == 1) {
+            final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry = data.entrySet().iterator().next();
+            return entry.getKey().equals(ROOT) ? entry.getValue()
+                : ImmutableNodes.fromInstanceId(context, entry.getKey(), entry.getValue());
+        }
+
+        final Map<PathArgument, NormalizedNode<?, ?>> children = new LinkedHashMap<>();
+        for (final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry : data.entrySet()) {
+            final NormalizedNode<?, ?> child = ImmutableNodes.fromInstanceId(context, entry.getKey(),
+                entry.getValue());
+            children.merge(child.getIdentifier(), child, AbstractGet::mergeNodes);
+        }
+
+        final DataContainerNodeBuilder<NodeIdentifier, ContainerNode> root = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME));
+        for (final NormalizedNode<?, ?> child : children.values()) {
+            root.withChild((DataContainerChild<?, ?>) child);
+        }
+        return root.build();
+    }
+
+    /**
+     * Merge two nodes with the same identifier, which were read from different locations, hence they may overlap
+     * only in their parent structure.
+     */
+    private static NormalizedNode<?, ?> mergeNodes(final NormalizedNode<?, ?> first,
+                                                   final NormalizedNode<?, ?> second) {
+        if (first instanceof ContainerNode && second instanceof ContainerNode) {
+            return mergeChildren(Builders.containerBuilder(), (ContainerNode) first, (ContainerNode) second);
+        } else if (first instanceof MapEntryNode && second instanceof MapEntryNode) {
+            return mergeChildren(Builders.mapEntryBuilder(), (MapEntryNode) first, (MapEntryNode) second);
+        } else if (first instanceof AugmentationNode && second instanceof AugmentationNode) {
+            return mergeChildren(Builders.augmentationBuilder(), (AugmentationNode) first, (AugmentationNode) second);
+        } else if (first instanceof ChoiceNode && second instanceof ChoiceNode) {
+            return mergeChildren(Builders.choiceBuilder(), (ChoiceNode) first, (ChoiceNode) second);
+        } else if (first instanceof MapNode && second instanceof MapNode) {
+            final Map<PathArgument, NormalizedNode<?, ?>> entries = new LinkedHashMap<>();
+            for (final MapEntryNode entry : ((MapNode) first).getValue()) {
+                entries.put(entry.getIdentifier(), entry);
+            }
+            for (final MapEntryNode entry : ((MapNode) second).getValue()) {
+                entries.merge(entry.getIdentifier(), entry, AbstractGet::mergeNodes);
             }
-            return Optional.of(getInstanceIdentifierFromFilter(filterElement.get()));
+            final CollectionNodeBuilder<MapEntryNode, ? extends MapNode> builder =
+                    first instanceof OrderedMapNode ? Builders.orderedMapBuilder() : Builders.mapBuilder();
+            builder.withNodeIdentifier(((MapNode) first).getIdentifier());
+            for (final NormalizedNode<?, ?> entry : entries.values()) {
+                builder.withChild((MapEntryNode) entry);
+            }
+            return builder.build();
         }
+        // Leaves and other nodes are read as a whole, hence they do not overlap
+        return second;
+    }
 
-        return Optional.of(ROOT);
+    private static <I extends PathArgument, N extends DataContainerNode<I>> N mergeChildren(
+            final DataContainerNodeBuilder<I, N> builder, final N first, final N second) {
+        final Map<PathArgument, NormalizedNode<?, ?>> children = new LinkedHashMap<>();
+        for (final DataContainerChild<? extends PathArgument, ?> child : first.getValue()) {
+            children.put(child.getIdentifier(), child);
+        }
+        for (final DataContainerChild<? extends PathArgument, ?> child : second.getValue()) {
+            children.merge(child.getIdentifier(), child, AbstractGet::mergeNodes);
+        }
+        builder.withNodeIdentifier(first.getIdentifier());
+        for (final NormalizedNode<?, ?> child : children.values()) {
+            builder.withChild((DataContainerChild<?, ?>) child);
+        }
+        return builder.build();
     }
 
-    @VisibleForTesting
-    protected YangInstanceIdentifier getInstanceIdentifierFromFilter(final XmlElement filterElement)
+    /**
+     * Obtain locations to read according to filter from operation element. Each filter root is translated
+     * to locations holding data selected by the filter, so that reading unselected data is avoided as far as
+     * possible. The data read still needs to be filtered.
+     *
+     * @param operationElement operation element
+     * @return locations to read, none of them being a descendant of another. Empty filter returns an empty list,
+     *      which should equal an empty &lt;data/&gt; container in the response. If filter is not present we want
+     *      to read the entire datastore - return ROOT.
+     * @throws DocumentedException if not possible to get identifiers from filter
+     */
+    protected List<YangInstanceIdentifier> getReadPathsFromFilter(final XmlElement operationElement)
             throws DocumentedException {
+        final Optional<XmlElement> filterElement = operationElement.getOnlyChildElementOptionally(FILTER);
+        if (filterElement.isEmpty()) {
+            return List.of(ROOT);
+        }
 
-        if (filterElement.getChildElements().size() != 1) {
-            throw new DocumentedException("Multiple filter roots not supported yet",
-                    ErrorType.APPLICATION, ErrorTag.OPERATION_NOT_SUPPORTED, ErrorSeverity.ERROR);
+        final List<YangInstanceIdentifier> paths = new ArrayList<>();
+        for (final XmlElement filterRoot : filterElement.get().getChildElements()) {
+            for (final YangInstanceIdentifier path : validator.getReadPaths(filterRoot)) {
+                addReadPath(paths, path);
+            }
         }
+        return paths;
+    }
 
-        final XmlElement element = filterElement.getOnlyChildElement();
-        return validator.validate(element);
+    private static void addReadPath(final List<YangInstanceIdentifier> paths, final YangInstanceIdentifier path) {
+        for (final YangInstanceIdentifier existing : paths) {
+            if (existing.contains(path)) {
+                // already read as part of an ancestor, or the same location
+                return;
+            }
+        }
+        paths.removeIf(path::contains);
+        paths.add(path);
+    }
+
+    /**
+     * Read data from locations, all reads are issued before waiting for any of them.
+     *
+     * @param tx transaction to read from
+     * @param store datastore to read from
+     * @param paths locations to read
+     * @return data present, keyed by its location
+     * @throws InterruptedException if interrupted while waiting for the reads
+     * @throws ExecutionException if any read fails
+     */
+    protected static Map<YangInstanceIdentifier, NormalizedNode<?, ?>> readData(
+            final DOMDataTreeReadOperations tx, final LogicalDatastoreType store,
+            final List<YangInstanceIdentifier> paths) throws InterruptedException, ExecutionException {
+        final List<FluentFuture<Optional<NormalizedNode<?, ?>>>> futures = new ArrayList<>(paths.size());
+        for (final YangInstanceIdentifier path : paths) {
+            futures.add(tx.read(store, path));
+        }
+
+        final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> data = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            final Optional<NormalizedNode<?, ?>> node = futures.get(i).get();
+            if (node.isPresent()) {
+                data.put(paths.get(i), node.get());
+            }
+        }
+        return data;
     }
 
     protected static final class GetConfigExecution {
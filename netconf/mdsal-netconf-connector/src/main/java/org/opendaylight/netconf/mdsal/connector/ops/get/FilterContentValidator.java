@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.stream.XMLStreamWriter;
 import org.opendaylight.netconf.api.DocumentedException;
@@ -30,11 +31,16 @@ import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.InstanceIdentifierBuilder;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.codec.xml.XmlCodecFactory;
 import org.opendaylight.yangtools.yang.data.impl.codec.TypeDefinitionAwareCodec;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
 import org.opendaylight.yangtools.yang.data.util.codec.TypeAwareCodec;
 import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
@@ -84,6 +90,115 @@ public class FilterContentValidator {
         }
     }
 
+    /**
+     * Validates filter content against this validator schema context. If the filter is valid, method returns
+     * {@link YangInstanceIdentifier}s of nodes which need to be read to evaluate the filter. Unlike
+     * {@link #validate(XmlElement)}, it descends into each branch of the filter rather than stopping at the first one,
+     * selects list entries by their keys and reads only the selected children of containment nodes, so that data
+     * not selected by the filter is not read, as far as possible. Nodes selected by the filter and content match
+     * nodes, which the filter needs for its evaluation, are read as a whole.
+     *
+     * @param filterContent filter content
+     * @return Paths to read, none of them being a descendant of another
+     * @throws DocumentedException if filter content validation failed
+     */
+    public List<YangInstanceIdentifier> getReadPaths(final XmlElement filterContent) throws DocumentedException {
+        validate(filterContent);
+
+        final EffectiveModelContext context = schemaContext.getCurrentContext();
+        final URI namespace;
+        try {
+            namespace = new URI(filterContent.getNamespace());
+        } catch (final URISyntaxException e) {
+            throw new RuntimeException("Wrong namespace in element + " + filterContent.toString(), e);
+        }
+        final Module module = context.findModules(namespace).iterator().next();
+        final QName rootName = getRootDataSchemaNode(module, namespace, filterContent.getName()).getQName();
+
+        final List<YangInstanceIdentifier> paths = new ArrayList<>();
+        addReadPaths(filterContent, rootName, DataSchemaContextTree.from(context).getRoot(),
+            YangInstanceIdentifier.empty(), paths);
+        return paths;
+    }
+
+    /**
+     * Adds paths to read for a filter element, whose parent is at given path.
+     */
+    private void addReadPaths(final XmlElement element, final QName name, final DataSchemaContextNode<?> parent,
+                              final YangInstanceIdentifier parentPath, final List<YangInstanceIdentifier> paths) {
+        YangInstanceIdentifier path = parentPath;
+        DataSchemaContextNode<?> node = parent.getChild(name);
+        // step over choices and augmentations
+        while (node != null && node.isMixin() && !(node.getDataSchemaNode() instanceof ListSchemaNode)
+                && !(node.getDataSchemaNode() instanceof LeafListSchemaNode)) {
+            path = path.node(node.getIdentifier());
+            node = node.getChild(name);
+        }
+        if (node == null) {
+            // not expected after validation, read whole parent
+            paths.add(parentPath);
+            return;
+        }
+        path = path.node(node.getIdentifier());
+
+        if (node.isMixin()) {
+            if (!(node.getDataSchemaNode() instanceof ListSchemaNode)) {
+                // leaf-list entries are read as a whole
+                paths.add(path);
+                return;
+            }
+
+            final DataSchemaContextNode<?> entry = node.getChild(name);
+            final ListSchemaNode listSchema = (ListSchemaNode) node.getDataSchemaNode();
+            if (entry == null || !entry.isKeyedEntry()) {
+                paths.add(path);
+                return;
+            }
+            final Map<QName, Object> keys = getKeyValues(element, listSchema);
+            if (keys.size() != listSchema.getKeyDefinition().size()) {
+                // entries are selected by other than all their keys, read whole list
+                paths.add(path);
+                return;
+            }
+            path = path.node(NodeIdentifierWithPredicates.of(name, keys));
+            node = entry;
+        }
+
+        addChildReadPaths(element, node, path, paths);
+    }
+
+    private void addChildReadPaths(final XmlElement element, final DataSchemaContextNode<?> node,
+                                   final YangInstanceIdentifier path, final List<YangInstanceIdentifier> paths) {
+        final List<XmlElement> children = element.getChildElements();
+        // selection nodes, attribute matches and containment nodes with only content match nodes select everything
+        if (children.isEmpty() || hasAttributeMatch(element)
+                || children.stream().allMatch(child -> child.getOnlyTextContentOptionally().isPresent())) {
+            paths.add(path);
+            return;
+        }
+
+        for (final XmlElement child : children) {
+            final Deque<DataSchemaNode> schemaPath;
+            try {
+                schemaPath = findSchemaNodeByNameAndNamespace(node.getDataSchemaNode(), child.getName(),
+                    new URI(child.getNamespace()));
+            } catch (URISyntaxException | MissingNameSpaceException e) {
+                throw new RuntimeException("Wrong namespace in element + " + child.toString(), e);
+            }
+            if (schemaPath.isEmpty()) {
+                // not expected after validation, read whole node
+                paths.add(path);
+                return;
+            }
+            addReadPaths(child, schemaPath.getLast().getQName(), node, path, paths);
+        }
+    }
+
+    private static boolean hasAttributeMatch(final XmlElement element) {
+        return element.getAttributes().values().stream()
+            .anyMatch(attr -> !XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI()));
+    }
+
     /**
      * Returns module's child data node of given name space and name.
      *
@@ -196,6 +311,10 @@ public class FilterContentValidator {
             }
             current = childElements.get(0);
         }
+        return getKeyValues(current, listSchemaNode);
+    }
+
+    private Map<QName, Object> getKeyValues(final XmlElement current, final ListSchemaNode listSchemaNode) {
         final Map<QName, Object> keys = new HashMap<>();
         final List<QName> keyDefinition = listSchemaNode.getKeyDefinition();
         for (final QName qualifiedName : keyDefinition) {
@@ -212,7 +331,7 @@ public class FilterContentValidator {
                 } else {
                     final TypeDefinition<? extends TypeDefinition<?>> keyType = listKey.getType();
                     if (keyType instanceof IdentityrefTypeDefinition || keyType instanceof LeafrefTypeDefinition) {
-                        final Document document = filterContent.getDomElement().getOwnerDocument();
+                        final Document document = current.getDomElement().getOwnerDocument();
                         final NamespaceContext nsContext = new UniversalNamespaceContextImpl(document, false);
                         final XmlCodecFactory xmlCodecFactory =
                                 XmlCodecFactory.create(schemaContext.getCurrentContext());
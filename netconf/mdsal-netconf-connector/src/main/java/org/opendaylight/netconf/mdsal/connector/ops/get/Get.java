@@ -7,7 +7,8 @@
  */
 package org.opendaylight.netconf.mdsal.connector.ops.get;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
@@ -44,27 +45,25 @@ public class Get extends AbstractGet {
     protected Element handleWithNoSubsequentOperations(final Document document, final XmlElement operationElement)
             throws DocumentedException {
 
-        final Optional<YangInstanceIdentifier> dataRootOptional = getDataRootFromFilter(operationElement);
-        if (dataRootOptional.isEmpty()) {
+        final List<YangInstanceIdentifier> readPaths = getReadPathsFromFilter(operationElement);
+        if (readPaths.isEmpty()) {
             return document.createElement(XmlNetconfConstants.DATA_KEY);
         }
 
-        final YangInstanceIdentifier dataRoot = dataRootOptional.get();
-
         final DOMDataTreeReadWriteTransaction rwTx = getTransaction(Datastore.running);
         try {
-            final Optional<NormalizedNode<?, ?>> normalizedNodeOptional = rwTx.read(
-                    LogicalDatastoreType.OPERATIONAL, dataRoot).get();
+            final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> data =
+                    readData(rwTx, LogicalDatastoreType.OPERATIONAL, readPaths);
             transactionProvider.abortRunningTransaction(rwTx);
 
-            if (normalizedNodeOptional.isEmpty()) {
+            if (data.isEmpty()) {
                 return document.createElement(XmlNetconfConstants.DATA_KEY);
             }
 
-            return serializeNodeWithParentStructure(document, dataRoot, normalizedNodeOptional.get());
+            return serializeData(document, operationElement, data);
         } catch (final InterruptedException | ExecutionException e) {
-            LOG.warn("Unable to read data: {}", dataRoot, e);
-            throw new IllegalStateException("Unable to read data " + dataRoot, e);
+            LOG.warn("Unable to read data: {}", readPaths, e);
+            throw new IllegalStateException("Unable to read data " + readPaths, e);
         }
     }
 
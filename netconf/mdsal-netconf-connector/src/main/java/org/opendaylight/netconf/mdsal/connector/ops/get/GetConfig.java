@@ -8,7 +8,8 @@
 package org.opendaylight.netconf.mdsal.connector.ops.get;
 
 import com.google.common.base.Preconditions;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
@@ -53,32 +54,30 @@ public class GetConfig extends AbstractGet {
             throw e;
         }
 
-        final Optional<YangInstanceIdentifier> dataRootOptional = getDataRootFromFilter(operationElement);
-        if (dataRootOptional.isEmpty()) {
+        final List<YangInstanceIdentifier> readPaths = getReadPathsFromFilter(operationElement);
+        if (readPaths.isEmpty()) {
             return document.createElement(XmlNetconfConstants.DATA_KEY);
         }
 
-        final YangInstanceIdentifier dataRoot = dataRootOptional.get();
-
         // Proper exception should be thrown
         Preconditions.checkState(getConfigExecution.getDatastore().isPresent(), "Source element missing from request");
 
         final DOMDataTreeReadWriteTransaction rwTx = getTransaction(getConfigExecution.getDatastore().get());
         try {
-            final Optional<NormalizedNode<?, ?>> normalizedNodeOptional = rwTx.read(
-                    LogicalDatastoreType.CONFIGURATION, dataRoot).get();
+            final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> data =
+                    readData(rwTx, LogicalDatastoreType.CONFIGURATION, readPaths);
             if (getConfigExecution.getDatastore().get() == Datastore.running) {
                 transactionProvider.abortRunningTransaction(rwTx);
             }
 
-            if (normalizedNodeOptional.isEmpty()) {
+            if (data.isEmpty()) {
                 return document.createElement(XmlNetconfConstants.DATA_KEY);
             }
 
-            return serializeNodeWithParentStructure(document, dataRoot, normalizedNodeOptional.get());
+            return serializeData(document, operationElement, data);
         } catch (final InterruptedException | ExecutionException e) {
-            LOG.warn("Unable to read data: {}", dataRoot, e);
-            throw new IllegalStateException("Unable to read data " + dataRoot, e);
+            LOG.warn("Unable to read data: {}", readPaths, e);
+            throw new IllegalStateException("Unable to read data " + readPaths, e);
         }
     }
 
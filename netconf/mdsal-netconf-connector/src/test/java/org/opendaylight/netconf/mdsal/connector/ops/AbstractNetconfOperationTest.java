@@ -212,6 +212,8 @@ public abstract class AbstractNetconfOperationTest {
 
     protected static Document executeOperation(final NetconfOperation op, final Document request) throws Exception {
         final Document response = op.handle(request, NetconfOperationChainedExecution.EXECUTION_TERMINATION_POINT);
+        // Unfiltered data is streamed only when the reply is encoded
+        XmlUtil.materializeStreamedContent(response);
         LOG.debug("Got response {}", response);
         return response;
     }
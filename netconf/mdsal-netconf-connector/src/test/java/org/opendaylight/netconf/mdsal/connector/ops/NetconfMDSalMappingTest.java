@@ -12,6 +12,8 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import java.net.URI;
+import java.util.List;
+import java.util.Set;
 import org.junit.Test;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.DocumentedException.ErrorSeverity;
@@ -25,18 +27,25 @@ import org.opendaylight.netconf.mdsal.connector.ops.get.GetConfig;
 import org.opendaylight.netconf.util.test.XmlFileLoader;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
 public class NetconfMDSalMappingTest extends AbstractNetconfOperationTest {
     private static final String TARGET_KEY = "target";
-    private static final String FILTER_NODE = "filter";
     private static final String GET_CONFIG = "get-config";
     private static final QName TOP = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "top");
     private static final QName USERS = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "users");
     private static final QName USER = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "user");
     private static final QName MODULES = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "modules");
+    private static final QName MODULE = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "module");
+    private static final QName NAME = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "name");
+    private static final QName COMPANY_INFO = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26",
+            "company-info");
+    private static final QName ID = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "id");
+    private static final QName DEPT = QName.create("urn:opendaylight:mdsal:mapping:test", "2015-02-26", "dept");
     private static final QName AUGMENTED_CONTAINER = QName.create("urn:opendaylight:mdsal:mapping:test",
             "2015-02-26", "augmented-container");
     private static final QName AUGMENTED_STRING_IN_CONT = QName.create("urn:opendaylight:mdsal:mapping:test",
@@ -467,32 +476,40 @@ public class NetconfMDSalMappingTest extends AbstractNetconfOperationTest {
         verifyResponse(edit("messages/mapping/editConfigs/editConfig-filtering-setup.xml"), RPC_REPLY_OK);
         verifyResponse(commit(), RPC_REPLY_OK);
 
-        verifyFilterIdentifier("messages/mapping/filters/get-filter-alluser.xml",
-                YangInstanceIdentifier.builder().node(TOP).node(USERS).node(USER).build());
-        verifyFilterIdentifier("messages/mapping/filters/get-filter-company-info.xml",
-                YangInstanceIdentifier.builder().node(TOP).node(USERS).node(USER).build());
-        verifyFilterIdentifier("messages/mapping/filters/get-filter-modules-and-admin.xml",
-                YangInstanceIdentifier.builder().node(TOP).build());
-        verifyFilterIdentifier("messages/mapping/filters/get-filter-only-names-types.xml",
-                YangInstanceIdentifier.builder().node(TOP).node(USERS).node(USER).build());
-        verifyFilterIdentifier("messages/mapping/filters/get-filter-specific-module-type-and-user.xml",
-                YangInstanceIdentifier.builder().node(TOP).build());
-        verifyFilterIdentifier("messages/mapping/filters/get-filter-superuser.xml",
-                YangInstanceIdentifier.builder().node(TOP).node(USERS).node(USER).build());
-        verifyFilterIdentifier("messages/mapping/filters/get-filter-users.xml",
-                YangInstanceIdentifier.builder().node(TOP).node(USERS).build());
+        final YangInstanceIdentifier users = YangInstanceIdentifier.builder().node(TOP).node(USERS).build();
+        final YangInstanceIdentifier user = users.node(USER);
+        verifyReadPaths("messages/mapping/filters/get-filter-alluser.xml", user);
+        verifyReadPaths("messages/mapping/filters/get-filter-company-info.xml",
+                user.node(userEntry("root")).node(NAME), user.node(userEntry("root")).node(COMPANY_INFO),
+                user.node(userEntry("admin")).node(NAME), user.node(userEntry("admin")).node(COMPANY_INFO).node(ID),
+                user.node(userEntry("regular")).node(NAME),
+                user.node(userEntry("regular")).node(COMPANY_INFO).node(DEPT));
+        verifyReadPaths("messages/mapping/filters/get-filter-modules-and-admin.xml",
+                user.node(userEntry("admin")), YangInstanceIdentifier.builder().node(TOP).node(MODULES).build());
+        verifyReadPaths("messages/mapping/filters/get-filter-only-names-types.xml", user);
+        verifyReadPaths("messages/mapping/filters/get-filter-specific-module-type-and-user.xml",
+                user, YangInstanceIdentifier.builder().node(TOP).node(MODULES).node(MODULE).build());
+        verifyReadPaths("messages/mapping/filters/get-filter-superuser.xml", user);
+        verifyReadPaths("messages/mapping/filters/get-filter-users.xml", users);
 
         final YangInstanceIdentifier ident = YangInstanceIdentifier
                 .builder(AUGMENTED_CONTAINER_IN_MODULES)
+                .node(AugmentationIdentifier.create(Set.of(AUGMENTED_CONTAINER)))
                 .node(AUGMENTED_CONTAINER)
                 .node(AUGMENTED_STRING_IN_CONT).build();
 
-        verifyFilterIdentifier("messages/mapping/filters/get-filter-augmented-string.xml", ident);
-        verifyFilterIdentifier("messages/mapping/filters/get-filter-augmented-case.xml",
+        verifyReadPaths("messages/mapping/filters/get-filter-augmented-string.xml", ident);
+        verifyReadPaths("messages/mapping/filters/get-filter-augmented-case.xml",
                 YangInstanceIdentifier.builder().node(TOP).node(CHOICE_NODE).node(AUGMENTED_CASE).build());
 
         verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-augmented-case.xml"),
                 XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-augmented-case.xml"));
+        verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-augmented-string.xml"),
+                XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-augmented-string.xml"));
+
+        // Only the selected list entries and their selected children are read
+        verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-multiple-roots.xml"),
+                XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-multiple-roots.xml"));
 
         /*
          *  RFC6020 requires that at most once case inside a choice is present at any time.
@@ -508,14 +525,12 @@ public class NetconfMDSalMappingTest extends AbstractNetconfOperationTest {
         //verifyResponse(edit("messages/mapping/editConfigs/editConfig-filtering-setup2.xml"), RPC_REPLY_OK);
         //verifyResponse(commit(), RPC_REPLY_OK);
 
-        verifyFilterIdentifier("messages/mapping/filters/get-filter-augmented-case-inner-choice.xml",
+        verifyReadPaths("messages/mapping/filters/get-filter-augmented-case-inner-choice.xml",
                 YangInstanceIdentifier.builder().node(TOP).node(CHOICE_NODE).node(CHOICE_WRAPPER).build());
-        verifyFilterIdentifier("messages/mapping/filters/get-filter-augmented-case-inner-case.xml",
+        verifyReadPaths("messages/mapping/filters/get-filter-augmented-case-inner-case.xml",
                 YangInstanceIdentifier.builder().node(TOP).node(CHOICE_NODE).node(CHOICE_WRAPPER).node(INNER_CHOICE)
                         .node(INNER_CHOICE_TEXT).build());
 
-//        verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-augmented-string.xml"),
-//                XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-augmented-string.xml"));
 //        verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-augmented-case-inner-choice.xml"),
 //                XmlFileLoader.xmlFileToDocument("messages/mapping/filters/response-augmented-case-inner-choice.xml"));
 //        verifyResponse(getConfigWithFilter("messages/mapping/filters/get-filter-augmented-case-inner-case.xml"),
@@ -526,13 +541,17 @@ public class NetconfMDSalMappingTest extends AbstractNetconfOperationTest {
 
     }
 
-    private void verifyFilterIdentifier(final String resource, final YangInstanceIdentifier identifier)
+    private void verifyReadPaths(final String resource, final YangInstanceIdentifier... identifiers)
             throws Exception {
         final TestingGetConfig getConfig = new TestingGetConfig(SESSION_ID_FOR_REPORTING, getCurrentSchemaContext(),
                 getTransactionProvider());
         final Document request = XmlFileLoader.xmlFileToDocument(resource);
-        final YangInstanceIdentifier iid = getConfig.getInstanceIdentifierFromDocument(request);
-        assertEquals(identifier, iid);
+        final List<YangInstanceIdentifier> paths = getConfig.getReadPathsFromDocument(request);
+        assertEquals(List.of(identifiers), paths);
+    }
+
+    private static NodeIdentifierWithPredicates userEntry(final String name) {
+        return NodeIdentifierWithPredicates.of(USER, NAME, name);
     }
 
     private class TestingGetConfig extends GetConfig {
@@ -541,10 +560,8 @@ public class NetconfMDSalMappingTest extends AbstractNetconfOperationTest {
             super(sessionId, schemaContext, transactionProvider);
         }
 
-        YangInstanceIdentifier getInstanceIdentifierFromDocument(final Document request) throws DocumentedException {
-            final XmlElement filterElement = XmlElement.fromDomDocument(request).getOnlyChildElement(GET_CONFIG)
-                    .getOnlyChildElement(FILTER_NODE);
-            return getInstanceIdentifierFromFilter(filterElement);
+        List<YangInstanceIdentifier> getReadPathsFromDocument(final Document request) throws DocumentedException {
+            return getReadPathsFromFilter(XmlElement.fromDomDocument(request).getOnlyChildElement(GET_CONFIG));
         }
     }
 
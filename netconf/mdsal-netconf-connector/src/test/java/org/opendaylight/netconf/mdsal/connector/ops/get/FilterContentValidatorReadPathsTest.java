@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.mdsal.connector.ops.get;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.net.URI;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.netconf.api.xml.XmlElement;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class FilterContentValidatorReadPathsTest {
+    private static final QNameModule MODULE = QNameModule.create(URI.create("urn:dummy:mod-0"),
+        Revision.of("2016-03-01"));
+    private static final QName MAINROOT = QName.create(MODULE, "mainroot");
+    private static final QName MAINCONTENT = QName.create(MODULE, "maincontent");
+    private static final QName INNER = QName.create(MODULE, "inner");
+    private static final QName CHOICE_LIST = QName.create(MODULE, "choiceList");
+    private static final QName NAME = QName.create(MODULE, "name");
+    private static final QName V = QName.create(MODULE, "v");
+    private static final QName CHOICE_LEAF = QName.create(MODULE, "choice-leaf");
+    private static final QName MULTI_KEY_LIST = QName.create(MODULE, "multi-key-list");
+
+    private FilterContentValidator validator;
+
+    @Before
+    public void setUp() {
+        final EffectiveModelContext context = YangParserTestUtils.parseYangResources(
+            FilterContentValidatorReadPathsTest.class, "/yang/filter-validator-test-mod-0.yang",
+            "/yang/filter-validator-test-augment.yang", "/yang/mdsal-netconf-mapping-test.yang");
+
+        final CurrentSchemaContext currentContext = mock(CurrentSchemaContext.class);
+        doReturn(context).when(currentContext).getCurrentContext();
+        validator = new FilterContentValidator(currentContext);
+    }
+
+    @Test
+    public void testKeyedEntries() throws Exception {
+        final YangInstanceIdentifier mainroot = YangInstanceIdentifier.of(MAINROOT);
+        final YangInstanceIdentifier choiceList = mainroot.node(CHOICE_LIST);
+        final YangInstanceIdentifier aaa = choiceList.node(NodeIdentifierWithPredicates.of(CHOICE_LIST, NAME, "aaa"));
+
+        // Content match and selected children of entries selected by their keys, each read separately
+        assertEquals(List.of(aaa.node(NAME), aaa.node(V).node(CHOICE_LEAF),
+            choiceList.node(NodeIdentifierWithPredicates.of(CHOICE_LIST, NAME, "bbb")), mainroot.node(MAINCONTENT)),
+            readPaths("<mainroot xmlns=\"urn:dummy:mod-0\">"
+                + "<choiceList><name>aaa</name><choice-leaf/></choiceList>"
+                + "<choiceList><name>bbb</name></choiceList>"
+                + "<maincontent/></mainroot>"));
+    }
+
+    @Test
+    public void testPartialKeys() throws Exception {
+        // Entries cannot be addressed without all of their keys, the whole list is read
+        assertEquals(List.of(YangInstanceIdentifier.of(MAINROOT).node(MULTI_KEY_LIST)),
+            readPaths("<mainroot xmlns=\"urn:dummy:mod-0\"><multi-key-list><id1>aaa</id1><id2/></multi-key-list>"
+                + "</mainroot>"));
+    }
+
+    @Test
+    public void testSelectionNode() throws Exception {
+        assertEquals(List.of(YangInstanceIdentifier.of(MAINROOT).node(INNER)),
+            readPaths("<mainroot xmlns=\"urn:dummy:mod-0\"><inner/></mainroot>"));
+        assertEquals(List.of(YangInstanceIdentifier.of(MAINROOT)),
+            readPaths("<mainroot xmlns=\"urn:dummy:mod-0\"/>"));
+    }
+
+    private List<YangInstanceIdentifier> readPaths(final String filterContent) throws Exception {
+        return validator.getReadPaths(XmlElement.fromDomDocument(XmlUtil.readXmlToDocument(filterContent)));
+    }
+}
@@ -17,14 +17,22 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multiset;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.lock.qual.Holding;
+import org.opendaylight.netconf.mdsal.notification.impl.NotificationReplayBuffer.StoredNotification;
 import org.opendaylight.netconf.mdsal.notification.impl.ops.NotificationsTransformUtil;
 import org.opendaylight.netconf.notifications.BaseNotificationPublisherRegistration;
 import org.opendaylight.netconf.notifications.NetconfNotification;
@@ -46,10 +54,12 @@ import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.not
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.notifications.rev120206.NetconfSessionStart;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.library.rev190104.YangLibraryChange;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.library.rev190104.YangLibraryUpdate;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.DateAndTime;
 import org.opendaylight.yangtools.yang.binding.Notification;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
 
 /**
  *  A thread-safe implementation NetconfNotificationRegistry.
@@ -88,22 +98,60 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
 
     @GuardedBy("this")
     private final Set<GenericNotificationPublisherReg> notificationPublishers = new HashSet<>();
+
+    @GuardedBy("this")
+    private final Map<StreamNameType, NotificationReplayBuffer> replayBuffers = new HashMap<>();
+
     private final NotificationsTransformUtil transformUtil;
+    private final int replayMaxCount;
+    private final long replayMaxBytes;
+    private final long replayMaxAgeMillis;
 
     @Inject
     public NetconfNotificationManager(final NotificationsTransformUtil transformUtil) {
+        this(transformUtil, 0, 0, 0);
+    }
+
+    /**
+     * Create a manager storing notifications of each stream for replay.
+     *
+     * @param transformUtil notification transformer
+     * @param replayMaxCount maximum number of notifications stored per stream, 0 disables replay
+     * @param replayMaxBytes maximum total size of notifications stored per stream in bytes, 0 for no limit
+     * @param replayMaxAgeSeconds maximum age of stored notifications in seconds, 0 for no limit
+     */
+    public NetconfNotificationManager(final NotificationsTransformUtil transformUtil, final int replayMaxCount,
+            final long replayMaxBytes, final long replayMaxAgeSeconds) {
+        checkArgument(replayMaxCount >= 0, "Invalid replay count %s", replayMaxCount);
+        checkArgument(replayMaxBytes >= 0, "Invalid replay size %s", replayMaxBytes);
+        checkArgument(replayMaxAgeSeconds >= 0, "Invalid replay age %s", replayMaxAgeSeconds);
         this.transformUtil = requireNonNull(transformUtil);
+        this.replayMaxCount = replayMaxCount;
+        this.replayMaxBytes = replayMaxBytes == 0 ? Long.MAX_VALUE : replayMaxBytes;
+        this.replayMaxAgeMillis = replayMaxAgeSeconds == 0 ? Long.MAX_VALUE
+            : TimeUnit.SECONDS.toMillis(replayMaxAgeSeconds);
     }
 
     @Override
-    public synchronized void onNotification(final StreamNameType stream, final NetconfNotification notification) {
+    public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
         LOG.debug("Notification of type {} detected", stream);
         if (LOG.isTraceEnabled()) {
             LOG.debug("Notification of type {} detected: {}", stream, notification);
         }
 
-        for (final GenericNotificationListenerReg listenerReg : notificationListeners.get(stream)) {
-            listenerReg.getListener().onNotification(stream, notification);
+        // Encode the notification before taking the lock. The replay buffer retains only the encoded form, the encoding
+        // itself is also shared by all sessions the notification is sent to.
+        final byte[] encoded = replayMaxCount == 0 ? null : NotificationReplayBuffer.encode(notification);
+
+        synchronized (this) {
+            final NotificationReplayBuffer replayBuffer = replayBuffers.get(stream);
+            if (replayBuffer != null) {
+                replayBuffer.append(notification.getEventTime(), encoded);
+            }
+
+            for (final GenericNotificationListenerReg listenerReg : notificationListeners.get(stream)) {
+                listenerReg.getListener().onNotification(stream, notification);
+            }
         }
     }
 
@@ -115,7 +163,42 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         requireNonNull(listener);
 
         LOG.trace("Notification listener registered for stream: {}", stream);
+        return addListener(stream, listener);
+    }
+
+    @Override
+    public NotificationListenerRegistration registerNotificationListener(
+            final StreamNameType stream,
+            final NetconfNotificationListener listener,
+            final Date startTime, final Date stopTime) {
+        requireNonNull(stream);
+        requireNonNull(listener);
+        requireNonNull(startTime);
+
+        final ReplayingListener replaying = new ReplayingListener(listener);
+        final List<StoredNotification> replayed;
+        final NotificationListenerRegistration reg;
+        synchronized (this) {
+            final NotificationReplayBuffer replayBuffer = replayBuffers.get(stream);
+            checkArgument(replayBuffer != null, "Stream %s does not support replay", stream.getValue());
+
+            LOG.trace("Notification listener registered for stream: {}, replaying from {} to {}", stream, startTime,
+                stopTime);
+            // Snapshot of stored notifications is taken while registering the listener, hence no notification is
+            // missed nor delivered twice. Notifications received until replay completes are queued by the listener.
+            replayed = replayBuffer.replay(startTime, stopTime);
+            reg = addListener(stream, replaying);
+        }
 
+        // Replay without holding the lock, so that publishers and other subscriptions are not blocked. Replayed
+        // notifications are parsed again, hence they do not share any DOM with notifications being delivered live.
+        replaying.replay(stream, replayed);
+        return reg;
+    }
+
+    @Holding("this")
+    private NotificationListenerRegistration addListener(final StreamNameType stream,
+            final NetconfNotificationListener listener) {
         final GenericNotificationListenerReg reg = new GenericNotificationListenerReg(listener, stream) {
             @Override
             public void close() {
@@ -135,6 +218,11 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         return new StreamsBuilder().setStream(Maps.uniqueIndex(streamMetadata.values(), Stream::key)).build();
     }
 
+    @Override
+    public synchronized boolean isReplaySupported(final StreamNameType streamNameType) {
+        return replayBuffers.containsKey(streamNameType);
+    }
+
     @Override
     public synchronized boolean isStreamAvailable(final StreamNameType streamNameType) {
         return availableStreams.contains(streamNameType);
@@ -186,11 +274,12 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
             LOG.trace("Notification publisher registered for stream: {}", stream);
         }
 
+        final Stream registered = replayMaxCount == 0 ? stream : withReplay(stream);
         if (streamMetadata.containsKey(streamName)) {
             LOG.warn("Notification stream {} already registered as: {}. Will be reused", streamName,
                     streamMetadata.get(streamName));
         } else {
-            streamMetadata.put(streamName, stream);
+            streamMetadata.put(streamName, registered);
         }
 
         availableStreams.add(streamName);
@@ -206,10 +295,23 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
 
         notificationPublishers.add(reg);
 
-        notifyStreamAdded(stream);
+        notifyStreamAdded(registered);
         return reg;
     }
 
+    @Holding("this")
+    private Stream withReplay(final Stream stream) {
+        // Stored notifications are retained when all publishers of a stream go away, so that they can be replayed
+        // once the stream is back
+        final NotificationReplayBuffer replayBuffer = replayBuffers.computeIfAbsent(stream.getName(),
+            name -> new NotificationReplayBuffer(replayMaxCount, replayMaxBytes, replayMaxAgeMillis));
+        return new StreamBuilder(stream)
+                .setReplaySupport(true)
+                .setReplayLogCreationTime(new DateAndTime(
+                    NetconfNotification.RFC3339_DATE_FORMATTER.apply(replayBuffer.getCreationTime())))
+                .build();
+    }
+
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
             justification = "https://github.com/spotbugs/spotbugs/issues/811")
     private void unregisterNotificationPublisher(
@@ -351,6 +453,59 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         }
     }
 
+    /**
+     * Listener which queues notifications received while stored notifications are being replayed to it and delivers
+     * them once replay completes.
+     */
+    private static final class ReplayingListener implements NetconfNotificationListener {
+        private final NetconfNotificationListener delegate;
+
+        @GuardedBy("this")
+        private Deque<NetconfNotification> queued = new ArrayDeque<>();
+
+        ReplayingListener(final NetconfNotificationListener delegate) {
+            this.delegate = requireNonNull(delegate);
+        }
+
+        @Override
+        public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
+            synchronized (this) {
+                if (queued != null) {
+                    queued.add(notification);
+                    return;
+                }
+            }
+            delegate.onNotification(stream, notification);
+        }
+
+        void replay(final StreamNameType stream, final List<StoredNotification> replayed) {
+            for (final StoredNotification stored : replayed) {
+                final NetconfNotification notification;
+                try {
+                    notification = stored.toNotification();
+                } catch (IOException | SAXException e) {
+                    LOG.warn("Failed to parse stored notification of stream {}, not replaying it", stream, e);
+                    continue;
+                }
+                delegate.onNotification(stream, notification);
+            }
+            delegate.onReplayComplete(stream);
+
+            while (true) {
+                final NetconfNotification notification;
+                synchronized (this) {
+                    notification = queued.poll();
+                    if (notification == null) {
+                        // Further notifications are delivered directly
+                        queued = null;
+                        return;
+                    }
+                }
+                delegate.onNotification(stream, notification);
+            }
+        }
+    }
+
     private class GenericNotificationListenerReg implements NotificationListenerRegistration {
         private final NetconfNotificationListener listener;
         private final StreamNameType listenedStream;
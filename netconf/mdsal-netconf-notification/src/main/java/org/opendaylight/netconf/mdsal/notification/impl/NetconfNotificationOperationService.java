@@ -10,6 +10,7 @@ package org.opendaylight.netconf.mdsal.notification.impl;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
 import org.opendaylight.netconf.mdsal.notification.impl.ops.CreateSubscription;
@@ -19,9 +20,9 @@ public class NetconfNotificationOperationService implements NetconfOperationServ
     private final Set<NetconfOperation> netconfOperations;
 
     public NetconfNotificationOperationService(String netconfSessionIdForReporting, NetconfNotificationRegistry
-            netconfNotificationRegistry) {
+            netconfNotificationRegistry, ScheduledExecutorService scheduler) {
         this.netconfOperations = Collections.singleton(new CreateSubscription(netconfSessionIdForReporting,
-                netconfNotificationRegistry));
+                netconfNotificationRegistry, scheduler));
     }
 
 
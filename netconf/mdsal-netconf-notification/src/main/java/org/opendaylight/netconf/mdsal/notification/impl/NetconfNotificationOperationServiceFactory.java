@@ -10,6 +10,8 @@ package org.opendaylight.netconf.mdsal.notification.impl;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
 import org.opendaylight.netconf.api.capability.Capability;
 import org.opendaylight.netconf.api.monitoring.CapabilityListener;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
@@ -21,12 +23,16 @@ public class NetconfNotificationOperationServiceFactory implements NetconfOperat
 
     private final NetconfNotificationRegistry netconfNotificationRegistry;
     private final NetconfOperationServiceFactoryListener netconfOperationServiceFactoryListener;
+    private final ScheduledExecutorService scheduler;
 
     public NetconfNotificationOperationServiceFactory(
             final NetconfNotificationRegistry netconfNotificationRegistry,
-            final NetconfOperationServiceFactoryListener netconfOperationServiceFactoryListener) {
+            final NetconfOperationServiceFactoryListener netconfOperationServiceFactoryListener,
+            final ScheduledThreadPool scheduledThreadPool) {
         this.netconfNotificationRegistry = netconfNotificationRegistry;
         this.netconfOperationServiceFactoryListener = netconfOperationServiceFactoryListener;
+        // Used to complete subscriptions with a stop time
+        this.scheduler = scheduledThreadPool.getExecutor();
 
         this.netconfOperationServiceFactoryListener.onAddNetconfOperationServiceFactory(this);
     }
@@ -43,7 +49,8 @@ public class NetconfNotificationOperationServiceFactory implements NetconfOperat
 
     @Override
     public NetconfOperationService createService(String netconfSessionIdForReporting) {
-        return new NetconfNotificationOperationService(netconfSessionIdForReporting, netconfNotificationRegistry);
+        return new NetconfNotificationOperationService(netconfSessionIdForReporting, netconfNotificationRegistry,
+            scheduler);
     }
 
     @Override
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.mdsal.notification.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.netty.buffer.ByteBufUtil;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.lock.qual.Holding;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
+import org.opendaylight.netconf.notifications.NetconfNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Bounded store of notifications of a single stream, used to replay them to subscriptions created with a start time,
+ * as specified by RFC5277. Notifications are stored in a ring, the oldest being dropped once the number of stored
+ * notifications, the total size of their encoded form or the age of the oldest one exceeds the configured limits.
+ * Only the encoded form of notifications is stored, hence the size limit accounts for all retained memory except
+ * a small per-notification overhead. Replayed notifications are parsed from the encoded form, so that each replay
+ * works with its own DOM, which is not shared with live delivery.
+ */
+final class NotificationReplayBuffer {
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationReplayBuffer.class);
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int maxCount;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+    private final LongSupplier currentTimeMillis;
+    private final Date creationTime;
+
+    // Ring of stored notifications, the oldest one is at head
+    @GuardedBy("this")
+    private long[] eventTimes;
+    @GuardedBy("this")
+    private byte[][] encoded;
+    @GuardedBy("this")
+    private int head;
+    @GuardedBy("this")
+    private int size;
+    @GuardedBy("this")
+    private long bytes;
+
+    NotificationReplayBuffer(final int maxCount, final long maxBytes, final long maxAgeMillis) {
+        this(maxCount, maxBytes, maxAgeMillis, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    NotificationReplayBuffer(final int maxCount, final long maxBytes, final long maxAgeMillis,
+            final LongSupplier currentTimeMillis) {
+        checkArgument(maxCount > 0, "Invalid maximum count %s", maxCount);
+        checkArgument(maxBytes > 0, "Invalid maximum size %s", maxBytes);
+        checkArgument(maxAgeMillis > 0, "Invalid maximum age %s", maxAgeMillis);
+        this.maxCount = maxCount;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+        this.currentTimeMillis = requireNonNull(currentTimeMillis);
+        this.creationTime = new Date(currentTimeMillis.getAsLong());
+
+        final int capacity = Math.min(maxCount, INITIAL_CAPACITY);
+        eventTimes = new long[capacity];
+        encoded = new byte[capacity][];
+    }
+
+    /**
+     * Return the time this buffer was created, which is the earliest possible time of a stored notification.
+     *
+     * @return Creation time
+     */
+    Date getCreationTime() {
+        return new Date(creationTime.getTime());
+    }
+
+    /**
+     * Return the encoded form of a notification to be stored. The notification is encoded only once, its encoding
+     * is shared with all sessions it is sent to. This should be invoked before taking any lock.
+     *
+     * @param notification notification to encode
+     * @return Copy of the encoded notification
+     */
+    static byte[] encode(final NetconfNotification notification) {
+        return ByteBufUtil.getBytes(NetconfMessageToXMLEncoder.getSharedEncoding(notification));
+    }
+
+    /**
+     * Store a notification.
+     *
+     * @param eventTime event time of the notification
+     * @param notification notification encoded by {@link #encode(NetconfNotification)}
+     */
+    void append(final Date eventTime, final byte[] notification) {
+        final int encodedSize = notification.length;
+        if (encodedSize > maxBytes) {
+            LOG.debug("Not storing notification of {} bytes, exceeds limit of {} bytes", encodedSize, maxBytes);
+            return;
+        }
+
+        synchronized (this) {
+            expire(currentTimeMillis.getAsLong());
+            while (size > 0 && (size >= maxCount || bytes + encodedSize > maxBytes)) {
+                removeOldest();
+            }
+            if (size == eventTimes.length) {
+                grow();
+            }
+
+            final int tail = index(size);
+            eventTimes[tail] = eventTime.getTime();
+            encoded[tail] = notification;
+            bytes += encodedSize;
+            size++;
+        }
+    }
+
+    /**
+     * Return stored notifications with event time in the specified interval, from the oldest one. The returned list
+     * is a snapshot, hence it can be replayed without holding any lock.
+     *
+     * @param startTime start of the interval
+     * @param stopTime end of the interval, or {@code null} if not bounded
+     * @return Notifications to replay
+     */
+    synchronized List<StoredNotification> replay(final Date startTime, final Date stopTime) {
+        expire(currentTimeMillis.getAsLong());
+
+        final long start = startTime.getTime();
+        final long stop = stopTime == null ? Long.MAX_VALUE : stopTime.getTime();
+        final List<StoredNotification> replayed = new ArrayList<>();
+        for (int i = 0; i < size; ++i) {
+            final int index = index(i);
+            final long eventTime = eventTimes[index];
+            if (eventTime >= start && eventTime <= stop) {
+                replayed.add(new StoredNotification(eventTime, encoded[index]));
+            }
+        }
+        return replayed;
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return size;
+    }
+
+    @VisibleForTesting
+    synchronized long byteSize() {
+        return bytes;
+    }
+
+    @Holding("this")
+    private void expire(final long now) {
+        final long oldest = now - maxAgeMillis;
+        while (size > 0 && eventTimes[head] < oldest) {
+            removeOldest();
+        }
+    }
+
+    @Holding("this")
+    private void removeOldest() {
+        bytes -= encoded[head].length;
+        encoded[head] = null;
+        head = index(1);
+        size--;
+    }
+
+    @Holding("this")
+    private void grow() {
+        final int capacity = (int) Math.min(maxCount, 2L * eventTimes.length);
+        final long[] newEventTimes = new long[capacity];
+        final byte[][] newEncoded = new byte[capacity][];
+
+        // Unwrap the ring, so that head is at the start of the new arrays
+        final int firstPart = Math.min(size, eventTimes.length - head);
+        System.arraycopy(eventTimes, head, newEventTimes, 0, firstPart);
+        System.arraycopy(encoded, head, newEncoded, 0, firstPart);
+        System.arraycopy(eventTimes, 0, newEventTimes, firstPart, size - firstPart);
+        System.arraycopy(encoded, 0, newEncoded, firstPart, size - firstPart);
+        Arrays.fill(encoded, null);
+
+        eventTimes = newEventTimes;
+        encoded = newEncoded;
+        head = 0;
+    }
+
+    @Holding("this")
+    private int index(final int offset) {
+        return (head + offset) % eventTimes.length;
+    }
+
+    /**
+     * Notification taken from the buffer for replay.
+     */
+    static final class StoredNotification {
+        private final long eventTime;
+        private final byte[] encoded;
+
+        StoredNotification(final long eventTime, final byte[] encoded) {
+            this.eventTime = eventTime;
+            this.encoded = requireNonNull(encoded);
+        }
+
+        /**
+         * Parse the stored notification. Each invocation returns a new notification, with its own DOM.
+         *
+         * @return Parsed notification
+         * @throws IOException if the notification cannot be read
+         * @throws SAXException if the notification cannot be parsed
+         */
+        NetconfNotification toNotification() throws IOException, SAXException {
+            final Document document = XmlUtil.readXmlToDocument(new ByteArrayInputStream(encoded));
+            // Content is wrapped again along with event time, hence it replaces the stored notification element
+            final Element notification = document.getDocumentElement();
+            Node content = notification.getFirstChild();
+            while (content.getNodeType() != Node.ELEMENT_NODE) {
+                content = content.getNextSibling();
+            }
+            document.replaceChild(notification.removeChild(content), notification);
+            return new NetconfNotification(document, new Date(eventTime));
+        }
+    }
+}
@@ -7,17 +7,26 @@
  */
 package org.opendaylight.netconf.mdsal.notification.impl.ops;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.netconf.api.DocumentedException;
+import org.opendaylight.netconf.api.DocumentedException.ErrorSeverity;
+import org.opendaylight.netconf.api.DocumentedException.ErrorTag;
+import org.opendaylight.netconf.api.DocumentedException.ErrorType;
 import org.opendaylight.netconf.api.NetconfSession;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.mapping.api.SessionAwareNetconfOperation;
 import org.opendaylight.netconf.mdsal.notification.impl.NetconfNotificationManager;
 import org.opendaylight.netconf.notifications.NetconfNotification;
@@ -25,9 +34,13 @@ import org.opendaylight.netconf.notifications.NetconfNotificationListener;
 import org.opendaylight.netconf.notifications.NetconfNotificationRegistry;
 import org.opendaylight.netconf.notifications.NotificationListenerRegistration;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
+import org.opendaylight.netconf.util.messages.CompiledSubtreeFilter;
 import org.opendaylight.netconf.util.messages.SubtreeFilter;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.CreateSubscriptionInput;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.rev080714.NotificationComplete;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.rev080714.ReplayComplete;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -36,7 +49,8 @@ import org.w3c.dom.Element;
 /**
  * Create subscription listens for create subscription requests
  * and registers notification listeners into notification registry.
- * Received notifications are sent to the client right away
+ * Received notifications are sent to the client right away. If a start time is requested, notifications stored
+ * by the registry are replayed first. If a stop time is requested, the subscription completes once it is reached.
  */
 public class CreateSubscription extends AbstractSingletonNetconfOperation
         implements SessionAwareNetconfOperation, AutoCloseable {
@@ -45,14 +59,20 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
 
     static final String CREATE_SUBSCRIPTION = "create-subscription";
 
+    private static final String START_TIME = "startTime";
+    private static final String STOP_TIME = "stopTime";
+
     private final NetconfNotificationRegistry notifications;
-    private final List<NotificationListenerRegistration> subscriptions = new ArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private final List<NotificationSubscription> subscriptions = new ArrayList<>();
     private NetconfSession netconfSession;
 
     public CreateSubscription(final String netconfSessionIdForReporting,
-                              final NetconfNotificationRegistry notifications) {
+                              final NetconfNotificationRegistry notifications,
+                              final ScheduledExecutorService scheduler) {
         super(netconfSessionIdForReporting);
         this.notifications = notifications;
+        this.scheduler = requireNonNull(scheduler);
     }
 
     @Override
@@ -64,19 +84,16 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
         // Binding doesn't support anyxml nodes yet, so filter could not be retrieved
         // xml -> normalized node -> CreateSubscriptionInput conversion could be slower than current approach
 
-        final Optional<XmlElement> filter = operationElement.getOnlyChildElementWithSameNamespaceOptionally("filter");
-
-        // Replay not supported
-        final Optional<XmlElement> startTime =
-                operationElement.getOnlyChildElementWithSameNamespaceOptionally("startTime");
-        checkArgument(startTime.isEmpty(), "StartTime element not yet supported");
-
-        // Stop time not supported
-        final Optional<XmlElement> stopTime =
-                operationElement.getOnlyChildElementWithSameNamespaceOptionally("stopTime");
-        checkArgument(stopTime.isEmpty(), "StopTime element not yet supported");
+        final Optional<XmlElement> filterElement =
+                operationElement.getOnlyChildElementWithSameNamespaceOptionally("filter");
+        // Compile the filter once for all notifications of this subscription
+        final CompiledSubtreeFilter filter = filterElement.isPresent()
+                ? CompiledSubtreeFilter.compile(filterElement.get()) : null;
 
         final StreamNameType streamNameType = parseStreamIfPresent(operationElement);
+        final Date startTime = parseTimeIfPresent(operationElement, START_TIME);
+        final Date stopTime = parseTimeIfPresent(operationElement, STOP_TIME);
+        validateReplay(streamNameType, startTime, stopTime);
 
         requireNonNull(netconfSession);
         // Premature streams are allowed (meaning listener can register even if no provider is available yet)
@@ -85,9 +102,12 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
                     getNetconfSessionIdForReporting());
         }
 
-        final NotificationListenerRegistration notificationListenerRegistration = notifications
-                .registerNotificationListener(streamNameType, new NotificationSubscription(netconfSession, filter));
-        subscriptions.add(notificationListenerRegistration);
+        final NotificationSubscription subscription = new NotificationSubscription(netconfSession, filter, stopTime);
+        final NotificationListenerRegistration notificationListenerRegistration = startTime == null
+                ? notifications.registerNotificationListener(streamNameType, subscription)
+                : notifications.registerNotificationListener(streamNameType, subscription, startTime, stopTime);
+        subscription.start(notificationListenerRegistration, scheduler);
+        subscriptions.add(subscription);
 
         return document.createElement(XmlNetconfConstants.OK);
     }
@@ -98,6 +118,46 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
                 : NetconfNotificationManager.BASE_STREAM_NAME;
     }
 
+    private static Date parseTimeIfPresent(final XmlElement operationElement, final String name)
+            throws DocumentedException {
+        final Optional<XmlElement> time = operationElement.getOnlyChildElementWithSameNamespaceOptionally(name);
+        if (time.isEmpty()) {
+            return null;
+        }
+
+        final String value = time.get().getTextContent();
+        try {
+            return NetconfNotification.RFC3339_DATE_PARSER.apply(value);
+        } catch (DateTimeParseException e) {
+            throw new DocumentedException("Invalid " + name + " " + value, e, ErrorType.PROTOCOL,
+                ErrorTag.BAD_ELEMENT, ErrorSeverity.ERROR);
+        }
+    }
+
+    private void validateReplay(final StreamNameType stream, final Date startTime, final Date stopTime)
+            throws DocumentedException {
+        // RFC5277 section 2.1.1
+        if (startTime == null) {
+            if (stopTime != null) {
+                throw new DocumentedException(STOP_TIME + " requires " + START_TIME, ErrorType.PROTOCOL,
+                    ErrorTag.MISSING_ELEMENT, ErrorSeverity.ERROR);
+            }
+            return;
+        }
+        if (startTime.after(new Date())) {
+            throw new DocumentedException(START_TIME + " is in the future", ErrorType.PROTOCOL,
+                ErrorTag.BAD_ELEMENT, ErrorSeverity.ERROR);
+        }
+        if (stopTime != null && stopTime.before(startTime)) {
+            throw new DocumentedException(STOP_TIME + " is earlier than " + START_TIME, ErrorType.PROTOCOL,
+                ErrorTag.BAD_ELEMENT, ErrorSeverity.ERROR);
+        }
+        if (!notifications.isReplaySupported(stream)) {
+            throw new DocumentedException("Stream " + stream.getValue() + " does not support replay",
+                ErrorType.APPLICATION, ErrorTag.OPERATION_FAILED, ErrorSeverity.ERROR);
+        }
+    }
+
     @Override
     protected String getOperationName() {
         return CREATE_SUBSCRIPTION;
@@ -117,37 +177,119 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
     public void close() {
         netconfSession = null;
         // Unregister from notification streams
-        for (final NotificationListenerRegistration subscription : subscriptions) {
+        for (final NotificationSubscription subscription : subscriptions) {
             subscription.close();
         }
     }
 
-    private static class NotificationSubscription implements NetconfNotificationListener {
+    private static class NotificationSubscription implements NetconfNotificationListener, AutoCloseable {
         private final NetconfSession currentSession;
-        private final Optional<XmlElement> filter;
+        private final CompiledSubtreeFilter filter;
+        private final Date stopTime;
+
+        @GuardedBy("this")
+        private boolean complete;
+        private volatile NotificationListenerRegistration registration;
+        private volatile ScheduledFuture<?> completion;
 
-        NotificationSubscription(final NetconfSession currentSession, final Optional<XmlElement> filter) {
+        NotificationSubscription(final NetconfSession currentSession, final @Nullable CompiledSubtreeFilter filter,
+                final Date stopTime) {
             this.currentSession = currentSession;
-            this.filter = filter;
+            // A filter selecting everything passes notifications unchanged
+            this.filter = filter == null || filter.isSelectAll() ? null : filter;
+            this.stopTime = stopTime;
+        }
+
+        void start(final NotificationListenerRegistration reg, final ScheduledExecutorService scheduler) {
+            registration = reg;
+            final boolean alreadyComplete;
+            synchronized (this) {
+                alreadyComplete = complete;
+            }
+            if (alreadyComplete) {
+                // Completed by a notification delivered while registering, before the registration was known, hence
+                // it has not been closed
+                reg.close();
+                return;
+            }
+
+            if (stopTime != null) {
+                // Replay has completed by now, hence completion always follows replayComplete
+                final long delay = stopTime.getTime() - System.currentTimeMillis();
+                if (delay > 0) {
+                    completion = scheduler.schedule(this::completeSubscription, delay, TimeUnit.MILLISECONDS);
+                } else {
+                    completeSubscription();
+                }
+            }
+        }
+
+        @Override
+        public void onReplayComplete(final StreamNameType stream) {
+            currentSession.sendMessage(newNotification(ReplayComplete.QNAME));
         }
 
         @Override
         public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
-            if (filter.isPresent()) {
+            if (stopTime != null && notification.getEventTime().after(stopTime)) {
+                // Replayed notifications never exceed stop time, hence this is a live one received before scheduled
+                // completion ran
+                completeSubscription();
+                return;
+            }
+
+            if (filter != null) {
+                final Optional<Document> filtered;
                 try {
-                    final Optional<Document> filtered =
-                            SubtreeFilter.applySubtreeNotificationFilter(this.filter.get(), notification.getDocument());
-                    if (filtered.isPresent()) {
-                        final Date eventTime = notification.getEventTime();
-                        currentSession.sendMessage(new NetconfNotification(filtered.get(), eventTime));
-                    }
+                    filtered = SubtreeFilter.applySubtreeNotificationFilter(filter, notification.getDocument());
                 } catch (DocumentedException e) {
                     LOG.warn("Failed to process notification {}", notification, e);
-                    currentSession.sendMessage(notification);
+                    send(notification);
+                    return;
+                }
+                if (filtered.isPresent()) {
+                    send(new NetconfNotification(filtered.get(), notification.getEventTime()));
                 }
             } else {
+                send(notification);
+            }
+        }
+
+        @Override
+        public void close() {
+            final ScheduledFuture<?> local = completion;
+            if (local != null) {
+                local.cancel(false);
+            }
+            final NotificationListenerRegistration reg = registration;
+            if (reg != null) {
+                reg.close();
+            }
+        }
+
+        private synchronized void send(final NetconfNotification notification) {
+            // Nothing is sent once notificationComplete has been sent
+            if (!complete) {
                 currentSession.sendMessage(notification);
             }
         }
+
+        private void completeSubscription() {
+            synchronized (this) {
+                if (complete) {
+                    return;
+                }
+                complete = true;
+                currentSession.sendMessage(newNotification(NotificationComplete.QNAME));
+            }
+            // Closed outside of the lock, as the registry holds its own lock while delivering notifications
+            close();
+        }
+
+        private static NetconfNotification newNotification(final QName name) {
+            final Document document = XmlUtil.newDocument();
+            document.appendChild(document.createElementNS(name.getNamespace().toString(), name.getLocalName()));
+            return new NetconfNotification(document);
+        }
     }
 }
@@ -7,11 +7,21 @@
  */
 package org.opendaylight.netconf.mdsal.notification.impl;
 
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -27,6 +37,8 @@ import java.util.Iterator;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.opendaylight.mdsal.binding.dom.codec.impl.DefaultBindingDOMCodecFactory;
 import org.opendaylight.mdsal.binding.generator.impl.DefaultBindingRuntimeGenerator;
@@ -37,6 +49,7 @@ import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.notifications.NetconfNotificationCollector;
 import org.opendaylight.netconf.notifications.NetconfNotificationListener;
 import org.opendaylight.netconf.notifications.NotificationListenerRegistration;
+import org.opendaylight.netconf.notifications.NotificationPublisherRegistration;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.rev080714.netconf.streams.Stream;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.rev080714.netconf.streams.StreamBuilder;
@@ -189,6 +202,93 @@ public class NetconfNotificationManagerTest {
         verify(listenerBase, never()).onNotification(eq(testStream.getName()), eq(notification));
     }
 
+    @Test
+    public void testReplay() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager(
+            createTransformUtil(), 100, 0, 0);
+
+        final StreamNameType testStreamName = new StreamNameType("TEST_STREAM");
+        final NotificationPublisherRegistration publisher = netconfNotificationManager.registerNotificationPublisher(
+            new StreamBuilder().setName(testStreamName).setReplaySupport(false).build());
+        assertTrue(netconfNotificationManager.isReplaySupported(testStreamName));
+        final Stream stream = netconfNotificationManager.getNotificationPublishers().nonnullStream().values()
+            .iterator().next();
+        assertEquals(Boolean.TRUE, stream.getReplaySupport());
+        assertNotNull(stream.getReplayLogCreationTime());
+
+        final Date now = new Date();
+        publisher.onNotification(testStreamName, new NetconfNotification(
+            XmlUtil.readXmlToDocument("<first xmlns=\"test\"/>"), new Date(now.getTime() - 2000)));
+        publisher.onNotification(testStreamName, new NetconfNotification(
+            XmlUtil.readXmlToDocument("<second xmlns=\"test\"/>"), new Date(now.getTime() - 1000)));
+
+        final NetconfNotificationListener listener = mock(NetconfNotificationListener.class);
+        netconfNotificationManager.registerNotificationListener(testStreamName, listener,
+            new Date(now.getTime() - 1500), null);
+
+        final ArgumentCaptor<NetconfNotification> captor = ArgumentCaptor.forClass(NetconfNotification.class);
+        final InOrder order = inOrder(listener);
+        order.verify(listener).onNotification(eq(testStreamName), captor.capture());
+        order.verify(listener).onReplayComplete(testStreamName);
+        assertThat(XmlUtil.toString(captor.getValue().getDocument()), containsString("second"));
+
+        final NetconfNotification live = new NetconfNotification(
+            XmlUtil.readXmlToDocument("<third xmlns=\"test\"/>"));
+        publisher.onNotification(testStreamName, live);
+        order.verify(listener).onNotification(testStreamName, live);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testReplayQueuesLiveNotifications() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager(
+            createTransformUtil(), 100, 0, 0);
+
+        final StreamNameType testStreamName = new StreamNameType("TEST_STREAM");
+        final NotificationPublisherRegistration publisher = netconfNotificationManager.registerNotificationPublisher(
+            new StreamBuilder().setName(testStreamName).setReplaySupport(false).build());
+
+        final Date now = new Date();
+        final NetconfNotification stored = new NetconfNotification(
+            XmlUtil.readXmlToDocument("<first xmlns=\"test\"/>"), new Date(now.getTime() - 1000));
+        publisher.onNotification(testStreamName, stored);
+
+        // Replay does not hold the lock, hence a notification can be published while it is in progress
+        final NetconfNotification live = new NetconfNotification(
+            XmlUtil.readXmlToDocument("<second xmlns=\"test\"/>"));
+        final NetconfNotificationListener listener = mock(NetconfNotificationListener.class);
+        doAnswer(invocation -> {
+            publisher.onNotification(testStreamName, live);
+            return null;
+        }).when(listener).onNotification(eq(testStreamName), argThat(notification -> notification != live));
+        doNothing().when(listener).onNotification(testStreamName, live);
+        doNothing().when(listener).onReplayComplete(testStreamName);
+
+        netconfNotificationManager.registerNotificationListener(testStreamName, listener,
+            new Date(now.getTime() - 2000), null);
+
+        final ArgumentCaptor<NetconfNotification> captor = ArgumentCaptor.forClass(NetconfNotification.class);
+        final InOrder order = inOrder(listener);
+        order.verify(listener).onNotification(eq(testStreamName), captor.capture());
+        order.verify(listener).onReplayComplete(testStreamName);
+        order.verify(listener).onNotification(testStreamName, live);
+        verifyNoMoreInteractions(listener);
+
+        // Replayed notification is parsed from its stored form, it does not share the DOM of the stored one
+        assertNotSame(stored.getDocument(), captor.getValue().getDocument());
+        assertThat(XmlUtil.toString(captor.getValue().getDocument()), containsString("first"));
+    }
+
+    @Test
+    public void testReplayNotSupported() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = createManager();
+        netconfNotificationManager.registerBaseNotificationPublisher();
+
+        assertFalse(netconfNotificationManager.isReplaySupported(NetconfNotificationManager.BASE_STREAM_NAME));
+        assertThrows(IllegalArgumentException.class, () -> netconfNotificationManager.registerNotificationListener(
+            NetconfNotificationManager.BASE_STREAM_NAME, mock(NetconfNotificationListener.class), new Date(), null));
+    }
+
     @Test
     public void testClose() throws Exception {
         final NetconfNotificationManager netconfNotificationManager = createManager();
@@ -246,7 +346,11 @@ public class NetconfNotificationManagerTest {
     }
 
     private static NetconfNotificationManager createManager() throws YangParserException {
-        return new NetconfNotificationManager(new NotificationsTransformUtil(new YangParserFactoryImpl(),
-            new DefaultBindingRuntimeGenerator(), new DefaultBindingDOMCodecFactory()));
+        return new NetconfNotificationManager(createTransformUtil());
+    }
+
+    private static NotificationsTransformUtil createTransformUtil() throws YangParserException {
+        return new NotificationsTransformUtil(new YangParserFactoryImpl(), new DefaultBindingRuntimeGenerator(),
+            new DefaultBindingDOMCodecFactory());
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.mdsal.notification.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import io.netty.buffer.ByteBuf;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.mdsal.notification.impl.NotificationReplayBuffer.StoredNotification;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
+import org.opendaylight.netconf.notifications.NetconfNotification;
+import org.w3c.dom.Element;
+
+public class NotificationReplayBufferTest {
+    private final AtomicLong now = new AtomicLong(1000000);
+
+    @Test
+    public void testReplayInterval() throws Exception {
+        final NotificationReplayBuffer buffer = new NotificationReplayBuffer(100, Long.MAX_VALUE, Long.MAX_VALUE,
+            now::get);
+        for (int i = 0; i < 10; ++i) {
+            append(buffer, notification(i, 1000 * i));
+        }
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), replay(buffer, new Date(0), null));
+        assertEquals(List.of(3, 4, 5), replay(buffer, new Date(3000), new Date(5000)));
+        assertEquals(List.of(), replay(buffer, new Date(10000), null));
+    }
+
+    @Test
+    public void testMaxCount() throws Exception {
+        final NotificationReplayBuffer buffer = new NotificationReplayBuffer(20, Long.MAX_VALUE, Long.MAX_VALUE,
+            now::get);
+        // Wraps the ring around several times while growing it
+        for (int i = 0; i < 50; ++i) {
+            append(buffer, notification(i, 1000 * i));
+        }
+
+        assertEquals(20, buffer.size());
+        final List<Integer> replayed = replay(buffer, new Date(0), null);
+        assertEquals(20, replayed.size());
+        assertEquals(Integer.valueOf(30), replayed.get(0));
+        assertEquals(Integer.valueOf(49), replayed.get(19));
+    }
+
+    @Test
+    public void testMaxBytes() throws Exception {
+        final NotificationReplayBuffer probe = new NotificationReplayBuffer(1, Long.MAX_VALUE, Long.MAX_VALUE,
+            now::get);
+        append(probe, notification(0, 0));
+        final long size = probe.byteSize();
+
+        final NotificationReplayBuffer buffer = new NotificationReplayBuffer(100, 3 * size, Long.MAX_VALUE, now::get);
+        for (int i = 0; i < 5; ++i) {
+            append(buffer, notification(i, 1000 * i));
+        }
+
+        assertEquals(3 * size, buffer.byteSize());
+        assertEquals(List.of(2, 3, 4), replay(buffer, new Date(0), null));
+    }
+
+    @Test
+    public void testMaxAge() throws Exception {
+        final NotificationReplayBuffer buffer = new NotificationReplayBuffer(100, Long.MAX_VALUE, 5000, now::get);
+        for (int i = 0; i < 5; ++i) {
+            append(buffer, notification(i, now.get() - 1000 * (5 - i)));
+        }
+        assertEquals(5, buffer.size());
+
+        now.addAndGet(2500);
+        assertEquals(List.of(3, 4), replay(buffer, new Date(0), null));
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    public void testReplayFromEncoding() throws Exception {
+        final NotificationReplayBuffer buffer = new NotificationReplayBuffer(100, Long.MAX_VALUE, Long.MAX_VALUE,
+            now::get);
+        final NetconfNotification notification = notification(0, 0);
+        append(buffer, notification);
+
+        // Only the encoded form is retained
+        final ByteBuf encoding = NetconfMessageToXMLEncoder.getSharedEncoding(notification);
+        assertEquals(encoding.readableBytes(), buffer.byteSize());
+
+        // Each replay parses its own copy, which encodes the same
+        final List<StoredNotification> replayed = buffer.replay(new Date(0), null);
+        assertEquals(1, replayed.size());
+        final NetconfNotification first = replayed.get(0).toNotification();
+        final NetconfNotification second = replayed.get(0).toNotification();
+        assertNotSame(notification.getDocument(), first.getDocument());
+        assertNotSame(first.getDocument(), second.getDocument());
+        assertEquals(notification.getEventTime(), first.getEventTime());
+        assertEquals(encoding, NetconfMessageToXMLEncoder.getSharedEncoding(first));
+    }
+
+    private static void append(final NotificationReplayBuffer buffer, final NetconfNotification notification) {
+        buffer.append(notification.getEventTime(), NotificationReplayBuffer.encode(notification));
+    }
+
+    private static NetconfNotification notification(final int index, final long eventTime) throws Exception {
+        return new NetconfNotification(XmlUtil.readXmlToDocument("<event xmlns=\"test\"><index>" + index
+            + "</index></event>"), new Date(eventTime));
+    }
+
+    private static List<Integer> replay(final NotificationReplayBuffer buffer, final Date startTime,
+            final Date stopTime) throws Exception {
+        final List<Integer> replayed = new ArrayList<>();
+        for (final StoredNotification stored : buffer.replay(startTime, stopTime)) {
+            final NetconfNotification notification = stored.toNotification();
+            final Element event = (Element) notification.getDocument().getDocumentElement().getFirstChild();
+            replayed.add(Integer.valueOf(event.getElementsByTagNameNS("test", "index").item(0).getTextContent()));
+        }
+        return replayed;
+    }
+}
@@ -9,18 +9,37 @@ package org.opendaylight.netconf.mdsal.notification.impl.ops;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
+import java.util.Date;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.netconf.api.DocumentedException;
+import org.opendaylight.netconf.api.DocumentedException.ErrorTag;
+import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSession;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.notifications.NetconfNotificationListener;
 import org.opendaylight.netconf.notifications.NetconfNotificationRegistry;
 import org.opendaylight.netconf.notifications.NotificationListenerRegistration;
@@ -35,20 +54,39 @@ public class CreateSubscriptionTest {
             + "xmlns:netconf=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n"
             + "<stream>TESTSTREAM</stream>"
             + "</create-subscription>";
+    private static final String REPLAY_SUBSCRIPTION_XML = "<create-subscription\n"
+            + "xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\">\n"
+            + "<stream>TESTSTREAM</stream>"
+            + "<startTime>2021-01-01T00:00:00Z</startTime>"
+            + "</create-subscription>";
+    private static final String STOP_TIME_SUBSCRIPTION_XML = "<create-subscription\n"
+            + "xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\">\n"
+            + "<stream>TESTSTREAM</stream>"
+            + "<stopTime>2021-01-01T00:00:00Z</stopTime>"
+            + "</create-subscription>";
+
+    private static final String REPLAY_STOP_TIME_SUBSCRIPTION_XML = "<create-subscription\n"
+            + "xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\">\n"
+            + "<stream>TESTSTREAM</stream>"
+            + "<startTime>2021-01-01T00:00:00Z</startTime>"
+            + "<stopTime>%s</stopTime>"
+            + "</create-subscription>";
 
     @Mock
     private NetconfNotificationRegistry notificationRegistry;
+    @Mock
+    private ScheduledExecutorService scheduler;
 
     @Before
     public void setUp() {
         doReturn(true).when(notificationRegistry).isStreamAvailable(any(StreamNameType.class));
-        doReturn(mock(NotificationListenerRegistration.class)).when(notificationRegistry)
-                .registerNotificationListener(any(StreamNameType.class), any(NetconfNotificationListener.class));
     }
 
     @Test
     public void testHandleWithNoSubsequentOperations() throws Exception {
-        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry);
+        doReturn(mock(NotificationListenerRegistration.class)).when(notificationRegistry)
+                .registerNotificationListener(any(StreamNameType.class), any(NetconfNotificationListener.class));
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry, scheduler);
         createSubscription.setSession(mock(NetconfSession.class));
 
         final Element e = XmlUtil.readXmlToElement(CREATE_SUBSCRIPTION_XML);
@@ -59,4 +97,138 @@ public class CreateSubscriptionTest {
 
         assertThat(XmlUtil.toString(element), containsString("ok"));
     }
+
+    @Test
+    public void testReplay() throws Exception {
+        doReturn(true).when(notificationRegistry).isReplaySupported(any(StreamNameType.class));
+        doReturn(mock(NotificationListenerRegistration.class)).when(notificationRegistry)
+                .registerNotificationListener(any(StreamNameType.class), any(NetconfNotificationListener.class),
+                    any(Date.class), isNull());
+
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry, scheduler);
+        final NetconfSession session = mock(NetconfSession.class);
+        createSubscription.setSession(session);
+
+        final Element element = createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(),
+            XmlElement.fromDomElement(XmlUtil.readXmlToElement(REPLAY_SUBSCRIPTION_XML)));
+        assertThat(XmlUtil.toString(element), containsString("ok"));
+
+        final ArgumentCaptor<NetconfNotificationListener> listener =
+                ArgumentCaptor.forClass(NetconfNotificationListener.class);
+        verify(notificationRegistry).registerNotificationListener(eq(new StreamNameType("TESTSTREAM")),
+            listener.capture(), eq(NetconfNotification.RFC3339_DATE_PARSER.apply("2021-01-01T00:00:00Z")), isNull());
+
+        listener.getValue().onReplayComplete(new StreamNameType("TESTSTREAM"));
+        final ArgumentCaptor<NetconfMessage> message = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(session).sendMessage(message.capture());
+        assertThat(XmlUtil.toString(message.getValue().getDocument()), containsString("replayComplete"));
+    }
+
+    @Test
+    public void testStopTimeCompletion() throws Exception {
+        doReturn(true).when(notificationRegistry).isReplaySupported(any(StreamNameType.class));
+        final NotificationListenerRegistration registration = mock(NotificationListenerRegistration.class);
+        doNothing().when(registration).close();
+        doReturn(registration).when(notificationRegistry).registerNotificationListener(any(StreamNameType.class),
+            any(NetconfNotificationListener.class), any(Date.class), any(Date.class));
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(),
+            eq(TimeUnit.MILLISECONDS));
+
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry, scheduler);
+        final NetconfSession session = mock(NetconfSession.class);
+        createSubscription.setSession(session);
+
+        final String stopTime = NetconfNotification.RFC3339_DATE_FORMATTER.apply(
+            new Date(System.currentTimeMillis() + 60000));
+        createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(), XmlElement.fromDomElement(
+            XmlUtil.readXmlToElement(String.format(REPLAY_STOP_TIME_SUBSCRIPTION_XML, stopTime))));
+
+        // Completion is scheduled at stop time, even if no notification arrives afterwards
+        final ArgumentCaptor<Runnable> completion = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(completion.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        verify(session, never()).sendMessage(any(NetconfMessage.class));
+
+        completion.getValue().run();
+        final ArgumentCaptor<NetconfMessage> message = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(session).sendMessage(message.capture());
+        assertThat(XmlUtil.toString(message.getValue().getDocument()), containsString("notificationComplete"));
+        verify(registration).close();
+    }
+
+    @Test
+    public void testPastStopTimeCompletion() throws Exception {
+        doReturn(true).when(notificationRegistry).isReplaySupported(any(StreamNameType.class));
+        final NotificationListenerRegistration registration = mock(NotificationListenerRegistration.class);
+        doNothing().when(registration).close();
+        doReturn(registration).when(notificationRegistry).registerNotificationListener(any(StreamNameType.class),
+            any(NetconfNotificationListener.class), any(Date.class), any(Date.class));
+
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry, scheduler);
+        final NetconfSession session = mock(NetconfSession.class);
+        createSubscription.setSession(session);
+
+        createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(), XmlElement.fromDomElement(
+            XmlUtil.readXmlToElement(String.format(REPLAY_STOP_TIME_SUBSCRIPTION_XML, "2021-01-02T00:00:00Z"))));
+
+        // Stop time has passed already, hence the subscription completes right away
+        final ArgumentCaptor<NetconfMessage> message = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(session).sendMessage(message.capture());
+        assertThat(XmlUtil.toString(message.getValue().getDocument()), containsString("notificationComplete"));
+        verify(registration).close();
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    public void testCompletionWhileRegistering() throws Exception {
+        doReturn(true).when(notificationRegistry).isReplaySupported(any(StreamNameType.class));
+        final NotificationListenerRegistration registration = mock(NotificationListenerRegistration.class);
+        doNothing().when(registration).close();
+        // A notification past stop time is delivered before registration returns
+        doAnswer(invocation -> {
+            invocation.<NetconfNotificationListener>getArgument(1).onNotification(new StreamNameType("TESTSTREAM"),
+                new NetconfNotification(XmlUtil.readXmlToDocument("<event xmlns=\"test\"/>")));
+            return registration;
+        }).when(notificationRegistry).registerNotificationListener(any(StreamNameType.class),
+            any(NetconfNotificationListener.class), any(Date.class), any(Date.class));
+
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry, scheduler);
+        final NetconfSession session = mock(NetconfSession.class);
+        createSubscription.setSession(session);
+
+        final String stopTime = NetconfNotification.RFC3339_DATE_FORMATTER.apply(
+            new Date(System.currentTimeMillis() - 60000));
+        createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(), XmlElement.fromDomElement(
+            XmlUtil.readXmlToElement(String.format(REPLAY_STOP_TIME_SUBSCRIPTION_XML, stopTime))));
+
+        // The registration is closed once it is known
+        final ArgumentCaptor<NetconfMessage> message = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(session).sendMessage(message.capture());
+        assertThat(XmlUtil.toString(message.getValue().getDocument()), containsString("notificationComplete"));
+        verify(registration).close();
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    public void testReplayNotSupported() throws Exception {
+        doReturn(false).when(notificationRegistry).isReplaySupported(any(StreamNameType.class));
+
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry, scheduler);
+        createSubscription.setSession(mock(NetconfSession.class));
+
+        final DocumentedException ex = assertThrows(DocumentedException.class,
+            () -> createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(),
+                XmlElement.fromDomElement(XmlUtil.readXmlToElement(REPLAY_SUBSCRIPTION_XML))));
+        assertEquals(ErrorTag.OPERATION_FAILED, ex.getErrorTag());
+    }
+
+    @Test
+    public void testStopTimeWithoutStartTime() throws Exception {
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry, scheduler);
+        createSubscription.setSession(mock(NetconfSession.class));
+
+        final DocumentedException ex = assertThrows(DocumentedException.class,
+            () -> createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(),
+                XmlElement.fromDomElement(XmlUtil.readXmlToElement(STOP_TIME_SUBSCRIPTION_XML))));
+        assertEquals(ErrorTag.MISSING_ELEMENT, ex.getErrorTag());
+    }
 }
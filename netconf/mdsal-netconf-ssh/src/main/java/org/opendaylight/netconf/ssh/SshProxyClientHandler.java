@@ -11,6 +11,7 @@ package org.opendaylight.netconf.ssh;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
 import java.nio.charset.StandardCharsets;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
 import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandlerReader;
@@ -49,9 +50,12 @@ final class SshProxyClientHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelActive(final ChannelHandlerContext ctx) throws Exception {
+        asyncSshHandlerWriter = new AsyncSshHandlerWriter(out);
+        // Hand the writer over to the server session ahead of any data, so that it can observe backpressure
+        ctx.write(asyncSshHandlerWriter);
+
         writeAdditionalHeader(ctx);
 
-        asyncSshHandlerWriter = new AsyncSshHandlerWriter(out);
         asyncSshHandlerReader = new AsyncSshHandlerReader(() -> {
             // Close both sessions (delegate server and remote client)
             ctx.fireChannelInactive();
@@ -67,7 +71,7 @@ final class SshProxyClientHandler extends ChannelInboundHandlerAdapter {
             }
             // Just forward to delegate
             ctx.writeAndFlush(msg);
-        }, "ssh" + netconfHelloMessageAdditionalHeader.getAddress(), in);
+        }, "ssh" + netconfHelloMessageAdditionalHeader.getAddress(), in, ctx.alloc());
 
 
         super.channelActive(ctx);
@@ -80,7 +84,16 @@ final class SshProxyClientHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
-        asyncSshHandlerWriter.write(ctx, msg, ctx.newPromise());
+        final ChannelPromise promise = ctx.newPromise();
+        promise.addListener(future -> {
+            // The message cannot be delivered and the client would see a broken stream, tear down the session
+            if (!future.isSuccess() && ctx.channel().isOpen()) {
+                LOG.warn("Failed to forward message to client: {} on channel: {}, closing session",
+                    netconfHelloMessageAdditionalHeader.getAddress(), ctx.channel(), future.cause());
+                ctx.close();
+            }
+        });
+        asyncSshHandlerWriter.write(ctx, msg, promise);
     }
 
     @Override
@@ -89,6 +102,9 @@ final class SshProxyClientHandler extends ChannelInboundHandlerAdapter {
                 netconfHelloMessageAdditionalHeader.getAddress(), ctx.channel());
         callback.onExit(1, "Internal connection to netconf server was dropped for client: "
                 + netconfHelloMessageAdditionalHeader.getAddress() + " on channel: " + ctx.channel());
+        if (asyncSshHandlerWriter != null) {
+            asyncSshHandlerWriter.close();
+        }
         super.channelInactive(ctx);
     }
 }
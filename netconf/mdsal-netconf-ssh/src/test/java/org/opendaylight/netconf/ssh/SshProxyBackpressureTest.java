@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.ssh;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.util.ReferenceCountUtil;
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.NetconfSessionListener;
+import org.opendaylight.netconf.nettyutil.AbstractNetconfSession;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandlerWriter;
+import org.opendaylight.netconf.shaded.sshd.client.SshClient;
+import org.opendaylight.netconf.shaded.sshd.client.channel.ClientChannel;
+import org.opendaylight.netconf.shaded.sshd.client.session.ClientSession;
+import org.opendaylight.netconf.shaded.sshd.common.util.security.SecurityUtils;
+
+/**
+ * Verifies that a session served through {@link SshProxyServer} observes backpressure from an SSH client which does
+ * not read its output, and that the session is torn down once the proxy cannot queue any more of it.
+ */
+public class SshProxyBackpressureTest {
+    private static final String HOST = "127.0.0.1";
+    private static final int PORT = 1832;
+    private static final LocalAddress LOCAL_ADDRESS = new LocalAddress("ssh-proxy-backpressure-test");
+    private static final int MESSAGE_SIZE = 8192;
+
+    private final ExecutorService nioExec = Executors.newFixedThreadPool(1);
+    private final EventLoopGroup group = new NioEventLoopGroup();
+    private final ScheduledExecutorService minaTimerEx = Executors.newScheduledThreadPool(1);
+    private final CompletableFuture<Channel> serverChannel = new CompletableFuture<>();
+    private final CompletableFuture<AsyncSshHandlerWriter> proxiedWriter = new CompletableFuture<>();
+
+    private SshProxyServer server;
+    private Channel localServer;
+    private SshClient sshClient;
+
+    @Before
+    public void setUp() throws Exception {
+        localServer = new ServerBootstrap().group(group).channel(LocalServerChannel.class)
+            .childHandler(new ChannelInitializer<LocalChannel>() {
+                @Override
+                protected void initChannel(final LocalChannel ch) {
+                    ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+                            // The proxy hands over its writer first, followed by its additional header
+                            if (msg instanceof AsyncSshHandlerWriter) {
+                                proxiedWriter.complete((AsyncSshHandlerWriter) msg);
+                            } else {
+                                ReferenceCountUtil.release(msg);
+                                serverChannel.complete(ctx.channel());
+                            }
+                        }
+                    });
+                }
+            }).bind(LOCAL_ADDRESS).sync().channel();
+
+        final File sshKeyPair = Files.createTempFile("sshKeyPair", ".pem").toFile();
+        sshKeyPair.deleteOnExit();
+        server = new SshProxyServer(minaTimerEx, group, nioExec);
+        server.bind(new SshProxyServerConfigurationBuilder()
+            .setBindingAddress(InetSocketAddress.createUnresolved(HOST, PORT)).setLocalAddress(LOCAL_ADDRESS)
+            .setAuthenticator((username, password) -> true)
+            .setKeyPairProvider(SecurityUtils.createGeneratorHostKeyProvider(sshKeyPair.toPath()))
+            .setIdleTimeout(Integer.MAX_VALUE).createSshProxyServerConfiguration());
+
+        sshClient = SshClient.setUpDefaultClient();
+        sshClient.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        sshClient.close(true);
+        server.close();
+        localServer.close().sync();
+        group.shutdownGracefully().await();
+        minaTimerEx.shutdownNow();
+        nioExec.shutdownNow();
+    }
+
+    @Test
+    public void testBackpressureReachesSession() throws Exception {
+        final ClientSession session = sshClient.connect("netconf", HOST, PORT).verify(30, TimeUnit.SECONDS)
+            .getSession();
+        session.addPasswordIdentity("netconf");
+        session.auth().verify(30, TimeUnit.SECONDS);
+
+        // Open the subsystem, but never read from it, so that the SSH window gets exhausted
+        final ClientChannel channel = session.createSubsystemChannel("netconf");
+        channel.setStreaming(ClientChannel.Streaming.Async);
+        channel.open().verify(30, TimeUnit.SECONDS);
+
+        final Channel ch = serverChannel.get(30, TimeUnit.SECONDS);
+        assertTrue(proxiedWriter.isDone());
+        final TestingSession netconfSession = new TestingSession(ch, proxiedWriter.get());
+        assertTrue(ch.isWritable());
+
+        // Enough to exhaust the window and fill the proxy's queue past half of its request limit
+        write(ch, 1000);
+        await(() -> !ch.isWritable());
+        assertTrue(netconfSession.getOutboundQueuedBytes() > 0);
+
+        // Overflowing the queue must not lose messages silently, but tear down the session
+        write(ch, 1000);
+        assertTrue(ch.closeFuture().await(30, TimeUnit.SECONDS));
+        assertFalse(ch.isActive());
+    }
+
+    private static void write(final Channel ch, final int count) {
+        ch.eventLoop().execute(() -> {
+            for (int i = 0; i < count; ++i) {
+                ch.write(Unpooled.wrappedBuffer(new byte[MESSAGE_SIZE]));
+            }
+            ch.flush();
+        });
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out waiting for condition", System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class TestingSession
+            extends AbstractNetconfSession<TestingSession, NetconfSessionListener<TestingSession>> {
+        @SuppressWarnings("unchecked")
+        TestingSession(final Channel channel, final AsyncSshHandlerWriter writer) {
+            super(mock(NetconfSessionListener.class), channel, 1);
+            setProxiedWriter(writer);
+        }
+
+        @Override
+        protected TestingSession thisInstance() {
+            return this;
+        }
+
+        @Override
+        protected void addExiHandlers(final ByteToMessageDecoder decoder,
+                final MessageToByteEncoder<NetconfMessage> encoder) {
+            // Not used
+        }
+
+        @Override
+        public void stopExiCommunication() {
+            // Not used
+        }
+    }
+}
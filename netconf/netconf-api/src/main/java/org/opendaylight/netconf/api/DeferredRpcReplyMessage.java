@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+/**
+ * A successful {@code rpc-reply} whose body has not been parsed into a {@link Document}. Decoders emit this message
+ * when they have verified the reply does not carry {@code ok} or {@code rpc-error}, so that consumers can stream the
+ * body directly into their own representation. The DOM document is still available through {@link #getDocument()},
+ * but it is only built on first access.
+ */
+public final class DeferredRpcReplyMessage extends NetconfMessage {
+    // Number of bytes shown by toString(), so that large replies do not end up in logs and exception messages
+    private static final int TO_STRING_LIMIT = 1024;
+
+    private final byte[] bytes;
+    private final @Nullable String messageId;
+
+    private volatile Document document;
+
+    public DeferredRpcReplyMessage(final byte[] bytes, final @Nullable String messageId) {
+        this.bytes = requireNonNull(bytes);
+        this.messageId = messageId;
+    }
+
+    /**
+     * Return the {@code message-id} attribute of the {@code rpc-reply} element.
+     *
+     * @return message-id, or null if the reply did not have one
+     */
+    public @Nullable String getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * Open a stream over the serialized form of this message.
+     *
+     * @return An InputStream
+     */
+    public InputStream openStream() {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    /**
+     * Return the size of the serialized form of this message.
+     *
+     * @return Size in bytes
+     */
+    public int size() {
+        return bytes.length;
+    }
+
+    @Override
+    public Document getDocument() {
+        Document local = document;
+        if (local == null) {
+            synchronized (this) {
+                local = document;
+                if (local == null) {
+                    try {
+                        document = local = XmlUtil.readXmlToDocument(openStream());
+                    } catch (SAXException | IOException e) {
+                        throw new IllegalStateException("Failed to parse deferred reply", e);
+                    }
+                }
+            }
+        }
+        return local;
+    }
+
+    @Override
+    public String toString() {
+        if (bytes.length <= TO_STRING_LIMIT) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new String(bytes, 0, TO_STRING_LIMIT, StandardCharsets.UTF_8) + "... (" + bytes.length
+            + " bytes total)";
+    }
+}
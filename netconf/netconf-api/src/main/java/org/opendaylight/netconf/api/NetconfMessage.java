@@ -17,6 +17,7 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.w3c.dom.Document;
 
 /**
@@ -24,6 +25,8 @@ import org.w3c.dom.Document;
  * implementing ProtocolMessage interface.
  */
 public class NetconfMessage {
+    // Maximum number of bytes of buffered streamed content included in toString()
+    private static final int STREAMED_PREVIEW_BYTES = 1024;
     private static final Transformer TRANSFORMER;
 
     static {
@@ -57,7 +60,9 @@ public class NetconfMessage {
     @Override
     public String toString() {
         final StreamResult result = new StreamResult(new StringWriter());
-        final DOMSource source = new DOMSource(doc.getDocumentElement());
+        // Streamed content is not part of the DOM and it can be huge, only its summary is written into a copy
+        final DOMSource source = new DOMSource(XmlUtil.withStreamedContentSummary(doc.getDocumentElement(),
+            STREAMED_PREVIEW_BYTES));
 
         try {
             // Slight critical section is a tradeoff. This should be reasonably fast.
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api;
+
+import com.google.common.annotations.Beta;
+import io.netty.buffer.ByteBuf;
+import java.util.function.Function;
+import org.w3c.dom.Document;
+
+/**
+ * A {@link NetconfMessage} which is not modified once created and is typically sent to many sessions, such as
+ * a notification. Encoders can compute its encoded form once and share it among all sessions using the same encoding.
+ */
+@Beta
+public interface SharedEncodingMessage {
+    /**
+     * Return the encoded form of this message, computing it on first request for a particular encoding. The returned
+     * buffer is owned by this message: callers must not modify or release it, but rather write its retained duplicate.
+     *
+     * @param encoding encoding identifier, compared by equality
+     * @param encoder function encoding the message document
+     * @return Buffer containing the encoded message
+     */
+    ByteBuf getEncoded(Object encoding, Function<Document, ByteBuf> encoder);
+}
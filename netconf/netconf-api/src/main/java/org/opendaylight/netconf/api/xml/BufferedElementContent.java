@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api.xml;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.Beta;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * {@link StreamedElementContent} which has already been written as compact UTF-8 encoded XML. The encoded form is held
+ * in chunks of bounded size, so that large content does not need a single contiguous buffer. Content is buffered by
+ * {@link XmlUtil#bufferStreamedContent(org.w3c.dom.Node)} on the thread producing a message, so that its encoder
+ * can pass the encoded form down without writing it again.
+ */
+@Beta
+public final class BufferedElementContent implements StreamedElementContent {
+    private static final int CHUNK_SIZE = 65536;
+    private static final byte[] HOLDER_START = "<holder>".getBytes(UTF_8);
+    private static final byte[] HOLDER_END = "</holder>".getBytes(UTF_8);
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY;
+    private static final XMLInputFactory XML_INPUT_FACTORY;
+
+    static {
+        XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+        XML_OUTPUT_FACTORY.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+        XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final List<byte[]> chunks;
+    private final long size;
+
+    private BufferedElementContent(final List<byte[]> chunks, final long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Write streamed content into a buffer.
+     *
+     * @param content content to write
+     * @return Buffered content
+     * @throws IOException if the content cannot be produced
+     * @throws XMLStreamException if the content cannot be written
+     */
+    public static BufferedElementContent of(final StreamedElementContent content)
+            throws IOException, XMLStreamException {
+        if (content instanceof BufferedElementContent) {
+            return (BufferedElementContent) content;
+        }
+
+        final ChunkedOutputStream out = new ChunkedOutputStream();
+        final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(out, UTF_8.name());
+        content.writeTo(writer);
+        writer.flush();
+        writer.close();
+        return out.toContent();
+    }
+
+    /**
+     * Return the size of the encoded content.
+     *
+     * @return Size in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Write the encoded content.
+     *
+     * @param out stream to write to
+     * @throws IOException if the stream fails
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        for (final byte[] chunk : chunks) {
+            out.write(chunk);
+        }
+    }
+
+    @Override
+    public void writeTo(final XMLStreamWriter writer) throws IOException, XMLStreamException {
+        // Content can have multiple top-level elements, hence it is parsed within a holder element
+        final List<InputStream> streams = new ArrayList<>(chunks.size() + 2);
+        streams.add(new ByteArrayInputStream(HOLDER_START));
+        for (final byte[] chunk : chunks) {
+            streams.add(new ByteArrayInputStream(chunk));
+        }
+        streams.add(new ByteArrayInputStream(HOLDER_END));
+
+        final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(
+            new SequenceInputStream(Collections.enumeration(streams)), UTF_8.name());
+        try {
+            copy(reader, writer);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Return the encoded content as read-only buffers, which share the chunks held by this object.
+     *
+     * @return Buffers holding the encoded content, in order
+     */
+    public List<ByteBuffer> toByteBuffers() {
+        final List<ByteBuffer> buffers = new ArrayList<>(chunks.size());
+        for (final byte[] chunk : chunks) {
+            buffers.add(ByteBuffer.wrap(chunk).asReadOnlyBuffer());
+        }
+        return buffers;
+    }
+
+    /**
+     * Return the start of the encoded content, suitable for logging.
+     *
+     * @param maxBytes maximum number of bytes to decode
+     * @return Decoded start of the content, possibly ending with an incomplete character
+     */
+    public String preview(final int maxBytes) {
+        final StringBuilder sb = new StringBuilder();
+        int remaining = maxBytes;
+        for (final byte[] chunk : chunks) {
+            if (remaining <= 0) {
+                break;
+            }
+            final int length = Math.min(remaining, chunk.length);
+            sb.append(new String(chunk, 0, length, UTF_8));
+            remaining -= length;
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return BufferedElementContent.class.getSimpleName() + "{size=" + size + "}";
+    }
+
+    private static void copy(final XMLStreamReader reader, final XMLStreamWriter writer) throws XMLStreamException {
+        int depth = 0;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (depth++ != 0) {
+                        writeStartElement(reader, writer);
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (--depth != 0) {
+                        writer.writeEndElement();
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    writer.writeCharacters(reader.getText());
+                    break;
+                default:
+                    // Nothing else is written by XMLStreamWriter for element content
+                    break;
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeStartElement(final XMLStreamReader reader, final XMLStreamWriter writer)
+            throws XMLStreamException {
+        writer.writeStartElement(nullToEmpty(reader.getPrefix()), reader.getLocalName(),
+            nullToEmpty(reader.getNamespaceURI()));
+        for (int i = 0; i < reader.getNamespaceCount(); ++i) {
+            final String prefix = reader.getNamespacePrefix(i);
+            if (prefix == null || prefix.isEmpty()) {
+                writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+            } else {
+                writer.writeNamespace(prefix, reader.getNamespaceURI(i));
+            }
+        }
+        for (int i = 0; i < reader.getAttributeCount(); ++i) {
+            final String namespace = reader.getAttributeNamespace(i);
+            if (namespace == null || namespace.isEmpty()) {
+                writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            } else {
+                writer.writeAttribute(nullToEmpty(reader.getAttributePrefix(i)), namespace,
+                    reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            }
+        }
+    }
+
+    private static String nullToEmpty(final String str) {
+        return str == null ? "" : str;
+    }
+
+    /**
+     * Output stream collecting written bytes into chunks of {@link #CHUNK_SIZE} bytes.
+     */
+    private static final class ChunkedOutputStream extends OutputStream {
+        private final List<byte[]> chunks = new ArrayList<>();
+        private byte[] current = new byte[CHUNK_SIZE];
+        private int position;
+        private long size;
+
+        @Override
+        public void write(final int value) {
+            if (position == current.length) {
+                nextChunk();
+            }
+            current[position++] = (byte) value;
+            size++;
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            int off = offset;
+            int remaining = length;
+            while (remaining > 0) {
+                if (position == current.length) {
+                    nextChunk();
+                }
+                final int count = Math.min(remaining, current.length - position);
+                System.arraycopy(bytes, off, current, position, count);
+                position += count;
+                off += count;
+                remaining -= count;
+            }
+            size += length;
+        }
+
+        BufferedElementContent toContent() {
+            if (position != 0) {
+                // Last chunk is trimmed, so that it does not retain unused space
+                final byte[] last = new byte[position];
+                System.arraycopy(current, 0, last, 0, position);
+                chunks.add(last);
+            }
+            current = null;
+            return new BufferedElementContent(List.copyOf(chunks), size);
+        }
+
+        private void nextChunk() {
+            chunks.add(current);
+            current = new byte[CHUNK_SIZE];
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api.xml;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Content of a DOM element, which is not present in the DOM, but is written only when the message containing
+ * the element is serialized. This allows large content, such as a whole datastore, to be serialized without building
+ * its DOM first. Streamed content precedes any children the element has in the DOM.
+ *
+ * <p>
+ * Content is attached to an element by {@link XmlUtil#setStreamedContent(org.w3c.dom.Element,
+ * StreamedElementContent)}. Consumers, which need to see the content in the DOM, are expected to call
+ * {@link XmlUtil#materializeStreamedContent(org.w3c.dom.Node)} first. Content can be written into a buffer ahead
+ * of serialization by {@link XmlUtil#bufferStreamedContent(org.w3c.dom.Node)}.
+ */
+@Beta
+@FunctionalInterface
+public interface StreamedElementContent {
+    /**
+     * Write the content. The writer is expected to be namespace repairing, as enclosing namespace declarations are
+     * not known to it.
+     *
+     * @param writer writer to write to
+     * @throws IOException if the content cannot be produced
+     * @throws XMLStreamException if the writer fails
+     */
+    void writeTo(XMLStreamWriter writer) throws IOException, XMLStreamException;
+}
@@ -23,12 +23,16 @@ import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
+import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -46,6 +50,8 @@ public final class XmlUtil {
     private static final DocumentBuilderFactory BUILDER_FACTORY;
     private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
     private static final SchemaFactory SCHEMA_FACTORY = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY;
+    private static final String STREAMED_CONTENT = StreamedElementContent.class.getName();
 
     static {
         DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
@@ -66,6 +72,9 @@ public final class XmlUtil {
         factory.setIgnoringElementContentWhitespace(true);
         factory.setIgnoringComments(true);
         BUILDER_FACTORY = factory;
+
+        XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+        XML_OUTPUT_FACTORY.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
     }
 
     private static final ThreadLocal<DocumentBuilder> DEFAULT_DOM_BUILDER = new ThreadLocal<DocumentBuilder>() {
@@ -165,6 +174,152 @@ public final class XmlUtil {
         return prefix + ":" + value;
     }
 
+    /**
+     * Attach content to an element, which is written only when the element is serialized.
+     *
+     * @param element element to attach content to
+     * @param content streamed content
+     */
+    public static void setStreamedContent(final Element element, final StreamedElementContent content) {
+        element.setUserData(STREAMED_CONTENT, content, null);
+    }
+
+    /**
+     * Return content attached to an element by {@link #setStreamedContent(Element, StreamedElementContent)}.
+     *
+     * @param element element
+     * @return streamed content, or empty if the element does not have any
+     */
+    public static Optional<StreamedElementContent> getStreamedContent(final Element element) {
+        return Optional.ofNullable((StreamedElementContent) element.getUserData(STREAMED_CONTENT));
+    }
+
+    /**
+     * Write streamed content of a node and all of its descendants into the DOM, so that it can be processed like
+     * any other DOM content.
+     *
+     * @param node node to materialize
+     * @throws IllegalStateException if any content cannot be written
+     */
+    public static void materializeStreamedContent(final Node node) {
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                materializeStreamedContent(child);
+            }
+        }
+        if (node.getNodeType() == Node.ELEMENT_NODE) {
+            final Element element = (Element) node;
+            final Optional<StreamedElementContent> content = getStreamedContent(element);
+            if (content.isPresent()) {
+                element.setUserData(STREAMED_CONTENT, null, null);
+                materializeStreamedContent(element, content.get());
+            }
+        }
+    }
+
+    private static void materializeStreamedContent(final Element element, final StreamedElementContent content) {
+        // Write into a detached element first, streamed content precedes existing children
+        final Element holder = element.getOwnerDocument().createElementNS(element.getNamespaceURI(),
+            element.getNodeName());
+        try {
+            final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(new DOMResult(holder));
+            content.writeTo(writer);
+            writer.flush();
+        } catch (XMLStreamException | IOException e) {
+            throw new IllegalStateException("Unable to write streamed content of " + element, e);
+        }
+
+        final Node first = element.getFirstChild();
+        for (Node child = holder.getFirstChild(); child != null; child = holder.getFirstChild()) {
+            element.insertBefore(child, first);
+        }
+    }
+
+    /**
+     * Write streamed content of a node and all of its descendants into buffers, so that serializing them later only
+     * copies their encoded form. This is useful when the node is going to be serialized on a thread which should not
+     * be blocked, such as an I/O thread.
+     *
+     * @param node node to buffer
+     * @throws IllegalStateException if any content cannot be written
+     */
+    public static void bufferStreamedContent(final Node node) {
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                bufferStreamedContent(child);
+            }
+        }
+        if (node.getNodeType() == Node.ELEMENT_NODE) {
+            final Element element = (Element) node;
+            final Optional<StreamedElementContent> content = getStreamedContent(element);
+            if (content.isPresent() && !(content.get() instanceof BufferedElementContent)) {
+                try {
+                    setStreamedContent(element, BufferedElementContent.of(content.get()));
+                } catch (XMLStreamException | IOException e) {
+                    throw new IllegalStateException("Unable to write streamed content of " + element, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return an element suitable for logging. Streamed content of the element and its descendants is not written, as
+     * it can be arbitrarily large, it is summarized by a comment instead. Buffered content is summarized by its size
+     * and its first {@code previewBytes} bytes. If there is no streamed content, the element itself is returned.
+     * Otherwise a detached copy of the element is returned, while the element itself is left intact.
+     *
+     * @param element element
+     * @param previewBytes maximum number of bytes of buffered content to include
+     * @return The element or its summarized copy
+     */
+    public static Element withStreamedContentSummary(final Element element, final int previewBytes) {
+        if (!hasStreamedContent(element)) {
+            return element;
+        }
+
+        final Element copy = (Element) element.cloneNode(true);
+        summarizeStreamedContent(element, copy, previewBytes);
+        return copy;
+    }
+
+    private static boolean hasStreamedContent(final Element element) {
+        if (getStreamedContent(element).isPresent()) {
+            return true;
+        }
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE && hasStreamedContent((Element) child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void summarizeStreamedContent(final Node from, final Node to, final int previewBytes) {
+        // Cloned node has the same structure, but user data is not cloned
+        for (Node fromChild = from.getFirstChild(), toChild = to.getFirstChild(); fromChild != null;
+                fromChild = fromChild.getNextSibling(), toChild = toChild.getNextSibling()) {
+            summarizeStreamedContent(fromChild, toChild, previewBytes);
+        }
+        if (from.getNodeType() == Node.ELEMENT_NODE) {
+            getStreamedContent((Element) from).ifPresent(content -> to.insertBefore(
+                to.getOwnerDocument().createComment(summarize(content, previewBytes)), to.getFirstChild()));
+        }
+    }
+
+    private static String summarize(final StreamedElementContent content, final int previewBytes) {
+        final String summary;
+        if (content instanceof BufferedElementContent) {
+            final BufferedElementContent buffered = (BufferedElementContent) content;
+            final String preview = buffered.preview(previewBytes);
+            summary = "streamed content, " + buffered.size() + " bytes: " + preview
+                + (preview.length() < buffered.size() ? "..." : "");
+        } else {
+            summary = "streamed content: " + content;
+        }
+        // Comments cannot contain a double hyphen nor end with a hyphen
+        return " " + summary.replace("--", "- -") + " ";
+    }
+
     public static String toString(final Document document) {
         return toString(document.getDocumentElement());
     }
@@ -7,17 +7,27 @@
  */
 package org.opendaylight.netconf.api.xml;
 
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import org.custommonkey.xmlunit.Diff;
 import org.custommonkey.xmlunit.XMLUnit;
 import org.junit.Test;
+import org.opendaylight.netconf.api.NetconfMessage;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.xml.sax.SAXParseException;
 
 public class XmlUtilTest {
@@ -49,6 +59,88 @@ public class XmlUtilTest {
         assertTrue(diff.toString(), diff.similar());
     }
 
+    @Test
+    public void testMaterializeStreamedContent() throws Exception {
+        final Document document = XmlUtil.readXmlToDocument("<top xmlns=\"namespace\"><last/></top>");
+        final Element top = document.getDocumentElement();
+        XmlUtil.setStreamedContent(top, writer -> {
+            writer.writeStartElement("", "streamed", "otherNamespace");
+            writer.writeCharacters("value");
+            writer.writeEndElement();
+        });
+        assertTrue(XmlUtil.getStreamedContent(top).isPresent());
+
+        XmlUtil.materializeStreamedContent(document);
+        assertTrue(XmlUtil.getStreamedContent(top).isEmpty());
+
+        XMLUnit.setIgnoreWhitespace(true);
+        final Diff diff = XMLUnit.compareXML(XMLUnit.buildControlDocument("<top xmlns=\"namespace\">"
+            + "<streamed xmlns=\"otherNamespace\">value</streamed><last/></top>"), document);
+        assertTrue(diff.toString(), diff.similar());
+    }
+
+    @Test
+    public void testBufferStreamedContent() throws Exception {
+        final Document document = XmlUtil.readXmlToDocument("<top xmlns=\"namespace\"><last/></top>");
+        final Element top = document.getDocumentElement();
+        XmlUtil.setStreamedContent(top, writer -> {
+            writer.writeStartElement("", "streamed", "otherNamespace");
+            writer.writeAttribute("attr", "a&b");
+            writer.writeCharacters("value");
+            writer.writeEndElement();
+            writer.writeStartElement("", "second", "namespace");
+            writer.writeEndElement();
+        });
+
+        XmlUtil.bufferStreamedContent(document);
+        final StreamedElementContent content = XmlUtil.getStreamedContent(top).orElseThrow();
+        assertThat(content, instanceOf(BufferedElementContent.class));
+
+        final BufferedElementContent buffered = (BufferedElementContent) content;
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buffered.writeTo(out);
+        assertEquals(buffered.size(), out.size());
+        assertThat(out.toString(StandardCharsets.UTF_8), containsString(">value</streamed>"));
+
+        // Buffered content can still be materialized
+        XmlUtil.materializeStreamedContent(document);
+        final Diff diff = XMLUnit.compareXML(XMLUnit.buildControlDocument("<top xmlns=\"namespace\">"
+            + "<streamed xmlns=\"otherNamespace\" attr=\"a&amp;b\">value</streamed><second/><last/></top>"),
+            document);
+        assertTrue(diff.toString(), diff.similar());
+    }
+
+    @Test
+    public void testWithStreamedContentSummary() throws Exception {
+        final Document document = XmlUtil.readXmlToDocument("<top xmlns=\"namespace\"><inner/></top>");
+        final Element top = document.getDocumentElement();
+        assertSame(top, XmlUtil.withStreamedContentSummary(top, 16));
+
+        final Element inner = (Element) top.getFirstChild();
+        XmlUtil.setStreamedContent(inner, writer -> {
+            writer.writeStartElement("", "streamed", "namespace");
+            writer.writeCharacters("--value--");
+            writer.writeEndElement();
+        });
+
+        // Content which is not buffered is not written at all
+        assertThat(XmlUtil.toString(XmlUtil.withStreamedContentSummary(top, 16)),
+            not(containsString("value")));
+
+        XmlUtil.bufferStreamedContent(top);
+        final Element copy = XmlUtil.withStreamedContentSummary(top, 16);
+        final Node comment = copy.getFirstChild().getFirstChild();
+        assertEquals(Node.COMMENT_NODE, comment.getNodeType());
+        assertThat(comment.getNodeValue(), containsString("bytes: <streamed"));
+        assertTrue(comment.getNodeValue().endsWith("... "));
+        assertThat(comment.getNodeValue(), not(containsString("--")));
+        // The original is left intact, so that it can still be streamed
+        assertTrue(XmlUtil.getStreamedContent(inner).isPresent());
+        assertNull(inner.getFirstChild());
+
+        assertThat(new NetconfMessage(document).toString(), containsString("- -value- -</streamed>"));
+    }
+
     @Test
     public void testLoadSchema() throws Exception {
         XmlUtil.loadSchema();
@@ -9,12 +9,12 @@
 package org.opendaylight.netconf.client;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.util.Collection;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.nettyutil.AbstractNetconfSession;
-import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 public class NetconfClientSession extends AbstractNetconfSession<NetconfClientSession, NetconfClientSessionListener> {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfClientSession.class);
+    private final NetconfClientSessionListener sessionListener;
     private final Collection<String> capabilities;
 
     /**
@@ -35,6 +36,7 @@ public class NetconfClientSession extends AbstractNetconfSession<NetconfClientSe
     public NetconfClientSession(final NetconfClientSessionListener sessionListener, final Channel channel,
                                 final long sessionId, final Collection<String> capabilities) {
         super(sessionListener, channel, sessionId);
+        this.sessionListener = sessionListener;
         this.capabilities = capabilities;
         LOG.debug("Client Session {} created", this);
     }
@@ -43,6 +45,12 @@ public class NetconfClientSession extends AbstractNetconfSession<NetconfClientSe
         return capabilities;
     }
 
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        super.channelWritabilityChanged(ctx);
+        sessionListener.onSessionWritabilityChanged(this, ctx.channel().isWritable());
+    }
+
     @Override
     protected NetconfClientSession thisInstance() {
         return this;
@@ -60,6 +68,6 @@ public class NetconfClientSession extends AbstractNetconfSession<NetconfClientSe
     public void stopExiCommunication() {
         // TODO never used, Netconf client does not support stop-exi
         replaceMessageDecoder(new NetconfXMLToMessageDecoder());
-        replaceMessageEncoder(new NetconfMessageToXMLEncoder());
+        replaceMessageEncoder(newXmlMessageEncoder());
     }
 }
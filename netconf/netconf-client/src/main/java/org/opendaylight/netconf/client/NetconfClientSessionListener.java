@@ -10,5 +10,14 @@ package org.opendaylight.netconf.client;
 import org.opendaylight.netconf.api.NetconfSessionListener;
 
 public interface NetconfClientSessionListener extends NetconfSessionListener<NetconfClientSession> {
-
+    /**
+     * Fired when the session's channel becomes writable or stops being writable. While it is not writable, messages
+     * are being queued for transmission, hence listeners issuing requests should hold them back.
+     *
+     * @param session session whose writability changed
+     * @param writable {@code true} if the session is writable
+     */
+    default void onSessionWritabilityChanged(final NetconfClientSession session, final boolean writable) {
+        // No-op by default
+    }
 }
@@ -31,6 +31,8 @@ import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.nettyutil.AbstractChannelInitializer;
 import org.opendaylight.netconf.nettyutil.AbstractNetconfSessionNegotiator;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
+import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
 import org.opendaylight.netconf.nettyutil.handler.exi.NetconfStartExiMessage;
 import org.opendaylight.netconf.util.messages.NetconfMessageUtil;
 import org.opendaylight.netconf.util.xml.XMLNetconfUtil;
@@ -55,13 +57,44 @@ public class NetconfClientSessionNegotiator extends
 
     private static final Interner<Set<String>> INTERNER = Interners.newWeakInterner();
 
+    private final boolean deferRpcReplies;
+
     protected NetconfClientSessionNegotiator(final NetconfClientSessionPreferences sessionPreferences,
                                              final Promise<NetconfClientSession> promise,
                                              final Channel channel,
                                              final Timer timer,
                                              final NetconfClientSessionListener sessionListener,
                                              final long connectionTimeoutMillis) {
-        super(sessionPreferences, promise, channel, timer, sessionListener, connectionTimeoutMillis);
+        this(sessionPreferences, promise, channel, timer, sessionListener, connectionTimeoutMillis, false);
+    }
+
+    protected NetconfClientSessionNegotiator(final NetconfClientSessionPreferences sessionPreferences,
+                                             final Promise<NetconfClientSession> promise,
+                                             final Channel channel,
+                                             final Timer timer,
+                                             final NetconfClientSessionListener sessionListener,
+                                             final long connectionTimeoutMillis,
+                                             final boolean deferRpcReplies) {
+        this(sessionPreferences, promise, channel, timer, sessionListener, connectionTimeoutMillis, deferRpcReplies,
+            NetconfChunkAggregator.DEFAULT_MAXIMUM_IN_FLIGHT_BYTES);
+    }
+
+    protected NetconfClientSessionNegotiator(final NetconfClientSessionPreferences sessionPreferences,
+                                             final Promise<NetconfClientSession> promise,
+                                             final Channel channel,
+                                             final Timer timer,
+                                             final NetconfClientSessionListener sessionListener,
+                                             final long connectionTimeoutMillis,
+                                             final boolean deferRpcReplies,
+                                             final long maxInFlightBytes) {
+        super(sessionPreferences, promise, channel, timer, sessionListener, connectionTimeoutMillis,
+            maxInFlightBytes);
+        this.deferRpcReplies = deferRpcReplies;
+    }
+
+    @Override
+    protected NetconfXMLToMessageDecoder createMessageDecoder() {
+        return new NetconfXMLToMessageDecoder(deferRpcReplies);
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.netconf.client;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.collect.ImmutableSet;
@@ -22,6 +23,7 @@ import org.opendaylight.netconf.api.messages.NetconfHelloMessage;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.nettyutil.NetconfSessionNegotiatorFactory;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
 import org.opendaylight.netconf.nettyutil.handler.exi.EXIParameters;
 import org.opendaylight.netconf.nettyutil.handler.exi.NetconfStartExiMessage;
 import org.opendaylight.netconf.shaded.exificient.core.CodingMode;
@@ -71,6 +73,8 @@ public class NetconfClientSessionNegotiatorFactory
     private final long connectionTimeoutMillis;
     private final Timer timer;
     private final EXIParameters options;
+    private final boolean deferRpcReplies;
+    private final long maxInFlightBytes;
 
     public NetconfClientSessionNegotiatorFactory(final Timer timer,
                                                  final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
@@ -95,11 +99,56 @@ public class NetconfClientSessionNegotiatorFactory
                                                  final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
                                                  final long connectionTimeoutMillis, final EXIParameters exiOptions,
                                                  final Set<String> capabilities) {
+        this(timer, additionalHeader, connectionTimeoutMillis, exiOptions, capabilities, false);
+    }
+
+    public NetconfClientSessionNegotiatorFactory(final Timer timer,
+                                                 final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
+                                                 final long connectionTimeoutMillis, final Set<String> capabilities,
+                                                 final boolean deferRpcReplies) {
+        this(timer, additionalHeader, connectionTimeoutMillis, DEFAULT_OPTIONS, capabilities, deferRpcReplies);
+    }
+
+    public NetconfClientSessionNegotiatorFactory(final Timer timer,
+                                                 final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
+                                                 final long connectionTimeoutMillis, final EXIParameters exiOptions,
+                                                 final Set<String> capabilities, final boolean deferRpcReplies) {
+        this(timer, additionalHeader, connectionTimeoutMillis, exiOptions, capabilities, deferRpcReplies,
+            NetconfChunkAggregator.DEFAULT_MAXIMUM_IN_FLIGHT_BYTES);
+    }
+
+    public NetconfClientSessionNegotiatorFactory(final Timer timer,
+                                                 final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
+                                                 final long connectionTimeoutMillis, final Set<String> capabilities,
+                                                 final boolean deferRpcReplies, final long maxInFlightBytes) {
+        this(timer, additionalHeader, connectionTimeoutMillis, DEFAULT_OPTIONS, capabilities, deferRpcReplies,
+            maxInFlightBytes);
+    }
+
+    /**
+     * Create a new factory.
+     *
+     * @param timer timer used for negotiation timeouts
+     * @param additionalHeader additional hello message header
+     * @param connectionTimeoutMillis negotiation timeout
+     * @param exiOptions EXI parameters
+     * @param capabilities client capabilities
+     * @param deferRpcReplies whether successful replies carrying data should be delivered unparsed
+     * @param maxInFlightBytes maximum number of bytes a single incoming message may hold when chunk framing is used
+     */
+    public NetconfClientSessionNegotiatorFactory(final Timer timer,
+                                                 final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
+                                                 final long connectionTimeoutMillis, final EXIParameters exiOptions,
+                                                 final Set<String> capabilities, final boolean deferRpcReplies,
+                                                 final long maxInFlightBytes) {
+        checkArgument(maxInFlightBytes > 0, "Invalid in-flight budget %s", maxInFlightBytes);
+        this.maxInFlightBytes = maxInFlightBytes;
         this.timer = requireNonNull(timer);
         this.additionalHeader = additionalHeader;
         this.connectionTimeoutMillis = connectionTimeoutMillis;
         this.options = exiOptions;
         this.clientCapabilities = capabilities;
+        this.deferRpcReplies = deferRpcReplies;
     }
 
     public long getConnectionTimeoutMillis() {
@@ -116,6 +165,7 @@ public class NetconfClientSessionNegotiatorFactory
 
         NetconfClientSessionPreferences proposal = new NetconfClientSessionPreferences(helloMessage, startExiMessage);
         return new NetconfClientSessionNegotiator(proposal, promise, channel, timer,
-                sessionListenerFactory.getSessionListener(), connectionTimeoutMillis);
+                sessionListenerFactory.getSessionListener(), connectionTimeoutMillis, deferRpcReplies,
+                maxInFlightBytes);
     }
 }
@@ -42,6 +42,8 @@ public class NetconfClientConfiguration {
     private final NetconfSshClient sshClient;
 
     private final List<Uri> odlHelloCapabilities;
+    private final boolean deferRpcReplies;
+    private final long maxInFlightBytes;
 
     NetconfClientConfiguration(final NetconfClientProtocol protocol, final InetSocketAddress address,
                                final Long connectionTimeoutMillis,
@@ -49,7 +51,8 @@ public class NetconfClientConfiguration {
                                final NetconfClientSessionListener sessionListener,
                                final ReconnectStrategy reconnectStrategy, final AuthenticationHandler authHandler,
                                final SslHandlerFactory sslHandlerFactory, final NetconfSshClient sshClient,
-                               final List<Uri> odlHelloCapabilities) {
+                               final List<Uri> odlHelloCapabilities, final boolean deferRpcReplies,
+                               final long maxInFlightBytes) {
         this.address = address;
         this.connectionTimeoutMillis = connectionTimeoutMillis;
         this.additionalHeader = additionalHeader;
@@ -60,6 +63,8 @@ public class NetconfClientConfiguration {
         this.sslHandlerFactory = sslHandlerFactory;
         this.sshClient = sshClient;
         this.odlHelloCapabilities = odlHelloCapabilities;
+        this.deferRpcReplies = deferRpcReplies;
+        this.maxInFlightBytes = maxInFlightBytes;
         validateConfiguration();
     }
 
@@ -103,6 +108,25 @@ public class NetconfClientConfiguration {
         return odlHelloCapabilities;
     }
 
+    /**
+     * Check whether successful replies carrying data should be delivered without being parsed into a DOM document.
+     *
+     * @return {@code true} if such replies should be delivered as
+     *         {@link org.opendaylight.netconf.api.DeferredRpcReplyMessage}s
+     */
+    public boolean isDeferRpcReplies() {
+        return deferRpcReplies;
+    }
+
+    /**
+     * Return the maximum number of bytes a single incoming message may hold when chunk framing is used.
+     *
+     * @return in-flight budget, in bytes
+     */
+    public long getMaxInFlightBytes() {
+        return maxInFlightBytes;
+    }
+
     private void validateConfiguration() {
         switch (requireNonNull(clientProtocol)) {
             case TLS:
@@ -13,6 +13,7 @@ import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader
 import org.opendaylight.netconf.client.NetconfClientSessionListener;
 import org.opendaylight.netconf.client.SslHandlerFactory;
 import org.opendaylight.netconf.nettyutil.ReconnectStrategy;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
 import org.opendaylight.netconf.nettyutil.handler.ssh.authentication.AuthenticationHandler;
 import org.opendaylight.netconf.nettyutil.handler.ssh.client.NetconfSshClient;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Uri;
@@ -33,6 +34,8 @@ public class NetconfClientConfigurationBuilder {
     private SslHandlerFactory sslHandlerFactory;
     private NetconfSshClient sshClient;
     private List<Uri> odlHelloCapabilities;
+    private boolean deferRpcReplies;
+    private long maxInFlightBytes = NetconfChunkAggregator.DEFAULT_MAXIMUM_IN_FLIGHT_BYTES;
 
 
     protected NetconfClientConfigurationBuilder() {
@@ -104,6 +107,18 @@ public class NetconfClientConfigurationBuilder {
         return this;
     }
 
+    @SuppressWarnings("checkstyle:hiddenField")
+    public NetconfClientConfigurationBuilder withDeferRpcReplies(final boolean deferRpcReplies) {
+        this.deferRpcReplies = deferRpcReplies;
+        return this;
+    }
+
+    @SuppressWarnings("checkstyle:hiddenField")
+    public NetconfClientConfigurationBuilder withMaxInFlightBytes(final long maxInFlightBytes) {
+        this.maxInFlightBytes = maxInFlightBytes;
+        return this;
+    }
+
     final InetSocketAddress getAddress() {
         return address;
     }
@@ -144,8 +159,17 @@ public class NetconfClientConfigurationBuilder {
         return odlHelloCapabilities;
     }
 
+    final boolean isDeferRpcReplies() {
+        return deferRpcReplies;
+    }
+
+    final long getMaxInFlightBytes() {
+        return maxInFlightBytes;
+    }
+
     public NetconfClientConfiguration build() {
         return new NetconfClientConfiguration(clientProtocol, address, connectionTimeoutMillis, additionalHeader,
-                sessionListener, reconnectStrategy, authHandler, sslHandlerFactory, sshClient, odlHelloCapabilities);
+                sessionListener, reconnectStrategy, authHandler, sslHandlerFactory, sshClient, odlHelloCapabilities,
+                deferRpcReplies, maxInFlightBytes);
     }
 }
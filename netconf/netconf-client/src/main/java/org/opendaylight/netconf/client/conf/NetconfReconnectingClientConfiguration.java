@@ -34,9 +34,11 @@ public final class NetconfReconnectingClientConfiguration extends NetconfClientC
                                            final AuthenticationHandler authHandler,
                                            final SslHandlerFactory sslHandlerFactory,
                                            final NetconfSshClient sshClient,
-                                           final List<Uri> odlHelloCapabilities) {
+                                           final List<Uri> odlHelloCapabilities,
+                                           final boolean deferRpcReplies,
+                                           final long maxInFlightBytes) {
         super(clientProtocol, address, connectionTimeoutMillis, additionalHeader, sessionListener, reconnectStrategy,
-                authHandler, sslHandlerFactory, sshClient, odlHelloCapabilities);
+                authHandler, sslHandlerFactory, sshClient, odlHelloCapabilities, deferRpcReplies, maxInFlightBytes);
         this.connectStrategyFactory = connectStrategyFactory;
         validateReconnectConfiguration();
     }
@@ -40,7 +40,8 @@ public final class NetconfReconnectingClientConfigurationBuilder extends Netconf
     public NetconfReconnectingClientConfiguration build() {
         return new NetconfReconnectingClientConfiguration(getProtocol(), getAddress(), getConnectionTimeoutMillis(),
                 getAdditionalHeader(), getSessionListener(), getReconnectStrategy(), connectStrategyFactory,
-                getAuthHandler(), getSslHandlerFactory(), getSshClient(), getOdlHelloCapabilities());
+                getAuthHandler(), getSslHandlerFactory(), getSshClient(), getOdlHelloCapabilities(),
+                isDeferRpcReplies(), getMaxInFlightBytes());
     }
 
     // Override setter methods to return subtype
@@ -102,4 +103,14 @@ public final class NetconfReconnectingClientConfigurationBuilder extends Netconf
     public NetconfReconnectingClientConfigurationBuilder withOdlHelloCapabilities(List<Uri> odlHelloCapabilities) {
         return (NetconfReconnectingClientConfigurationBuilder) super.withOdlHelloCapabilities(odlHelloCapabilities);
     }
+
+    @Override
+    public NetconfReconnectingClientConfigurationBuilder withDeferRpcReplies(final boolean deferRpcReplies) {
+        return (NetconfReconnectingClientConfigurationBuilder) super.withDeferRpcReplies(deferRpcReplies);
+    }
+
+    @Override
+    public NetconfReconnectingClientConfigurationBuilder withMaxInFlightBytes(final long maxInFlightBytes) {
+        return (NetconfReconnectingClientConfigurationBuilder) super.withMaxInFlightBytes(maxInFlightBytes);
+    }
 }
@@ -41,6 +41,7 @@ public class NetconfReconnectingClientConfigurationTest {
                 .withAdditionalHeader(header)
                 .withSessionListener(listener)
                 .withConnectStrategyFactory(strategy)
+                .withDeferRpcReplies(true)
                 .withAuthHandler(handler).build();
 
         Assert.assertEquals(timeout, cfg.getConnectionTimeoutMillis());
@@ -51,6 +52,7 @@ public class NetconfReconnectingClientConfigurationTest {
         Assert.assertEquals(NetconfClientConfiguration.NetconfClientProtocol.SSH, cfg.getProtocol());
         Assert.assertEquals(address, cfg.getAddress());
         Assert.assertEquals(reconnect, cfg.getReconnectStrategy());
+        Assert.assertTrue(cfg.isDeferRpcReplies());
 
         SslHandlerFactory sslHandlerFactory = Mockito.mock(SslHandlerFactory.class);
         NetconfReconnectingClientConfiguration cfg2 = NetconfReconnectingClientConfigurationBuilder.create()
@@ -71,5 +73,6 @@ public class NetconfReconnectingClientConfigurationTest {
         Assert.assertEquals(NetconfClientConfiguration.NetconfClientProtocol.TLS, cfg2.getProtocol());
         Assert.assertEquals(address, cfg2.getAddress());
         Assert.assertEquals(reconnect, cfg2.getReconnectStrategy());
+        Assert.assertFalse(cfg2.isDeferRpcReplies());
     }
 }
@@ -146,6 +146,18 @@ public interface NetconfDataTreeService extends DOMService {
      */
     ListenableFuture<? extends DOMRpcResult> commit();
 
+    /**
+     * Return a service to be used by a single transaction, i.e. a sequence of operations started by {@link #lock()}
+     * and finished by {@link #commit()} or {@link #discardChanges()}. This service is shared by all users of a device,
+     * implementations which defer modifications until commit keep them in the returned service, so that they are not
+     * mixed with modifications of concurrent transactions. The default implementation returns this service.
+     *
+     * @return Service to be used by a single transaction
+     */
+    default @NonNull NetconfDataTreeService forTransaction() {
+        return this;
+    }
+
     /**
      * Return device identifier.
      *
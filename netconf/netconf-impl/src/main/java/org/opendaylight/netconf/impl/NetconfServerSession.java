@@ -13,6 +13,7 @@ import static com.google.common.base.Verify.verify;
 import com.google.common.net.InetAddresses;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.net.Inet4Address;
@@ -21,12 +22,15 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader;
 import org.opendaylight.netconf.api.monitoring.NetconfManagementSession;
+import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.nettyutil.AbstractNetconfSession;
-import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
@@ -43,6 +47,7 @@ import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.mon
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.DateAndTime;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.ZeroBasedCounter32;
 import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,6 +76,9 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
     private long outNotification;
     private volatile boolean delayedClose;
 
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+    private final LongAdder requestProcessingNanos = new LongAdder();
+
     public NetconfServerSession(final NetconfServerSessionListener sessionListener, final Channel channel,
                                 final long sessionId, final NetconfHelloMessageAdditionalHeader header) {
         super(sessionListener, channel, sessionId);
@@ -94,6 +102,22 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
         this.delayedClose = true;
     }
 
+    /**
+     * Prepare a reply to be sent, on the thread which produced it. Streamed content of the reply is written into
+     * buffers if the reply is going to be encoded as compact XML, otherwise it is materialized in the DOM. Either way
+     * the reply is not serialized on the event loop, which only encodes its DOM.
+     *
+     * @param reply reply to prepare
+     * @throws IllegalStateException if streamed content cannot be written
+     */
+    void prepareReply(final NetconfMessage reply) {
+        if (isCompactXmlEncoding()) {
+            XmlUtil.bufferStreamedContent(reply.getDocument());
+        } else {
+            XmlUtil.materializeStreamedContent(reply.getDocument());
+        }
+    }
+
     @Override
     public ChannelFuture sendMessage(final NetconfMessage netconfMessage) {
         final ChannelFuture channelFuture = super.sendMessage(netconfMessage);
@@ -108,6 +132,13 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
         return channelFuture;
     }
 
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        // Stop reading requests while we cannot send replies, so they do not pile up
+        ctx.channel().config().setAutoRead(ctx.channel().isWritable());
+        super.channelWritabilityChanged(ctx);
+    }
+
     public void onIncommingRpcSuccess() {
         inRpcSuccess++;
     }
@@ -120,6 +151,41 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
         outRpcError++;
     }
 
+    /**
+     * Account for a request which was received and is waiting to be processed.
+     */
+    public void onRequestQueued() {
+        pendingRequests.incrementAndGet();
+    }
+
+    /**
+     * Account for a request which has been processed.
+     *
+     * @param elapsedNanos time elapsed between the request being received and its reply being dispatched
+     */
+    public void onRequestProcessed(final long elapsedNanos) {
+        pendingRequests.decrementAndGet();
+        requestProcessingNanos.add(elapsedNanos);
+    }
+
+    /**
+     * Return the number of requests which have been received, but not processed yet.
+     *
+     * @return Number of pending requests
+     */
+    public int getPendingRequests() {
+        return pendingRequests.get();
+    }
+
+    /**
+     * Return the cumulative time spent processing requests, including the time they spent waiting to be processed.
+     *
+     * @return Processing time in nanoseconds
+     */
+    public long getRequestProcessingNanos() {
+        return requestProcessingNanos.sum();
+    }
+
     @Override
     public Session toManagementSession() {
         final SessionBuilder builder = new SessionBuilder()
@@ -145,7 +211,14 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
                 .setUsername(header.getUserName())
                 .setTransport(getTransportForString(header.getTransport()))
                 .setOutNotifications(new ZeroBasedCounter32(Uint32.valueOf(outNotification)))
-                .addAugmentation(new Session1Builder().setSessionIdentifier(header.getSessionIdentifier()).build())
+                .addAugmentation(new Session1Builder()
+                    .setSessionIdentifier(header.getSessionIdentifier())
+                    .setOutboundQueuedBytes(Uint64.valueOf(getOutboundQueuedBytes()))
+                    .setOutboundStallTime(Uint64.valueOf(TimeUnit.NANOSECONDS.toMillis(getOutboundStallNanos())))
+                    .setPendingRequests(Uint32.valueOf(getPendingRequests()))
+                    .setRequestProcessingTime(Uint64.valueOf(
+                        TimeUnit.NANOSECONDS.toMillis(getRequestProcessingNanos())))
+                    .build())
                 .build();
     }
 
@@ -175,6 +248,6 @@ public final class NetconfServerSession extends AbstractNetconfSession<NetconfSe
     @Override
     public void stopExiCommunication() {
         replaceMessageDecoder(new NetconfXMLToMessageDecoder());
-        replaceMessageEncoderAfterNextMessage(new NetconfMessageToXMLEncoder());
+        replaceMessageEncoderAfterNextMessage(newXmlMessageEncoder());
     }
 }
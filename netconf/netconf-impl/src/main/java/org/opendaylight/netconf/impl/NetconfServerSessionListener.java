@@ -10,6 +10,9 @@ package org.opendaylight.netconf.impl;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.Executor;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSessionListener;
@@ -26,6 +29,7 @@ import org.opendaylight.netconf.util.messages.SubtreeFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
@@ -35,13 +39,35 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
     private final SessionListener monitoringSessionListener;
     private final NetconfOperationRouter operationRouter;
     private final AutoCloseable onSessionDownCloseable;
+    private final @Nullable Executor requestExecutor;
+    // Set once the session is down, requests still queued on requestExecutor are skipped
+    private volatile boolean closed;
 
     public NetconfServerSessionListener(final NetconfOperationRouter operationRouter,
                                         final NetconfMonitoringService monitoringService,
                                         final AutoCloseable onSessionDownCloseable) {
+        this(operationRouter, monitoringService, onSessionDownCloseable, null);
+    }
+
+    /**
+     * Create a new listener.
+     *
+     * @param operationRouter operation router
+     * @param monitoringService monitoring service
+     * @param onSessionDownCloseable resource to close once the session goes down
+     * @param requestExecutor executor on which requests should be processed, null if they should be processed on the
+     *                        thread delivering them. Requests are executed one at a time, in the order in which they
+     *                        were received.
+     */
+    public NetconfServerSessionListener(final NetconfOperationRouter operationRouter,
+                                        final NetconfMonitoringService monitoringService,
+                                        final AutoCloseable onSessionDownCloseable,
+                                        final @Nullable Executor requestExecutor) {
         this.operationRouter = operationRouter;
         this.monitoringSessionListener = monitoringService.getSessionListener();
         this.onSessionDownCloseable = onSessionDownCloseable;
+        // RFC6241 requires replies to be sent in the order of requests, hence we need to serialize execution
+        this.requestExecutor = requestExecutor == null ? null : MoreExecutors.newSequentialExecutor(requestExecutor);
     }
 
     @Override
@@ -57,6 +83,7 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     public void onDown(final NetconfServerSession netconfNetconfServerSession) {
+        closed = true;
         monitoringSessionListener.onSessionDown(netconfNetconfServerSession);
 
         try {
@@ -79,15 +106,47 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
         onDown(netconfNetconfServerSession);
     }
 
-    @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public void onMessage(final NetconfServerSession session, final NetconfMessage netconfMessage) {
+        final long receivedNanos = System.nanoTime();
+        session.onRequestQueued();
+        if (requestExecutor == null) {
+            try {
+                processMessage(session, netconfMessage);
+            } finally {
+                session.onRequestProcessed(System.nanoTime() - receivedNanos);
+            }
+            return;
+        }
+
+        requestExecutor.execute(() -> {
+            try {
+                if (closed) {
+                    // The operation router has been closed, there is nothing to process the request with nor anybody
+                    // to send the reply to
+                    LOG.debug("Session {} is down, skipping queued message {}", session, netconfMessage);
+                    return;
+                }
+                processMessage(session, netconfMessage);
+            } catch (IllegalStateException e) {
+                // Already reported by processMessage(), there is nobody to propagate it to
+                LOG.debug("Session {} failed to process message", session, e);
+            } finally {
+                session.onRequestProcessed(System.nanoTime() - receivedNanos);
+            }
+        });
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void processMessage(final NetconfServerSession session, final NetconfMessage netconfMessage) {
         try {
 
             Preconditions.checkState(operationRouter != null, "Cannot handle message, session up was not yet received");
             // there is no validation since the document may contain yang schemas
             final NetconfMessage message = processDocument(netconfMessage,
                     session);
+            // Serialize streamed content here, on the request executor, rather than on the event loop
+            session.prepareReply(message);
             LOG.debug("Responding with message {}", message);
             session.sendMessage(message);
             monitoringSessionListener.onSessionEvent(SessionEvent.inRpcSuccess(session));
@@ -118,17 +177,17 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
         final Node rootNode = incomingDocument.getDocumentElement();
 
         if (rootNode.getLocalName().equals(XmlNetconfConstants.RPC_KEY)) {
-            final Document responseDocument = XmlUtil.newDocument();
             checkMessageId(rootNode);
 
-            Document rpcReply = operationRouter.onNetconfMessage(incomingDocument, session);
-
-            rpcReply = SubtreeFilter.applyRpcSubtreeFilter(incomingDocument, rpcReply);
+            final Document operationReply = operationRouter.onNetconfMessage(incomingDocument, session);
+            final Document rpcReply = SubtreeFilter.applyRpcSubtreeFilter(incomingDocument, operationReply);
 
             session.onIncommingRpcSuccess();
 
-            responseDocument.appendChild(responseDocument.importNode(rpcReply.getDocumentElement(), true));
-            return new NetconfMessage(responseDocument);
+            // Operations may retain and reuse their replies, e.g. canned responses, while we attach streamed content
+            // and hand the reply to the event loop. A filtered reply is already a document of its own, any other
+            // reply needs to be copied.
+            return new NetconfMessage(rpcReply != operationReply ? rpcReply : copyOf(rpcReply));
         } else {
             // unknown command, send RFC 4741 p.70 unknown-element
             /*
@@ -143,6 +202,26 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
         }
     }
 
+    private static Document copyOf(final Document document) {
+        final Document copy = XmlUtil.newDocument();
+        final Element root = document.getDocumentElement();
+        final Element copiedRoot = (Element) copy.importNode(root, true);
+        copyStreamedContent(root, copiedRoot);
+        copy.appendChild(copiedRoot);
+        return copy;
+    }
+
+    private static void copyStreamedContent(final Element from, final Element to) {
+        // Imported node has the same structure, but user data holding streamed content is not imported
+        XmlUtil.getStreamedContent(from).ifPresent(content -> XmlUtil.setStreamedContent(to, content));
+        for (Node fromChild = from.getFirstChild(), toChild = to.getFirstChild(); fromChild != null;
+                fromChild = fromChild.getNextSibling(), toChild = toChild.getNextSibling()) {
+            if (fromChild.getNodeType() == Node.ELEMENT_NODE) {
+                copyStreamedContent((Element) fromChild, (Element) toChild);
+            }
+        }
+    }
+
     private static void checkMessageId(final Node rootNode) throws DocumentedException {
 
         final NamedNodeMap attributes = rootNode.getAttributes();
@@ -16,6 +16,8 @@ import io.netty.util.Timer;
 import io.netty.util.concurrent.Promise;
 import java.net.SocketAddress;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.netconf.api.NetconfServerSessionPreferences;
 import org.opendaylight.netconf.api.NetconfSessionListenerFactory;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessage;
@@ -26,6 +28,7 @@ import org.opendaylight.netconf.impl.osgi.NetconfOperationRouterImpl;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
 import org.opendaylight.netconf.mapping.api.NetconfOperationServiceFactory;
 import org.opendaylight.netconf.nettyutil.NetconfSessionNegotiatorFactory;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Uri;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.Capabilities;
 
@@ -46,6 +49,8 @@ public class NetconfServerSessionNegotiatorFactory
     private final long connectionTimeoutMillis;
     private final NetconfMonitoringService monitoringService;
     private final Set<String> baseCapabilities;
+    private final @Nullable Executor requestExecutor;
+    private final long maxInFlightBytes;
 
     public NetconfServerSessionNegotiatorFactory(final Timer timer,
             final NetconfOperationServiceFactory netconfOperationProvider,
@@ -59,6 +64,55 @@ public class NetconfServerSessionNegotiatorFactory
                                                  final SessionIdProvider idProvider, final long connectionTimeoutMillis,
                                                  final NetconfMonitoringService monitoringService,
                                                  final Set<String> baseCapabilities) {
+        this(timer, netconfOperationProvider, idProvider, connectionTimeoutMillis, monitoringService,
+            baseCapabilities, null);
+    }
+
+    /**
+     * Create a new factory.
+     *
+     * @param timer timer used for negotiation timeouts
+     * @param netconfOperationProvider operation service factory
+     * @param idProvider session ID provider
+     * @param connectionTimeoutMillis negotiation timeout
+     * @param monitoringService monitoring service
+     * @param baseCapabilities base capabilities to advertise, null for default
+     * @param requestExecutor executor on which incoming requests are processed, null if they should be processed
+     *                        on the session's event loop
+     */
+    public NetconfServerSessionNegotiatorFactory(final Timer timer,
+                                                 final NetconfOperationServiceFactory netconfOperationProvider,
+                                                 final SessionIdProvider idProvider, final long connectionTimeoutMillis,
+                                                 final NetconfMonitoringService monitoringService,
+                                                 final Set<String> baseCapabilities,
+                                                 final @Nullable Executor requestExecutor) {
+        this(timer, netconfOperationProvider, idProvider, connectionTimeoutMillis, monitoringService,
+            baseCapabilities, requestExecutor, NetconfChunkAggregator.DEFAULT_MAXIMUM_IN_FLIGHT_BYTES);
+    }
+
+    /**
+     * Create a new factory.
+     *
+     * @param timer timer used for negotiation timeouts
+     * @param netconfOperationProvider operation service factory
+     * @param idProvider session ID provider
+     * @param connectionTimeoutMillis negotiation timeout
+     * @param monitoringService monitoring service
+     * @param baseCapabilities base capabilities to advertise, null for default
+     * @param requestExecutor executor on which incoming requests are processed, null if they should be processed
+     *                        on the session's event loop
+     * @param maxInFlightBytes maximum number of bytes a single incoming message may hold when chunk framing is used
+     */
+    public NetconfServerSessionNegotiatorFactory(final Timer timer,
+                                                 final NetconfOperationServiceFactory netconfOperationProvider,
+                                                 final SessionIdProvider idProvider, final long connectionTimeoutMillis,
+                                                 final NetconfMonitoringService monitoringService,
+                                                 final Set<String> baseCapabilities,
+                                                 final @Nullable Executor requestExecutor,
+                                                 final long maxInFlightBytes) {
+        Preconditions.checkArgument(maxInFlightBytes > 0, "Invalid in-flight budget %s", maxInFlightBytes);
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.requestExecutor = requestExecutor;
         this.timer = timer;
         this.aggregatedOpService = netconfOperationProvider;
         this.idProvider = idProvider;
@@ -103,7 +157,8 @@ public class NetconfServerSessionNegotiatorFactory
             new NetconfServerSessionPreferences(createHelloMessage(sessionId, monitoringService), sessionId);
 
         return new NetconfServerSessionNegotiator(proposal, promise, channel, timer,
-                getListener(Long.toString(sessionId), channel.parent().localAddress()), connectionTimeoutMillis);
+                getListener(Long.toString(sessionId), channel.parent().localAddress()), connectionTimeoutMillis,
+                maxInFlightBytes);
     }
 
     private NetconfServerSessionListener getListener(final String netconfSessionIdForReporting,
@@ -112,7 +167,7 @@ public class NetconfServerSessionNegotiatorFactory
                 socketAddress);
         final NetconfOperationRouter operationRouter =
                 new NetconfOperationRouterImpl(service, monitoringService, netconfSessionIdForReporting);
-        return new NetconfServerSessionListener(operationRouter, monitoringService, service);
+        return new NetconfServerSessionListener(operationRouter, monitoringService, service, requestExecutor);
     }
 
     protected NetconfOperationService getOperationServiceForAddress(final String netconfSessionIdForReporting,
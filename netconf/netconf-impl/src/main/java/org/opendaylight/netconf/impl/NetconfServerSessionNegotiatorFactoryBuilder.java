@@ -12,8 +12,10 @@ import static java.util.Objects.requireNonNull;
 
 import io.netty.util.Timer;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.mapping.api.NetconfOperationServiceFactory;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
 
 public class NetconfServerSessionNegotiatorFactoryBuilder {
     private Timer timer;
@@ -22,6 +24,8 @@ public class NetconfServerSessionNegotiatorFactoryBuilder {
     private long connectionTimeoutMillis;
     private NetconfMonitoringService monitoringService;
     private Set<String> baseCapabilities;
+    private Executor requestExecutor;
+    private long maxInFlightBytes = NetconfChunkAggregator.DEFAULT_MAXIMUM_IN_FLIGHT_BYTES;
 
     public NetconfServerSessionNegotiatorFactoryBuilder() {
     }
@@ -58,11 +62,20 @@ public class NetconfServerSessionNegotiatorFactoryBuilder {
         return this;
     }
 
+    public NetconfServerSessionNegotiatorFactoryBuilder setRequestExecutor(final Executor requestExecutor) {
+        this.requestExecutor = requestExecutor;
+        return this;
+    }
+
+    public NetconfServerSessionNegotiatorFactoryBuilder setMaxInFlightBytes(final long maxInFlightBytes) {
+        this.maxInFlightBytes = maxInFlightBytes;
+        return this;
+    }
 
     public NetconfServerSessionNegotiatorFactory build() {
         validate();
         return new NetconfServerSessionNegotiatorFactory(timer, aggregatedOpService, idProvider,
-                connectionTimeoutMillis, monitoringService, baseCapabilities);
+                connectionTimeoutMillis, monitoringService, baseCapabilities, requestExecutor, maxInFlightBytes);
     }
 
 
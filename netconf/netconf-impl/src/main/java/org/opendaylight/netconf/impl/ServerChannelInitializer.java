@@ -24,6 +24,11 @@ public class ServerChannelInitializer extends AbstractChannelInitializer<Netconf
 
     }
 
+    public ServerChannelInitializer(NetconfServerSessionNegotiatorFactory negotiatorFactory, boolean prettyPrint) {
+        super(prettyPrint);
+        this.negotiatorFactory = negotiatorFactory;
+    }
+
     @Override
     protected void initializeMessageDecoder(Channel ch) {
         super.initializeMessageDecoder(ch);
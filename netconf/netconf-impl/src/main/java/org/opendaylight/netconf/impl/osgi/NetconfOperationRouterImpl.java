@@ -10,15 +10,21 @@ package org.opendaylight.netconf.impl.osgi;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.NavigableMap;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
+import org.opendaylight.netconf.api.xml.XmlElement;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.impl.NetconfServerSession;
 import org.opendaylight.netconf.impl.mapping.operations.DefaultCloseSession;
@@ -26,8 +32,10 @@ import org.opendaylight.netconf.impl.mapping.operations.DefaultNetconfOperation;
 import org.opendaylight.netconf.impl.mapping.operations.DefaultStartExi;
 import org.opendaylight.netconf.impl.mapping.operations.DefaultStopExi;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
+import org.opendaylight.netconf.mapping.api.KeyedNetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
+import org.opendaylight.netconf.mapping.api.NetconfOperationKey;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
 import org.opendaylight.netconf.mapping.api.SessionAwareNetconfOperation;
 import org.slf4j.Logger;
@@ -39,6 +47,10 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfOperationRouterImpl.class);
     private final NetconfOperationService netconfOperationServiceSnapshot;
     private final Collection<NetconfOperation> allNetconfOperations;
+    // Operations which declared the operation they handle, indexed by that operation
+    private final ImmutableListMultimap<NetconfOperationKey, KeyedNetconfOperation> keyedOperations;
+    // Operations which need to be asked whether they can handle a particular request
+    private final ImmutableList<NetconfOperation> dynamicOperations;
 
     public NetconfOperationRouterImpl(final NetconfOperationService netconfOperationServiceSnapshot,
                                       final NetconfMonitoringService netconfMonitoringService, final String sessionId) {
@@ -52,6 +64,21 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
         ops.addAll(netconfOperationServiceSnapshot.getNetconfOperations());
 
         allNetconfOperations = ImmutableSet.copyOf(ops);
+
+        final ImmutableListMultimap.Builder<NetconfOperationKey, KeyedNetconfOperation> keyed =
+            ImmutableListMultimap.builder();
+        final ImmutableList.Builder<NetconfOperation> dynamic = ImmutableList.builder();
+        for (final NetconfOperation op : allNetconfOperations) {
+            final NetconfOperationKey key = op instanceof KeyedNetconfOperation
+                ? ((KeyedNetconfOperation) op).operationKey() : null;
+            if (key != null) {
+                keyed.put(key, (KeyedNetconfOperation) op);
+            } else {
+                dynamic.add(op);
+            }
+        }
+        keyedOperations = keyed.build();
+        dynamicOperations = dynamic.build();
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -133,26 +160,67 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
             final Document message, final NetconfServerSession session) throws DocumentedException {
         final TreeMap<HandlingPriority, NetconfOperation> sortedPriority = new TreeMap<>();
 
-        for (final NetconfOperation netconfOperation : allNetconfOperations) {
-            final HandlingPriority handlingPriority = netconfOperation.canHandle(message);
-            if (netconfOperation instanceof DefaultNetconfOperation) {
-                ((DefaultNetconfOperation) netconfOperation).setNetconfSession(session);
-            }
-            if (netconfOperation instanceof SessionAwareNetconfOperation) {
-                ((SessionAwareNetconfOperation) netconfOperation).setSession(session);
+        final NetconfOperationKey key = operationKey(message);
+        if (key == null) {
+            // Not a well-formed request, let all operations have a look so they can report the problem
+            for (final NetconfOperation netconfOperation : allNetconfOperations) {
+                addOperation(sortedPriority, message, session, netconfOperation,
+                    netconfOperation.canHandle(message));
             }
-            if (!handlingPriority.equals(HandlingPriority.CANNOT_HANDLE)) {
+            return sortedPriority;
+        }
 
-                checkState(!sortedPriority.containsKey(handlingPriority),
-                        "Multiple %s available to handle message %s with priority %s, %s and %s",
-                        NetconfOperation.class.getName(), message, handlingPriority, netconfOperation, sortedPriority
-                                .get(handlingPriority));
-                sortedPriority.put(handlingPriority, netconfOperation);
-            }
+        for (final KeyedNetconfOperation netconfOperation : keyedOperations.get(key)) {
+            addOperation(sortedPriority, message, session, netconfOperation,
+                netconfOperation.keyedHandlingPriority());
+        }
+        for (final NetconfOperation netconfOperation : dynamicOperations) {
+            addOperation(sortedPriority, message, session, netconfOperation, netconfOperation.canHandle(message));
         }
         return sortedPriority;
     }
 
+    private static void addOperation(final TreeMap<HandlingPriority, NetconfOperation> sortedPriority,
+            final Document message, final NetconfServerSession session, final NetconfOperation netconfOperation,
+            final HandlingPriority handlingPriority) {
+        if (netconfOperation instanceof DefaultNetconfOperation) {
+            ((DefaultNetconfOperation) netconfOperation).setNetconfSession(session);
+        }
+        if (netconfOperation instanceof SessionAwareNetconfOperation) {
+            ((SessionAwareNetconfOperation) netconfOperation).setSession(session);
+        }
+        if (!handlingPriority.equals(HandlingPriority.CANNOT_HANDLE)) {
+
+            checkState(!sortedPriority.containsKey(handlingPriority),
+                    "Multiple %s available to handle message %s with priority %s, %s and %s",
+                    NetconfOperation.class.getName(), message, handlingPriority, netconfOperation, sortedPriority
+                            .get(handlingPriority));
+            sortedPriority.put(handlingPriority, netconfOperation);
+        }
+    }
+
+    /**
+     * Extract the key of the operation invoked by a request.
+     *
+     * @param message request message
+     * @return Operation key, or null if the message is not a well-formed {@code rpc} carrying a single operation
+     */
+    private static NetconfOperationKey operationKey(final Document message) {
+        final XmlElement rpc = XmlElement.fromDomDocument(message);
+        if (!XmlNetconfConstants.RPC_KEY.equals(rpc.getName())
+                || !Optional.of(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0)
+                    .equals(rpc.getNamespaceOptionally())) {
+            return null;
+        }
+        final List<XmlElement> children = rpc.getChildElements();
+        if (children.size() != 1) {
+            return null;
+        }
+        final XmlElement operation = children.get(0);
+        final Optional<String> namespace = operation.getNamespaceOptionally();
+        return namespace.isPresent() ? NetconfOperationKey.of(namespace.get(), operation.getName()) : null;
+    }
+
     private static final class NetconfOperationExecution implements NetconfOperationChainedExecution {
         private final NetconfOperation netconfOperation;
         private final NetconfOperationChainedExecution subsequentExecution;
@@ -7,6 +7,13 @@
  */
 package org.opendaylight.netconf.impl;
 
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -14,9 +21,17 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.custommonkey.xmlunit.Diff;
 import org.custommonkey.xmlunit.XMLUnit;
 import org.junit.Before;
@@ -24,6 +39,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.opendaylight.netconf.api.NetconfMessage;
@@ -31,10 +47,14 @@ import org.opendaylight.netconf.api.NetconfTerminationReason;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.api.monitoring.SessionEvent;
 import org.opendaylight.netconf.api.monitoring.SessionListener;
+import org.opendaylight.netconf.api.xml.BufferedElementContent;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.impl.osgi.NetconfOperationRouter;
+import org.opendaylight.netconf.nettyutil.AbstractChannelInitializer;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 @RunWith(MockitoJUnitRunner.StrictStubs.class)
 public class NetconfServerSessionListenerTest {
@@ -105,6 +125,130 @@ public class NetconfServerSessionListenerTest {
         assertTrue(diff.toString(), diff.similar());
     }
 
+    @Test
+    public void testOnMessageOffloaded() throws Exception {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        listener = new NetconfServerSessionListener(router, monitoring, closeable, tasks::add);
+
+        final Document first = XmlUtil.readXmlToDocument("<rpc message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><example/></rpc>");
+        final Document second = XmlUtil.readXmlToDocument("<rpc message-id=\"102\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><example/></rpc>");
+        doReturn(XmlUtil.readXmlToDocument("<rpc-reply message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>"))
+            .when(router).onNetconfMessage(first, session);
+        doReturn(XmlUtil.readXmlToDocument("<rpc-reply message-id=\"102\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>"))
+            .when(router).onNetconfMessage(second, session);
+
+        listener.onMessage(session, new NetconfMessage(first));
+        listener.onMessage(session, new NetconfMessage(second));
+        verifyNoInteractions(router);
+        assertEquals(2, session.getPendingRequests());
+
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+        assertEquals(0, session.getPendingRequests());
+        assertTrue(session.getRequestProcessingNanos() > 0);
+
+        final InOrder inOrder = inOrder(router);
+        inOrder.verify(router).onNetconfMessage(first, session);
+        inOrder.verify(router).onNetconfMessage(second, session);
+
+        channel.runPendingTasks();
+        assertEquals("101", ((NetconfMessage) channel.readOutbound()).getDocument().getDocumentElement()
+            .getAttribute("message-id"));
+        assertEquals("102", ((NetconfMessage) channel.readOutbound()).getDocument().getDocumentElement()
+            .getAttribute("message-id"));
+    }
+
+    @Test
+    public void testOnMessageQueuedAfterSessionDown() throws Exception {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        listener = new NetconfServerSessionListener(router, monitoring, closeable, tasks::add);
+
+        listener.onMessage(session, new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><example/></rpc>")));
+        listener.onSessionDown(session, new RuntimeException("cause"));
+        verify(router).close();
+
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+        // The request is accounted for, but it has not reached the closed router
+        assertEquals(0, session.getPendingRequests());
+        verify(router, never()).onNetconfMessage(any(), any());
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    public void testOnMessageBuffersStreamedContent() throws Exception {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        listener = new NetconfServerSessionListener(router, monitoring, closeable, tasks::add);
+        channel.pipeline().addLast(AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER,
+            new NetconfMessageToXMLEncoder(false));
+
+        final Document reply = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><data/></rpc-reply>");
+        final Element data = (Element) reply.getDocumentElement().getFirstChild();
+        final AtomicInteger writes = new AtomicInteger();
+        XmlUtil.setStreamedContent(data, writer -> {
+            writes.incrementAndGet();
+            writer.writeStartElement("", "streamed", "namespace");
+            writer.writeCharacters("value");
+            writer.writeEndElement();
+        });
+        doReturn(reply).when(router).onNetconfMessage(any(), any());
+
+        listener.onMessage(session, new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><get/></rpc>")));
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+        // Content has been written by the request executor, the event loop only copies it
+        assertEquals(1, writes.get());
+        // ... into a copy of the reply, the reply itself is left intact
+        assertThat(XmlUtil.getStreamedContent(data).orElseThrow(), not(instanceOf(BufferedElementContent.class)));
+
+        channel.runPendingTasks();
+        assertEquals(1, writes.get());
+        final ByteBuf sent = channel.readOutbound();
+        try {
+            assertThat(sent.toString(StandardCharsets.UTF_8),
+                containsString("<data><streamed xmlns=\"namespace\">value</streamed></data>"));
+        } finally {
+            sent.release();
+        }
+    }
+
+    @Test
+    public void testOnMessageRetainedReply() throws Exception {
+        // An operation which hands out the same reply document to every request
+        final Document reply = XmlUtil.readXmlToDocument("<rpc-reply message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><data><a xmlns=\"ns\"/><b xmlns=\"ns\"/></data>"
+                + "</rpc-reply>");
+        final String original = XmlUtil.toString(reply);
+        doReturn(reply).when(router).onNetconfMessage(any(), any());
+
+        listener.onMessage(session, new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><get/></rpc>")));
+        listener.onMessage(session, new NetconfMessage(XmlUtil.readXmlToDocument("<rpc message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><get><filter type=\"subtree\">"
+                + "<a xmlns=\"ns\"/></filter></get></rpc>")));
+        channel.runPendingTasks();
+
+        final NetconfMessage unfiltered = channel.readOutbound();
+        assertNotSame(reply, unfiltered.getDocument());
+        final NetconfMessage filtered = channel.readOutbound();
+        assertNotSame(reply, filtered.getDocument());
+        assertEquals(1, filtered.getDocument().getElementsByTagNameNS("ns", "a").getLength());
+        assertEquals(0, filtered.getDocument().getElementsByTagNameNS("ns", "b").getLength());
+        // The reply the operation retains has not been modified
+        assertEquals(original, XmlUtil.toString(reply));
+    }
+
     @Test
     public void testOnMessageRuntimeFail() throws Exception {
         doThrow(new RuntimeException("runtime fail")).when(router).onNetconfMessage(any(), any());
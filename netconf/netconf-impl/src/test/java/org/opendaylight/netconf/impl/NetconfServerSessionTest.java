@@ -8,6 +8,8 @@
 package org.opendaylight.netconf.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -35,8 +37,10 @@ import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
 import org.opendaylight.netconf.nettyutil.handler.exi.EXIParameters;
 import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.NetconfTcp;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.extension.rev131210.Session1;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.NetconfSsh;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.monitoring.rev101004.netconf.state.sessions.Session;
+import org.opendaylight.yangtools.yang.common.Uint64;
 import org.w3c.dom.Document;
 
 @RunWith(MockitoJUnitRunner.StrictStubs.class)
@@ -145,6 +149,27 @@ public class NetconfServerSessionTest {
         assertEquals(managementSession.getTransport(), NetconfTcp.class);
     }
 
+    @Test
+    public void testWritabilityBackpressure() throws Exception {
+        final NetconfHelloMessageAdditionalHeader header =
+                new NetconfHelloMessageAdditionalHeader(USER, HOST, PORT, TCP_TRANSPORT, SESSION_ID);
+        final EmbeddedChannel ch = new EmbeddedChannel();
+        final NetconfServerSession tcpSession = new NetconfServerSession(listener, ch, 1L, header);
+        ch.pipeline().addLast(tcpSession);
+
+        ch.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        ch.runPendingTasks();
+        assertFalse(ch.config().isAutoRead());
+
+        ch.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+        ch.runPendingTasks();
+        assertTrue(ch.config().isAutoRead());
+
+        final Session1 augmentation = tcpSession.toManagementSession().augmentation(Session1.class);
+        assertEquals(Uint64.ZERO, augmentation.getOutboundQueuedBytes());
+        assertNotNull(augmentation.getOutboundStallTime());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testToManagementSessionUnknownTransport() throws Exception {
         final NetconfHelloMessageAdditionalHeader header =
@@ -14,6 +14,8 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
@@ -30,8 +32,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
+import org.opendaylight.netconf.mapping.api.KeyedNetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
+import org.opendaylight.netconf.mapping.api.NetconfOperationKey;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
@@ -116,6 +120,30 @@ public class NetconfOperationRouterImplTest {
         assertEquals(DocumentedException.ErrorTag.OPERATION_NOT_SUPPORTED, ex.getErrorTag());
     }
 
+    @Test
+    public void testKeyedDispatch() throws Exception {
+        final KeyedNetconfOperation testOperation = mock(KeyedNetconfOperation.class);
+        doReturn(NetconfOperationKey.of("urn:ietf:params:xml:ns:netconf:base:1.0", "test"))
+            .when(testOperation).operationKey();
+        doReturn(HandlingPriority.HANDLE_WITH_DEFAULT_PRIORITY).when(testOperation).keyedHandlingPriority();
+        doReturn(XmlUtil.readXmlToDocument(DEFAULT_PRIORITY_REPLY)).when(testOperation).handle(any(Document.class),
+            any(NetconfOperationChainedExecution.class));
+
+        final KeyedNetconfOperation otherOperation = mock(KeyedNetconfOperation.class);
+        doReturn(NetconfOperationKey.of("urn:ietf:params:xml:ns:netconf:base:1.0", "other"))
+            .when(otherOperation).operationKey();
+
+        final NetconfOperationService service = mock(NetconfOperationService.class);
+        doReturn(Set.of(testOperation, otherOperation)).when(service).getNetconfOperations();
+
+        final Document document = new NetconfOperationRouterImpl(service, null, "session-1")
+            .onNetconfMessage(TEST_RPC_DOC, null);
+        assertEquals(DEFAULT_PRIORITY_REPLY, XmlUtil.toString(document).trim());
+        verify(testOperation, never()).canHandle(any(Document.class));
+        verify(otherOperation, never()).canHandle(any(Document.class));
+        verify(otherOperation, never()).keyedHandlingPriority();
+    }
+
     @Test
     public void testClose() throws Exception {
         operationRouter.close();
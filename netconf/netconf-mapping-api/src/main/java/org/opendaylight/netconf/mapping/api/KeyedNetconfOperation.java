@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.mapping.api;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A {@link NetconfOperation} which may be able to declare the single operation it handles up front. Operation routers
+ * use this information to index operations and dispatch requests to them without invoking
+ * {@link #canHandle(org.w3c.dom.Document)}.
+ */
+public interface KeyedNetconfOperation extends NetconfOperation {
+    /**
+     * Return the key of the operation handled by this instance. A non-null return value is a promise that
+     * {@link #canHandle(org.w3c.dom.Document)} returns {@link #keyedHandlingPriority()} for requests with this key and
+     * {@link HandlingPriority#CANNOT_HANDLE} for all other requests.
+     *
+     * @return Operation key, or null if {@link #canHandle(org.w3c.dom.Document)} needs to be consulted
+     */
+    @Nullable NetconfOperationKey operationKey();
+
+    /**
+     * Return the priority with which this operation handles requests matching its {@link #operationKey()}.
+     *
+     * @return Handling priority
+     */
+    HandlingPriority keyedHandlingPriority();
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.mapping.api;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Identification of a NETCONF operation by the namespace and local name of its element within {@code rpc}.
+ */
+public final class NetconfOperationKey {
+    private final String namespace;
+    private final String name;
+
+    private NetconfOperationKey(final String namespace, final String name) {
+        this.namespace = requireNonNull(namespace);
+        this.name = requireNonNull(name);
+    }
+
+    public static NetconfOperationKey of(final String namespace, final String name) {
+        return new NetconfOperationKey(namespace, name);
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * namespace.hashCode() + name.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof NetconfOperationKey)) {
+            return false;
+        }
+        final NetconfOperationKey other = (NetconfOperationKey) obj;
+        return namespace.equals(other.namespace) && name.equals(other.name);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("namespace", namespace).add("name", name).toString();
+    }
+}
@@ -14,6 +14,7 @@ import org.opendaylight.netconf.api.NetconfSession;
 import org.opendaylight.netconf.nettyutil.handler.FramingMechanismHandlerFactory;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEOMAggregator;
 import org.opendaylight.netconf.nettyutil.handler.NetconfHelloMessageToXMLEncoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToHelloMessageDecoder;
 import org.opendaylight.netconf.util.messages.FramingMechanism;
 
@@ -25,6 +26,22 @@ public abstract class AbstractChannelInitializer<S extends NetconfSession> {
     public static final String NETCONF_MESSAGE_FRAME_ENCODER = "frameEncoder";
     public static final String NETCONF_SESSION_NEGOTIATOR = "negotiator";
 
+    private final boolean prettyPrint;
+
+    protected AbstractChannelInitializer() {
+        this(NetconfMessageToXMLEncoder.DEFAULT_PRETTY_PRINT);
+    }
+
+    /**
+     * Create an initializer with the specified output format. The format is retained by the message encoders, which
+     * replace the hello message encoder once the session is negotiated.
+     *
+     * @param prettyPrint {@code true} for pretty printed output, {@code false} for compact output
+     */
+    protected AbstractChannelInitializer(final boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+    }
+
     public void initialize(Channel ch, Promise<S> promise) {
         ch.pipeline().addLast(NETCONF_MESSAGE_AGGREGATOR, new NetconfEOMAggregator());
         initializeMessageDecoder(ch);
@@ -38,7 +55,7 @@ public abstract class AbstractChannelInitializer<S extends NetconfSession> {
     protected void initializeMessageEncoder(Channel ch) {
         // Special encoding handler for hello message to include additional header if available,
         // it is thrown away after successful negotiation
-        ch.pipeline().addLast(NETCONF_MESSAGE_ENCODER, new NetconfHelloMessageToXMLEncoder());
+        ch.pipeline().addLast(NETCONF_MESSAGE_ENCODER, new NetconfHelloMessageToXMLEncoder(prettyPrint));
     }
 
     protected void initializeMessageDecoder(Channel ch) {
@@ -7,10 +7,13 @@
  */
 package org.opendaylight.netconf.nettyutil;
 
+import static java.util.Objects.requireNonNull;
+
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.ByteToMessageDecoder;
@@ -25,7 +28,10 @@ import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEXICodec;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEXIToMessageDecoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToEXIEncoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.exi.EXIParameters;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandler;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandlerWriter;
 import org.opendaylight.netconf.shaded.exificient.core.exceptions.EXIException;
 import org.opendaylight.netconf.shaded.exificient.core.exceptions.UnsupportedOption;
 import org.slf4j.Logger;
@@ -40,8 +46,16 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
     private boolean up = false;
 
     private ChannelHandler delayedEncoder;
+    // Output format of the XML encoder, retained while EXI is in use
+    private boolean prettyPrint = NetconfMessageToXMLEncoder.DEFAULT_PRETTY_PRINT;
 
     private final Channel channel;
+    // Writer of the SSH proxy forwarding our output, if we are served through it. Read from monitoring.
+    private volatile AsyncSshHandlerWriter proxiedWriter;
+
+    // Updated from event loop, read from monitoring
+    private long unwritableSinceNanos;
+    private long totalUnwritableNanos;
 
     protected AbstractNetconfSession(final L sessionListener, final Channel channel, final long sessionId) {
         this.sessionListener = sessionListener;
@@ -52,6 +66,17 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
 
     protected abstract S thisInstance();
 
+    /**
+     * Bind this session to the writer of the SSH proxy forwarding its output. Output of such sessions is queued in
+     * the writer rather than in this session's channel, hence the writer reports its state to this session's channel.
+     *
+     * @param writer writer handed over by the proxy
+     */
+    protected final void setProxiedWriter(final AsyncSshHandlerWriter writer) {
+        proxiedWriter = requireNonNull(writer);
+        writer.setWritabilityTarget(channel);
+    }
+
     @Override
     public void close() {
         channel.close();
@@ -147,10 +172,35 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
             throw new IllegalStateException("Cannot instantiate encoder for options", e);
         }
 
+        final ChannelHandler xmlEncoder = channel.pipeline().get(AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER);
+        if (xmlEncoder instanceof NetconfMessageToXMLEncoder) {
+            prettyPrint = ((NetconfMessageToXMLEncoder) xmlEncoder).isPrettyPrint();
+        }
+
         addExiHandlers(exiDecoder, exiEncoder);
         LOG.debug("Session {} EXI handlers added to pipeline", this);
     }
 
+    /**
+     * Check whether messages are currently encoded as compact XML, which writes buffered streamed content as it is.
+     * Other encoders transform the DOM, hence they need streamed content materialized.
+     *
+     * @return {@code true} if messages are encoded as compact XML
+     */
+    protected final boolean isCompactXmlEncoding() {
+        final ChannelHandler encoder = channel.pipeline().get(AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER);
+        return encoder instanceof NetconfMessageToXMLEncoder && !((NetconfMessageToXMLEncoder) encoder).isPrettyPrint();
+    }
+
+    /**
+     * Create an XML message encoder, which writes the same output format as the encoder used before EXI was started.
+     *
+     * @return A new XML message encoder
+     */
+    protected final NetconfMessageToXMLEncoder newXmlMessageEncoder() {
+        return new NetconfMessageToXMLEncoder(prettyPrint);
+    }
+
     /**
      * Add a set encoder/decoder tuple into the channel pipeline as appropriate.
      *
@@ -181,6 +231,67 @@ public abstract class AbstractNetconfSession<S extends NetconfSession,L extends
         }
     }
 
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        final boolean writable = ctx.channel().isWritable();
+        LOG.debug("Channel {} writability changed to {}", ctx.channel(), writable);
+        updateStallTime(writable);
+        super.channelWritabilityChanged(ctx);
+    }
+
+    private synchronized void updateStallTime(final boolean writable) {
+        if (writable) {
+            if (unwritableSinceNanos != 0) {
+                totalUnwritableNanos += System.nanoTime() - unwritableSinceNanos;
+                unwritableSinceNanos = 0;
+            }
+        } else if (unwritableSinceNanos == 0) {
+            unwritableSinceNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Return the cumulative time this session's channel has not been writable, i.e. the time outbound messages were
+     * stalled.
+     *
+     * @return Stall time in nanoseconds
+     */
+    public final synchronized long getOutboundStallNanos() {
+        return unwritableSinceNanos == 0 ? totalUnwritableNanos
+            : totalUnwritableNanos + System.nanoTime() - unwritableSinceNanos;
+    }
+
+    /**
+     * Check whether this session's channel accepts messages without queueing them, i.e. whether there is no
+     * backpressure from the transport.
+     *
+     * @return {@code true} if the session is writable
+     */
+    public boolean isWritable() {
+        return channel.isWritable();
+    }
+
+    /**
+     * Return the number of bytes queued for transmission on this session's channel. This includes bytes held by the
+     * channel's outbound buffer as well as bytes waiting for SSH window, either in this channel's pipeline or in the
+     * SSH proxy forwarding this session.
+     *
+     * @return Number of queued bytes
+     */
+    public final long getOutboundQueuedBytes() {
+        final ChannelOutboundBuffer outbound = channel.unsafe().outboundBuffer();
+        long queued = outbound == null ? 0 : outbound.totalPendingWriteBytes();
+        final AsyncSshHandler ssh = channel.pipeline().get(AsyncSshHandler.class);
+        if (ssh != null) {
+            queued += ssh.getPendingWriteBytes();
+        }
+        final AsyncSshHandlerWriter writer = proxiedWriter;
+        if (writer != null) {
+            queued += writer.getPendingBytes();
+        }
+        return queued;
+    }
+
     @Override
     protected final void channelRead0(final ChannelHandlerContext ctx, final Object msg) {
         LOG.debug("Message was received: {}", msg);
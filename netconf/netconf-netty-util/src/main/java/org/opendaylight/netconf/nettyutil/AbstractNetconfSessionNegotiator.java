@@ -7,6 +7,7 @@
  */
 package org.opendaylight.netconf.nettyutil;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
@@ -35,6 +36,7 @@ import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
 import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToHelloMessageDecoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandlerWriter;
 import org.opendaylight.netconf.util.messages.FramingMechanism;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,10 +68,34 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
     private State state = State.IDLE;
     private final Timer timer;
     private final long connectionTimeoutMillis;
+    private final long maxInFlightBytes;
+    // Writer of the SSH proxy forwarding our output, handed over by the proxy ahead of any data
+    private AsyncSshHandlerWriter proxiedWriter;
 
     protected AbstractNetconfSessionNegotiator(final P sessionPreferences, final Promise<S> promise,
                                                final Channel channel, final Timer timer,
                                                final L sessionListener, final long connectionTimeoutMillis) {
+        this(sessionPreferences, promise, channel, timer, sessionListener, connectionTimeoutMillis,
+            NetconfChunkAggregator.DEFAULT_MAXIMUM_IN_FLIGHT_BYTES);
+    }
+
+    /**
+     * Create a new negotiator.
+     *
+     * @param sessionPreferences session preferences
+     * @param promise promise to be notified
+     * @param channel underlying channel
+     * @param timer timer used for negotiation timeouts
+     * @param sessionListener session listener
+     * @param connectionTimeoutMillis negotiation timeout
+     * @param maxInFlightBytes maximum number of bytes a single incoming message may hold when chunk framing is used
+     */
+    protected AbstractNetconfSessionNegotiator(final P sessionPreferences, final Promise<S> promise,
+                                               final Channel channel, final Timer timer,
+                                               final L sessionListener, final long connectionTimeoutMillis,
+                                               final long maxInFlightBytes) {
+        checkArgument(maxInFlightBytes > 0, "Invalid in-flight budget %s", maxInFlightBytes);
+        this.maxInFlightBytes = maxInFlightBytes;
         this.channel = requireNonNull(channel);
         this.promise = requireNonNull(promise);
         this.sessionPreferences = sessionPreferences;
@@ -172,7 +198,11 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
         }
 
         changeState(State.ESTABLISHED);
-        return getSession(sessionListener, channel, netconfMessage);
+        final S session = getSession(sessionListener, channel, netconfMessage);
+        if (proxiedWriter != null) {
+            session.setProxiedWriter(proxiedWriter);
+        }
+        return session;
     }
 
     /**
@@ -182,7 +212,7 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
         replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_FRAME_ENCODER,
                 FramingMechanismHandlerFactory.createHandler(FramingMechanism.CHUNK));
         replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_AGGREGATOR,
-                new NetconfChunkAggregator());
+                new NetconfChunkAggregator(maxInFlightBytes));
     }
 
     private boolean shouldUseChunkFraming(final Document doc) {
@@ -190,6 +220,15 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
                 && containsBase11Capability(sessionPreferences.getHelloMessage().getDocument());
     }
 
+    /**
+     * Create the decoder which will handle regular netconf messages once the hello message exchange is done.
+     *
+     * @return A new decoder
+     */
+    protected NetconfXMLToMessageDecoder createMessageDecoder() {
+        return new NetconfXMLToMessageDecoder();
+    }
+
     /**
      * Remove special inbound handler for hello message. Insert regular netconf xml message (en|de)coders.
      *
@@ -199,7 +238,7 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
      */
     protected final void replaceHelloMessageInboundHandler(final S session) {
         ChannelHandler helloMessageHandler = replaceChannelHandler(channel,
-                AbstractChannelInitializer.NETCONF_MESSAGE_DECODER, new NetconfXMLToMessageDecoder());
+                AbstractChannelInitializer.NETCONF_MESSAGE_DECODER, createMessageDecoder());
 
         checkState(helloMessageHandler instanceof NetconfXMLToHelloMessageDecoder,
                 "Pipeline handlers misplaced on session: %s, pipeline: %s", session, channel.pipeline());
@@ -216,11 +255,16 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
     }
 
     /**
-     * Remove special outbound handler for hello message. Insert regular netconf xml message (en|de)coders.
+     * Remove special outbound handler for hello message. Insert regular netconf xml message (en|de)coders, which
+     * retain the output format of the hello message encoder.
      */
     private void replaceHelloMessageOutboundHandler() {
+        final ChannelHandler helloEncoder = channel.pipeline().get(AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER);
+        final boolean prettyPrint = helloEncoder instanceof NetconfMessageToXMLEncoder
+            ? ((NetconfMessageToXMLEncoder) helloEncoder).isPrettyPrint()
+                : NetconfMessageToXMLEncoder.DEFAULT_PRETTY_PRINT;
         replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER,
-                new NetconfMessageToXMLEncoder());
+                new NetconfMessageToXMLEncoder(prettyPrint));
     }
 
     private static ChannelHandler replaceChannelHandler(final Channel channel, final String handlerKey,
@@ -323,6 +367,12 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
     @SuppressWarnings("checkstyle:illegalCatch")
     public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
         LOG.debug("Negotiation read invoked on channel {}", channel);
+        if (msg instanceof AsyncSshHandlerWriter) {
+            // The SSH proxy serving this session over a local connection passes its writer first
+            LOG.debug("Session on channel {} is forwarded by {}", channel, msg);
+            proxiedWriter = (AsyncSshHandlerWriter) msg;
+            return;
+        }
         try {
             handleMessage((NetconfHelloMessage) msg);
         } catch (final Exception e) {
@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static java.util.Objects.requireNonNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.opendaylight.netconf.api.xml.BufferedElementContent;
+import org.opendaylight.netconf.api.xml.StreamedElementContent;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Serializer of DOM nodes writing compact XML, without any indentation, as UTF-8 directly into a {@link ByteBuf}.
+ * Unlike a JAXP Transformer it does not need any intermediate streams or character buffers. Namespace declarations
+ * missing from the DOM, which is common for elements created with {@code createElementNS()}, are added as needed,
+ * while redundant declarations are dropped.
+ *
+ * <p>
+ * {@link StreamedElementContent} attached to elements is written through a namespace repairing
+ * {@link XMLStreamWriter} into the same buffer, hence it never becomes part of the DOM. {@link BufferedElementContent}
+ * is already encoded, when encoding into a buffer obtained from an allocator, its chunks become components of
+ * a {@link CompositeByteBuf} without being copied.
+ */
+final class ByteBufXmlWriter {
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY;
+
+    static {
+        XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+        XML_OUTPUT_FACTORY.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+    }
+
+    // Allocator of further buffers, present only when buffered content is to be composed rather than copied
+    private final ByteBufAllocator alloc;
+    private CompositeByteBuf composite;
+    private ByteBuf out;
+
+    // In-scope namespace bindings, innermost last
+    private final List<String> prefixes = new ArrayList<>();
+    private final List<String> namespaces = new ArrayList<>();
+    private int generatedPrefixes;
+
+    private ByteBufXmlWriter(final ByteBuf out, final ByteBufAllocator alloc) {
+        this.out = requireNonNull(out);
+        this.alloc = alloc;
+        bind(XMLConstants.XML_NS_PREFIX, XMLConstants.XML_NS_URI);
+        bind(XMLConstants.DEFAULT_NS_PREFIX, XMLConstants.NULL_NS_URI);
+    }
+
+    /**
+     * Write a DOM node. If the node is a document, it is prefixed by an XML declaration.
+     *
+     * @param node node to write
+     * @param out output buffer
+     */
+    static void write(final Node node, final ByteBuf out) {
+        new ByteBufXmlWriter(out, null).writeDocument(node);
+    }
+
+    /**
+     * Write a DOM node into a newly allocated buffer. If the node is a document, it is prefixed by an XML declaration.
+     * If the node has any {@link BufferedElementContent}, the returned buffer is a {@link CompositeByteBuf} sharing
+     * the buffered chunks.
+     *
+     * @param node node to write
+     * @param alloc allocator of output buffers
+     * @return Buffer holding the written node, owned by the caller
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    static ByteBuf encode(final Node node, final ByteBufAllocator alloc) {
+        final ByteBufXmlWriter writer = new ByteBufXmlWriter(alloc.ioBuffer(), requireNonNull(alloc));
+        try {
+            writer.writeDocument(node);
+        } catch (RuntimeException e) {
+            writer.out.release();
+            if (writer.composite != null) {
+                writer.composite.release();
+            }
+            throw e;
+        }
+
+        if (writer.composite == null) {
+            return writer.out;
+        }
+        writer.addComponent(writer.out);
+        return writer.composite;
+    }
+
+    private void writeDocument(final Node node) {
+        if (node.getNodeType() == Node.DOCUMENT_NODE) {
+            ByteBufUtil.writeAscii(out, XML_DECLARATION);
+        }
+        writeNode(node);
+    }
+
+    private void writeNode(final Node node) {
+        switch (node.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                writeElement((Element) node);
+                break;
+            case Node.TEXT_NODE:
+                writeEscaped(node.getNodeValue(), false);
+                break;
+            case Node.CDATA_SECTION_NODE:
+                writeCData(node.getNodeValue());
+                break;
+            case Node.COMMENT_NODE:
+                ByteBufUtil.writeAscii(out, "<!--");
+                ByteBufUtil.writeUtf8(out, node.getNodeValue());
+                ByteBufUtil.writeAscii(out, "-->");
+                break;
+            case Node.PROCESSING_INSTRUCTION_NODE:
+                ByteBufUtil.writeAscii(out, "<?");
+                ByteBufUtil.writeUtf8(out, node.getNodeName());
+                final String data = node.getNodeValue();
+                if (data != null && !data.isEmpty()) {
+                    out.writeByte(' ');
+                    ByteBufUtil.writeUtf8(out, data);
+                }
+                ByteBufUtil.writeAscii(out, "?>");
+                break;
+            case Node.DOCUMENT_NODE:
+            case Node.DOCUMENT_FRAGMENT_NODE:
+            case Node.ENTITY_REFERENCE_NODE:
+                writeChildren(node);
+                break;
+            default:
+                // Document types, entities and notations are not part of NETCONF messages
+                break;
+        }
+    }
+
+    private void writeChildren(final Node node) {
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            writeNode(child);
+        }
+    }
+
+    private void writeElement(final Element element) {
+        final int scope = prefixes.size();
+        final String localName = element.getLocalName();
+        final String name = element.getNodeName();
+
+        out.writeByte('<');
+        ByteBufUtil.writeUtf8(out, name);
+
+        final NamedNodeMap attributes = element.getAttributes();
+        final int attributeCount = attributes.getLength();
+
+        // Explicit declarations first, so that the element and its attributes can use them
+        for (int i = 0; i < attributeCount; ++i) {
+            final Attr attr = (Attr) attributes.item(i);
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+                final String prefix = XMLConstants.XMLNS_ATTRIBUTE.equals(attr.getPrefix()) ? attr.getLocalName()
+                    : XMLConstants.DEFAULT_NS_PREFIX;
+                declareIfNeeded(prefix, attr.getValue());
+            }
+        }
+
+        // Element created without namespace awareness has no local name, it is written as it is
+        if (localName != null) {
+            final String prefix = element.getPrefix();
+            declareIfNeeded(prefix == null ? XMLConstants.DEFAULT_NS_PREFIX : prefix,
+                nullToEmpty(element.getNamespaceURI()));
+        }
+
+        for (int i = 0; i < attributeCount; ++i) {
+            final Attr attr = (Attr) attributes.item(i);
+            final String namespace = attr.getNamespaceURI();
+            if (!XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(namespace)) {
+                writeAttribute(attr, namespace);
+            }
+        }
+
+        final Optional<StreamedElementContent> content = XmlUtil.getStreamedContent(element);
+        if (content.isPresent() || element.hasChildNodes()) {
+            out.writeByte('>');
+            if (content.isPresent()) {
+                writeStreamed(element, content.get());
+            }
+            writeChildren(element);
+            ByteBufUtil.writeAscii(out, "</");
+            ByteBufUtil.writeUtf8(out, name);
+            out.writeByte('>');
+        } else {
+            ByteBufUtil.writeAscii(out, "/>");
+        }
+
+        unbind(scope);
+    }
+
+    private void writeStreamed(final Element element, final StreamedElementContent content) {
+        if (content instanceof BufferedElementContent) {
+            // Already encoded, typically off the event loop, so it is just passed on
+            final BufferedElementContent buffered = (BufferedElementContent) content;
+            if (alloc != null) {
+                composeBuffered(buffered);
+                return;
+            }
+            out.ensureWritable((int) Math.min(buffered.size(), Integer.MAX_VALUE));
+            try {
+                buffered.writeTo(new ByteBufOutputStream(out));
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to write buffered content of " + element, e);
+            }
+            return;
+        }
+
+        try {
+            final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(new ByteBufOutputStream(out),
+                StandardCharsets.UTF_8.name());
+            content.writeTo(writer);
+            writer.flush();
+            // Does not close the underlying stream
+            writer.close();
+        } catch (XMLStreamException | IOException e) {
+            throw new IllegalStateException("Unable to write streamed content of " + element, e);
+        }
+    }
+
+    private void composeBuffered(final BufferedElementContent buffered) {
+        if (composite == null) {
+            composite = alloc.compositeBuffer(Integer.MAX_VALUE);
+        }
+        addComponent(out);
+        for (final ByteBuffer chunk : buffered.toByteBuffers()) {
+            addComponent(Unpooled.wrappedBuffer(chunk));
+        }
+        out = alloc.ioBuffer();
+    }
+
+    private void addComponent(final ByteBuf component) {
+        if (component.isReadable()) {
+            composite.addComponent(true, component);
+        } else {
+            component.release();
+        }
+    }
+
+    private void writeAttribute(final Attr attr, final String namespace) {
+        final String localName = attr.getLocalName();
+        out.writeByte(' ');
+        if (namespace == null || namespace.isEmpty() || localName == null) {
+            ByteBufUtil.writeUtf8(out, attr.getName());
+        } else {
+            // Unprefixed attributes are not in the default namespace, a namespaced attribute needs a prefix
+            String prefix = attr.getPrefix();
+            if (prefix == null || !namespace.equals(lookupNamespace(prefix))) {
+                prefix = lookupPrefix(namespace);
+                if (prefix == null) {
+                    prefix = generatePrefix();
+                    declare(prefix, namespace);
+                    out.writeByte(' ');
+                }
+            }
+            ByteBufUtil.writeUtf8(out, prefix);
+            out.writeByte(':');
+            ByteBufUtil.writeUtf8(out, localName);
+        }
+        ByteBufUtil.writeAscii(out, "=\"");
+        writeEscaped(attr.getValue(), true);
+        out.writeByte('"');
+    }
+
+    private void declareIfNeeded(final String prefix, final String namespace) {
+        if (!namespace.equals(lookupNamespace(prefix))) {
+            out.writeByte(' ');
+            declare(prefix, namespace);
+        }
+    }
+
+    private void declare(final String prefix, final String namespace) {
+        bind(prefix, namespace);
+        ByteBufUtil.writeAscii(out, XMLConstants.XMLNS_ATTRIBUTE);
+        if (!prefix.isEmpty()) {
+            out.writeByte(':');
+            ByteBufUtil.writeUtf8(out, prefix);
+        }
+        ByteBufUtil.writeAscii(out, "=\"");
+        writeEscaped(namespace, true);
+        out.writeByte('"');
+    }
+
+    private void bind(final String prefix, final String namespace) {
+        prefixes.add(prefix);
+        namespaces.add(namespace);
+    }
+
+    private void unbind(final int scope) {
+        for (int i = prefixes.size() - 1; i >= scope; --i) {
+            prefixes.remove(i);
+            namespaces.remove(i);
+        }
+    }
+
+    private String lookupNamespace(final String prefix) {
+        for (int i = prefixes.size() - 1; i >= 0; --i) {
+            if (prefix.equals(prefixes.get(i))) {
+                return namespaces.get(i);
+            }
+        }
+        return null;
+    }
+
+    private String lookupPrefix(final String namespace) {
+        for (int i = prefixes.size() - 1; i >= 0; --i) {
+            final String prefix = prefixes.get(i);
+            // Default namespace does not apply to attributes, the prefix also must not be redefined in an inner scope
+            if (!prefix.isEmpty() && namespace.equals(namespaces.get(i))
+                    && namespace.equals(lookupNamespace(prefix))) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+    private String generatePrefix() {
+        String prefix;
+        do {
+            prefix = "ns" + generatedPrefixes++;
+        } while (lookupNamespace(prefix) != null);
+        return prefix;
+    }
+
+    private void writeCData(final String data) {
+        ByteBufUtil.writeAscii(out, "<![CDATA[");
+        int start = 0;
+        int end = data.indexOf("]]>");
+        while (end != -1) {
+            // Split the terminating sequence across two sections
+            ByteBufUtil.writeUtf8(out, data, start, end + 2);
+            ByteBufUtil.writeAscii(out, "]]><![CDATA[");
+            start = end + 2;
+            end = data.indexOf("]]>", start);
+        }
+        ByteBufUtil.writeUtf8(out, data, start, data.length());
+        ByteBufUtil.writeAscii(out, "]]>");
+    }
+
+    private void writeEscaped(final String value, final boolean attribute) {
+        final int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; ++i) {
+            final String escaped = escape(value.charAt(i), attribute);
+            if (escaped != null) {
+                ByteBufUtil.writeUtf8(out, value, start, i);
+                ByteBufUtil.writeAscii(out, escaped);
+                start = i + 1;
+            }
+        }
+        ByteBufUtil.writeUtf8(out, value, start, length);
+    }
+
+    private static String escape(final char ch, final boolean attribute) {
+        switch (ch) {
+            case '&':
+                return "&amp;";
+            case '<':
+                return "&lt;";
+            case '>':
+                return attribute ? null : "&gt;";
+            case '"':
+                return attribute ? "&quot;" : null;
+            case '\r':
+                return "&#13;";
+            case '\n':
+                return attribute ? "&#10;" : null;
+            case '\t':
+                return attribute ? "&#9;" : null;
+            default:
+                return null;
+        }
+    }
+
+    private static String nullToEmpty(final String str) {
+        return str == null ? XMLConstants.NULL_NS_URI : str;
+    }
+}
@@ -10,7 +10,10 @@ package org.opendaylight.netconf.nettyutil.handler;
 
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.nio.charset.StandardCharsets;
 
@@ -35,6 +38,39 @@ public class ChunkedFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf
         return chunkSize;
     }
 
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (msg instanceof CompositeByteBuf) {
+            // Large message composed of buffered content, frame slices of it without copying
+            ctx.write(frame(ctx, (CompositeByteBuf) msg), promise);
+        } else {
+            super.write(ctx, msg, promise);
+        }
+    }
+
+    private ByteBuf frame(final ChannelHandlerContext ctx, final CompositeByteBuf msg) {
+        final CompositeByteBuf framed = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+        try {
+            do {
+                final int xfer = Math.min(chunkSize, msg.readableBytes());
+
+                final ByteBuf header = ctx.alloc().heapBuffer();
+                header.writeBytes(MessageParts.START_OF_CHUNK);
+                header.writeBytes(String.valueOf(xfer).getBytes(StandardCharsets.US_ASCII));
+                header.writeByte('\n');
+                framed.addComponent(true, header);
+
+                framed.addComponent(true, msg.readRetainedSlice(xfer));
+            } while (msg.isReadable());
+
+            framed.addComponent(true, Unpooled.wrappedBuffer(MessageParts.END_OF_CHUNK));
+        } finally {
+            msg.release();
+        }
+        return framed;
+    }
+
     @Override
     protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final ByteBuf out)  {
         do {
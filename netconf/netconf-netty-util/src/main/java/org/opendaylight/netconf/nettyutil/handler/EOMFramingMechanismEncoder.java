@@ -9,10 +9,25 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 
 public class EOMFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf> {
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (msg instanceof CompositeByteBuf) {
+            // Large message composed of buffered content, frame it without copying
+            ctx.write(Unpooled.wrappedBuffer((ByteBuf) msg, Unpooled.wrappedBuffer(MessageParts.END_OF_MESSAGE)),
+                promise);
+        } else {
+            super.write(ctx, msg, promise);
+        }
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) {
         out.writeBytes(msg);
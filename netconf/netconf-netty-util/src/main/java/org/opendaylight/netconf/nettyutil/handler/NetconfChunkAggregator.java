@@ -8,6 +8,8 @@
 
 package org.opendaylight.netconf.nettyutil.handler;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
@@ -17,6 +19,13 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Decoder for NETCONF 1.1 chunked framing, as specified in RFC6242. Chunk payloads are passed through as they arrive,
+ * as retained slices of the inbound buffers, and are assembled into a single {@link CompositeByteBuf} per message
+ * without being copied. The number of bytes held for a single message is bounded by a per-channel in-flight budget.
+ * A message exceeding the budget is reported as a failure and the rest of it is skipped, so that the aggregator is
+ * ready to process the next message.
+ */
 public class NetconfChunkAggregator extends ByteToMessageDecoder {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfChunkAggregator.class);
     private static final String GOT_PARAM_WHILE_WAITING_FOR_PARAM = "Got byte {} while waiting for {}";
@@ -24,6 +33,7 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
     private static final String GOT_PARAM_WHILE_WAITING_FOR_PARAM_PARAM_PARAM =
         "Got byte {} while waiting for {}-{}-{}";
     public static final int DEFAULT_MAXIMUM_CHUNK_SIZE = 16 * 1024 * 1024;
+    public static final long DEFAULT_MAXIMUM_IN_FLIGHT_BYTES = 256L * 1024 * 1024;
 
     private enum State {
         HEADER_ONE, // \n
@@ -38,9 +48,28 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
     }
 
     private final int maxChunkSize = DEFAULT_MAXIMUM_CHUNK_SIZE;
+    private final long maxInFlightBytes;
     private State state = State.HEADER_ONE;
     private long chunkSize;
+    private long inFlightBytes;
     private CompositeByteBuf chunk;
+    // Skipping the remainder of a message which exceeded the in-flight budget
+    private boolean discarding;
+
+    public NetconfChunkAggregator() {
+        this(DEFAULT_MAXIMUM_IN_FLIGHT_BYTES);
+    }
+
+    /**
+     * Create a new aggregator with specified in-flight budget.
+     *
+     * @param maxInFlightBytes Maximum number of payload bytes a single message may hold before it is passed on
+     * @throws IllegalArgumentException if {@code maxInFlightBytes} is not positive
+     */
+    public NetconfChunkAggregator(final long maxInFlightBytes) {
+        checkArgument(maxInFlightBytes > 0, "Invalid in-flight budget %s", maxInFlightBytes);
+        this.maxInFlightBytes = maxInFlightBytes;
+    }
 
     private static void checkNewLine(final byte byteToCheck, final String errorMessage) {
         if (byteToCheck != '\n') {
@@ -63,6 +92,18 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
         }
     }
 
+    private void checkInFlightBytes() {
+        if (!discarding && inFlightBytes + chunkSize > maxInFlightBytes) {
+            LOG.debug("Message needs at least {} bytes, in-flight budget is {}", inFlightBytes + chunkSize,
+                maxInFlightBytes);
+            // Drop what we have accumulated and skip the rest of the message
+            releaseChunk();
+            inFlightBytes = 0;
+            discarding = true;
+            throw new IllegalStateException("Maximum in-flight message size exceeded");
+        }
+    }
+
     @Override
     protected void decode(final ChannelHandlerContext ctx,
                           final ByteBuf in, final List<Object> out) throws IllegalStateException {
@@ -72,7 +113,9 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                     final byte b = in.readByte();
                     checkNewLine(b, "Malformed chunk header encountered (byte 0)");
                     state = State.HEADER_TWO;
-                    initChunk();
+                    if (!discarding) {
+                        initChunk();
+                    }
                     break;
                 }
                 case HEADER_TWO: {
@@ -91,6 +134,7 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                     final byte b = in.readByte();
                     if (b == '\n') {
                         state = State.DATA;
+                        checkInFlightBytes();
                         break;
                     }
                     if (b < '0' || b > '9') {
@@ -102,21 +146,22 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                     checkChunkSize();
                     break;
                 }
-                case DATA:
-                    /*
-                     * FIXME: this gathers all data into one big chunk before passing
-                     *        it on. Make sure the pipeline can work with partial data
-                     *        and then change this piece to pass the data on as it
-                     *        comes through.
-                     */
-                    if (in.readableBytes() < chunkSize) {
-                        LOG.debug("Buffer has {} bytes, need {} to complete chunk", in.readableBytes(), chunkSize);
-                        in.discardReadBytes();
+                case DATA: {
+                    // Pass on whatever part of the chunk we have, so it does not linger in the cumulation buffer
+                    final int available = (int) Math.min(in.readableBytes(), chunkSize);
+                    if (discarding) {
+                        in.skipBytes(available);
+                    } else {
+                        aggregateChunks(in.readRetainedSlice(available));
+                    }
+                    chunkSize -= available;
+                    if (chunkSize != 0) {
+                        LOG.debug("Buffer has {} bytes, need {} more to complete chunk", available, chunkSize);
                         return;
                     }
-                    aggregateChunks(in.readBytes((int) chunkSize));
                     state = State.FOOTER_ONE;
                     break;
+                }
                 case FOOTER_ONE: {
                     final byte b = in.readByte();
                     checkNewLine(b,"Malformed chunk footer encountered (byte 0)");
@@ -141,8 +186,14 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                     final byte b = in.readByte();
                     checkNewLine(b,"Malformed chunk footer encountered (byte 3)");
                     state = State.HEADER_ONE;
-                    out.add(chunk);
-                    chunk = null;
+                    if (discarding) {
+                        LOG.debug("Skipped the remainder of a message exceeding in-flight budget");
+                        discarding = false;
+                    } else {
+                        out.add(chunk);
+                        chunk = null;
+                        inFlightBytes = 0;
+                    }
                     break;
                 }
                 default:
@@ -150,7 +201,20 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
             }
         }
 
-        in.discardReadBytes();
+        // Note: we must not discard read bytes here, as they may be backing slices we have retained. The superclass
+        //       takes care of that once the buffer is no longer shared.
+    }
+
+    @Override
+    protected void handlerRemoved0(final ChannelHandlerContext ctx) {
+        releaseChunk();
+    }
+
+    private void releaseChunk() {
+        if (chunk != null) {
+            chunk.release();
+            chunk = null;
+        }
     }
 
     private void extractNewChunkOrMessageEnd(final byte byteToCheck) {
@@ -168,14 +232,13 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
     }
 
     private void initChunk() {
-        chunk = Unpooled.compositeBuffer();
+        // Do not limit the number of components, as consolidation would copy everything we have seen so far
+        chunk = Unpooled.compositeBuffer(Integer.MAX_VALUE);
     }
 
     private void aggregateChunks(final ByteBuf newChunk) {
-        chunk.addComponent(chunk.numComponents(), newChunk);
-
-        // Update writer index, addComponent does not update it
-        chunk.writerIndex(chunk.writerIndex() + newChunk.readableBytes());
+        chunk.addComponent(true, newChunk);
+        inFlightBytes += newChunk.readableBytes();
     }
 
     private static int processHeaderLengthFirst(final byte byteToCheck) {
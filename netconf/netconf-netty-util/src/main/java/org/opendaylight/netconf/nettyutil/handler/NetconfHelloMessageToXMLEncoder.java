@@ -43,6 +43,14 @@ import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader
  * </pre>
  */
 public final class NetconfHelloMessageToXMLEncoder extends NetconfMessageToXMLEncoder {
+    public NetconfHelloMessageToXMLEncoder() {
+        this(DEFAULT_PRETTY_PRINT);
+    }
+
+    public NetconfHelloMessageToXMLEncoder(final boolean prettyPrint) {
+        super(prettyPrint);
+    }
+
     @Override
     @VisibleForTesting
     public void encode(ChannelHandlerContext ctx, NetconfMessage msg, ByteBuf out)
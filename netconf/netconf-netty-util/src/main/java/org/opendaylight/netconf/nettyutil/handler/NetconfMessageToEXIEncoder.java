@@ -20,6 +20,7 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXResult;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.shaded.exificient.core.exceptions.EXIException;
 import org.opendaylight.netconf.shaded.exificient.main.api.sax.SAXEncoder;
 import org.slf4j.Logger;
@@ -42,6 +43,7 @@ public final class NetconfMessageToEXIEncoder extends MessageToByteEncoder<Netco
             throws IOException, TransformerException, EXIException {
         LOG.trace("Sent to encode : {}", msg);
 
+        XmlUtil.materializeStreamedContent(msg.getDocument());
         try (OutputStream os = new ByteBufOutputStream(out)) {
             final SAXEncoder encoder = codec.getWriter();
             encoder.setOutputStream(os);
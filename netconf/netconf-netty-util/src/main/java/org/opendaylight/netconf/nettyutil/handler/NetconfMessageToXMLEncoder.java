@@ -10,7 +10,10 @@ package org.opendaylight.netconf.nettyutil.handler;
 import com.google.common.annotations.VisibleForTesting;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.EncoderException;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -22,21 +25,89 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.SharedEncodingMessage;
+import org.opendaylight.netconf.api.messages.NetconfHelloMessage;
+import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Comment;
+import org.w3c.dom.Document;
 
+/**
+ * Encoder of {@link NetconfMessage}s as XML. Messages are written in compact form, without any indentation, unless
+ * pretty printing is requested, which is useful mostly for debugging. Streamed content of compactly written messages
+ * is written directly into the output buffer, without becoming part of the message DOM. Buffered streamed content is
+ * not copied at all, it is passed down as components of a composite buffer.
+ *
+ * <p>
+ * Encoders, which do not specify the output format explicitly, use the one selected by
+ * {@value #PRETTY_PRINT_PROPERTY} system property.
+ */
 public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMessage> {
+    /**
+     * Name of the system property selecting pretty printed output by default. Output is compact unless it is set
+     * to {@code true}.
+     */
+    public static final String PRETTY_PRINT_PROPERTY = "org.opendaylight.netconf.xml.pretty-print";
+    /**
+     * Default output format, {@code true} for pretty printed output, as selected by {@value #PRETTY_PRINT_PROPERTY}.
+     */
+    public static final boolean DEFAULT_PRETTY_PRINT = Boolean.getBoolean(PRETTY_PRINT_PROPERTY);
+
     private static final Logger LOG = LoggerFactory.getLogger(NetconfMessageToXMLEncoder.class);
+    private static final Object SHARED_ENCODING = NetconfMessageToXMLEncoder.class;
 
     private final @Nullable String clientId;
+    private final boolean prettyPrint;
 
     public NetconfMessageToXMLEncoder() {
         this(Optional.empty());
     }
 
+    public NetconfMessageToXMLEncoder(final boolean prettyPrint) {
+        this(Optional.empty(), prettyPrint);
+    }
+
     public NetconfMessageToXMLEncoder(final Optional<String> clientId) {
+        this(clientId, DEFAULT_PRETTY_PRINT);
+    }
+
+    public NetconfMessageToXMLEncoder(final Optional<String> clientId, final boolean prettyPrint) {
         this.clientId = clientId.orElse(null);
+        this.prettyPrint = prettyPrint;
+    }
+
+    /**
+     * Return {@code true} if this encoder writes pretty printed output, {@code false} if it writes compact output.
+     *
+     * @return {@code true} if this encoder writes pretty printed output
+     */
+    public final boolean isPrettyPrint() {
+        return prettyPrint;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (clientId == null && !prettyPrint && msg instanceof SharedEncodingMessage) {
+            // Encode the message just once for all sessions it is sent to and pass the result down to framing
+            LOG.trace("Sent to encode shared : {}", msg);
+            ctx.write(getSharedEncoding((SharedEncodingMessage) msg).retainedDuplicate(), promise);
+        } else if (clientId == null && !prettyPrint && msg instanceof NetconfMessage
+                && !(msg instanceof NetconfHelloMessage)) {
+            // Encode into buffers of our choosing, so that buffered content is passed down to framing without a copy
+            LOG.trace("Sent to encode : {}", msg);
+            final ByteBuf encoded;
+            try {
+                encoded = ByteBufXmlWriter.encode(((NetconfMessage) msg).getDocument(), ctx.alloc());
+            } catch (RuntimeException e) {
+                throw new EncoderException(e);
+            }
+            ctx.write(encoded, promise);
+        } else {
+            super.write(ctx, msg, promise);
+        }
     }
 
     @Override
@@ -50,6 +121,14 @@ public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMess
             msg.getDocument().appendChild(comment);
         }
 
+        if (!prettyPrint) {
+            // Write UTF-8 directly into the buffer, without going through a Transformer
+            ByteBufXmlWriter.write(msg.getDocument(), out);
+            return;
+        }
+
+        // Transformer sees only the DOM
+        XmlUtil.materializeStreamedContent(msg.getDocument());
         try (OutputStream os = new ByteBufOutputStream(out)) {
             // Wrap OutputStreamWriter with BufferedWriter as suggested in javadoc for OutputStreamWriter
 
@@ -61,4 +140,22 @@ public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMess
             ThreadLocalTransformers.getPrettyTransformer().transform(source, result);
         }
     }
+
+    /**
+     * Return the compact encoding of a message, which is shared by all sessions it is sent to without a client id
+     * and without pretty printing. The message is encoded on first request, the returned buffer is owned by it.
+     *
+     * @param message message to encode
+     * @return Buffer containing the encoded message, which must not be modified nor released
+     */
+    public static ByteBuf getSharedEncoding(final SharedEncodingMessage message) {
+        return message.getEncoded(SHARED_ENCODING, NetconfMessageToXMLEncoder::encodeShared);
+    }
+
+    private static ByteBuf encodeShared(final Document document) {
+        // Heap buffer owned by the message, it is released along with the message
+        final ByteBuf encoded = Unpooled.buffer();
+        ByteBufXmlWriter.write(document, encoded);
+        return encoded;
+    }
 }
@@ -15,9 +15,16 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import java.io.IOException;
 import java.util.List;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.opendaylight.netconf.api.DeferredRpcReplyMessage;
+import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.FailedNetconfMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
@@ -26,6 +33,26 @@ import org.xml.sax.SAXParseException;
 public final class NetconfXMLToMessageDecoder extends ByteToMessageDecoder {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfXMLToMessageDecoder.class);
 
+    private final boolean deferRpcReplies;
+
+    public NetconfXMLToMessageDecoder() {
+        this(false);
+    }
+
+    /**
+     * Create a new decoder.
+     *
+     * @param deferRpcReplies {@code true} if successful {@code rpc-reply} messages carrying data should be emitted as
+     *                        {@link DeferredRpcReplyMessage}s, without being parsed into a DOM document
+     */
+    public NetconfXMLToMessageDecoder(final boolean deferRpcReplies) {
+        this.deferRpcReplies = deferRpcReplies;
+        // Framing decoders hand us complete messages, which in case of chunked framing are composed of slices of
+        // inbound buffers. Merging cumulator would flatten those into a freshly-allocated buffer, essentially copying
+        // the entire message, hence we use composite cumulation.
+        setCumulator(COMPOSITE_CUMULATOR);
+    }
+
     @Override
     public void decode(final ChannelHandlerContext ctx, final ByteBuf in,
                        final List<Object> out) throws IOException, SAXException {
@@ -70,7 +97,11 @@ public final class NetconfXMLToMessageDecoder extends ByteToMessageDecoder {
             }
         }
         if (in.isReadable()) {
-            NetconfMessage msg;
+            NetconfMessage msg = deferRpcReplies ? tryDefer(in) : null;
+            if (msg != null) {
+                out.add(msg);
+                return;
+            }
 
             try {
                 msg = new NetconfMessage(XmlUtil.readXmlToDocument(new ByteBufInputStream(in)));
@@ -85,6 +116,81 @@ public final class NetconfXMLToMessageDecoder extends ByteToMessageDecoder {
         }
     }
 
+    /**
+     * Scan the envelope of a message and, if it is a successful {@code rpc-reply} carrying data, return its bytes
+     * wrapped in a {@link DeferredRpcReplyMessage}. Replies containing {@code ok} or {@code rpc-error}, as well as
+     * any other messages, are left for DOM parsing.
+     *
+     * @param in message buffer
+     * @return A DeferredRpcReplyMessage, or null if the message needs to be parsed into a DOM document
+     */
+    private static DeferredRpcReplyMessage tryDefer(final ByteBuf in) {
+        final int readerIndex = in.readerIndex();
+        final String messageId;
+        try {
+            final XMLStreamReader reader = UntrustedXML.createXMLStreamReader(new ByteBufInputStream(in));
+            try {
+                messageId = scanRpcReply(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            LOG.debug("Failed to scan message envelope, falling back to DOM", e);
+            in.readerIndex(readerIndex);
+            return null;
+        }
+
+        in.readerIndex(readerIndex);
+        if (messageId == null) {
+            return null;
+        }
+        final byte[] bytes = ByteBufUtil.getBytes(in);
+        in.skipBytes(bytes.length);
+        // An empty message-id denotes a reply without the attribute
+        return new DeferredRpcReplyMessage(bytes, messageId.isEmpty() ? null : messageId);
+    }
+
+    // Returns the message-id (empty if not present) if the message can be deferred, null otherwise
+    private static String scanRpcReply(final XMLStreamReader reader) throws XMLStreamException {
+        reader.nextTag();
+        if (!isNetconfElement(reader, XmlNetconfConstants.RPC_REPLY_KEY)) {
+            return null;
+        }
+        final String messageId = reader.getAttributeValue(null, XmlNetconfConstants.MESSAGE_ID);
+
+        int depth = 0;
+        boolean hasChild = false;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (depth++ == 0) {
+                        if (isNetconfElement(reader, XmlNetconfConstants.OK)
+                                || isNetconfElement(reader, DocumentedException.RPC_ERROR)) {
+                            return null;
+                        }
+                        hasChild = true;
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (depth-- == 0) {
+                        if (!hasChild) {
+                            return null;
+                        }
+                        return messageId != null ? messageId : "";
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNetconfElement(final XMLStreamReader reader, final String localName) {
+        return localName.equals(reader.getLocalName())
+            && XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0.equals(reader.getNamespaceURI());
+    }
+
     /**
      * Check whether a byte is whitespace/control character. Considered whitespace characters: <br/>
      * SPACE, \t, \n, \v, \r, \f
@@ -188,6 +188,15 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
         sshWriteAsyncHandler.write(ctx, msg, promise);
     }
 
+    /**
+     * Return the number of bytes waiting for SSH window to open up.
+     *
+     * @return Number of pending bytes
+     */
+    public synchronized long getPendingWriteBytes() {
+        return sshWriteAsyncHandler == null ? 0 : sshWriteAsyncHandler.getPendingBytes();
+    }
+
     @Override
     public synchronized void connect(final ChannelHandlerContext ctx, final SocketAddress remoteAddress,
                                      final SocketAddress localAddress, final ChannelPromise promise) throws Exception {
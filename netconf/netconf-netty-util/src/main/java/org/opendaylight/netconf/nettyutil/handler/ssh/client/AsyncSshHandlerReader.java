@@ -8,19 +8,20 @@
 
 package org.opendaylight.netconf.nettyutil.handler.ssh.client;
 
+import static java.util.Objects.requireNonNull;
+
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 import org.opendaylight.netconf.shaded.sshd.common.future.SshFutureListener;
 import org.opendaylight.netconf.shaded.sshd.common.io.IoInputStream;
 import org.opendaylight.netconf.shaded.sshd.common.io.IoReadFuture;
-import org.opendaylight.netconf.shaded.sshd.common.util.buffer.Buffer;
-import org.opendaylight.netconf.shaded.sshd.common.util.buffer.ByteArrayBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Listener on async input stream from SSH session.
- * This listeners schedules reads in a loop until the session is closed or read fails.
+ * This listeners schedules reads in a loop until the session is closed or read fails. Reads are performed into pooled
+ * buffers, ownership of which is passed to {@link ReadMsgHandler}.
  */
 public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFuture>, AutoCloseable {
 
@@ -30,20 +31,26 @@ public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFutu
 
     private final AutoCloseable connectionClosedCallback;
     private final ReadMsgHandler readHandler;
+    private final ByteBufAllocator alloc;
 
     private final String channelId;
     private IoInputStream asyncOut;
-    private Buffer buf;
+    private ByteBuf buf;
     private IoReadFuture currentReadFuture;
 
     public AsyncSshHandlerReader(final AutoCloseable connectionClosedCallback, final ReadMsgHandler readHandler,
                                  final String channelId, final IoInputStream asyncOut) {
+        this(connectionClosedCallback, readHandler, channelId, asyncOut, ByteBufAllocator.DEFAULT);
+    }
+
+    public AsyncSshHandlerReader(final AutoCloseable connectionClosedCallback, final ReadMsgHandler readHandler,
+                                 final String channelId, final IoInputStream asyncOut, final ByteBufAllocator alloc) {
         this.connectionClosedCallback = connectionClosedCallback;
         this.readHandler = readHandler;
         this.channelId = channelId;
         this.asyncOut = asyncOut;
-        buf = new ByteArrayBuffer(BUFFER_SIZE);
-        asyncOut.read(buf).addListener(this);
+        this.alloc = requireNonNull(alloc);
+        scheduleRead();
     }
 
     @Override
@@ -66,9 +73,12 @@ public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFutu
             } else {
                 LOG.warn("Exception while reading from SSH remote on channel {}", channelId, future.getException());
             }
+            buf.release();
+            buf = null;
             return true;
         } else if (future.getRead() > 0) {
-            final ByteBuf msg = Unpooled.wrappedBuffer(buf.array(), 0, future.getRead());
+            final ByteBuf msg = SshByteBufBridge.completeRead(buf, future.getRead());
+            buf = null;
             if (LOG.isTraceEnabled()) {
                 LOG.trace("Reading message on channel: {}, message: {}",
                         channelId, AsyncSshHandlerWriter.byteBufToString(msg));
@@ -76,13 +86,17 @@ public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFutu
             readHandler.onMessageRead(msg);
 
             // Schedule next read
-            buf = new ByteArrayBuffer(BUFFER_SIZE);
-            currentReadFuture = asyncOut.read(buf);
-            currentReadFuture.addListener(this);
+            scheduleRead();
         }
         return false;
     }
 
+    private void scheduleRead() {
+        buf = SshByteBufBridge.allocateReadBuffer(alloc, BUFFER_SIZE);
+        currentReadFuture = asyncOut.read(SshByteBufBridge.asWritableBuffer(buf));
+        currentReadFuture.addListener(this);
+    }
+
     /**
      * Closing of the {@link AsyncSshHandlerReader}. This method should never be called with any locks held since
      * call to {@link AutoCloseable#close()} can be a source of ABBA deadlock.
@@ -102,6 +116,13 @@ public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFutu
         // Remove self as listener on close to prevent reading from closed input
         if (currentReadFuture != null) {
             currentReadFuture.removeListener(this);
+
+            // The buffer may still be written to by SSHD, hence we can only release it once the read completes
+            final ByteBuf toRelease = buf;
+            if (toRelease != null) {
+                currentReadFuture.addListener(future -> toRelease.release());
+                buf = null;
+            }
             currentReadFuture = null;
         }
 
@@ -109,7 +130,12 @@ public final class AsyncSshHandlerReader implements SshFutureListener<IoReadFutu
     }
 
     public interface ReadMsgHandler {
-
+        /**
+         * Invoked when a message has been read. The handler takes ownership of the message and is responsible for
+         * releasing it.
+         *
+         * @param msg Message which has been read
+         */
         void onMessageRead(ByteBuf msg);
     }
 }
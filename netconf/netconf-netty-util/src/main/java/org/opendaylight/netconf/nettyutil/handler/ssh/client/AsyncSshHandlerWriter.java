@@ -8,28 +8,43 @@
 
 package org.opendaylight.netconf.nettyutil.handler.ssh.client;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPromise;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.LinkedList;
 import java.util.Queue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.opendaylight.netconf.shaded.sshd.common.io.IoOutputStream;
+import org.opendaylight.netconf.shaded.sshd.common.io.IoWriteFuture;
 import org.opendaylight.netconf.shaded.sshd.common.io.WritePendingException;
-import org.opendaylight.netconf.shaded.sshd.common.util.buffer.Buffer;
-import org.opendaylight.netconf.shaded.sshd.common.util.buffer.ByteArrayBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Async Ssh writer. Takes messages(byte arrays) and sends them encrypted to remote server.
  * Also handles pending writes by caching requests until pending state is over.
+ *
+ * <p>
+ * The queue of pending writes is bounded both in the number of requests and in the number of bytes they hold. Once
+ * the queue reaches half of either limit, the channel is marked as not writable, so that producers can stop. It
+ * becomes writable again once the queue drains below a quarter of both limits. Writes arriving when the queue already
+ * holds either limit are failed. The byte limit does not cap the size of a single write, a write is accepted as long
+ * as the queue has not reached the limit yet.
+ *
+ * <p>
+ * When the writer forwards the output of a NETCONF session served over a local connection, such as in the SSH proxy,
+ * the proxy hands the writer over to the session through that connection, ahead of any data. The session then
+ * redirects the writability signal to its own channel via {@link #setWritabilityTarget(Channel)}.
  */
 public final class AsyncSshHandlerWriter implements AutoCloseable {
 
@@ -38,25 +53,60 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
 
     private static final Pattern NON_ASCII = Pattern.compile("([^\\x20-\\x7E\\x0D\\x0A])+");
 
-    // public static final int MAX_PENDING_WRITES = 1000;
-    // TODO implement Limiting mechanism for pending writes
-    // But there is a possible issue with limiting:
-    // 1. What to do when queue is full ? Immediate Fail for every request ?
-    // 2. At this level we might be dealing with Chunks of messages(not whole messages)
-    // and unexpected behavior might occur when we send/queue 1 chunk and fail the other chunks
+    public static final int DEFAULT_MAX_PENDING_WRITES = 1000;
+    public static final long DEFAULT_MAX_PENDING_BYTES = 64 * 1024 * 1024;
+
+    // User-defined writability bit we toggle on the channel
+    private static final int WRITABILITY_INDEX = 1;
 
     private final Object asyncInLock = new Object();
     private volatile IoOutputStream asyncIn;
 
     // Order has to be preserved for queued writes
-    private final Deque<PendingWriteRequest> pending = new LinkedList<>();
+    private final Deque<PendingWriteRequest> pending = new ArrayDeque<>();
+    private final int maxPendingWrites;
+    private final long maxPendingBytes;
 
     public AsyncSshHandlerWriter(final IoOutputStream asyncIn) {
+        this(asyncIn, DEFAULT_MAX_PENDING_WRITES, DEFAULT_MAX_PENDING_BYTES);
+    }
+
+    public AsyncSshHandlerWriter(final IoOutputStream asyncIn, final int maxPendingWrites,
+            final long maxPendingBytes) {
+        checkArgument(maxPendingWrites > 0, "Invalid maximum pending writes %s", maxPendingWrites);
+        checkArgument(maxPendingBytes > 0, "Invalid maximum pending bytes %s", maxPendingBytes);
         this.asyncIn = asyncIn;
+        this.maxPendingWrites = maxPendingWrites;
+        this.maxPendingBytes = maxPendingBytes;
     }
 
     @GuardedBy("asyncInLock")
     private boolean isWriteExecuted = false;
+    @GuardedBy("asyncInLock")
+    private boolean unwritable;
+    @GuardedBy("asyncInLock")
+    private long pendingBytes;
+    @GuardedBy("asyncInLock")
+    private long stallStartNanos;
+    @GuardedBy("asyncInLock")
+    private long totalStallNanos;
+    @GuardedBy("asyncInLock")
+    private Channel writabilityTarget;
+
+    /**
+     * Set the channel whose writability should reflect the state of the pending write queue. By default it is the
+     * channel of the context passed to {@link #write(ChannelHandlerContext, Object, ChannelPromise)}.
+     *
+     * @param channel Target channel
+     */
+    public void setWritabilityTarget(final Channel channel) {
+        synchronized (asyncInLock) {
+            writabilityTarget = channel;
+            if (unwritable) {
+                setWritable(channel, false);
+            }
+        }
+    }
 
     public void write(final ChannelHandlerContext ctx,
             final Object msg, final ChannelPromise promise) {
@@ -97,7 +147,16 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
 
             isWriteExecuted = true;
 
-            asyncIn.writeBuffer(toBuffer(byteBufMsg)).addListener(future -> {
+            final ByteBuf sshBuf = SshByteBufBridge.acquireHeapBuffer(ctx.alloc(), byteBufMsg);
+            final IoWriteFuture writeFuture;
+            try {
+                writeFuture = asyncIn.writeBuffer(SshByteBufBridge.asReadableBuffer(sshBuf));
+            } catch (final IOException | WritePendingException e) {
+                sshBuf.release();
+                throw e;
+            }
+
+            writeFuture.addListener(future -> {
                 // synchronized block due to deadlock that happens on ssh window resize
                 // writes and pending writes would lock the underlyinch channel session
                 // window resize write would try to write the message on an already locked channelSession,
@@ -121,10 +180,11 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
                     //rescheduling message from queue after successfully sent
                     if (wasPending) {
                         byteBufMsg.resetReaderIndex();
-                        pending.remove();
+                        dequeueRequest(pending.remove());
                     }
 
                     // Not needed anymore, release
+                    sshBuf.release();
                     byteBufMsg.release();
                 }
 
@@ -175,18 +235,90 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
     }
 
     private void queueRequest(final ChannelHandlerContext ctx, final ByteBuf msg, final ChannelPromise promise) {
-//        try {
+        final int size = msg.readableBytes();
+        // Bounded only by what is already queued, so that a single large message is always accepted
+        if (pending.size() >= maxPendingWrites || pendingBytes >= maxPendingBytes) {
+            LOG.warn("Too many pending writes ({} requests, {} bytes) on channel: {}, remote window is not getting "
+                + "read or is too small. Failing write request", pending.size(), pendingBytes, ctx.channel());
+            msg.release();
+            promise.setFailure(new IllegalStateException("Pending write queue of channel " + ctx.channel()
+                + " is full"));
+            return;
+        }
+
         LOG.debug("Write pending on channel: {}, queueing, current queue size: {}", ctx.channel(), pending.size());
         if (LOG.isTraceEnabled()) {
             LOG.trace("Queueing request due to pending: {}", byteBufToString(msg));
         }
         new PendingWriteRequest(ctx, msg, promise).pend(pending);
-//        } catch (final Exception ex) {
-//            LOG.warn("Unable to queue write request on channel: {}. Setting fail for the request: {}",
-//                    ctx.channel(), ex, byteBufToString(msg));
-//            msg.release();
-//            promise.setFailure(ex);
-//        }
+        if (pending.size() == 1) {
+            stallStartNanos = System.nanoTime();
+        }
+        pendingBytes += size;
+
+        if (!unwritable && (pending.size() >= maxPendingWrites / 2 || pendingBytes >= maxPendingBytes / 2)) {
+            LOG.debug("Pending write queue on channel {} is filling up, marking it not writable", ctx.channel());
+            unwritable = true;
+            setWritable(writabilityTarget(ctx), false);
+        }
+    }
+
+    private void dequeueRequest(final PendingWriteRequest request) {
+        pendingBytes -= request.size;
+        if (pending.isEmpty()) {
+            totalStallNanos += System.nanoTime() - stallStartNanos;
+        }
+
+        if (unwritable && pending.size() <= maxPendingWrites / 4 && pendingBytes <= maxPendingBytes / 4) {
+            LOG.debug("Pending write queue on channel {} has drained, marking it writable", request.ctx.channel());
+            unwritable = false;
+            setWritable(writabilityTarget(request.ctx), true);
+        }
+    }
+
+    @GuardedBy("asyncInLock")
+    private Channel writabilityTarget(final ChannelHandlerContext ctx) {
+        return writabilityTarget != null ? writabilityTarget : ctx.channel();
+    }
+
+    private static void setWritable(final Channel channel, final boolean writable) {
+        final ChannelOutboundBuffer outbound = channel.unsafe().outboundBuffer();
+        if (outbound != null) {
+            outbound.setUserDefinedWritability(WRITABILITY_INDEX, writable);
+        }
+    }
+
+    /**
+     * Return the number of write requests waiting in the queue.
+     *
+     * @return Number of pending write requests
+     */
+    public int getPendingWrites() {
+        synchronized (asyncInLock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Return the number of bytes held by write requests waiting in the queue.
+     *
+     * @return Number of pending bytes
+     */
+    public long getPendingBytes() {
+        synchronized (asyncInLock) {
+            return pendingBytes;
+        }
+    }
+
+    /**
+     * Return the cumulative time the queue has been non-empty, i.e. the time writes have been stalled on SSH window.
+     *
+     * @return Stall time in nanoseconds
+     */
+    public long getStallNanos() {
+        synchronized (asyncInLock) {
+            return pending.isEmpty() ? totalStallNanos : totalStallNanos + System.nanoTime() - stallStartNanos;
+        }
     }
 
     @Override
@@ -194,18 +326,11 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
         asyncIn = null;
     }
 
-    private static Buffer toBuffer(final ByteBuf msg) {
-        // TODO Buffer vs ByteBuf translate, Can we handle that better ?
-        msg.resetReaderIndex();
-        final byte[] temp = new byte[msg.readableBytes()];
-        msg.readBytes(temp, 0, msg.readableBytes());
-        return new ByteArrayBuffer(temp);
-    }
-
     private static final class PendingWriteRequest {
         private final ChannelHandlerContext ctx;
         private final ByteBuf msg;
         private final ChannelPromise promise;
+        private final int size;
 
         PendingWriteRequest(final ChannelHandlerContext ctx, final ByteBuf msg, final ChannelPromise promise) {
             this.ctx = ctx;
@@ -213,12 +338,10 @@ public final class AsyncSshHandlerWriter implements AutoCloseable {
             msg.resetReaderIndex();
             this.msg = msg;
             this.promise = promise;
+            size = msg.readableBytes();
         }
 
         public void pend(final Queue<PendingWriteRequest> pending) {
-            // Preconditions.checkState(pending.size() < MAX_PENDING_WRITES,
-            // "Too much pending writes(%s) on channel: %s, remote window is not getting read or is too small",
-            // pending.size(), ctx.channel());
             Preconditions.checkState(pending.offer(this),
                 "Cannot pend another request write (pending count: %s) on channel: %s", pending.size(), ctx.channel());
         }
@@ -10,7 +10,6 @@ package org.opendaylight.netconf.nettyutil.handler.ssh.client;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import java.io.IOException;
 import org.opendaylight.netconf.shaded.sshd.client.channel.ChannelSubsystem;
@@ -35,8 +34,9 @@ public class NettyAwareChannelSubsystem extends ChannelSubsystem {
     protected void doWriteData(final byte[] data, final int off, final long len) throws IOException {
         // If we're already closing, ignore incoming data
         if (!isClosing()) {
-            // TODO: consider using context's allocator for heap buffer here
-            ctx.fireChannelRead(Unpooled.copiedBuffer(data, off, (int) len));
+            // SSHD reuses the array, hence we need to copy it, but we can use a pooled buffer to do that
+            final int size = (int) len;
+            ctx.fireChannelRead(ctx.alloc().heapBuffer(size, size).writeBytes(data, off, size));
             adjustWindow(len);
         }
     }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler.ssh.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import java.util.concurrent.atomic.LongAdder;
+import org.opendaylight.netconf.shaded.sshd.common.util.buffer.Buffer;
+import org.opendaylight.netconf.shaded.sshd.common.util.buffer.ByteArrayBuffer;
+
+/**
+ * Bridge between Netty {@link ByteBuf}s and MINA sshd {@link Buffer}s. SSHD requires its buffers to be backed by a
+ * {@code byte[]}, hence heap ByteBufs are shared with it directly, without copying their contents. Other ByteBufs are
+ * copied into a pooled heap buffer. Inbound data is read directly into pooled heap buffers.
+ *
+ * <p>
+ * All buffers handed out by this class are reference-counted and need to be released by the caller once SSHD is done
+ * with them. Counters tracking how often we managed to avoid a copy are available via static accessors.
+ */
+public final class SshByteBufBridge {
+    private static final LongAdder WRAPPED_WRITES = new LongAdder();
+    private static final LongAdder COPIED_WRITES = new LongAdder();
+    private static final LongAdder COPIED_WRITE_BYTES = new LongAdder();
+    private static final LongAdder POOLED_READS = new LongAdder();
+    private static final LongAdder POOLED_READ_BYTES = new LongAdder();
+
+    private SshByteBufBridge() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Return the number of outbound messages which were shared with SSHD without copying.
+     *
+     * @return Number of wrapped writes
+     */
+    public static long wrappedWrites() {
+        return WRAPPED_WRITES.sum();
+    }
+
+    /**
+     * Return the number of outbound messages which had to be copied into a heap buffer.
+     *
+     * @return Number of copied writes
+     */
+    public static long copiedWrites() {
+        return COPIED_WRITES.sum();
+    }
+
+    /**
+     * Return the number of bytes copied into heap buffers for outbound messages.
+     *
+     * @return Number of copied bytes
+     */
+    public static long copiedWriteBytes() {
+        return COPIED_WRITE_BYTES.sum();
+    }
+
+    /**
+     * Return the number of reads performed into pooled buffers.
+     *
+     * @return Number of pooled reads
+     */
+    public static long pooledReads() {
+        return POOLED_READS.sum();
+    }
+
+    /**
+     * Return the number of bytes read into pooled buffers.
+     *
+     * @return Number of bytes read
+     */
+    public static long pooledReadBytes() {
+        return POOLED_READ_BYTES.sum();
+    }
+
+    /**
+     * Acquire a heap buffer holding the readable bytes of specified message. If the message is backed by an array, a
+     * retained duplicate is returned, otherwise its contents are copied into a buffer allocated from specified
+     * allocator. The returned buffer needs to be released independently of the message.
+     *
+     * @param alloc Allocator to use if a copy is needed
+     * @param msg Message to acquire
+     * @return A heap ByteBuf
+     */
+    static ByteBuf acquireHeapBuffer(final ByteBufAllocator alloc, final ByteBuf msg) {
+        if (msg.hasArray()) {
+            WRAPPED_WRITES.increment();
+            return msg.retainedDuplicate();
+        }
+
+        final int size = msg.readableBytes();
+        COPIED_WRITES.increment();
+        COPIED_WRITE_BYTES.add(size);
+        return alloc.heapBuffer(size, size).writeBytes(msg, msg.readerIndex(), size);
+    }
+
+    /**
+     * Wrap readable bytes of a heap ByteBuf into an SSHD buffer for reading, without copying them.
+     *
+     * @param buf Heap ByteBuf, as returned from {@link #acquireHeapBuffer(ByteBufAllocator, ByteBuf)}
+     * @return An SSHD Buffer
+     */
+    static Buffer asReadableBuffer(final ByteBuf buf) {
+        return new ByteArrayBuffer(buf.array(), buf.arrayOffset() + buf.readerIndex(), buf.readableBytes());
+    }
+
+    /**
+     * Allocate a pooled heap buffer for inbound data.
+     *
+     * @param alloc Allocator to use
+     * @param size Buffer size
+     * @return A heap ByteBuf
+     */
+    static ByteBuf allocateReadBuffer(final ByteBufAllocator alloc, final int size) {
+        return alloc.heapBuffer(size, size);
+    }
+
+    /**
+     * Wrap writable bytes of a heap ByteBuf into an SSHD buffer for writing, without copying them. SSHD will not be
+     * able to write past the ByteBuf's capacity. Once the read completes, {@link #completeRead(ByteBuf, int)} needs to
+     * be invoked to update the ByteBuf's writer index.
+     *
+     * @param buf Heap ByteBuf, as returned from {@link #allocateReadBuffer(ByteBufAllocator, int)}
+     * @return An SSHD Buffer
+     */
+    static Buffer asWritableBuffer(final ByteBuf buf) {
+        return new BoundedByteArrayBuffer(buf.array(), buf.arrayOffset() + buf.writerIndex(),
+            buf.arrayOffset() + buf.capacity());
+    }
+
+    /**
+     * Account for bytes SSHD has read into a buffer returned from {@link #asWritableBuffer(ByteBuf)}.
+     *
+     * @param buf Heap ByteBuf
+     * @param read Number of bytes read
+     * @return The same ByteBuf
+     */
+    static ByteBuf completeRead(final ByteBuf buf, final int read) {
+        POOLED_READS.increment();
+        POOLED_READ_BYTES.add(read);
+        return buf.writerIndex(buf.writerIndex() + read);
+    }
+
+    /**
+     * A {@link ByteArrayBuffer} covering a part of a shared array. Pooled ByteBufs are slices of large arrays, hence we
+     * must not allow SSHD to write beyond the end of our slice.
+     */
+    private static final class BoundedByteArrayBuffer extends ByteArrayBuffer {
+        private final int limit;
+
+        BoundedByteArrayBuffer(final byte[] data, final int offset, final int limit) {
+            super(data, offset, 0, false);
+            this.limit = limit;
+        }
+
+        @Override
+        public int capacity() {
+            return limit - wpos();
+        }
+    }
+}
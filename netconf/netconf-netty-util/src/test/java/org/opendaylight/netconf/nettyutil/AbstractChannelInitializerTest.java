@@ -8,8 +8,10 @@
 
 package org.opendaylight.netconf.nettyutil;
 
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -21,9 +23,11 @@ import io.netty.util.concurrent.Promise;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.opendaylight.netconf.api.NetconfSession;
+import org.opendaylight.netconf.nettyutil.handler.NetconfHelloMessageToXMLEncoder;
 
 @RunWith(MockitoJUnitRunner.StrictStubs.class)
 public class AbstractChannelInitializerTest {
@@ -48,7 +52,21 @@ public class AbstractChannelInitializerTest {
         verify(pipeline, times(4)).addLast(anyString(), any(ChannelHandler.class));
     }
 
+    @Test
+    public void testInitPrettyPrint() throws Exception {
+        new TestingInitializer(true).initialize(channel, sessionPromise);
+        final ArgumentCaptor<ChannelHandler> encoder = ArgumentCaptor.forClass(ChannelHandler.class);
+        verify(pipeline).addLast(eq(AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER), encoder.capture());
+        assertTrue(((NetconfHelloMessageToXMLEncoder) encoder.getValue()).isPrettyPrint());
+    }
+
     private static final class TestingInitializer extends AbstractChannelInitializer<NetconfSession> {
+        TestingInitializer() {
+        }
+
+        TestingInitializer(final boolean prettyPrint) {
+            super(prettyPrint);
+        }
 
         @Override
         protected void initializeSessionNegotiator(final Channel ch, final Promise<NetconfSession> promise) {
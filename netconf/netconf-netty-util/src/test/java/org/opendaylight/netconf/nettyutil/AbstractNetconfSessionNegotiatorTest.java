@@ -20,16 +20,19 @@ import static org.opendaylight.netconf.nettyutil.AbstractChannelInitializer.NETC
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelOutboundHandler;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.Promise;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -38,6 +41,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -51,7 +55,13 @@ import org.opendaylight.netconf.nettyutil.handler.EOMFramingMechanismEncoder;
 import org.opendaylight.netconf.nettyutil.handler.FramingMechanismHandlerFactory;
 import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEOMAggregator;
+import org.opendaylight.netconf.nettyutil.handler.NetconfHelloMessageToXMLEncoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToHelloMessageDecoder;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandlerWriter;
+import org.opendaylight.netconf.shaded.sshd.common.io.IoOutputStream;
+import org.opendaylight.netconf.shaded.sshd.common.io.IoWriteFuture;
+import org.opendaylight.netconf.shaded.sshd.common.util.buffer.Buffer;
 import org.opendaylight.netconf.util.messages.FramingMechanism;
 
 @RunWith(MockitoJUnitRunner.StrictStubs.class)
@@ -141,6 +151,56 @@ public class AbstractNetconfSessionNegotiatorTest {
                 instanceof ChunkedFramingMechanismEncoder);
     }
 
+    @Test
+    public void testGetSessionRetainsOutputFormat() throws Exception {
+        channel.pipeline().replace(AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER,
+            AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER, new NetconfHelloMessageToXMLEncoder(true));
+        negotiator.startNegotiation();
+        negotiator.getSessionForHelloMessage(hello);
+
+        final ChannelHandler encoder = channel.pipeline().get(AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER);
+        Assert.assertFalse(encoder instanceof NetconfHelloMessageToXMLEncoder);
+        Assert.assertTrue(((NetconfMessageToXMLEncoder) encoder).isPrettyPrint());
+    }
+
+    @Test
+    public void testGetSessionBindsProxiedWriter() throws Exception {
+        final IoOutputStream asyncIn = mock(IoOutputStream.class);
+        doReturn(false).when(asyncIn).isClosed();
+        doReturn(false).when(asyncIn).isClosing();
+        // First write never completes, subsequent ones are pending
+        final IoWriteFuture writeFuture = mock(IoWriteFuture.class);
+        doReturn(writeFuture).when(writeFuture).addListener(any());
+        doReturn(writeFuture).when(asyncIn).writeBuffer(any(Buffer.class));
+        final AsyncSshHandlerWriter writer = new AsyncSshHandlerWriter(asyncIn, 4, 1024);
+
+        negotiator.startNegotiation();
+        // The proxy hands its writer over ahead of the hello message
+        negotiator.channelRead(null, writer);
+        final AbstractNetconfSession session = negotiator.getSessionForHelloMessage(hello);
+
+        final ChannelHandlerContext ctx = channel.pipeline().firstContext();
+        writer.write(ctx, Unpooled.copiedBuffer(new byte[16]), channel.newPromise());
+        writer.write(ctx, Unpooled.copiedBuffer(new byte[1000]), channel.newPromise());
+        Assert.assertEquals(1000, session.getOutboundQueuedBytes());
+        Assert.assertFalse(channel.isWritable());
+    }
+
+    @Test
+    public void testInFlightBudget() throws Exception {
+        negotiator = new TestSessionNegotiator(prefs, promise, channel, new HashedWheelTimer(), listener, 100L, 10L);
+        negotiator.startNegotiation();
+        negotiator.getSessionForHelloMessage(helloBase11);
+
+        // Deliver the message to the aggregator, which is placed after the decoder in this pipeline
+        channel.pipeline().context(AbstractChannelInitializer.NETCONF_MESSAGE_DECODER).fireChannelRead(
+            Unpooled.copiedBuffer("\n#11\n<rpc></rpc>\n##\n", StandardCharsets.UTF_8));
+        final ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+        verify(promise).setFailure(captor.capture());
+        Assert.assertTrue(captor.getValue() instanceof DecoderException);
+        Assert.assertEquals("Maximum in-flight message size exceeded", captor.getValue().getCause().getMessage());
+    }
+
     @Test
     public void testReplaceHelloMessageInboundHandler() throws Exception {
         final List<Object> out = new ArrayList<>();
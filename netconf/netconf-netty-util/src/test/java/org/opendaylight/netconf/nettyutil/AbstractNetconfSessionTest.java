@@ -8,6 +8,7 @@
 package org.opendaylight.netconf.nettyutil;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
@@ -38,6 +39,7 @@ import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSessionListener;
 import org.opendaylight.netconf.api.NetconfTerminationReason;
 import org.opendaylight.netconf.api.messages.NetconfHelloMessage;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
 import org.opendaylight.netconf.nettyutil.handler.exi.EXIParameters;
 import org.opendaylight.netconf.nettyutil.handler.exi.NetconfStartExiMessage;
 
@@ -128,9 +130,13 @@ public class AbstractNetconfSessionTest {
     public void testStartExi() throws Exception {
         TestingNetconfSession testingNetconfSession = new TestingNetconfSession(listener, channel, 1L);
         testingNetconfSession = spy(testingNetconfSession);
+        doReturn(new NetconfMessageToXMLEncoder(true)).when(pipeline).get(
+            AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER);
 
         testingNetconfSession.startExiCommunication(NetconfStartExiMessage.create(EXIParameters.empty(), "4"));
         verify(testingNetconfSession).addExiHandlers(any(ByteToMessageDecoder.class), any(MessageToByteEncoder.class));
+        // XML encoder used once EXI is stopped writes the same format as the one used before
+        assertTrue(testingNetconfSession.newXmlMessageEncoder().isPrettyPrint());
     }
 
     @Test
@@ -29,6 +29,15 @@ final class TestSessionNegotiator extends
         super(sessionPreferences, promise, channel, timer, sessionListener, connectionTimeoutMillis);
     }
 
+    TestSessionNegotiator(final NetconfSessionPreferences sessionPreferences,
+                          final Promise<TestingNetconfSession> promise, final Channel channel,
+                          final Timer timer,
+                          final NetconfSessionListener<TestingNetconfSession> sessionListener,
+                          final long connectionTimeoutMillis, final long maxInFlightBytes) {
+        super(sessionPreferences, promise, channel, timer, sessionListener, connectionTimeoutMillis,
+            maxInFlightBytes);
+    }
+
     @Override
     protected TestingNetconfSession getSession(final NetconfSessionListener sessionListener, final Channel channel,
                                                final NetconfHelloMessage message)
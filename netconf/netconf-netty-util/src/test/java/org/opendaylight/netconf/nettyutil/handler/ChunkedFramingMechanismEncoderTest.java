@@ -10,15 +10,24 @@ package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -62,6 +71,30 @@ public class ChunkedFramingMechanismEncoderTest {
         assertTrue(string.endsWith("\n#20\naaaaaaaaaaaaaaaaaaaa\n##\n"));
     }
 
+    @Test
+    public void testWriteComposite() throws Exception {
+        final ChunkedFramingMechanismEncoder encoder = new ChunkedFramingMechanismEncoder(chunkSize);
+        final CompositeByteBuf src = Unpooled.compositeBuffer();
+        src.addComponent(true, Unpooled.wrappedBuffer(getByteArray(chunkSize + 10)));
+        src.addComponent(true, Unpooled.wrappedBuffer(getByteArray(chunkSize * 3 + 10)));
+
+        final ChannelPromise promise = mock(ChannelPromise.class);
+        doReturn(UnpooledByteBufAllocator.DEFAULT).when(ctx).alloc();
+        doReturn(promise).when(ctx).write(any(), any());
+        encoder.write(ctx, src, promise);
+
+        final ArgumentCaptor<ByteBuf> captor = ArgumentCaptor.forClass(ByteBuf.class);
+        verify(ctx).write(captor.capture(), eq(promise));
+        final ByteBuf framed = captor.getValue();
+
+        // Framed by reference, with the same result as copying
+        final ByteBuf destination = Unpooled.buffer();
+        encoder.encode(ctx, Unpooled.wrappedBuffer(getByteArray(chunkSize * 4 + 20)), destination);
+        assertEquals(destination, framed);
+        framed.release();
+        assertEquals(0, src.refCnt());
+    }
+
     private static byte[] getByteArray(final int size) {
         final byte[] bytes = new byte[size];
         for (int i = 0; i < size; i++) {
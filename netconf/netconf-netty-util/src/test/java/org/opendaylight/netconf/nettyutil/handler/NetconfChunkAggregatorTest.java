@@ -8,6 +8,7 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -66,4 +67,60 @@ public class NetconfChunkAggregatorTest {
 
         assertEquals(EXPECTED_MESSAGE, chunk.toString(StandardCharsets.UTF_8));
     }
+
+    @Test
+    public void testPartialChunks() throws Exception {
+        final NetconfChunkAggregator aggregator = new NetconfChunkAggregator();
+        final List<Object> output = new ArrayList<>();
+        final byte[] bytes = CHUNKED_MESSAGE.getBytes(StandardCharsets.UTF_8);
+
+        // Feed the message in small pieces, splitting chunk headers and payloads
+        for (int offset = 0; offset < bytes.length; offset += 7) {
+            aggregator.decode(null, Unpooled.wrappedBuffer(bytes, offset, Math.min(7, bytes.length - offset)),
+                output);
+        }
+
+        assertEquals(1, output.size());
+        final ByteBuf chunk = (ByteBuf) output.get(0);
+
+        assertEquals(EXPECTED_MESSAGE, chunk.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testInFlightBudgetExceeded() {
+        final NetconfChunkAggregator aggregator = new NetconfChunkAggregator(100);
+        final ByteBuf input = Unpooled.copiedBuffer(CHUNKED_MESSAGE_ONE.getBytes(StandardCharsets.UTF_8));
+
+        final IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> aggregator.decode(null, input, new ArrayList<>()));
+        assertEquals("Maximum in-flight message size exceeded", ex.getMessage());
+    }
+
+    @Test
+    public void testInFlightBudgetAcrossChunks() {
+        final NetconfChunkAggregator aggregator = new NetconfChunkAggregator(50);
+        final ByteBuf input = Unpooled.copiedBuffer(CHUNKED_MESSAGE.getBytes(StandardCharsets.UTF_8));
+
+        final IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> aggregator.decode(null, input, new ArrayList<>()));
+        assertEquals("Maximum in-flight message size exceeded", ex.getMessage());
+    }
+
+    @Test
+    public void testRecoveryAfterInFlightBudgetExceeded() throws Exception {
+        final NetconfChunkAggregator aggregator = new NetconfChunkAggregator(50);
+        final List<Object> output = new ArrayList<>();
+        final String small = "\n#6\n<rpc/>\n##\n";
+        final ByteBuf input = Unpooled.copiedBuffer((small + CHUNKED_MESSAGE + small)
+            .getBytes(StandardCharsets.UTF_8));
+
+        // First message fits, the second one does not
+        assertThrows(IllegalStateException.class, () -> aggregator.decode(null, input, output));
+        assertEquals(1, output.size());
+
+        // The rest of the oversized message is skipped, the next one is decoded
+        aggregator.decode(null, input, output);
+        assertEquals(2, output.size());
+        assertEquals("<rpc/>", ((ByteBuf) output.get(1)).toString(StandardCharsets.UTF_8));
+    }
 }
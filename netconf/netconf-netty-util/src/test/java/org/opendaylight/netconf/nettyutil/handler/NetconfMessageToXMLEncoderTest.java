@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.function.Function;
+import org.custommonkey.xmlunit.Diff;
+import org.custommonkey.xmlunit.XMLUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.SharedEncodingMessage;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+@RunWith(MockitoJUnitRunner.StrictStubs.class)
+public class NetconfMessageToXMLEncoderTest {
+    private static final String BASE_NS = "urn:ietf:params:xml:ns:netconf:base:1.0";
+    private static final String REPLY = "<rpc-reply xmlns=\"" + BASE_NS + "\" message-id=\"101\">"
+        + "<data><top xmlns=\"urn:test\" xmlns:x=\"urn:other\"><name>a &amp; b &lt; c</name>"
+        + "<x:value x:attr=\"&quot;quoted&quot;\">1</x:value><empty/></top></data></rpc-reply>";
+
+    @Mock
+    private ChannelHandlerContext ctx;
+
+    @Test
+    public void testCompactEncoding() throws Exception {
+        final Document document = XmlUtil.readXmlToDocument(REPLY);
+        final String encoded = encode(new NetconfMessageToXMLEncoder(), document);
+
+        assertThat(encoded, not(containsString("\n")));
+        assertThat(encoded, containsString("<name>a &amp; b &lt; c</name>"));
+        assertSimilar(document, encoded);
+    }
+
+    @Test
+    public void testPrettyEncoding() throws Exception {
+        final Document document = XmlUtil.readXmlToDocument(REPLY);
+        final String encoded = encode(new NetconfMessageToXMLEncoder(Optional.empty(), true), document);
+
+        assertThat(encoded, containsString("\n"));
+        assertSimilar(document, encoded);
+    }
+
+    @Test
+    public void testMissingNamespaceDeclarations() throws Exception {
+        // Elements and attributes created without explicit namespace declarations
+        final Document document = XmlUtil.newDocument();
+        final Element rpc = document.createElementNS(BASE_NS, "rpc");
+        rpc.setAttribute("message-id", "1");
+        document.appendChild(rpc);
+        final Element config = document.createElementNS("urn:test", "t:config");
+        config.setAttributeNS("urn:other", "operation", "merge");
+        rpc.appendChild(config);
+        final Element nested = document.createElementNS(BASE_NS, "nested");
+        nested.setTextContent("value\r\n");
+        config.appendChild(nested);
+
+        final String encoded = encode(new NetconfMessageToXMLEncoder(), document);
+        assertThat(encoded, containsString("<rpc xmlns=\"" + BASE_NS + "\" message-id=\"1\">"));
+        assertThat(encoded, containsString("<t:config xmlns:t=\"urn:test\" xmlns:ns0=\"urn:other\" "
+            + "ns0:operation=\"merge\">"));
+        // Default namespace is still in scope, hence is not declared again
+        assertThat(encoded, containsString("<nested>value&#13;\n</nested>"));
+        assertSimilar(document, encoded);
+    }
+
+    @Test
+    public void testStreamedContent() throws Exception {
+        final Document document = XmlUtil.readXmlToDocument("<rpc-reply xmlns=\"" + BASE_NS + "\" message-id=\"101\">"
+            + "<data><appended xmlns=\"urn:test\"/></data></rpc-reply>");
+        final Element data = (Element) document.getDocumentElement().getFirstChild();
+        XmlUtil.setStreamedContent(data, writer -> {
+            for (int i = 0; i < 2; i++) {
+                writer.writeStartElement("", "top", "urn:test");
+                writer.writeAttribute("x", "urn:other", "attr", "\"quoted\"");
+                writer.writeCharacters("a & b < c");
+                writer.writeEndElement();
+            }
+        });
+
+        final String encoded = encode(new NetconfMessageToXMLEncoder(), document);
+        // Content is written only into the output, preceding DOM children
+        assertThat(encoded, not(containsString("\n")));
+        assertThat(encoded, containsString("<data><top xmlns=\"urn:test\""));
+        assertThat(encoded, containsString("a &amp; b &lt; c</top><appended xmlns=\"urn:test\"/></data>"));
+        assertTrue(XmlUtil.getStreamedContent(data).isPresent());
+
+        // Same as transforming the materialized DOM
+        final String pretty = encode(new NetconfMessageToXMLEncoder(Optional.empty(), true), document);
+        assertTrue(XmlUtil.getStreamedContent(data).isEmpty());
+        assertSimilar(XmlUtil.readXmlToDocument(pretty), encoded);
+    }
+
+    @Test
+    public void testBufferedContentComposed() throws Exception {
+        final Document document = XmlUtil.readXmlToDocument("<rpc-reply xmlns=\"" + BASE_NS + "\" message-id=\"101\">"
+            + "<data><appended xmlns=\"urn:test\"/></data></rpc-reply>");
+        final Element data = (Element) document.getDocumentElement().getFirstChild();
+        XmlUtil.setStreamedContent(data, writer -> {
+            writer.writeStartElement("", "top", "urn:test");
+            writer.writeCharacters("a & b < c");
+            writer.writeEndElement();
+        });
+        XmlUtil.bufferStreamedContent(document);
+
+        final NetconfMessageToXMLEncoder encoder = new NetconfMessageToXMLEncoder(false);
+        final ChannelPromise promise = mock(ChannelPromise.class);
+        doReturn(UnpooledByteBufAllocator.DEFAULT).when(ctx).alloc();
+        doReturn(promise).when(ctx).write(any(), any());
+        encoder.write(ctx, new NetconfMessage(document), promise);
+
+        final ArgumentCaptor<ByteBuf> captor = ArgumentCaptor.forClass(ByteBuf.class);
+        verify(ctx).write(captor.capture(), eq(promise));
+        final ByteBuf written = captor.getValue();
+
+        // Buffered content is a component of its own, the output is the same as when copying it
+        assertThat(written, instanceOf(CompositeByteBuf.class));
+        assertEquals(3, ((CompositeByteBuf) written).numComponents());
+        assertEquals(encode(encoder, document), written.toString(StandardCharsets.UTF_8));
+        written.release();
+    }
+
+    @Test
+    public void testClientId() throws Exception {
+        final String encoded = encode(new NetconfMessageToXMLEncoder(Optional.of("client")),
+            XmlUtil.readXmlToDocument(REPLY));
+        assertTrue(encoded.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"));
+        assertThat(encoded, containsString("</rpc-reply><!--clientId:client-->"));
+    }
+
+    @Test
+    public void testSharedEncoding() throws Exception {
+        final SharedMessage msg = new SharedMessage(XmlUtil.readXmlToDocument(REPLY));
+        final NetconfMessageToXMLEncoder encoder = new NetconfMessageToXMLEncoder();
+        final ChannelPromise promise = mock(ChannelPromise.class);
+        doReturn(promise).when(ctx).write(any(), any());
+
+        encoder.write(ctx, msg, promise);
+        encoder.write(ctx, msg, promise);
+
+        final ArgumentCaptor<ByteBuf> captor = ArgumentCaptor.forClass(ByteBuf.class);
+        verify(ctx, times(2)).write(captor.capture(), eq(promise));
+        final ByteBuf first = captor.getAllValues().get(0);
+        final ByteBuf second = captor.getAllValues().get(1);
+
+        // Encoded once, both writes share the same content
+        assertEquals(1, msg.encodings);
+        assertSame(first.unwrap(), second.unwrap());
+        assertEquals(encode(encoder, XmlUtil.readXmlToDocument(REPLY)), first.toString(StandardCharsets.UTF_8));
+
+        // Released by the channel once written, the shared content remains
+        first.release();
+        second.release();
+        assertEquals(1, msg.encoded.refCnt());
+    }
+
+    private String encode(final NetconfMessageToXMLEncoder encoder, final Document document) throws Exception {
+        final ByteBuf destination = Unpooled.buffer();
+        encoder.encode(ctx, new NetconfMessage(document), destination);
+        return destination.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void assertSimilar(final Document expected, final String encoded) throws Exception {
+        XMLUnit.setIgnoreWhitespace(true);
+        final Diff diff = XMLUnit.compareXML(expected, XmlUtil.readXmlToDocument(encoded));
+        assertTrue(diff.toString(), diff.similar());
+    }
+
+    private static final class SharedMessage extends NetconfMessage implements SharedEncodingMessage {
+        private ByteBuf encoded;
+        private int encodings;
+
+        SharedMessage(final Document doc) {
+            super(doc);
+        }
+
+        @Override
+        public ByteBuf getEncoded(final Object encoding, final Function<Document, ByteBuf> encoder) {
+            if (encoded == null) {
+                encoded = encoder.apply(getDocument());
+                encodings++;
+            }
+            return encoded;
+        }
+    }
+}
@@ -8,11 +8,14 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import io.netty.buffer.Unpooled;
 import java.util.ArrayList;
 import org.junit.Test;
+import org.opendaylight.netconf.api.DeferredRpcReplyMessage;
 import org.opendaylight.netconf.api.FailedNetconfMessage;
 import org.xml.sax.SAXParseException;
 
@@ -92,5 +95,47 @@ public class NetconfXMLToMessageDecoderTest {
                 out);
         assertEquals(1, out.size());
     }
-}
 
+    @Test
+    public void testDeferDataReply() throws Exception {
+        final String reply = "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-1\">"
+                + "<data><top xmlns=\"urn:test\"><ok/></top></data></rpc-reply>";
+        final ArrayList<Object> out = new ArrayList<>();
+        new NetconfXMLToMessageDecoder(true).decode(null, Unpooled.wrappedBuffer(("\n" + reply).getBytes()), out);
+        assertEquals(1, out.size());
+        assertTrue(out.get(0) instanceof DeferredRpcReplyMessage);
+
+        final DeferredRpcReplyMessage msg = (DeferredRpcReplyMessage) out.get(0);
+        assertEquals("m-1", msg.getMessageId());
+        assertEquals(reply, msg.toString());
+        assertEquals("rpc-reply", msg.getDocument().getDocumentElement().getLocalName());
+    }
+
+    @Test
+    public void testDeferReplyWithoutMessageId() throws Exception {
+        final ArrayList<Object> out = new ArrayList<>();
+        new NetconfXMLToMessageDecoder(true).decode(null, Unpooled.wrappedBuffer(
+            "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><data/></rpc-reply>".getBytes()), out);
+        assertEquals(1, out.size());
+        assertNull(((DeferredRpcReplyMessage) out.get(0)).getMessageId());
+    }
+
+    @Test
+    public void testNotDeferred() throws Exception {
+        final ArrayList<Object> out = new ArrayList<>();
+        final NetconfXMLToMessageDecoder decoder = new NetconfXMLToMessageDecoder(true);
+        decoder.decode(null, Unpooled.wrappedBuffer(
+            "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-1\"><ok/></rpc-reply>"
+                .getBytes()), out);
+        decoder.decode(null, Unpooled.wrappedBuffer(
+            ("<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-2\"><data/>"
+                + "<rpc-error><error-severity>warning</error-severity></rpc-error></rpc-reply>").getBytes()), out);
+        decoder.decode(null, Unpooled.wrappedBuffer(
+            "<notification xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\"/>".getBytes()), out);
+        decoder.decode(null, Unpooled.wrappedBuffer("<rpc-reply><data/></rpc-reply>".getBytes()), out);
+        assertEquals(4, out.size());
+        for (Object msg : out) {
+            assertFalse(msg instanceof DeferredRpcReplyMessage);
+        }
+    }
+}
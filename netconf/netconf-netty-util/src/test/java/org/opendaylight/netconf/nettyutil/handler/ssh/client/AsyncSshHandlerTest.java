@@ -25,6 +25,7 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelConfig;
@@ -193,6 +194,7 @@ public class AsyncSshHandlerTest {
         sshChannelOpenListener.operationComplete(getSuccessOpenFuture());
 
         final ChannelPromise writePromise = getMockedPromise();
+        doReturn(ByteBufAllocator.DEFAULT).when(ctx).alloc();
         asyncSshHandler.write(ctx, Unpooled.copiedBuffer(new byte[]{0, 1, 2, 3, 4, 5}), writePromise);
 
         verify(writePromise).setSuccess();
@@ -225,6 +227,7 @@ public class AsyncSshHandlerTest {
         sshChannelOpenListener.operationComplete(getSuccessOpenFuture());
 
         final ChannelPromise writePromise = getMockedPromise();
+        doReturn(ByteBufAllocator.DEFAULT).when(ctx).alloc();
         asyncSshHandler.write(ctx, Unpooled.copiedBuffer(new byte[]{0,1,2,3,4,5}), writePromise);
 
         verify(writePromise).setFailure(any(Throwable.class));
@@ -252,6 +255,7 @@ public class AsyncSshHandlerTest {
         // so we can invoke successful write later thus simulate pending of the first write
         final ListenableFuture<SshFutureListener<IoWriteFuture>> firstWriteListenerFuture =
                 stubAddListener(ioWriteFuture);
+        doReturn(ByteBufAllocator.DEFAULT).when(ctx).alloc();
         asyncSshHandler.write(ctx, Unpooled.copiedBuffer(new byte[]{0,1,2,3,4,5}), firstWritePromise);
         final SshFutureListener<IoWriteFuture> firstWriteListener = firstWriteListenerFuture.get();
         // intercept second listener,
@@ -8,16 +8,27 @@
 package org.opendaylight.netconf.nettyutil.handler.ssh.client;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.netconf.shaded.sshd.common.io.IoOutputStream;
+import org.opendaylight.netconf.shaded.sshd.common.io.IoWriteFuture;
+import org.opendaylight.netconf.shaded.sshd.common.util.buffer.Buffer;
 
 @RunWith(MockitoJUnitRunner.StrictStubs.class)
 public class AsyncSshHandlerWriterTest {
@@ -41,4 +52,72 @@ public class AsyncSshHandlerWriterTest {
         assertEquals("Lorem Ipsum\"08\" 0123456780\"117F\"9 !@#$%^&*<>\\|/?[]()\n\r",
                 AsyncSshHandlerWriter.byteBufToString(byteBuf));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPendingWriteLimits() throws Exception {
+        final IoOutputStream asyncIn = mock(IoOutputStream.class);
+        doReturn(false).when(asyncIn).isClosed();
+        doReturn(false).when(asyncIn).isClosing();
+        // First write is accepted and never completes, subsequent ones are pending
+        final IoWriteFuture writeFuture = mock(IoWriteFuture.class);
+        doReturn(writeFuture).when(writeFuture).addListener(any());
+        doReturn(writeFuture).when(asyncIn).writeBuffer(any(Buffer.class));
+
+        final EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+        final ChannelHandlerContext ctx = channel.pipeline().firstContext();
+        final AsyncSshHandlerWriter writer = new AsyncSshHandlerWriter(asyncIn, 4, 1024);
+
+        writer.write(ctx, Unpooled.copiedBuffer(new byte[] { 0, 1, 2, 3 }), channel.newPromise());
+        assertEquals(0, writer.getPendingWrites());
+
+        writer.write(ctx, Unpooled.copiedBuffer(new byte[] { 0, 1, 2, 3 }), channel.newPromise());
+        assertEquals(1, writer.getPendingWrites());
+        assertEquals(4, writer.getPendingBytes());
+        assertTrue(channel.isWritable());
+
+        writer.write(ctx, Unpooled.copiedBuffer(new byte[] { 0, 1, 2, 3 }), channel.newPromise());
+        assertEquals(2, writer.getPendingWrites());
+        assertFalse(channel.isWritable());
+
+        // Exceeds count limit
+        writer.write(ctx, Unpooled.copiedBuffer(new byte[] { 0, 1, 2, 3 }), channel.newPromise());
+        writer.write(ctx, Unpooled.copiedBuffer(new byte[] { 0, 1, 2, 3 }), channel.newPromise());
+        final ChannelPromise countOverflow = channel.newPromise();
+        writer.write(ctx, Unpooled.copiedBuffer(new byte[] { 0, 1, 2, 3 }), countOverflow);
+        assertEquals(4, writer.getPendingWrites());
+        assertEquals(16, writer.getPendingBytes());
+        assertFalse(countOverflow.isSuccess());
+        assertTrue(writer.getStallNanos() > 0);
+    }
+
+    @Test
+    public void testOversizedPendingWrite() throws Exception {
+        final IoOutputStream asyncIn = mock(IoOutputStream.class);
+        doReturn(false).when(asyncIn).isClosed();
+        doReturn(false).when(asyncIn).isClosing();
+        final IoWriteFuture writeFuture = mock(IoWriteFuture.class);
+        doReturn(writeFuture).when(writeFuture).addListener(any());
+        doReturn(writeFuture).when(asyncIn).writeBuffer(any(Buffer.class));
+
+        final EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+        final ChannelHandlerContext ctx = channel.pipeline().firstContext();
+        final AsyncSshHandlerWriter writer = new AsyncSshHandlerWriter(asyncIn, 4, 1024);
+
+        writer.write(ctx, Unpooled.copiedBuffer(new byte[] { 0, 1, 2, 3 }), channel.newPromise());
+
+        // A single message larger than the whole budget is accepted while there is room left
+        final ChannelPromise oversized = channel.newPromise();
+        writer.write(ctx, Unpooled.copiedBuffer(new byte[4096]), oversized);
+        assertFalse(oversized.isDone());
+        assertEquals(1, writer.getPendingWrites());
+        assertEquals(4096, writer.getPendingBytes());
+        assertFalse(channel.isWritable());
+
+        // Once the budget is used up, further writes are failed
+        final ChannelPromise bytesOverflow = channel.newPromise();
+        writer.write(ctx, Unpooled.copiedBuffer(new byte[] { 0, 1, 2, 3 }), bytesOverflow);
+        assertEquals(1, writer.getPendingWrites());
+        assertTrue(bytesOverflow.isDone());
+        assertFalse(bytesOverflow.isSuccess());
+    }
+}
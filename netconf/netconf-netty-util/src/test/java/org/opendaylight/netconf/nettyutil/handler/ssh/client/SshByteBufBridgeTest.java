@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler.ssh.client;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+import org.opendaylight.netconf.shaded.sshd.common.util.buffer.Buffer;
+import org.opendaylight.netconf.shaded.sshd.common.util.buffer.ByteArrayBuffer;
+
+public class SshByteBufBridgeTest {
+    private static final byte[] DATA = { 0, 1, 2, 3, 4, 5 };
+
+    @Test
+    public void testHeapBufferIsWrapped() {
+        final ByteBuf msg = Unpooled.copiedBuffer(DATA);
+        final long wrapped = SshByteBufBridge.wrappedWrites();
+
+        final ByteBuf heap = SshByteBufBridge.acquireHeapBuffer(PooledByteBufAllocator.DEFAULT, msg);
+        assertSame(msg.array(), heap.array());
+        assertEquals(2, msg.refCnt());
+        assertEquals(wrapped + 1, SshByteBufBridge.wrappedWrites());
+
+        final Buffer buffer = SshByteBufBridge.asReadableBuffer(heap);
+        assertSame(msg.array(), buffer.array());
+        assertArrayEquals(DATA, buffer.getCompactData());
+
+        heap.release();
+        assertEquals(1, msg.refCnt());
+        msg.release();
+    }
+
+    @Test
+    public void testDirectBufferIsCopied() {
+        final ByteBuf msg = Unpooled.directBuffer().writeBytes(DATA);
+        final long copied = SshByteBufBridge.copiedWrites();
+        final long copiedBytes = SshByteBufBridge.copiedWriteBytes();
+
+        final ByteBuf heap = SshByteBufBridge.acquireHeapBuffer(PooledByteBufAllocator.DEFAULT, msg);
+        assertEquals(copied + 1, SshByteBufBridge.copiedWrites());
+        assertEquals(copiedBytes + DATA.length, SshByteBufBridge.copiedWriteBytes());
+        assertArrayEquals(DATA, SshByteBufBridge.asReadableBuffer(heap).getCompactData());
+        assertEquals(0, msg.readerIndex());
+
+        heap.release();
+        msg.release();
+    }
+
+    @Test
+    public void testReadBufferIsBounded() {
+        final ByteBuf buf = SshByteBufBridge.allocateReadBuffer(PooledByteBufAllocator.DEFAULT, 4);
+        final Buffer buffer = SshByteBufBridge.asWritableBuffer(buf);
+        assertEquals(4, buffer.capacity());
+
+        final int read = buffer.putBuffer(new ByteArrayBuffer(DATA), false);
+        assertEquals(4, read);
+        assertEquals(0, buffer.capacity());
+
+        final long reads = SshByteBufBridge.pooledReads();
+        final ByteBuf msg = SshByteBufBridge.completeRead(buf, read);
+        assertEquals(reads + 1, SshByteBufBridge.pooledReads());
+        assertEquals(4, msg.readableBytes());
+        for (int i = 0; i < 4; ++i) {
+            assertEquals(DATA[i], msg.getByte(i));
+        }
+        msg.release();
+    }
+}
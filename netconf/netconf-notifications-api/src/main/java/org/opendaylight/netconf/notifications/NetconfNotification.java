@@ -10,6 +10,7 @@ package org.opendaylight.netconf.notifications;
 import static java.util.Objects.requireNonNull;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.buffer.ByteBuf;
 import java.text.ParsePosition;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -21,17 +22,22 @@ import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Function;
+import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.SharedEncodingMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 /**
- * Special kind of netconf message that contains a timestamp.
+ * Special kind of netconf message that contains a timestamp. Notification is typically sent to many sessions, hence
+ * its document must not be modified once created, so that its encoded form can be shared.
  */
-public final class NetconfNotification extends NetconfMessage {
+public final class NetconfNotification extends NetconfMessage implements SharedEncodingMessage {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfNotification.class);
 
@@ -170,6 +176,9 @@ public final class NetconfNotification extends NetconfMessage {
 
     private final Date eventTime;
 
+    @GuardedBy("this")
+    private Map<Object, ByteBuf> encoded;
+
     /**
      * Create new notification and capture the timestamp in the constructor.
      */
@@ -196,6 +205,15 @@ public final class NetconfNotification extends NetconfMessage {
         return eventTime;
     }
 
+    @Override
+    public synchronized ByteBuf getEncoded(final Object encoding, final Function<Document, ByteBuf> encoder) {
+        if (encoded == null) {
+            // Usually there is just one encoding in use
+            encoded = new HashMap<>(2);
+        }
+        return encoded.computeIfAbsent(encoding, key -> requireNonNull(encoder.apply(getDocument())));
+    }
+
     private static Document wrapNotification(final Document notificationContent, final Date eventTime) {
         requireNonNull(notificationContent);
         requireNonNull(eventTime);
@@ -20,4 +20,11 @@ public interface NetconfNotificationListener {
      */
     void onNotification(StreamNameType stream, NetconfNotification notification);
 
+    /**
+     * Callback used to notify the listener that all notifications requested for replay have been delivered.
+     */
+    default void onReplayComplete(final StreamNameType stream) {
+        // No-op by default
+    }
+
 }
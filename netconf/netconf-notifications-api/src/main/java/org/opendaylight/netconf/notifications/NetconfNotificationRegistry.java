@@ -8,6 +8,7 @@
 
 package org.opendaylight.netconf.notifications;
 
+import java.util.Date;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.rev080714.netconf.Streams;
 
@@ -19,6 +20,28 @@ public interface NetconfNotificationRegistry {
     NotificationListenerRegistration registerNotificationListener(StreamNameType stream,
                                                                   NetconfNotificationListener listener);
 
+    /**
+     * Add listener for a certain notification type, replaying notifications stored for the stream first. Stored
+     * notifications with event time between {@code startTime} and {@code stopTime} are passed to the listener, followed
+     * by {@link NetconfNotificationListener#onReplayComplete(StreamNameType)}, before any new notification.
+     *
+     * @param stream stream name
+     * @param listener notification listener
+     * @param startTime start of the replayed interval
+     * @param stopTime end of the replayed interval, or {@code null} to replay all stored notifications after
+     *                 {@code startTime}
+     * @return Listener registration
+     * @throws IllegalArgumentException if the stream does not support replay
+     */
+    NotificationListenerRegistration registerNotificationListener(StreamNameType stream,
+                                                                  NetconfNotificationListener listener,
+                                                                  Date startTime, Date stopTime);
+
+    /**
+     * Check whether notifications of a stream can be replayed.
+     */
+    boolean isReplaySupported(StreamNameType streamNameType);
+
     /**
      * Check stream availability.
      */
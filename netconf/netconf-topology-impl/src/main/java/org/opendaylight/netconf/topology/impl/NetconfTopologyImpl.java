@@ -105,11 +105,14 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology
             datastoreListenerRegistration.close();
             datastoreListenerRegistration = null;
         }
+        if (statusWriter != null) {
+            statusWriter.close();
+        }
     }
 
     @Override
     protected RemoteDeviceHandler<NetconfSessionPreferences> createSalFacade(final RemoteDeviceId id) {
-        return new NetconfDeviceSalFacade(id, mountPointService, dataBroker, topologyId);
+        return new NetconfDeviceSalFacade(id, mountPointService, dataBroker, topologyId, statusWriter);
     }
 
     /**
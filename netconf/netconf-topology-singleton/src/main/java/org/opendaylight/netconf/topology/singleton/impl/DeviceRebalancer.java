@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import akka.cluster.Cluster;
+import akka.cluster.ClusterEvent.CurrentClusterState;
+import akka.cluster.Member;
+import akka.cluster.MemberStatus;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodic task balancing device masters across cluster members.
+ *
+ * <p>
+ * Every device has a preferred owner, selected by rendezvous hashing of its name over the reachable members which are
+ * up. All members therefore agree on the placement without exchanging any state, and a member joining or leaving the
+ * cluster changes the preferred owner of only its share of devices. A member mastering devices preferred by another
+ * member gives up their ownership, which makes the singleton service provider elect the next candidate. Devices are
+ * handed off in batches limited by their load, busiest first, so that the cluster converges gradually.
+ *
+ * <p>
+ * The singleton service provider cannot be told which candidate to elect. Members elected master of a device preferred
+ * by another member therefore {@link #shouldDecline(InstanceIdentifier, String) decline} it before connecting to it,
+ * so that a handed off device reaches its preferred member without being connected by each member in turn.
+ */
+final class DeviceRebalancer implements Runnable {
+    private static final Logger LOG = LoggerFactory.getLogger(DeviceRebalancer.class);
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private final Cluster cluster;
+    private final Map<InstanceIdentifier<Node>, NetconfTopologyContext> contexts;
+    private final Consumer<InstanceIdentifier<Node>> yieldOwnership;
+    private final double maxLoadPerRun;
+    private final long declineWindowNanos;
+
+    // Devices whose mastership this member declined, with the time it did so
+    @GuardedBy("declined")
+    private final Map<InstanceIdentifier<Node>, Long> declined = new HashMap<>();
+
+    DeviceRebalancer(final Cluster cluster, final Map<InstanceIdentifier<Node>, NetconfTopologyContext> contexts,
+            final Consumer<InstanceIdentifier<Node>> yieldOwnership, final double maxLoadPerRun,
+            final long declineWindowNanos) {
+        this.cluster = requireNonNull(cluster);
+        this.contexts = requireNonNull(contexts);
+        this.yieldOwnership = requireNonNull(yieldOwnership);
+        this.maxLoadPerRun = maxLoadPerRun;
+        this.declineWindowNanos = declineWindowNanos;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void run() {
+        // An exception would suppress any subsequent runs
+        try {
+            rebalance();
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to rebalance device masters", e);
+        }
+    }
+
+    private void rebalance() {
+        final List<String> members = upMembers(cluster.state());
+        if (members.size() < 2) {
+            return;
+        }
+
+        final String self = cluster.selfAddress().toString();
+        final List<Candidate> misplaced = new ArrayList<>();
+        double ownedLoad = 0;
+        for (Map.Entry<InstanceIdentifier<Node>, NetconfTopologyContext> entry : contexts.entrySet()) {
+            final NetconfTopologyContext context = entry.getValue();
+            if (context.isMaster()) {
+                final double load = context.getLoad();
+                ownedLoad += load;
+                if (!self.equals(preferredOwner(context.getDeviceName(), members))) {
+                    misplaced.add(new Candidate(entry.getKey(), load));
+                }
+            }
+        }
+        if (misplaced.isEmpty()) {
+            return;
+        }
+
+        final List<InstanceIdentifier<Node>> selected = select(misplaced, maxLoadPerRun);
+        LOG.info("Member {} with load {} masters {} devices preferred by other members, handing off {}", self,
+            ownedLoad, misplaced.size(), selected.size());
+        selected.forEach(yieldOwnership);
+    }
+
+    /**
+     * Decide whether this member should decline mastership of a device it has just been elected master of. Devices
+     * preferred by another member are declined, unless this member declined the device within the decline window
+     * already: ownership coming back means the preferred member is not a candidate, for example as it is still
+     * starting up, and the device is better served by this member than by none.
+     *
+     * @param instanceIdentifier device node identifier
+     * @param deviceName device name
+     * @return {@code true} if mastership should be declined
+     */
+    boolean shouldDecline(final InstanceIdentifier<Node> instanceIdentifier, final String deviceName) {
+        synchronized (declined) {
+            return shouldDecline(declined, declineWindowNanos, instanceIdentifier, deviceName,
+                upMembers(cluster.state()), cluster.selfAddress().toString(), System.nanoTime());
+        }
+    }
+
+    @VisibleForTesting
+    static boolean shouldDecline(final Map<InstanceIdentifier<Node>, Long> declined, final long declineWindowNanos,
+            final InstanceIdentifier<Node> instanceIdentifier, final String deviceName, final List<String> members,
+            final String self, final long now) {
+        final Long declinedAt = declined.remove(instanceIdentifier);
+        if (members.size() < 2 || self.equals(preferredOwner(deviceName, members))
+                || declinedAt != null && now - declinedAt < declineWindowNanos) {
+            return false;
+        }
+        declined.put(instanceIdentifier, now);
+        return true;
+    }
+
+    /**
+     * Forget any previous decisions about a device, as it is being removed.
+     *
+     * @param instanceIdentifier device node identifier
+     */
+    void forget(final InstanceIdentifier<Node> instanceIdentifier) {
+        synchronized (declined) {
+            declined.remove(instanceIdentifier);
+        }
+    }
+
+    /**
+     * Select the preferred owner of a device.
+     *
+     * @param deviceName device name
+     * @param members candidate members
+     * @return Preferred member
+     */
+    @VisibleForTesting
+    static String preferredOwner(final String deviceName, final Collection<String> members) {
+        String owner = null;
+        long ownerScore = Long.MIN_VALUE;
+        for (String member : members) {
+            final long score = HASH.newHasher().putString(member, UTF_8).putString(deviceName, UTF_8).hash()
+                .asLong();
+            if (owner == null || score > ownerScore || score == ownerScore && member.compareTo(owner) < 0) {
+                owner = member;
+                ownerScore = score;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * Select devices to hand off in a single run, busiest first, until their load reaches the limit. At least one
+     * device is always selected.
+     *
+     * @param misplaced devices which should be handed off
+     * @param maxLoad maximum load to hand off
+     * @return Selected devices
+     */
+    @VisibleForTesting
+    static List<InstanceIdentifier<Node>> select(final List<Candidate> misplaced, final double maxLoad) {
+        final List<Candidate> sorted = new ArrayList<>(misplaced);
+        sorted.sort(Comparator.comparingDouble(Candidate::getLoad).reversed());
+
+        final List<InstanceIdentifier<Node>> selected = new ArrayList<>();
+        double load = 0;
+        for (Candidate candidate : sorted) {
+            if (!selected.isEmpty() && load + candidate.getLoad() > maxLoad) {
+                continue;
+            }
+            selected.add(candidate.getInstanceIdentifier());
+            load += candidate.getLoad();
+        }
+        return selected;
+    }
+
+    private static List<String> upMembers(final CurrentClusterState state) {
+        final Set<Member> unreachable = state.getUnreachable();
+        return StreamSupport.stream(state.getMembers().spliterator(), false)
+            .filter(member -> member.status() == MemberStatus.up() && !unreachable.contains(member))
+            .map(member -> member.address().toString())
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    @VisibleForTesting
+    static final class Candidate {
+        private final InstanceIdentifier<Node> instanceIdentifier;
+        private final double load;
+
+        Candidate(final InstanceIdentifier<Node> instanceIdentifier, final double load) {
+            this.instanceIdentifier = requireNonNull(instanceIdentifier);
+            this.load = load;
+        }
+
+        InstanceIdentifier<Node> getInstanceIdentifier() {
+            return instanceIdentifier;
+        }
+
+        double getLoad() {
+            return load;
+        }
+    }
+}
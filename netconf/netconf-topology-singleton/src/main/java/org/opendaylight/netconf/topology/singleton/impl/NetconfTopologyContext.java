@@ -24,16 +24,33 @@ import org.opendaylight.netconf.sal.connect.api.DeviceActionFactory;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.api.RemoteDeviceConnector;
 import org.opendaylight.netconf.topology.singleton.impl.actors.NetconfNodeActor;
+import org.opendaylight.netconf.topology.singleton.impl.utils.MessageRateMeter;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
 import org.opendaylight.netconf.topology.singleton.messages.RefreshSetupMasterActorData;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.Future;
 
 class NetconfTopologyContext implements ClusterSingletonService, AutoCloseable {
+    /**
+     * Policy deciding whether this member should decline mastership of a device it was elected master of.
+     */
+    @FunctionalInterface
+    interface OwnershipArbiter {
+        /**
+         * Decide whether to decline mastership of a device. If mastership is declined, the context does not connect
+         * to the device and the arbiter is responsible for giving up the mastership.
+         *
+         * @param context context of the device
+         * @return {@code true} if mastership should be declined
+         */
+        boolean declineOwnership(NetconfTopologyContext context);
+    }
+
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfTopologyContext.class);
 
@@ -41,6 +58,7 @@ class NetconfTopologyContext implements ClusterSingletonService, AutoCloseable {
     private final Timeout actorResponseWaitTime;
     private final DOMMountPointService mountService;
     private final DeviceActionFactory deviceActionFactory;
+    private final MessageRateMeter notificationRate = new MessageRateMeter();
 
     private NetconfTopologySetup netconfTopologyDeviceSetup;
     private RemoteDeviceId remoteDeviceId;
@@ -50,6 +68,7 @@ class NetconfTopologyContext implements ClusterSingletonService, AutoCloseable {
     private final AtomicBoolean closed = new AtomicBoolean(false);
     private final AtomicBoolean stopped = new AtomicBoolean(false);
     private volatile boolean isMaster;
+    private volatile OwnershipArbiter ownershipArbiter;
 
     NetconfTopologyContext(final NetconfTopologySetup netconfTopologyDeviceSetup,
             final ServiceGroupIdentifier serviceGroupIdent, final Timeout actorResponseWaitTime,
@@ -69,6 +88,12 @@ class NetconfTopologyContext implements ClusterSingletonService, AutoCloseable {
 
     @Override
     public void instantiateServiceInstance() {
+        final OwnershipArbiter arbiter = ownershipArbiter;
+        if (arbiter != null && arbiter.declineOwnership(this)) {
+            LOG.info("Declining mastership of {} in favour of its preferred member", remoteDeviceId);
+            return;
+        }
+
         LOG.info("Master was selected: {}", remoteDeviceId.getHost().getIpAddress());
 
         isMaster = true;
@@ -95,7 +120,7 @@ class NetconfTopologyContext implements ClusterSingletonService, AutoCloseable {
     @Override
     public ListenableFuture<?> closeServiceInstance() {
 
-        if (!closed.get()) {
+        if (!closed.get() && netconfNodeManager == null) {
             // in case that master changes role to slave, new NodeDeviceManager must be created and listener registered
             netconfNodeManager = createNodeDeviceManager();
         }
@@ -165,6 +190,37 @@ class NetconfTopologyContext implements ClusterSingletonService, AutoCloseable {
         }
     }
 
+    void setOwnershipArbiter(final OwnershipArbiter ownershipArbiter) {
+        this.ownershipArbiter = ownershipArbiter;
+    }
+
+    /**
+     * Check whether this member is the active master of the device.
+     *
+     * @return {@code true} if this member is the master
+     */
+    boolean isMaster() {
+        return isMaster && !stopped.get();
+    }
+
+    /**
+     * Return the load this device puts on its master. An idle device has a load of 1, each notification per second
+     * adds 1 to it.
+     *
+     * @return Device load
+     */
+    double getLoad() {
+        return 1 + notificationRate.getRate();
+    }
+
+    String getDeviceName() {
+        return remoteDeviceId.getName();
+    }
+
+    Node getNode() {
+        return netconfTopologyDeviceSetup.getNode();
+    }
+
     private void stopDeviceConnectorAndActor() {
         if (!stopped.compareAndSet(false, true)) {
             return;
@@ -181,6 +237,7 @@ class NetconfTopologyContext implements ClusterSingletonService, AutoCloseable {
 
     protected MasterSalFacade newMasterSalFacade() {
         return new MasterSalFacade(remoteDeviceId, netconfTopologyDeviceSetup.getActorSystem(), masterActorRef,
-                actorResponseWaitTime, mountService, netconfTopologyDeviceSetup.getDataBroker());
+                actorResponseWaitTime, mountService, netconfTopologyDeviceSetup.getDataBroker(),
+                netconfTopologyDeviceSetup.getStatusWriter(), notificationRate);
     }
 }
\ No newline at end of file
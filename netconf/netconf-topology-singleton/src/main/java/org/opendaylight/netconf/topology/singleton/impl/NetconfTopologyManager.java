@@ -10,16 +10,22 @@ package org.opendaylight.netconf.topology.singleton.impl;
 import static java.util.Objects.requireNonNull;
 
 import akka.actor.ActorSystem;
+import akka.cluster.Cluster;
 import akka.util.Timeout;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.util.concurrent.EventExecutor;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.controller.cluster.ActorSystemProvider;
@@ -43,6 +49,7 @@ import org.opendaylight.mdsal.singleton.common.api.ServiceGroupIdentifier;
 import org.opendaylight.netconf.client.NetconfClientDispatcher;
 import org.opendaylight.netconf.sal.connect.api.DeviceActionFactory;
 import org.opendaylight.netconf.sal.connect.api.SchemaResourceManager;
+import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfTopologyStatusWriter;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseNetconfSchemas;
 import org.opendaylight.netconf.sal.connect.util.NetconfTopologyRPCProvider;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
@@ -50,6 +57,7 @@ import org.opendaylight.netconf.topology.singleton.api.NetconfTopologySingletonS
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup.NetconfTopologySetupBuilder;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadChunking;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeTopologyService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.Config;
@@ -72,6 +80,7 @@ public class NetconfTopologyManager
         implements ClusteredDataTreeChangeListener<Node>, NetconfTopologySingletonService, AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfTopologyManager.class);
+    private static final long DEFAULT_REBALANCE_LOAD = 10;
 
     private final Map<InstanceIdentifier<Node>, NetconfTopologyContext> contexts = new ConcurrentHashMap<>();
     private final Map<InstanceIdentifier<Node>, ClusterSingletonServiceRegistration>
@@ -89,6 +98,10 @@ public class NetconfTopologyManager
     private final NetconfClientDispatcher clientDispatcher;
     private final String topologyId;
     private final Duration writeTxIdleTimeout;
+    private final ReadChunking readChunking;
+    private final long rebalanceInterval;
+    private final long rebalanceLoad;
+    private final NetconfTopologyStatusWriter statusWriter;
     private final DOMMountPointService mountPointService;
     private final AAAEncryptionService encryptionService;
     private final RpcProviderService rpcProviderService;
@@ -97,8 +110,12 @@ public class NetconfTopologyManager
 
     private ListenerRegistration<NetconfTopologyManager> dataChangeListenerRegistration;
     private Registration rpcReg;
+    private ScheduledExecutorService rebalanceExecutor;
+    private DeviceRebalancer rebalancer;
+    private ScheduledFuture<?> rebalanceTask;
     private String privateKeyPath;
     private String privateKeyPassphrase;
+    private Executor rpcReplyExecutor = MoreExecutors.directExecutor();
 
     public NetconfTopologyManager(final BaseNetconfSchemas baseSchemas, final DataBroker dataBroker,
                                   final DOMRpcProviderService rpcProviderRegistry,
@@ -125,6 +142,14 @@ public class NetconfTopologyManager
         this.clientDispatcher = requireNonNull(clientDispatcher);
         this.topologyId = requireNonNull(topologyId);
         this.writeTxIdleTimeout = Duration.apply(config.getWriteTransactionIdleTimeout().toJava(), TimeUnit.SECONDS);
+        this.readChunking = ReadChunking.of(config.getReadChunkSize(), config.getReadChunkCompression());
+        this.rebalanceInterval = config.getDeviceRebalanceInterval() == null ? 0
+            : config.getDeviceRebalanceInterval().toJava();
+        this.rebalanceLoad = config.getDeviceRebalanceLoad() == null ? DEFAULT_REBALANCE_LOAD
+            : config.getDeviceRebalanceLoad().toJava();
+        final long statusWriteDelay = config.getStatusWriteDelay() == null ? 0 : config.getStatusWriteDelay().toJava();
+        this.statusWriter = statusWriteDelay > 0
+            ? new NetconfTopologyStatusWriter(dataBroker, this.keepaliveExecutor, statusWriteDelay) : null;
         this.mountPointService = mountPointService;
         this.encryptionService = requireNonNull(encryptionService);
         this.rpcProviderService = requireNonNull(rpcProviderService);
@@ -137,10 +162,20 @@ public class NetconfTopologyManager
         dataChangeListenerRegistration = registerDataTreeChangeListener();
         rpcReg = rpcProviderService.registerRpcImplementation(NetconfNodeTopologyService.class,
             new NetconfTopologyRPCProvider(dataBroker, encryptionService, topologyId));
+        if (rebalanceInterval > 0) {
+            LOG.info("Rebalancing device masters every {} seconds", rebalanceInterval);
+            // Hand-offs stop and start device contexts, which should not hold up keepalives
+            rebalanceExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("netconf-device-rebalancer-" + topologyId + "-%d").setDaemon(true).build());
+            rebalancer = new DeviceRebalancer(Cluster.get(actorSystem), contexts, this::yieldDeviceOwnership,
+                rebalanceLoad, TimeUnit.SECONDS.toNanos(rebalanceInterval));
+            rebalanceTask = rebalanceExecutor.scheduleWithFixedDelay(rebalancer, rebalanceInterval, rebalanceInterval,
+                TimeUnit.SECONDS);
+        }
     }
 
     @Override
-    public void onDataTreeChanged(final Collection<DataTreeModification<Node>> changes) {
+    public synchronized void onDataTreeChanged(final Collection<DataTreeModification<Node>> changes) {
         for (final DataTreeModification<Node> change : changes) {
             final DataObjectModification<Node> rootNode = change.getRootNode();
             final InstanceIdentifier<Node> dataModifIdent = change.getRootPath().getRootIdentifier();
@@ -162,6 +197,9 @@ public class NetconfTopologyManager
                 case DELETE:
                     LOG.debug("Config for node {} deleted", nodeId);
                     stopNetconfDeviceContext(dataModifIdent);
+                    if (rebalancer != null) {
+                        rebalancer.forget(dataModifIdent);
+                    }
                     break;
                 default:
                     LOG.warn("Unknown operation for {}.", nodeId);
@@ -193,6 +231,10 @@ public class NetconfTopologyManager
 
         final NetconfTopologyContext newNetconfTopologyContext = newNetconfTopologyContext(
             createSetup(instanceIdentifier, node), serviceGroupIdent, actorResponseWaitTime, deviceActionFactory);
+        if (rebalancer != null) {
+            newNetconfTopologyContext.setOwnershipArbiter(context -> declineDeviceOwnership(instanceIdentifier,
+                context));
+        }
 
         int tries = 3;
         while (true) {
@@ -215,6 +257,52 @@ public class NetconfTopologyManager
         }
     }
 
+    // Give up mastership of a device by registering a new singleton service candidate, which makes the other members
+    // take precedence over this one. Members other than the preferred one decline the device, so it ends up with the
+    // preferred member.
+    private synchronized void yieldDeviceOwnership(final InstanceIdentifier<Node> instanceIdentifier) {
+        final NetconfTopologyContext context = contexts.get(instanceIdentifier);
+        if (context == null || !context.isMaster()) {
+            return;
+        }
+
+        LOG.info("Handing off device {} to another member", context.getDeviceName());
+        reregisterDeviceContext(instanceIdentifier, context);
+    }
+
+    // Invoked by the singleton service provider when this member is elected master of a device
+    private boolean declineDeviceOwnership(final InstanceIdentifier<Node> instanceIdentifier,
+            final NetconfTopologyContext context) {
+        if (!rebalancer.shouldDecline(instanceIdentifier, context.getDeviceName())) {
+            return false;
+        }
+
+        // Do not re-enter the singleton service provider from its callback
+        try {
+            rebalanceExecutor.execute(() -> declinedDeviceOwnership(instanceIdentifier, context));
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Not declining device {}, topology is shutting down", context.getDeviceName(), e);
+            return false;
+        }
+        return true;
+    }
+
+    private synchronized void declinedDeviceOwnership(final InstanceIdentifier<Node> instanceIdentifier,
+            final NetconfTopologyContext context) {
+        // The context may have been replaced in the meantime
+        if (contexts.get(instanceIdentifier) == context) {
+            LOG.debug("Passing device {} on to another member", context.getDeviceName());
+            reregisterDeviceContext(instanceIdentifier, context);
+        }
+    }
+
+    private void reregisterDeviceContext(final InstanceIdentifier<Node> instanceIdentifier,
+            final NetconfTopologyContext context) {
+        final Node node = context.getNode();
+        stopNetconfDeviceContext(instanceIdentifier);
+        startNetconfDeviceContext(instanceIdentifier, node);
+    }
+
     private void stopNetconfDeviceContext(final InstanceIdentifier<Node> instanceIdentifier) {
         final NetconfTopologyContext netconfTopologyContext = contexts.remove(instanceIdentifier);
         if (netconfTopologyContext != null) {
@@ -233,6 +321,13 @@ public class NetconfTopologyManager
 
     @Override
     public void close() {
+        if (rebalanceTask != null) {
+            rebalanceTask.cancel(false);
+            rebalanceTask = null;
+        }
+        if (rebalanceExecutor != null) {
+            rebalanceExecutor.shutdown();
+        }
         if (rpcReg != null) {
             rpcReg.close();
             rpcReg = null;
@@ -247,6 +342,10 @@ public class NetconfTopologyManager
 
         contexts.clear();
         clusterRegistrations.clear();
+
+        if (statusWriter != null) {
+            statusWriter.close();
+        }
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -272,6 +371,14 @@ public class NetconfTopologyManager
         this.privateKeyPassphrase = privateKeyPassphrase;
     }
 
+    /**
+     * Sets the executor used to transform RPC replies of mounted devices using blueprint. If not set, replies are
+     * transformed on the thread which received them.
+     */
+    public void setRpcReplyExecutor(final ThreadPool rpcReplyExecutor) {
+        this.rpcReplyExecutor = rpcReplyExecutor.getExecutor();
+    }
+
     private ListenerRegistration<NetconfTopologyManager> registerDataTreeChangeListener() {
         final WriteTransaction wtx = dataBroker.newWriteOnlyTransaction();
         initTopology(wtx, LogicalDatastoreType.CONFIGURATION);
@@ -319,10 +426,13 @@ public class NetconfTopologyManager
                 .setEventExecutor(eventExecutor)
                 .setKeepaliveExecutor(keepaliveExecutor)
                 .setProcessingExecutor(processingExecutor)
+                .setRpcReplyExecutor(rpcReplyExecutor)
                 .setTopologyId(topologyId)
                 .setNetconfClientDispatcher(clientDispatcher)
                 .setSchemaResourceDTO(resourceManager.getSchemaResources(netconfNode, deviceId))
                 .setIdleTimeout(writeTxIdleTimeout)
+                .setReadChunking(readChunking)
+                .setStatusWriter(statusWriter)
                 .setPrivateKeyPath(privateKeyPath)
                 .setPrivateKeyPassphrase(privateKeyPassphrase)
                 .setEncryptionService(encryptionService);
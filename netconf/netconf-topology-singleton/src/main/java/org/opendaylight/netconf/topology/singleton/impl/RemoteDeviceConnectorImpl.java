@@ -152,6 +152,8 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
         //setup default values since default value is not supported in mdsal
         final long defaultRequestTimeoutMillis = node.getDefaultRequestTimeoutMillis() == null
                 ? NetconfTopologyUtils.DEFAULT_REQUEST_TIMEOUT_MILLIS : node.getDefaultRequestTimeoutMillis().toJava();
+        final long requestDeadlineMillis = node.getRequestDeadlineMillis() == null
+                ? NetconfTopologyUtils.DEFAULT_REQUEST_DEADLINE_MILLIS : node.getRequestDeadlineMillis().toJava();
         final long keepaliveDelay = node.getKeepaliveDelay() == null
                 ? NetconfTopologyUtils.DEFAULT_KEEPALIVE_DELAY : node.getKeepaliveDelay().toJava();
         final boolean reconnectOnChangedSchema = node.getReconnectOnChangedSchema() == null
@@ -204,6 +206,7 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
                     .setReconnectOnSchemasChange(reconnectOnChangedSchema)
                     .setSchemaResourcesDTO(schemaResourcesDTO)
                     .setGlobalProcessingExecutor(netconfTopologyDeviceSetup.getProcessingExecutor())
+                    .setRpcReplyExecutor(netconfTopologyDeviceSetup.getRpcReplyExecutor())
                     .setBaseSchemas(netconfTopologyDeviceSetup.getBaseSchemas())
                     .setId(remoteDeviceId)
                     .setDeviceActionFactory(deviceActionFactory)
@@ -220,12 +223,13 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
             LOG.info("{}: Concurrent rpc limit is smaller than 1, no limit will be enforced.", remoteDeviceId);
         }
 
-        NetconfDeviceCommunicator netconfDeviceCommunicator = userCapabilities.isPresent()
-            ? new NetconfDeviceCommunicator(remoteDeviceId, device, new UserPreferences(userCapabilities.get(),
+        NetconfDeviceCommunicator netconfDeviceCommunicator = new NetconfDeviceCommunicator(remoteDeviceId, device,
+            userCapabilities.map(caps -> new UserPreferences(caps,
                 node.getYangModuleCapabilities() == null ? false : node.getYangModuleCapabilities().getOverride(),
-                    node.getNonModuleCapabilities() == null ? false : node.getNonModuleCapabilities().getOverride()),
-                rpcMessageLimit)
-            : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit);
+                node.getNonModuleCapabilities() == null ? false : node.getNonModuleCapabilities().getOverride()))
+                .orElse(null),
+            rpcMessageLimit, requestDeadlineMillis > 0 ? netconfTopologyDeviceSetup.getKeepaliveExecutor() : null,
+            requestDeadlineMillis);
 
         if (salFacade instanceof KeepaliveSalFacade) {
             ((KeepaliveSalFacade)salFacade).setListener(netconfDeviceCommunicator);
@@ -321,6 +325,7 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
                 .withReconnectStrategy(sf.createReconnectStrategy())
                 .withConnectStrategyFactory(sf)
                 .withSessionListener(listener)
+                .withDeferRpcReplies(Boolean.TRUE.equals(node.getDeferRpcReplies()))
                 .build();
     }
 
@@ -8,6 +8,7 @@
 package org.opendaylight.netconf.topology.singleton.impl.actors;
 
 import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
 import akka.actor.Props;
 import akka.actor.ReceiveTimeout;
 import akka.actor.Status;
@@ -20,6 +21,7 @@ import java.util.Optional;
 import java.util.function.Supplier;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.netconf.dom.api.NetconfDataTreeService;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadChunking;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.netconf.CommitRequest;
 import org.opendaylight.netconf.topology.singleton.messages.netconf.CreateEditConfigRequest;
@@ -35,7 +37,6 @@ import org.opendaylight.netconf.topology.singleton.messages.netconf.RemoveEditCo
 import org.opendaylight.netconf.topology.singleton.messages.netconf.ReplaceEditConfigRequest;
 import org.opendaylight.netconf.topology.singleton.messages.netconf.UnlockRequest;
 import org.opendaylight.netconf.topology.singleton.messages.rpc.InvokeRpcMessageReply;
-import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyResultResponse;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -48,9 +49,15 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
 
     private final NetconfDataTreeService netconfService;
     private final long idleTimeout;
+    private final ActorSystem system;
+    private final ReadChunking chunking;
 
-    private NetconfDataTreeServiceActor(final NetconfDataTreeService netconfService, final Duration idleTimeout) {
+    private NetconfDataTreeServiceActor(final NetconfDataTreeService netconfService, final Duration idleTimeout,
+            final ReadChunking chunking) {
         this.netconfService = netconfService;
+        this.chunking = chunking;
+        // Read results may need to outlive this actor, which stops once a read is requested
+        system = context().system();
         this.idleTimeout = idleTimeout.toSeconds();
         if (this.idleTimeout > 0) {
             context().setReceiveTimeout(idleTimeout);
@@ -58,8 +65,13 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
     }
 
     static Props props(final NetconfDataTreeService netconfService, final Duration idleTimeout) {
+        return props(netconfService, idleTimeout, ReadChunking.DISABLED);
+    }
+
+    static Props props(final NetconfDataTreeService netconfService, final Duration idleTimeout,
+            final ReadChunking chunking) {
         return Props.create(NetconfDataTreeServiceActor.class, () ->
-            new NetconfDataTreeServiceActor(netconfService, idleTimeout));
+            new NetconfDataTreeServiceActor(netconfService, idleTimeout, chunking));
     }
 
     @Override
@@ -182,16 +194,12 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
         }, MoreExecutors.directExecutor());
     }
 
-    private static void sendResult(final ListenableFuture<Optional<NormalizedNode<?, ?>>> feature,
+    private void sendResult(final ListenableFuture<Optional<NormalizedNode<?, ?>>> feature,
             final YangInstanceIdentifier path, final ActorRef sender, final ActorRef self) {
         Futures.addCallback(feature, new FutureCallback<>() {
             @Override
             public void onSuccess(final Optional<NormalizedNode<?, ?>> result) {
-                if (result.isEmpty()) {
-                    sender.tell(new EmptyReadResponse(), self);
-                    return;
-                }
-                sender.tell(new NormalizedNodeMessage(path, result.get()), self);
+                ReadResultStreamActor.sendResult(system, chunking, path, result, sender, self);
             }
 
             @Override
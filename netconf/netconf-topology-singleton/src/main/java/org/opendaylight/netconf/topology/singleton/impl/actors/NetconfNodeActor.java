@@ -124,7 +124,7 @@ public class NetconfNodeActor extends AbstractUntypedActor {
             this.deviceDataBroker = masterActorData.getDeviceDataBroker();
             this.netconfService = masterActorData.getNetconfDataTreeService();
             final DOMDataTreeReadTransaction tx = deviceDataBroker.newReadOnlyTransaction();
-            readTxActor = context().actorOf(ReadTransactionActor.props(tx));
+            readTxActor = context().actorOf(ReadTransactionActor.props(tx, setup.getReadChunking()));
             this.deviceRpc = masterActorData.getDeviceRpc();
             this.deviceAction = masterActorData.getDeviceAction();
 
@@ -161,7 +161,8 @@ public class NetconfNodeActor extends AbstractUntypedActor {
         } else if (message instanceof NewReadWriteTransactionRequest) {
             try {
                 final DOMDataTreeReadWriteTransaction tx = deviceDataBroker.newReadWriteTransaction();
-                final ActorRef txActor = context().actorOf(ReadWriteTransactionActor.props(tx, writeTxIdleTimeout));
+                final ActorRef txActor = context().actorOf(ReadWriteTransactionActor.props(tx, writeTxIdleTimeout,
+                    setup.getReadChunking()));
                 sender().tell(new Success(txActor), self());
             } catch (final Exception t) {
                 sender().tell(new Failure(t), self());
@@ -189,8 +190,9 @@ public class NetconfNodeActor extends AbstractUntypedActor {
             setup = ((RefreshSlaveActor) message).getSetup();
             schemaRepository = ((RefreshSlaveActor) message).getSchemaRepository();
         } else if (message instanceof NetconfDataTreeServiceRequest) {
-            ActorRef netconfActor = context()
-                .actorOf(NetconfDataTreeServiceActor.props(netconfService, writeTxIdleTimeout));
+            // Each actor serves a single transaction of a slave
+            ActorRef netconfActor = context().actorOf(NetconfDataTreeServiceActor.props(
+                netconfService.forTransaction(), writeTxIdleTimeout, setup.getReadChunking()));
             sender().tell(new Success(netconfActor), self());
         }
     }
@@ -7,15 +7,17 @@
  */
 package org.opendaylight.netconf.topology.singleton.impl.actors;
 
+import static java.util.Objects.requireNonNull;
+
 import akka.actor.ActorRef;
+import akka.actor.ActorRefFactory;
 import akka.actor.Status.Failure;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.util.Optional;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadOperations;
-import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
-import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadChunking;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ExistsRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadRequest;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -24,9 +26,14 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 class ReadAdapter {
 
     private final DOMDataTreeReadOperations tx;
+    private final ActorRefFactory streamActorFactory;
+    private final ReadChunking chunking;
 
-    ReadAdapter(final DOMDataTreeReadOperations tx) {
+    ReadAdapter(final DOMDataTreeReadOperations tx, final ActorRefFactory streamActorFactory,
+            final ReadChunking chunking) {
         this.tx = tx;
+        this.streamActorFactory = requireNonNull(streamActorFactory);
+        this.chunking = requireNonNull(chunking);
     }
 
     @SuppressWarnings("checkstyle:IllegalThrows")
@@ -51,11 +58,7 @@ class ReadAdapter {
         tx.read(store, path).addCallback(new FutureCallback<Optional<NormalizedNode<?, ?>>>() {
             @Override
             public void onSuccess(final Optional<NormalizedNode<?, ?>> result) {
-                if (result.isEmpty()) {
-                    sender.tell(new EmptyReadResponse(), self);
-                    return;
-                }
-                sender.tell(new NormalizedNodeMessage(path, result.get()), self);
+                ReadResultStreamActor.sendResult(streamActorFactory, chunking, path, result, sender, self);
             }
 
             @Override
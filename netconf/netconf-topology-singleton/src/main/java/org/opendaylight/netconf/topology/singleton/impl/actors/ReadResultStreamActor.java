@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.actors;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorRefFactory;
+import akka.actor.Props;
+import akka.actor.ReceiveTimeout;
+import akka.actor.Status.Failure;
+import akka.actor.UntypedAbstractActor;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadChunking;
+import org.opendaylight.netconf.topology.singleton.messages.ChunkedReadResponse;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.ReadChunk;
+import org.opendaylight.netconf.topology.singleton.messages.ReadChunkRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.duration.Duration;
+
+/**
+ * Actor holding a read result serialized into chunks, which are requested by the slave one at a time. The actor stops
+ * once the last chunk has been requested, or when the slave stops requesting chunks.
+ */
+public final class ReadResultStreamActor extends UntypedAbstractActor {
+    private static final Logger LOG = LoggerFactory.getLogger(ReadResultStreamActor.class);
+    private static final Duration IDLE_TIMEOUT = Duration.apply(60, TimeUnit.SECONDS);
+
+    private final byte[][] chunks;
+
+    private ReadResultStreamActor(final List<byte[]> chunks) {
+        this.chunks = chunks.toArray(new byte[0][]);
+        context().setReceiveTimeout(IDLE_TIMEOUT);
+    }
+
+    static Props props(final List<byte[]> chunks) {
+        return Props.create(ReadResultStreamActor.class, () -> new ReadResultStreamActor(chunks));
+    }
+
+    /**
+     * Send a read result to the requester. Results which do not fit into a single chunk are handed over to a new
+     * stream actor.
+     *
+     * @param factory factory used to create the stream actor
+     * @param chunking chunking policy
+     * @param path path of the read result
+     * @param result read result
+     * @param sender requester
+     * @param self actor sending the result
+     */
+    static void sendResult(final ActorRefFactory factory, final ReadChunking chunking,
+            final YangInstanceIdentifier path, final Optional<NormalizedNode<?, ?>> result, final ActorRef sender,
+            final ActorRef self) {
+        if (result.isEmpty()) {
+            sender.tell(new EmptyReadResponse(), self);
+            return;
+        }
+        if (!chunking.isEnabled()) {
+            sender.tell(new NormalizedNodeMessage(path, result.get()), self);
+            return;
+        }
+
+        final List<byte[]> chunks;
+        try {
+            chunks = chunking.split(path, result.get());
+        } catch (IOException e) {
+            sender.tell(new Failure(e), self);
+            return;
+        }
+        if (chunks.size() == 1) {
+            // Small enough to be sent directly
+            sender.tell(new NormalizedNodeMessage(path, result.get()), self);
+            return;
+        }
+
+        LOG.debug("Streaming read result of {} in {} chunks", path, chunks.size());
+        sender.tell(new ChunkedReadResponse(factory.actorOf(props(chunks)), chunks.size(), chunking.isCompression()),
+            self);
+    }
+
+    @Override
+    public void onReceive(final Object message) {
+        if (message instanceof ReadChunkRequest) {
+            final int index = ((ReadChunkRequest) message).getIndex();
+            if (index < 0 || index >= chunks.length || chunks[index] == null) {
+                sender().tell(new Failure(new IllegalArgumentException("Invalid chunk " + index)), self());
+                return;
+            }
+
+            sender().tell(new ReadChunk(chunks[index]), self());
+            // Release the chunk as soon as it has been sent
+            chunks[index] = null;
+            if (index == chunks.length - 1) {
+                context().stop(self());
+            }
+        } else if (message instanceof ReceiveTimeout) {
+            LOG.warn("Haven't received any chunk request for {} seconds, discarding read result",
+                IDLE_TIMEOUT.toSeconds());
+            context().stop(self());
+        } else {
+            unhandled(message);
+        }
+    }
+}
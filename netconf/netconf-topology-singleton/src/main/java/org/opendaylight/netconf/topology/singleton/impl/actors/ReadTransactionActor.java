@@ -10,6 +10,7 @@ package org.opendaylight.netconf.topology.singleton.impl.actors;
 import akka.actor.Props;
 import akka.actor.UntypedAbstractActor;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadTransaction;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadChunking;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadActorMessage;
 
 /**
@@ -19,8 +20,8 @@ public final class ReadTransactionActor extends UntypedAbstractActor {
 
     private final ReadAdapter readAdapter;
 
-    private ReadTransactionActor(final DOMDataTreeReadTransaction tx) {
-        readAdapter = new ReadAdapter(tx);
+    private ReadTransactionActor(final DOMDataTreeReadTransaction tx, final ReadChunking chunking) {
+        readAdapter = new ReadAdapter(tx, context().system(), chunking);
     }
 
     /**
@@ -30,7 +31,18 @@ public final class ReadTransactionActor extends UntypedAbstractActor {
      * @return props
      */
     static Props props(final DOMDataTreeReadTransaction tx) {
-        return Props.create(ReadTransactionActor.class, () -> new ReadTransactionActor(tx));
+        return props(tx, ReadChunking.DISABLED);
+    }
+
+    /**
+     * Creates new actor Props.
+     *
+     * @param tx delegate device read transaction
+     * @param chunking policy for transferring read results
+     * @return props
+     */
+    static Props props(final DOMDataTreeReadTransaction tx, final ReadChunking chunking) {
+        return Props.create(ReadTransactionActor.class, () -> new ReadTransactionActor(tx, chunking));
     }
 
     @Override
@@ -11,6 +11,7 @@ import akka.actor.Props;
 import akka.actor.ReceiveTimeout;
 import akka.actor.UntypedAbstractActor;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadChunking;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadActorMessage;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.WriteActorMessage;
 import org.slf4j.Logger;
@@ -26,13 +27,14 @@ public final class ReadWriteTransactionActor extends UntypedAbstractActor {
     private final ReadAdapter readAdapter;
     private final WriteAdapter writeAdapter;
 
-    private ReadWriteTransactionActor(final DOMDataTreeReadWriteTransaction tx, final Duration idleTimeout) {
+    private ReadWriteTransactionActor(final DOMDataTreeReadWriteTransaction tx, final Duration idleTimeout,
+            final ReadChunking chunking) {
         this.tx = tx;
         this.idleTimeout = idleTimeout.toSeconds();
         if (this.idleTimeout > 0) {
             context().setReceiveTimeout(idleTimeout);
         }
-        readAdapter = new ReadAdapter(tx);
+        readAdapter = new ReadAdapter(tx, context().system(), chunking);
         writeAdapter = new WriteAdapter(tx);
     }
 
@@ -44,7 +46,21 @@ public final class ReadWriteTransactionActor extends UntypedAbstractActor {
      * @return props
      */
     static Props props(final DOMDataTreeReadWriteTransaction tx, final Duration idleTimeout) {
-        return Props.create(ReadWriteTransactionActor.class, () -> new ReadWriteTransactionActor(tx, idleTimeout));
+        return props(tx, idleTimeout, ReadChunking.DISABLED);
+    }
+
+    /**
+     * Creates new actor Props.
+     *
+     * @param tx          delegate device read write transaction
+     * @param idleTimeout idle time in seconds, after which transaction is closed automatically
+     * @param chunking    policy for transferring read results
+     * @return props
+     */
+    static Props props(final DOMDataTreeReadWriteTransaction tx, final Duration idleTimeout,
+            final ReadChunking chunking) {
+        return Props.create(ReadWriteTransactionActor.class,
+            () -> new ReadWriteTransactionActor(tx, idleTimeout, chunking));
     }
 
     @Override
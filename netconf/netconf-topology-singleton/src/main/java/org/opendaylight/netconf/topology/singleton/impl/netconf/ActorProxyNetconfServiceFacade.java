@@ -15,7 +15,10 @@ import akka.dispatch.OnComplete;
 import akka.pattern.AskTimeoutException;
 import akka.pattern.Patterns;
 import akka.util.Timeout;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.ArrayList;
@@ -31,6 +34,8 @@ import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.impl.utils.ClusteringRpcException;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadChunking;
+import org.opendaylight.netconf.topology.singleton.messages.ChunkedReadResponse;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.netconf.CommitRequest;
 import org.opendaylight.netconf.topology.singleton.messages.netconf.CreateEditConfigRequest;
@@ -278,6 +283,24 @@ public class ActorProxyNetconfServiceFacade implements ProxyNetconfServiceFacade
                 if (response instanceof NormalizedNodeMessage) {
                     final NormalizedNodeMessage data = (NormalizedNodeMessage) response;
                     settableFuture.set(Optional.of(data.getNode()));
+                    return;
+                }
+
+                if (response instanceof ChunkedReadResponse) {
+                    Futures.addCallback(ReadChunking.fetch((ChunkedReadResponse) response, askTimeout,
+                        executionContext), new FutureCallback<NormalizedNodeMessage>() {
+                            @Override
+                            public void onSuccess(final NormalizedNodeMessage data) {
+                                settableFuture.set(Optional.of(data.getNode()));
+                            }
+
+                            @Override
+                            public void onFailure(final Throwable cause) {
+                                LOG.debug("{}: Read {} {} failed to transfer", id, store, path, cause);
+                                settableFuture.setException(new ReadFailedException("Read of store " + store
+                                    + " path " + path + " failed", cause));
+                            }
+                        }, MoreExecutors.directExecutor());
                 }
             }
         }, executionContext);
@@ -13,6 +13,9 @@ import akka.pattern.AskTimeoutException;
 import akka.pattern.Patterns;
 import akka.util.Timeout;
 import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Objects;
@@ -23,6 +26,8 @@ import org.opendaylight.mdsal.common.api.ReadFailedException;
 import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadChunking;
+import org.opendaylight.netconf.topology.singleton.messages.ChunkedReadResponse;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.CancelRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.DeleteRequest;
@@ -120,6 +125,24 @@ class ActorProxyTransactionFacade implements ProxyTransactionFacade {
                 if (response instanceof NormalizedNodeMessage) {
                     final NormalizedNodeMessage data = (NormalizedNodeMessage) response;
                     settableFuture.set(Optional.of(data.getNode()));
+                    return;
+                }
+
+                if (response instanceof ChunkedReadResponse) {
+                    Futures.addCallback(ReadChunking.fetch((ChunkedReadResponse) response, askTimeout,
+                        executionContext), new FutureCallback<NormalizedNodeMessage>() {
+                            @Override
+                            public void onSuccess(final NormalizedNodeMessage data) {
+                                settableFuture.set(Optional.of(data.getNode()));
+                            }
+
+                            @Override
+                            public void onFailure(final Throwable cause) {
+                                LOG.debug("{}: Read {} {} failed to transfer", id, store, path, cause);
+                                settableFuture.setException(new ReadFailedException("Read of store " + store
+                                    + " path " + path + " failed", cause));
+                            }
+                        }, MoreExecutors.directExecutor());
                 }
             }
         }, executionContext);
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.lock.qual.Holding;
+
+/**
+ * Exponentially decaying rate of messages received from a device. Recent messages dominate the rate, messages older
+ * than a few minutes have practically no effect on it.
+ */
+public final class MessageRateMeter {
+    private static final double TIME_CONSTANT_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongSupplier nanoTime;
+
+    @GuardedBy("this")
+    private double rate;
+    @GuardedBy("this")
+    private long lastNanos;
+
+    public MessageRateMeter() {
+        this(System::nanoTime);
+    }
+
+    @VisibleForTesting
+    MessageRateMeter(final LongSupplier nanoTime) {
+        this.nanoTime = requireNonNull(nanoTime);
+        lastNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Record a message.
+     */
+    public synchronized void mark() {
+        decay();
+        rate += NANOS_PER_SECOND / TIME_CONSTANT_NANOS;
+    }
+
+    /**
+     * Return the current rate.
+     *
+     * @return Messages per second
+     */
+    public synchronized double getRate() {
+        decay();
+        return rate;
+    }
+
+    @Holding("this")
+    private void decay() {
+        final long now = nanoTime.getAsLong();
+        final long elapsed = now - lastNanos;
+        if (elapsed > 0) {
+            rate *= Math.exp(-elapsed / TIME_CONSTANT_NANOS);
+            lastNanos = now;
+        }
+    }
+}
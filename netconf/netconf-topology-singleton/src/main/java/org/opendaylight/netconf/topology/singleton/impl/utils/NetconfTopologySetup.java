@@ -11,8 +11,11 @@ import static java.util.Objects.requireNonNull;
 
 import akka.actor.ActorSystem;
 import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.netty.util.concurrent.EventExecutor;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.dom.api.DOMActionProviderService;
@@ -20,6 +23,7 @@ import org.opendaylight.mdsal.dom.api.DOMRpcProviderService;
 import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceProvider;
 import org.opendaylight.netconf.client.NetconfClientDispatcher;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfDevice;
+import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfTopologyStatusWriter;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseNetconfSchemas;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
@@ -35,12 +39,15 @@ public class NetconfTopologySetup {
     private final Node node;
     private final ScheduledExecutorService keepaliveExecutor;
     private final ListeningExecutorService processingExecutor;
+    private final Executor rpcReplyExecutor;
     private final ActorSystem actorSystem;
     private final EventExecutor eventExecutor;
     private final NetconfClientDispatcher netconfClientDispatcher;
     private final String topologyId;
     private final NetconfDevice.SchemaResourcesDTO schemaResourceDTO;
     private final Duration idleTimeout;
+    private final ReadChunking readChunking;
+    private final NetconfTopologyStatusWriter statusWriter;
     private final String privateKeyPath;
     private final String privateKeyPassphrase;
     private final AAAEncryptionService encryptionService;
@@ -55,12 +62,15 @@ public class NetconfTopologySetup {
         this.node = builder.getNode();
         this.keepaliveExecutor = builder.getKeepaliveExecutor();
         this.processingExecutor = builder.getProcessingExecutor();
+        this.rpcReplyExecutor = builder.getRpcReplyExecutor();
         this.actorSystem = builder.getActorSystem();
         this.eventExecutor = builder.getEventExecutor();
         this.netconfClientDispatcher = builder.getNetconfClientDispatcher();
         this.topologyId = builder.getTopologyId();
         this.schemaResourceDTO = builder.getSchemaResourceDTO();
         this.idleTimeout = builder.getIdleTimeout();
+        this.readChunking = builder.getReadChunking();
+        this.statusWriter = builder.getStatusWriter();
         this.privateKeyPath = builder.getPrivateKeyPath();
         this.privateKeyPassphrase = builder.getPrivateKeyPassphrase();
         this.encryptionService = builder.getEncryptionService();
@@ -95,6 +105,10 @@ public class NetconfTopologySetup {
         return processingExecutor;
     }
 
+    public Executor getRpcReplyExecutor() {
+        return rpcReplyExecutor;
+    }
+
     public ScheduledExecutorService getKeepaliveExecutor() {
         return keepaliveExecutor;
     }
@@ -123,6 +137,14 @@ public class NetconfTopologySetup {
         return idleTimeout;
     }
 
+    public ReadChunking getReadChunking() {
+        return readChunking;
+    }
+
+    public @Nullable NetconfTopologyStatusWriter getStatusWriter() {
+        return statusWriter;
+    }
+
     public String getPrivateKeyPath() {
         return privateKeyPath;
     }
@@ -148,12 +170,15 @@ public class NetconfTopologySetup {
         private Node node;
         private ScheduledExecutorService keepaliveExecutor;
         private ListeningExecutorService processingExecutor;
+        private Executor rpcReplyExecutor = MoreExecutors.directExecutor();
         private ActorSystem actorSystem;
         private EventExecutor eventExecutor;
         private String topologyId;
         private NetconfClientDispatcher netconfClientDispatcher;
         private NetconfDevice.SchemaResourcesDTO schemaResourceDTO;
         private Duration idleTimeout;
+        private ReadChunking readChunking = ReadChunking.DISABLED;
+        private NetconfTopologyStatusWriter statusWriter;
         private String privateKeyPath;
         private String privateKeyPassphrase;
         private AAAEncryptionService encryptionService;
@@ -250,6 +275,15 @@ public class NetconfTopologySetup {
             return this;
         }
 
+        Executor getRpcReplyExecutor() {
+            return rpcReplyExecutor;
+        }
+
+        public NetconfTopologySetupBuilder setRpcReplyExecutor(final Executor rpcReplyExecutor) {
+            this.rpcReplyExecutor = rpcReplyExecutor;
+            return this;
+        }
+
         ActorSystem getActorSystem() {
             return actorSystem;
         }
@@ -305,6 +339,24 @@ public class NetconfTopologySetup {
             return idleTimeout;
         }
 
+        public NetconfTopologySetupBuilder setReadChunking(final ReadChunking readChunking) {
+            this.readChunking = requireNonNull(readChunking);
+            return this;
+        }
+
+        ReadChunking getReadChunking() {
+            return readChunking;
+        }
+
+        public NetconfTopologySetupBuilder setStatusWriter(final @Nullable NetconfTopologyStatusWriter statusWriter) {
+            this.statusWriter = statusWriter;
+            return this;
+        }
+
+        NetconfTopologyStatusWriter getStatusWriter() {
+            return statusWriter;
+        }
+
         public NetconfTopologySetupBuilder setPrivateKeyPath(final String privateKeyPath) {
             this.privateKeyPath = privateKeyPath;
             return this;
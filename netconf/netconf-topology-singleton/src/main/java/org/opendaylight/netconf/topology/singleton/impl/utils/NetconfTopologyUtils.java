@@ -26,6 +26,7 @@ import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
 
 public final class NetconfTopologyUtils {
     public static final long DEFAULT_REQUEST_TIMEOUT_MILLIS = 60000L;
+    public static final long DEFAULT_REQUEST_DEADLINE_MILLIS = 0L;
     public static final int DEFAULT_KEEPALIVE_DELAY = 0;
     public static final boolean DEFAULT_RECONNECT_ON_CHANGED_SCHEMA = false;
     public static final boolean DEFAULT_IS_TCP_ONLY = false;
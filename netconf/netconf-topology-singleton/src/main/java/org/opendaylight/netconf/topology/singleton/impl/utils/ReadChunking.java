@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import akka.dispatch.OnComplete;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
+import org.opendaylight.netconf.topology.singleton.messages.ChunkedReadResponse;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.ReadChunk;
+import org.opendaylight.netconf.topology.singleton.messages.ReadChunkRequest;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+
+/**
+ * Policy and codec for transferring read results from master to slaves in bounded chunks. A read result is serialized
+ * directly into a sequence of chunks, optionally compressing it, so that neither side needs to hold it in a single
+ * buffer and no message exceeds the chunk size.
+ */
+public final class ReadChunking {
+    /**
+     * Chunking policy which sends read results as a single message. This is the default, as members which do not
+     * support chunked read results cannot act as slaves of a member sending them, for example during a rolling
+     * upgrade.
+     */
+    public static final ReadChunking DISABLED = new ReadChunking(0, false);
+
+    private final int chunkSize;
+    private final boolean compression;
+
+    /**
+     * Create a chunking policy.
+     *
+     * @param chunkSize maximum size of a chunk in bytes, 0 if read results should be sent as a single message
+     * @param compression whether chunks should be compressed
+     */
+    public ReadChunking(final int chunkSize, final boolean compression) {
+        checkArgument(chunkSize >= 0, "Invalid chunk size %s", chunkSize);
+        this.chunkSize = chunkSize;
+        this.compression = compression;
+    }
+
+    public static ReadChunking of(final @Nullable Uint32 chunkSize, final @Nullable Boolean compression) {
+        return new ReadChunking(chunkSize == null ? 0 : (int) Math.min(chunkSize.toJava(), Integer.MAX_VALUE),
+            Boolean.TRUE.equals(compression));
+    }
+
+    public boolean isEnabled() {
+        return chunkSize != 0;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    /**
+     * Serialize a read result into chunks.
+     *
+     * @param path path of the result
+     * @param node result data
+     * @return Serialized chunks
+     * @throws IOException if serialization fails
+     * @throws IllegalStateException if chunking is not enabled
+     */
+    public List<byte[]> split(final YangInstanceIdentifier path, final NormalizedNode<?, ?> node) throws IOException {
+        checkState(isEnabled(), "Chunking is not enabled");
+        final ChunkingOutputStream chunks = new ChunkingOutputStream(chunkSize);
+        try (DataOutputStream out = new DataOutputStream(compression ? new DeflaterOutputStream(chunks) : chunks)) {
+            SerializationUtils.writeNodeAndPath(out, path, node);
+        }
+        return chunks.chunks;
+    }
+
+    /**
+     * Deserialize a read result from chunks.
+     *
+     * @param chunks serialized chunks, as produced by {@link #split(YangInstanceIdentifier, NormalizedNode)}
+     * @param compressed whether chunks are compressed
+     * @return Read result
+     * @throws IOException if deserialization fails
+     */
+    public static NormalizedNodeMessage assemble(final List<byte[]> chunks, final boolean compressed)
+            throws IOException {
+        final List<InputStream> streams = new ArrayList<>(chunks.size());
+        for (byte[] chunk : chunks) {
+            streams.add(new ByteArrayInputStream(chunk));
+        }
+        final InputStream joined = new SequenceInputStream(Collections.enumeration(streams));
+
+        final NormalizedNodeMessage[] result = new NormalizedNodeMessage[1];
+        try (DataInputStream in = new DataInputStream(compressed ? new InflaterInputStream(joined) : joined)) {
+            SerializationUtils.readNodeAndPath(in, result,
+                (holder, path, node) -> holder[0] = new NormalizedNodeMessage(path, node));
+        }
+        return result[0];
+    }
+
+    /**
+     * Fetch all chunks of a read result from the stream actor, one at a time, and deserialize the result.
+     *
+     * @param response response announcing the chunked result
+     * @param askTimeout timeout for each chunk
+     * @param executionContext execution context for processing chunks
+     * @return Future read result
+     */
+    public static ListenableFuture<NormalizedNodeMessage> fetch(final ChunkedReadResponse response,
+            final Timeout askTimeout, final ExecutionContext executionContext) {
+        final SettableFuture<NormalizedNodeMessage> future = SettableFuture.create();
+        fetchChunk(response, new ArrayList<>(response.getChunkCount()), askTimeout, executionContext, future);
+        return future;
+    }
+
+    private static void fetchChunk(final ChunkedReadResponse response, final List<byte[]> chunks,
+            final Timeout askTimeout, final ExecutionContext executionContext,
+            final SettableFuture<NormalizedNodeMessage> future) {
+        // Only one chunk is requested at a time, so that the master paces the transfer to the slave
+        final Future<Object> chunkFuture = Patterns.ask(response.getStreamActor(),
+            new ReadChunkRequest(chunks.size()), askTimeout);
+        chunkFuture.onComplete(new OnComplete<>() {
+            @Override
+            public void onComplete(final Throwable failure, final Object reply) {
+                if (failure != null) {
+                    future.setException(failure);
+                    return;
+                }
+                if (!(reply instanceof ReadChunk)) {
+                    future.setException(new IllegalStateException("Unexpected chunk " + reply));
+                    return;
+                }
+
+                chunks.add(((ReadChunk) reply).getData());
+                if (chunks.size() < response.getChunkCount()) {
+                    fetchChunk(response, chunks, askTimeout, executionContext, future);
+                    return;
+                }
+                try {
+                    future.set(assemble(chunks, response.isCompressed()));
+                } catch (IOException e) {
+                    future.setException(e);
+                }
+            }
+        }, executionContext);
+    }
+
+    @Override
+    public String toString() {
+        return "ReadChunking [chunkSize=" + chunkSize + ", compression=" + compression + "]";
+    }
+
+    private static final class ChunkingOutputStream extends OutputStream {
+        final List<byte[]> chunks = new ArrayList<>();
+        private final int chunkSize;
+
+        private byte[] current;
+        private int offset;
+
+        ChunkingOutputStream(final int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public void write(final int value) {
+            ensureCapacity();
+            current[offset++] = (byte) value;
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int off, final int len) {
+            int from = off;
+            int remaining = len;
+            while (remaining > 0) {
+                ensureCapacity();
+                final int toCopy = Math.min(remaining, current.length - offset);
+                System.arraycopy(bytes, from, current, offset, toCopy);
+                offset += toCopy;
+                from += toCopy;
+                remaining -= toCopy;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (current != null && offset != current.length) {
+                final byte[] last = new byte[offset];
+                System.arraycopy(current, 0, last, 0, offset);
+                chunks.set(chunks.size() - 1, last);
+            }
+            current = null;
+        }
+
+        private void ensureCapacity() {
+            if (current == null || offset == current.length) {
+                current = new byte[chunkSize];
+                offset = 0;
+                chunks.add(current);
+            }
+        }
+    }
+}
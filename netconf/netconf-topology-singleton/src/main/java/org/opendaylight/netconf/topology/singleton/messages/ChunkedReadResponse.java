@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import static java.util.Objects.requireNonNull;
+
+import akka.actor.ActorRef;
+import java.io.Serializable;
+
+/**
+ * Master responds with this message to a read whose result does not fit into a single chunk. The serialized result is
+ * held by the stream actor, from which the slave requests the chunks one by one using {@link ReadChunkRequest}s.
+ */
+public class ChunkedReadResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final ActorRef streamActor;
+    private final int chunkCount;
+    private final boolean compressed;
+
+    public ChunkedReadResponse(final ActorRef streamActor, final int chunkCount, final boolean compressed) {
+        this.streamActor = requireNonNull(streamActor);
+        this.chunkCount = chunkCount;
+        this.compressed = compressed;
+    }
+
+    public ActorRef getStreamActor() {
+        return streamActor;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkedReadResponse [streamActor=" + streamActor + ", chunkCount=" + chunkCount + ", compressed="
+            + compressed + "]";
+    }
+}
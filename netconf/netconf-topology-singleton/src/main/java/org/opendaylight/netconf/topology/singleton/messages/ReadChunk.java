@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Serializable;
+
+/**
+ * A chunk of a serialized read result, sent in response to a {@link ReadChunkRequest}.
+ */
+public class ReadChunk implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] data;
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Chunks are not modified once created")
+    public ReadChunk(final byte[] data) {
+        this.data = requireNonNull(data);
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "Chunks are not modified once created")
+    public byte[] getData() {
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadChunk [length=" + data.length + "]";
+    }
+}
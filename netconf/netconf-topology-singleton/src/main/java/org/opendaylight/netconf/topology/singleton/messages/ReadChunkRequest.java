@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import java.io.Serializable;
+
+/**
+ * Slave sends this message to a stream actor to request a chunk of a read result. Master responds with a
+ * {@link ReadChunk}.
+ */
+public class ReadChunkRequest implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+
+    public ReadChunkRequest(final int index) {
+        this.index = index;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadChunkRequest [index=" + index + "]";
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.opendaylight.netconf.topology.singleton.impl.DeviceRebalancer.Candidate;
+import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+public class DeviceRebalancerTest {
+    private static final List<String> THREE_MEMBERS = List.of("akka://opendaylight-cluster-data@10.0.0.1:2550",
+        "akka://opendaylight-cluster-data@10.0.0.2:2550", "akka://opendaylight-cluster-data@10.0.0.3:2550");
+    private static final List<String> FOUR_MEMBERS = List.of("akka://opendaylight-cluster-data@10.0.0.1:2550",
+        "akka://opendaylight-cluster-data@10.0.0.2:2550", "akka://opendaylight-cluster-data@10.0.0.3:2550",
+        "akka://opendaylight-cluster-data@10.0.0.4:2550");
+    private static final int DEVICES = 3000;
+
+    @Test
+    public void testBalancedPlacement() {
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < DEVICES; ++i) {
+            counts.merge(DeviceRebalancer.preferredOwner("device-" + i, THREE_MEMBERS), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        // Each member gets roughly a third of devices
+        counts.values().forEach(count -> assertTrue("Unbalanced " + counts, Math.abs(count - DEVICES / 3) < 150));
+    }
+
+    @Test
+    public void testMemberJoin() {
+        final String joined = FOUR_MEMBERS.get(3);
+        int moved = 0;
+        for (int i = 0; i < DEVICES; ++i) {
+            final String before = DeviceRebalancer.preferredOwner("device-" + i, THREE_MEMBERS);
+            final String after = DeviceRebalancer.preferredOwner("device-" + i, FOUR_MEMBERS);
+            if (!before.equals(after)) {
+                // Devices only move to the new member
+                assertEquals(joined, after);
+                moved++;
+            }
+        }
+
+        assertTrue("Moved " + moved, Math.abs(moved - DEVICES / 4) < 150);
+    }
+
+    @Test
+    public void testSelect() {
+        final InstanceIdentifier<Node> light = nodeId("light");
+        final InstanceIdentifier<Node> medium = nodeId("medium");
+        final InstanceIdentifier<Node> heavy = nodeId("heavy");
+        final List<Candidate> candidates = List.of(new Candidate(light, 1), new Candidate(heavy, 8),
+            new Candidate(medium, 3));
+
+        // Busiest first, within the limit
+        assertEquals(List.of(heavy, light), DeviceRebalancer.select(candidates, 9));
+        assertEquals(List.of(heavy, medium, light), DeviceRebalancer.select(candidates, 12));
+        // At least one device is selected
+        assertEquals(List.of(heavy), DeviceRebalancer.select(candidates, 2));
+    }
+
+    @Test
+    public void testDecline() {
+        final InstanceIdentifier<Node> device = nodeId("device");
+        final String preferred = DeviceRebalancer.preferredOwner("device", THREE_MEMBERS);
+        final String other = THREE_MEMBERS.stream().filter(member -> !member.equals(preferred)).findFirst()
+            .orElseThrow();
+        final Map<InstanceIdentifier<Node>, Long> declined = new HashMap<>();
+
+        // The preferred member never declines, nor does a member without peers
+        assertFalse(DeviceRebalancer.shouldDecline(declined, 1000, device, "device", THREE_MEMBERS, preferred, 0));
+        assertFalse(DeviceRebalancer.shouldDecline(declined, 1000, device, "device", List.of(other), other, 0));
+
+        // Other members decline once, then accept the device if it comes back within the window
+        assertTrue(DeviceRebalancer.shouldDecline(declined, 1000, device, "device", THREE_MEMBERS, other, 0));
+        assertFalse(DeviceRebalancer.shouldDecline(declined, 1000, device, "device", THREE_MEMBERS, other, 500));
+
+        // ... but decline it again later
+        assertTrue(DeviceRebalancer.shouldDecline(declined, 1000, device, "device", THREE_MEMBERS, other, 2000));
+        assertTrue(DeviceRebalancer.shouldDecline(declined, 1000, device, "device", THREE_MEMBERS, other, 3500));
+    }
+
+    private static InstanceIdentifier<Node> nodeId(final String name) {
+        return NetconfTopologyUtils.createTopologyNodeListPath(new NodeKey(new NodeId(name)), "topology-netconf");
+    }
+}
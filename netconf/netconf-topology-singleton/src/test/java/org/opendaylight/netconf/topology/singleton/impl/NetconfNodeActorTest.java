@@ -645,6 +645,7 @@ public class NetconfNodeActorTest extends AbstractBaseSchemasTest {
             .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(QName.create("", "cont"))).build();
 
         final FluentFuture<Optional<Object>> result = immediateFluentFuture(Optional.of(NODE));
+        doReturn(netconfService).when(netconfService).forTransaction();
         doReturn(result).when(netconfService).get(PATH);
         doReturn(result).when(netconfService).getConfig(PATH);
         doReturn(emptyFluentFuture()).when(netconfService).commit();
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorSystem;
+import akka.testkit.TestProbe;
+import akka.testkit.javadsl.TestKit;
+import akka.util.Timeout;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadChunking;
+import org.opendaylight.netconf.topology.singleton.messages.ChunkedReadResponse;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
+
+public class ReadResultStreamActorTest {
+    private static final Timeout TIMEOUT = Timeout.apply(5, TimeUnit.SECONDS);
+    private static final QName CONT = QName.create("urn:test", "cont");
+    private static final QName LEAF_LIST = QName.create(CONT, "values");
+    private static final YangInstanceIdentifier PATH = YangInstanceIdentifier.of(CONT);
+
+    private static ActorSystem system = ActorSystem.apply();
+
+    @AfterClass
+    public static void staticTearDown() {
+        TestKit.shutdownActorSystem(system, true);
+    }
+
+    @Test
+    public void testSplitAndAssemble() throws Exception {
+        final NormalizedNode<?, ?> node = largeNode();
+        for (boolean compression : new boolean[] { false, true }) {
+            final ReadChunking chunking = new ReadChunking(128, compression);
+            final List<byte[]> chunks = chunking.split(PATH, node);
+            assertTrue(chunks.size() > 1);
+            chunks.forEach(chunk -> assertTrue(chunk.length <= 128));
+
+            final NormalizedNodeMessage message = ReadChunking.assemble(chunks, compression);
+            assertEquals(PATH, message.getIdentifier());
+            assertEquals(node, message.getNode());
+        }
+    }
+
+    @Test
+    public void testStreamedResult() throws Exception {
+        final NormalizedNode<?, ?> node = largeNode();
+        final TestProbe probe = TestProbe.apply(system);
+        ReadResultStreamActor.sendResult(system, new ReadChunking(256, true), PATH, Optional.of(node), probe.ref(),
+            probe.ref());
+
+        final ChunkedReadResponse response = probe.expectMsgClass(ChunkedReadResponse.class);
+        assertTrue(response.isCompressed());
+        assertTrue(response.getChunkCount() > 1);
+
+        final NormalizedNodeMessage message = ReadChunking.fetch(response, TIMEOUT, system.dispatcher())
+            .get(5, TimeUnit.SECONDS);
+        assertEquals(node, message.getNode());
+
+        // The stream actor stops once all chunks have been transferred
+        final TestProbe watcher = TestProbe.apply(system);
+        watcher.watch(response.getStreamActor());
+        watcher.expectTerminated(response.getStreamActor(), TIMEOUT.duration());
+    }
+
+    @Test
+    public void testSingleMessageResult() {
+        final NormalizedNode<?, ?> node = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(CONT))
+            .build();
+        final TestProbe probe = TestProbe.apply(system);
+
+        ReadResultStreamActor.sendResult(system, new ReadChunking(65536, false), PATH, Optional.of(node), probe.ref(),
+            probe.ref());
+        assertEquals(node, probe.expectMsgClass(NormalizedNodeMessage.class).getNode());
+
+        // Chunking disabled, the result is sent as a single message regardless of its size
+        final NormalizedNode<?, ?> large = largeNode();
+        ReadResultStreamActor.sendResult(system, ReadChunking.DISABLED, PATH, Optional.of(large), probe.ref(),
+            probe.ref());
+        assertEquals(large, probe.expectMsgClass(NormalizedNodeMessage.class).getNode());
+
+        ReadResultStreamActor.sendResult(system, new ReadChunking(65536, false), PATH, Optional.empty(), probe.ref(),
+            probe.ref());
+        probe.expectMsgClass(EmptyReadResponse.class);
+    }
+
+    private static NormalizedNode<?, ?> largeNode() {
+        final ListNodeBuilder<Object, LeafSetEntryNode<Object>> values =
+            Builders.leafSetBuilder().withNodeIdentifier(new NodeIdentifier(LEAF_LIST));
+        for (int i = 0; i < 500; ++i) {
+            final String value = "value-" + i;
+            values.withChild(Builders.leafSetEntryBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeWithValue<>(LEAF_LIST, value)).withValue(value)
+                .build());
+        }
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(CONT)).withChild(values.build())
+            .build();
+    }
+}
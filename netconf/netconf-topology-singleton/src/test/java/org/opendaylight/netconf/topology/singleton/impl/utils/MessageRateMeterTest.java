@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class MessageRateMeterTest {
+    private long nanos;
+    private final MessageRateMeter meter = new MessageRateMeter(() -> nanos);
+
+    @Test
+    public void testSteadyRate() {
+        assertEquals(0, meter.getRate(), 0);
+
+        // 10 messages per second for 10 minutes
+        for (int i = 0; i < 6000; ++i) {
+            nanos += TimeUnit.MILLISECONDS.toNanos(100);
+            meter.mark();
+        }
+        assertEquals(10, meter.getRate(), 0.5);
+
+        // The rate decays once messages stop
+        nanos += TimeUnit.MINUTES.toNanos(10);
+        assertTrue(meter.getRate() < 0.01);
+    }
+}
@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
 import org.opendaylight.controller.config.threadpool.ThreadPool;
@@ -55,6 +56,7 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPrefe
 import org.opendaylight.netconf.sal.connect.netconf.listener.UserPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfKeystoreAdapter;
+import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfTopologyStatusWriter;
 import org.opendaylight.netconf.sal.connect.netconf.schema.YangLibrarySchemaYangSourceProvider;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseNetconfSchemas;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
@@ -91,6 +93,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractNetconfTopology.class);
 
     protected static final long DEFAULT_REQUEST_TIMEOUT_MILLIS = 60000L;
+    protected static final long DEFAULT_REQUEST_DEADLINE_MILLIS = 0L;
     protected static final int DEFAULT_KEEPALIVE_DELAY = 0;
     protected static final boolean DEFAULT_RECONNECT_ON_CHANGED_SCHEMA = false;
     protected static final int DEFAULT_CONCURRENT_RPC_LIMIT = 0;
@@ -114,6 +117,8 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     protected final String topologyId;
     protected String privateKeyPath;
     protected String privateKeyPassphrase;
+    protected NetconfTopologyStatusWriter statusWriter;
+    protected Executor rpcReplyExecutor = MoreExecutors.directExecutor();
     protected final AAAEncryptionService encryptionService;
     protected final HashMap<NodeId, NetconfConnectorDTO> activeConnectors = new HashMap<>();
 
@@ -217,6 +222,8 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         //setup default values since default value is not supported in mdsal
         final long defaultRequestTimeoutMillis = node.getDefaultRequestTimeoutMillis() == null
                 ? DEFAULT_REQUEST_TIMEOUT_MILLIS : node.getDefaultRequestTimeoutMillis().toJava();
+        final long requestDeadlineMillis = node.getRequestDeadlineMillis() == null
+                ? DEFAULT_REQUEST_DEADLINE_MILLIS : node.getRequestDeadlineMillis().toJava();
         final long keepaliveDelay = node.getKeepaliveDelay() == null
                 ? DEFAULT_KEEPALIVE_DELAY : node.getKeepaliveDelay().toJava();
 
@@ -254,6 +261,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
                 .setReconnectOnSchemasChange(reconnectOnChangedSchema)
                 .setSchemaResourcesDTO(resources)
                 .setGlobalProcessingExecutor(this.processingExecutor)
+                .setRpcReplyExecutor(this.rpcReplyExecutor)
                 .setId(remoteDeviceId)
                 .setSalFacade(salFacade)
                 .setNode(node)
@@ -273,10 +281,9 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
             LOG.info("Concurrent rpc limit is smaller than 1, no limit will be enforced for device {}", remoteDeviceId);
         }
 
-        NetconfDeviceCommunicator netconfDeviceCommunicator =
-             userCapabilities.isPresent() ? new NetconfDeviceCommunicator(remoteDeviceId, device,
-                     userCapabilities.get(), rpcMessageLimit)
-            : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit);
+        NetconfDeviceCommunicator netconfDeviceCommunicator = new NetconfDeviceCommunicator(remoteDeviceId, device,
+            userCapabilities.orElse(null), rpcMessageLimit,
+            requestDeadlineMillis > 0 ? keepaliveExecutor.getExecutor() : null, requestDeadlineMillis);
 
         if (salFacade instanceof KeepaliveSalFacade) {
             ((KeepaliveSalFacade)salFacade).setListener(netconfDeviceCommunicator);
@@ -332,6 +339,26 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         this.privateKeyPassphrase = privateKeyPassphrase;
     }
 
+    /**
+     * Sets the executor used to transform RPC replies of mounted devices using blueprint. If not set, replies are
+     * transformed on the thread which received them.
+     */
+    public void setRpcReplyExecutor(final ThreadPool rpcReplyExecutor) {
+        this.rpcReplyExecutor = rpcReplyExecutor.getExecutor();
+    }
+
+    /**
+     * Sets the maximum delay in milliseconds of device state writes specified in configuration file using blueprint.
+     * Device state of all devices is written in combined transactions. If 0, each state change is written on its own.
+     */
+    public void setStatusWriteDelay(final long statusWriteDelay) {
+        if (statusWriter != null) {
+            statusWriter.close();
+        }
+        statusWriter = statusWriteDelay > 0
+            ? new NetconfTopologyStatusWriter(dataBroker, keepaliveExecutor.getExecutor(), statusWriteDelay) : null;
+    }
+
     public NetconfReconnectingClientConfiguration getClientConfig(final NetconfClientSessionListener listener,
                                                                   final NetconfNode node) {
 
@@ -379,6 +406,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
                 .withReconnectStrategy(sf.createReconnectStrategy())
                 .withConnectStrategyFactory(sf)
                 .withSessionListener(listener)
+                .withDeferRpcReplies(Boolean.TRUE.equals(node.getDeferRpcReplies()))
                 .build();
     }
 
@@ -17,8 +17,11 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.util.StreamReaderDelegate;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import org.eclipse.jdt.annotation.Nullable;
@@ -374,4 +377,50 @@ public final class NetconfUtil {
             final DOMSource value) throws XMLStreamException, URISyntaxException, IOException, SAXException {
         return transformDOMSourceToNormalizedNode(new EmptyMountPointContext(schemaContext), value);
     }
+
+    /**
+     * Parse the {@code data} element a reader is positioned at into a {@link NormalizedNode}. Unlike
+     * {@link #transformDOMSourceToNormalizedNode(MountPointContext, DOMSource)}, this method does not require the data
+     * to be materialized as a DOM tree.
+     *
+     * @param mountContext mount point context
+     * @param reader reader positioned at the START_ELEMENT event of the {@code data} element
+     * @return NormalizedNodeResult holding the parsed data
+     */
+    public static NormalizedNodeResult transformXMLStreamToNormalizedNode(final MountPointContext mountContext,
+            final XMLStreamReader reader) throws XMLStreamException, URISyntaxException, IOException, SAXException {
+        final NormalizedNodeResult resultHolder = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(resultHolder);
+        final XmlCodecFactory codecs = XmlCodecFactory.create(mountContext);
+        final ContainerSchemaNode dataRead = new NodeContainerProxy(NETCONF_DATA_QNAME,
+            mountContext.getEffectiveModelContext().getChildNodes());
+        try (XmlParserStream xmlParserStream = XmlParserStream.create(writer, codecs, dataRead)) {
+            xmlParserStream.parse(new CurrentElementReader(reader));
+        }
+        return resultHolder;
+    }
+
+    /**
+     * A reader which reports the element it is positioned at as the next tag, so that {@link XmlParserStream} can
+     * treat it as the root of the data it parses.
+     */
+    private static final class CurrentElementReader extends StreamReaderDelegate {
+        private boolean started;
+
+        CurrentElementReader(final XMLStreamReader reader) {
+            super(reader);
+        }
+
+        @Override
+        public int nextTag() throws XMLStreamException {
+            if (!started) {
+                started = true;
+                final int event = getEventType();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    return event;
+                }
+            }
+            return super.nextTag();
+        }
+    }
 }
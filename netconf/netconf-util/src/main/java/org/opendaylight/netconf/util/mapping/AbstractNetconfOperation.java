@@ -14,14 +14,15 @@ import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
-import org.opendaylight.netconf.mapping.api.NetconfOperation;
+import org.opendaylight.netconf.mapping.api.KeyedNetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
+import org.opendaylight.netconf.mapping.api.NetconfOperationKey;
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
-public abstract class AbstractNetconfOperation implements NetconfOperation {
+public abstract class AbstractNetconfOperation implements KeyedNetconfOperation {
     private final String netconfSessionIdForReporting;
 
     protected AbstractNetconfOperation(final String netconfSessionIdForReporting) {
@@ -39,6 +40,14 @@ public abstract class AbstractNetconfOperation implements NetconfOperation {
         return canHandle(operationNameAndNamespace.getOperationName(), operationNameAndNamespace.getNamespace());
     }
 
+    /**
+     * Determine whether this operation can handle specified operation. Subclasses overriding this method need to
+     * override {@link #operationKey()} to return {@code null}, so that routers do not bypass it.
+     *
+     * @param operationName operation name
+     * @param operationNamespace operation namespace
+     * @return handling priority
+     */
     protected HandlingPriority canHandle(final String operationName, final String operationNamespace) {
         return operationName.equals(getOperationName()) && operationNamespace.equals(getOperationNamespace())
                 ? getHandlingPriority()
@@ -78,6 +87,16 @@ public abstract class AbstractNetconfOperation implements NetconfOperation {
                 XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0);
     }
 
+    @Override
+    public NetconfOperationKey operationKey() {
+        return NetconfOperationKey.of(getOperationNamespace(), getOperationName());
+    }
+
+    @Override
+    public final HandlingPriority keyedHandlingPriority() {
+        return getHandlingPriority();
+    }
+
     protected HandlingPriority getHandlingPriority() {
         return HandlingPriority.HANDLE_WITH_DEFAULT_PRIORITY;
     }
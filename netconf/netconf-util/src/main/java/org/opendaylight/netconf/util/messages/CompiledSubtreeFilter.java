@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.util.messages;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import java.util.Map;
+import javax.xml.XMLConstants;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.netconf.api.DocumentedException;
+import org.opendaylight.netconf.api.xml.XmlElement;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.Text;
+
+/**
+ * A subtree filter, as specified by <a href="http://tools.ietf.org/html/rfc6241#section-6">rfc6241</a>, compiled
+ * into an immutable tree of matchers. Element names, namespaces, attribute matches and content match values are
+ * resolved once when the filter is compiled, so that evaluating the filter only walks the filtered data. A compiled
+ * filter can be safely shared and reused, for example by a notification subscription for all of its notifications.
+ *
+ * <p>
+ * A filter element, which is not of the subtree type, is compiled into a filter selecting everything.
+ */
+public final class CompiledSubtreeFilter {
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledSubtreeFilter.class);
+    private static final CompiledSubtreeFilter SELECT_ALL = new CompiledSubtreeFilter(null);
+
+    // Top-level selections indexed by local name, null if this filter selects everything
+    private final ImmutableListMultimap<String, Matcher> roots;
+
+    private CompiledSubtreeFilter(final ImmutableListMultimap<String, Matcher> roots) {
+        this.roots = roots;
+    }
+
+    /**
+     * Compile a filter element.
+     *
+     * @param filter filter element
+     * @return Compiled filter
+     * @throws DocumentedException if the filter cannot be compiled
+     */
+    public static @NonNull CompiledSubtreeFilter compile(final XmlElement filter) throws DocumentedException {
+        return isSubtree(filter) ? new CompiledSubtreeFilter(compileChildren(filter)) : SELECT_ALL;
+    }
+
+    /**
+     * Check whether this filter selects everything, i.e. it was not compiled from a subtree filter.
+     *
+     * @return True if this filter selects everything
+     */
+    public boolean isSelectAll() {
+        return roots == null;
+    }
+
+    static boolean isSubtree(final XmlElement filter) {
+        return "subtree".equals(filter.getAttribute("type"))
+                || "subtree".equals(filter.getAttribute("type",
+                XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0));
+    }
+
+    /**
+     * Copy selected children of source element into destination element.
+     *
+     * @param src source element
+     * @param dst destination element
+     * @throws DocumentedException if the source cannot be matched
+     */
+    void filterChildren(final Element src, final Element dst) throws DocumentedException {
+        for (Element srcChild = firstChildElement(src); srcChild != null; srcChild = nextSiblingElement(srcChild)) {
+            filterElement(srcChild, dst);
+        }
+    }
+
+    /**
+     * Copy the source element into destination element, if it is selected.
+     *
+     * @param src source element
+     * @param dst destination element
+     * @throws DocumentedException if the source cannot be matched
+     */
+    void filterElement(final Element src, final Element dst) throws DocumentedException {
+        if (roots == null) {
+            dst.appendChild(dst.getOwnerDocument().importNode(src, true));
+            return;
+        }
+        for (Matcher matcher : roots.get(localName(src))) {
+            matcher.addSubtree(src, dst);
+        }
+    }
+
+    private static ImmutableListMultimap<String, Matcher> compileChildren(final XmlElement filter)
+            throws DocumentedException {
+        final ImmutableListMultimap.Builder<String, Matcher> builder = ImmutableListMultimap.builder();
+        for (XmlElement child : filter.getChildElements()) {
+            final Matcher matcher = new Matcher(child);
+            builder.put(matcher.name, matcher);
+        }
+        return builder.build();
+    }
+
+    private static String localName(final Element element) {
+        final String localName = element.getLocalName();
+        return Strings.isNullOrEmpty(localName) ? element.getTagName() : localName;
+    }
+
+    private static Element firstChildElement(final Element parent) {
+        Node child = parent.getFirstChild();
+        while (child != null && !(child instanceof Element)) {
+            child = child.getNextSibling();
+        }
+        return (Element) child;
+    }
+
+    private static Element nextSiblingElement(final Element element) {
+        Node sibling = element.getNextSibling();
+        while (sibling != null && !(sibling instanceof Element)) {
+            sibling = sibling.getNextSibling();
+        }
+        return (Element) sibling;
+    }
+
+    private static String onlyTextContent(final Element element) {
+        // only return text content if this node has exactly one Text child node
+        final Node child = element.getFirstChild();
+        return child instanceof Text && child.getNextSibling() == null ? ((Text) child).getWholeText() : null;
+    }
+
+    enum MatchingResult {
+        NO_MATCH, TAG_MATCH, CONTENT_MATCH, CONTENT_MISMATCH
+    }
+
+    private static final class AttributeMatch {
+        final String namespace;
+        final String localName;
+        final String value;
+
+        AttributeMatch(final Attr attr) {
+            namespace = attr.getNamespaceURI();
+            localName = attr.getLocalName();
+            value = attr.getValue();
+        }
+
+        boolean matches(final Element src) {
+            return value.equals(src.getAttributeNS(namespace, localName));
+        }
+    }
+
+    /**
+     * A single filter element. Content match nodes have text content, containment and selection nodes
+     * do not, the latter also have no children.
+     */
+    private static final class Matcher {
+        final String name;
+        final String namespace;
+        final ImmutableList<AttributeMatch> attributes;
+        final ImmutableListMultimap<String, Matcher> children;
+        final int childCount;
+
+        // Content match, with its prefix resolved for matching identity values
+        final String content;
+        final String contentNamespace;
+        final String unprefixedContent;
+
+        Matcher(final XmlElement filter) throws DocumentedException {
+            name = filter.getName();
+            namespace = filter.getNamespaceOptionally().orElse(null);
+
+            final ImmutableList.Builder<AttributeMatch> attrs = ImmutableList.builder();
+            for (Attr attr : filter.getAttributes().values()) {
+                // ignore namespace declarations
+                if (!XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+                    attrs.add(new AttributeMatch(attr));
+                }
+            }
+            attributes = attrs.build();
+            children = compileChildren(filter);
+            childCount = children.size();
+
+            content = onlyTextContent(filter.getDomElement());
+            final Map.Entry<String, String> prefixToNamespace = content == null ? null : textNamespace(filter);
+            if (prefixToNamespace != null && !prefixToNamespace.getKey().equals(XmlElement.DEFAULT_NAMESPACE_PREFIX)) {
+                contentNamespace = prefixToNamespace.getValue();
+                unprefixedContent = filter.getTextContent().substring(prefixToNamespace.getKey().length() + 1);
+            } else {
+                // If this is not a prefixed content, only the content itself can match
+                contentNamespace = null;
+                unprefixedContent = null;
+            }
+        }
+
+        /**
+         * Shallow compare src node to this filter: tag name and namespace must match.
+         * If this filter has text content, it also must match. Otherwise all of its attributes must match.
+         */
+        MatchingResult matches(final Element src) throws DocumentedException {
+            final MatchingResult result;
+            if (!name.equals(localName(src)) || !equalsNamespace(src.getNamespaceURI())) {
+                result = MatchingResult.NO_MATCH;
+            } else if (content != null) {
+                result = content.equals(onlyTextContent(src)) || prefixedContentMatches(src)
+                    ? MatchingResult.CONTENT_MATCH : MatchingResult.CONTENT_MISMATCH;
+            } else {
+                // match attributes, combination of content and tag is not supported
+                result = attributesMatch(src) ? MatchingResult.TAG_MATCH : MatchingResult.NO_MATCH;
+            }
+            LOG.debug("Matching {} to {} resulted in {}", src, this, result);
+            return result;
+        }
+
+        MatchingResult addSubtree(final Element src, final Element dstParent) throws DocumentedException {
+            final MatchingResult matches = matches(src);
+            if (matches == MatchingResult.NO_MATCH || matches == MatchingResult.CONTENT_MISMATCH) {
+                return matches;
+            }
+
+            final Document document = dstParent.getOwnerDocument();
+            // copy to depth if this is leaf of filter tree
+            final boolean filterHasChildren = childCount != 0;
+            Element copied = (Element) document.importNode(src, !filterHasChildren);
+            boolean shouldAppend = !filterHasChildren;
+            if (filterHasChildren) { // this implies TAG_MATCH
+                // do the same recursively
+                int numberOfTextMatchingChildren = 0;
+                for (Element srcChild = firstChildElement(src); srcChild != null;
+                        srcChild = nextSiblingElement(srcChild)) {
+                    // filter children with a different name can never match
+                    for (Matcher child : children.get(localName(srcChild))) {
+                        final MatchingResult childMatch = child.addSubtree(srcChild, copied);
+                        if (childMatch == MatchingResult.CONTENT_MISMATCH) {
+                            return MatchingResult.NO_MATCH;
+                        }
+                        if (childMatch == MatchingResult.CONTENT_MATCH) {
+                            numberOfTextMatchingChildren++;
+                        }
+                        shouldAppend |= childMatch != MatchingResult.NO_MATCH;
+                    }
+                }
+                // if only text matching child filters are specified..
+                if (numberOfTextMatchingChildren == childCount) {
+                    // force all children to be added (to depth). This is done by copying parent node to depth.
+                    // implies shouldAppend == true
+                    copied = (Element) document.importNode(src, true);
+                }
+            }
+            if (shouldAppend) {
+                dstParent.appendChild(copied);
+            }
+            return matches;
+        }
+
+        @Override
+        public String toString() {
+            return "Matcher{name='" + name + "', namespace='" + namespace + "'}";
+        }
+
+        private boolean equalsNamespace(final String srcNamespace) {
+            return namespace == null ? Strings.isNullOrEmpty(srcNamespace) : namespace.equals(srcNamespace);
+        }
+
+        private boolean attributesMatch(final Element src) {
+            for (AttributeMatch attribute : attributes) {
+                if (!attribute.matches(src)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean prefixedContentMatches(final Element src) throws DocumentedException {
+            if (contentNamespace == null) {
+                return false;
+            }
+
+            final XmlElement srcElement = XmlElement.fromDomElement(src);
+            final Map.Entry<String, String> prefixToNamespaceOfSrc = textNamespace(srcElement);
+            // Namespace mismatch
+            if (prefixToNamespaceOfSrc == null || !contentNamespace.equals(prefixToNamespaceOfSrc.getValue())) {
+                return false;
+            }
+
+            // Finally compare unprefixed content
+            return unprefixedContent.equals(
+                srcElement.getTextContent().substring(prefixToNamespaceOfSrc.getKey().length() + 1));
+        }
+
+        private static Map.Entry<String, String> textNamespace(final XmlElement element)
+                throws DocumentedException {
+            try {
+                return element.findNamespaceOfTextContent();
+            } catch (IllegalArgumentException e) {
+                //if we can't find namespace of prefix - it's not a prefix, so it doesn't match
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.util.messages;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+import org.custommonkey.xmlunit.Diff;
+import org.custommonkey.xmlunit.XMLUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.netconf.api.xml.XmlElement;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.w3c.dom.Document;
+
+public class CompiledSubtreeFilterTest {
+    private static final String NOTIFICATION_NS = "urn:ietf:params:netconf:capability:notification:1.0";
+    private static final String TEST_NS = "urn:test";
+
+    @Before
+    public void setUp() {
+        XMLUnit.setIgnoreWhitespace(true);
+    }
+
+    @Test
+    public void testReuse() throws Exception {
+        final CompiledSubtreeFilter filter = CompiledSubtreeFilter.compile(filter(
+            "<event xmlns=\"" + TEST_NS + "\"><severity>major</severity><source/></event>"));
+        assertFalse(filter.isSelectAll());
+
+        // The same compiled filter is applied to many notifications
+        for (int i = 0; i < 3; i++) {
+            assertFiltered("<event xmlns=\"" + TEST_NS + "\"><severity>major</severity><source>s" + i
+                + "</source></event>", SubtreeFilter.applySubtreeNotificationFilter(filter, notification(
+                    "<event xmlns=\"" + TEST_NS + "\"><severity>major</severity><source>s" + i
+                        + "</source><text>ignored</text></event>")));
+            assertFalse(SubtreeFilter.applySubtreeNotificationFilter(filter, notification(
+                "<event xmlns=\"" + TEST_NS + "\"><severity>minor</severity><source>s" + i + "</source></event>"))
+                .isPresent());
+        }
+    }
+
+    @Test
+    public void testNamespaceMismatch() throws Exception {
+        final CompiledSubtreeFilter filter = CompiledSubtreeFilter.compile(filter(
+            "<event xmlns=\"" + TEST_NS + "\"><source/></event>"));
+
+        assertFalse(SubtreeFilter.applySubtreeNotificationFilter(filter, notification(
+            "<event xmlns=\"urn:other\"><source>s</source></event>")).isPresent());
+        assertFalse(SubtreeFilter.applySubtreeNotificationFilter(filter, notification(
+            "<event xmlns=\"" + TEST_NS + "\"><source xmlns=\"urn:other\">s</source></event>")).isPresent());
+    }
+
+    @Test
+    public void testPrefixedContent() throws Exception {
+        final CompiledSubtreeFilter filter = CompiledSubtreeFilter.compile(filter(
+            "<event xmlns=\"" + TEST_NS + "\"><type xmlns:a=\"urn:identities\">a:link-down</type></event>"));
+
+        final String matching = "<event xmlns=\"" + TEST_NS + "\"><type xmlns:b=\"urn:identities\">b:link-down</type>"
+            + "</event>";
+        assertFiltered(matching, SubtreeFilter.applySubtreeNotificationFilter(filter, notification(matching)));
+        assertFalse(SubtreeFilter.applySubtreeNotificationFilter(filter, notification(
+            "<event xmlns=\"" + TEST_NS + "\"><type xmlns:b=\"urn:other\">b:link-down</type></event>")).isPresent());
+    }
+
+    @Test
+    public void testSelectAll() throws Exception {
+        final XmlElement element = XmlElement.fromDomDocument(XmlUtil.readXmlToDocument(
+            "<filter xmlns=\"" + NOTIFICATION_NS + "\" type=\"unsupported\"><event xmlns=\"" + TEST_NS + "\"/>"
+                + "</filter>"));
+        final CompiledSubtreeFilter filter = CompiledSubtreeFilter.compile(element);
+        assertTrue(filter.isSelectAll());
+
+        final String content = "<other xmlns=\"" + TEST_NS + "\"><source>s</source></other>";
+        assertFiltered(content, SubtreeFilter.applySubtreeNotificationFilter(filter, notification(content)));
+    }
+
+    private static XmlElement filter(final String content) throws Exception {
+        return XmlElement.fromDomDocument(XmlUtil.readXmlToDocument(
+            "<filter xmlns=\"" + NOTIFICATION_NS + "\" type=\"subtree\">" + content + "</filter>"));
+    }
+
+    private static Document notification(final String content) throws Exception {
+        return XmlUtil.readXmlToDocument("<notification xmlns=\"" + NOTIFICATION_NS + "\">" + content
+            + "<eventTime>2021-06-01T10:00:00Z</eventTime></notification>");
+    }
+
+    private static void assertFiltered(final String expected, final Optional<Document> actual) throws Exception {
+        assertTrue(actual.isPresent());
+        final Diff diff = XMLUnit.compareXML(XmlUtil.readXmlToDocument(expected), actual.get());
+        assertTrue(diff.toString(), diff.similar());
+    }
+}
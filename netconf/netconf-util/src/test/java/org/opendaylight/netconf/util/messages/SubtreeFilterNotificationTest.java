@@ -68,6 +68,10 @@ public class SubtreeFilterNotificationTest {
         } else {
             assertEquals("empty", XmlElement.fromDomDocument(postFilterDocument).getName());
         }
+
+        // The notification is left intact
+        final Diff diff = XMLUnit.compareXML(getDocument("pre-filter.xml"), preFilterDocument);
+        assertTrue(diff.toString(), diff.identical());
     }
 
     public Document getDocument(String fileName) throws SAXException, IOException {
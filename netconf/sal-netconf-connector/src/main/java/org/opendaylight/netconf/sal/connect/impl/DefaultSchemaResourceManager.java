@@ -7,11 +7,13 @@
  */
 package org.opendaylight.netconf.sal.connect.impl;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Strings;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import javax.inject.Inject;
@@ -21,6 +23,8 @@ import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.netconf.sal.connect.api.SchemaResourceManager;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfDevice.SchemaResourcesDTO;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfStateSchemasResolverImpl;
+import org.opendaylight.netconf.sal.connect.netconf.schema.ModuleSetCache;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SharedSchemaRegistry;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParserFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactoryConfiguration;
@@ -42,6 +46,12 @@ import org.slf4j.LoggerFactory;
 @Singleton
 public final class DefaultSchemaResourceManager implements SchemaResourceManager {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultSchemaResourceManager.class);
+    private static final String MODULE_SET_SUFFIX = "-module-sets";
+
+    /**
+     * Default maximum number of module sets retained in each module set cache.
+     */
+    public static final int DEFAULT_MAX_MODULE_SETS = 1024;
 
     @GuardedBy("this")
     private final Map<String, SchemaResourcesDTO> resources = new HashMap<>();
@@ -49,6 +59,7 @@ public final class DefaultSchemaResourceManager implements SchemaResourceManager
     private final YangParserFactory parserFactory;
     private final String defaultSubdirectory;
     private final String rootDirectory;
+    private final int maxModuleSets;
 
     @Inject
     public DefaultSchemaResourceManager(final YangParserFactory parserFactory) {
@@ -57,6 +68,22 @@ public final class DefaultSchemaResourceManager implements SchemaResourceManager
 
     public DefaultSchemaResourceManager(final YangParserFactory parserFactory, final String rootDirectory,
             final String defaultSubdirectory) {
+        this(parserFactory, rootDirectory, defaultSubdirectory, DEFAULT_MAX_MODULE_SETS);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param parserFactory YANG parser factory
+     * @param rootDirectory root directory of schema caches
+     * @param defaultSubdirectory subdirectory used by devices which do not specify their own
+     * @param maxModuleSets maximum number of module sets retained in each module set cache, 0 disables the cache
+     * @throws IllegalArgumentException if {@code maxModuleSets} is negative
+     */
+    public DefaultSchemaResourceManager(final YangParserFactory parserFactory, final String rootDirectory,
+            final String defaultSubdirectory, final int maxModuleSets) {
+        checkArgument(maxModuleSets >= 0, "Invalid maximum number of module sets %s", maxModuleSets);
+        this.maxModuleSets = maxModuleSets;
         this.parserFactory = requireNonNull(parserFactory);
         this.rootDirectory = requireNonNull(rootDirectory);
         this.defaultSubdirectory = requireNonNull(defaultSubdirectory);
@@ -116,8 +143,18 @@ public final class DefaultSchemaResourceManager implements SchemaResourceManager
         repository.registerSchemaSourceListener(new FilesystemSchemaSourceCache<>(repository,
                 YangTextSchemaSource.class, new File(rootDirectory + File.separator + subdir)));
 
+        // Attach the module set cache, which persists the outcome of schema context assembly for each distinct set of
+        // sources, so that restarts do not require us to rediscover missing and unresolvable sources. It lives next to
+        // the source directory, so as not to interfere with its contents.
+        final ModuleSetCache moduleSetCache = maxModuleSets == 0 ? null
+            : new ModuleSetCache(Path.of(rootDirectory, subdir + MODULE_SET_SUFFIX), maxModuleSets);
+
+        // Devices using this repository and resolving to the same set of sources share their schema context and the
+        // artifacts derived from it through the shared schema registry.
+        final SharedSchemaRegistry sharedSchemaRegistry = new SharedSchemaRegistry();
+
         return new SchemaResourcesDTO(repository, repository,
             repository.createEffectiveModelContextFactory(SchemaContextFactoryConfiguration.getDefault()),
-            new NetconfStateSchemasResolverImpl());
+            new NetconfStateSchemasResolverImpl(), moduleSetCache, sharedSchemaRegistry);
     }
 }
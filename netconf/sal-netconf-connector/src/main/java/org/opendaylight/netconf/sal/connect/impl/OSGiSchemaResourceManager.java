@@ -16,12 +16,23 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Beta
-@Component(immediate = true)
+@Component(immediate = true, configurationPid = "org.opendaylight.netconf.schema")
+@Designate(ocd = OSGiSchemaResourceManager.Configuration.class)
 public final class OSGiSchemaResourceManager implements SchemaResourceManager {
+    @ObjectClassDefinition
+    public @interface Configuration {
+        @AttributeDefinition(name = "max-module-sets", min = "0",
+            description = "Maximum number of module sets whose resolution outcome is persisted, 0 disables it")
+        int maxModuleSets() default DefaultSchemaResourceManager.DEFAULT_MAX_MODULE_SETS;
+    }
+
     private static final Logger LOG = LoggerFactory.getLogger(OSGiSchemaResourceManager.class);
 
     @Reference
@@ -35,8 +46,8 @@ public final class OSGiSchemaResourceManager implements SchemaResourceManager {
     }
 
     @Activate
-    void activate() {
-        delegate = new DefaultSchemaResourceManager(parserFactory);
+    void activate(final Configuration config) {
+        delegate = new DefaultSchemaResourceManager(parserFactory, "cache", "schema", config.maxModuleSets());
         LOG.info("Schema Resource Manager started");
     }
 
@@ -14,6 +14,8 @@ import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTr
 import com.google.common.base.Predicates;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Sets;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -22,18 +24,24 @@ import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.netty.util.concurrent.EventExecutor;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.api.DOMRpcService;
 import org.opendaylight.netconf.api.NetconfMessage;
@@ -48,13 +56,19 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabi
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceRpc;
+import org.opendaylight.netconf.sal.connect.netconf.schema.ModuleSetCache;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SharedSchemaRegistry;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SharedSchemaRegistry.SharedSchema;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseNetconfSchemas;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseSchema;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.NetconfMessageTransformer;
+import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.NetconfMessageTransformer.SchemaIndex;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.notifications.rev120206.NetconfCapabilityChange;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.NetconfNodeAugmentedOptional;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.netconf.node.augmented.optional.fields.SchemaDependencyPruning;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.netconf.node.augmented.optional.fields.SchemaPrefetch;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapabilityBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.unavailable.capabilities.UnavailableCapability;
@@ -69,6 +83,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
 import org.opendaylight.yangtools.yang.model.repo.api.EffectiveModelContextFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
@@ -79,6 +94,7 @@ import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceProvider;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistration;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -94,6 +110,7 @@ public class NetconfDevice
 
     private static final QName RFC8528_SCHEMA_MOUNTS_QNAME = QName.create(
         SchemaMountConstants.RFC8528_MODULE, "schema-mounts").intern();
+    private static final int DEFAULT_SCHEMA_PREFETCH_WINDOW = 16;
     private static final YangInstanceIdentifier RFC8528_SCHEMA_MOUNTS = YangInstanceIdentifier.create(
         NodeIdentifier.create(RFC8528_SCHEMA_MOUNTS_QNAME));
 
@@ -109,14 +126,20 @@ public class NetconfDevice
     private final DeviceActionFactory deviceActionFactory;
     private final NetconfDeviceSchemasResolver stateSchemasResolver;
     private final NotificationHandler notificationHandler;
+    private final @Nullable ModuleSetCache moduleSetCache;
+    private final @Nullable SharedSchemaRegistry sharedSchemaRegistry;
     private final boolean reconnectOnSchemasChange;
     private final BaseNetconfSchemas baseSchemas;
     private final NetconfNode node;
     private final EventExecutor eventExecutor;
     private final NetconfNodeAugmentedOptional nodeOptional;
+    private final Executor rpcReplyExecutor;
 
     @GuardedBy("this")
     private boolean connected = false;
+    // Schema shared with other devices, present once the schema context has been assembled
+    @GuardedBy("this")
+    private SharedSchema sharedSchema;
 
     // Message transformer is constructed once the schemas are available
     private MessageTransformer<NetconfMessage> messageTransformer;
@@ -133,6 +156,15 @@ public class NetconfDevice
             final ListeningExecutorService globalProcessingExecutor, final boolean reconnectOnSchemasChange,
             final DeviceActionFactory deviceActionFactory, final NetconfNode node, final EventExecutor eventExecutor,
             final NetconfNodeAugmentedOptional nodeOptional) {
+        this(schemaResourcesDTO, baseSchemas, id, salFacade, globalProcessingExecutor, reconnectOnSchemasChange,
+            deviceActionFactory, node, eventExecutor, nodeOptional, null);
+    }
+
+    public NetconfDevice(final SchemaResourcesDTO schemaResourcesDTO, final BaseNetconfSchemas baseSchemas,
+            final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
+            final ListeningExecutorService globalProcessingExecutor, final boolean reconnectOnSchemasChange,
+            final DeviceActionFactory deviceActionFactory, final NetconfNode node, final EventExecutor eventExecutor,
+            final NetconfNodeAugmentedOptional nodeOptional, final @Nullable Executor rpcReplyExecutor) {
         this.baseSchemas = requireNonNull(baseSchemas);
         this.id = id;
         this.reconnectOnSchemasChange = reconnectOnSchemasChange;
@@ -145,8 +177,18 @@ public class NetconfDevice
         this.schemaContextFactory = schemaResourcesDTO.getSchemaContextFactory();
         this.salFacade = salFacade;
         this.stateSchemasResolver = schemaResourcesDTO.getStateSchemasResolver();
+        this.moduleSetCache = schemaResourcesDTO.getModuleSetCache();
+        this.sharedSchemaRegistry = schemaResourcesDTO.getSharedSchemaRegistry();
         this.processingExecutor = requireNonNull(globalProcessingExecutor);
-        this.notificationHandler = new NotificationHandler(salFacade, id);
+        if (rpcReplyExecutor != null) {
+            this.rpcReplyExecutor = rpcReplyExecutor;
+            // Notifications need to be delivered in the order in which they were received
+            this.notificationHandler = new NotificationHandler(salFacade, id,
+                MoreExecutors.newSequentialExecutor(rpcReplyExecutor));
+        } else {
+            this.rpcReplyExecutor = MoreExecutors.directExecutor();
+            this.notificationHandler = new NotificationHandler(salFacade, id);
+        }
     }
 
     @Override
@@ -255,8 +297,8 @@ public class NetconfDevice
         //NetconfDevice.SchemaSetup can complete after NetconfDeviceCommunicator was closed. In that case do nothing,
         //since salFacade.onDeviceDisconnected was already called.
         if (connected) {
-            this.messageTransformer = new NetconfMessageTransformer(result, true,
-                resolveBaseSchema(remoteSessionCapabilities.isNotificationsSupported()));
+            this.messageTransformer = new NetconfMessageTransformer(getSchemaIndex(result), true,
+                resolveBaseSchema(remoteSessionCapabilities.isNotificationsSupported()), false);
 
             // salFacade.onDeviceConnected has to be called before the notification handler is initialized
             this.salFacade.onDeviceConnected(result, remoteSessionCapabilities, deviceRpc,
@@ -267,6 +309,7 @@ public class NetconfDevice
             LOG.info("{}: Netconf connector initialized successfully", id);
         } else {
             LOG.warn("{}: Device communicator was closed before schema setup finished.", id);
+            releaseSharedSchema();
         }
     }
 
@@ -295,6 +338,39 @@ public class NetconfDevice
         this.connected = connected;
     }
 
+    /**
+     * Acquire the schema shared by devices which resolved to the same sources. The returned context should be used
+     * instead of the supplied one, so that the artifacts derived from it can be shared, too.
+     */
+    private synchronized EffectiveModelContext acquireSharedSchema(final Collection<SourceIdentifier> sources,
+            final EffectiveModelContext schemaContext, final NetconfDeviceCapabilities capabilities) {
+        if (sharedSchemaRegistry == null) {
+            return schemaContext;
+        }
+        releaseSharedSchema();
+        sharedSchema = sharedSchemaRegistry.acquire(sources, schemaContext);
+
+        capabilities.setSharedSchemaStatistics(sharedSchema.isReused(), sharedSchemaRegistry.getHits(),
+            sharedSchemaRegistry.getMisses(), sharedSchemaRegistry.size());
+        return sharedSchema.getEffectiveModelContext();
+    }
+
+    private synchronized void releaseSharedSchema() {
+        if (sharedSchema != null) {
+            sharedSchema.close();
+            sharedSchema = null;
+        }
+    }
+
+    private synchronized MountPointContext getEmptyMountPointContext(final EffectiveModelContext schemaContext) {
+        return sharedSchema != null && sharedSchema.getEffectiveModelContext() == schemaContext
+            ? sharedSchema.getMountPointContext() : new EmptyMountPointContext(schemaContext);
+    }
+
+    private synchronized SchemaIndex getSchemaIndex(final MountPointContext mountContext) {
+        return sharedSchema != null ? sharedSchema.getSchemaIndex(mountContext) : SchemaIndex.of(mountContext);
+    }
+
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
             justification = "https://github.com/spotbugs/spotbugs/issues/811")
     private ListenableFuture<EffectiveModelContext> assembleSchemaContext(final DeviceSources deviceSources,
@@ -312,7 +388,7 @@ public class NetconfDevice
 
     private ListenableFuture<MountPointContext> createMountPointContext(final EffectiveModelContext schemaContext,
             final BaseSchema baseSchema, final NetconfDeviceCommunicator listener) {
-        final MountPointContext emptyContext = new EmptyMountPointContext(schemaContext);
+        final MountPointContext emptyContext = getEmptyMountPointContext(schemaContext);
         if (schemaContext.findModule(SchemaMountConstants.RFC8528_MODULE).isEmpty()) {
             return Futures.immediateFuture(emptyContext);
         }
@@ -320,7 +396,7 @@ public class NetconfDevice
         // Create a temporary RPC invoker and acquire the mount point tree
         LOG.debug("{}: Acquiring available mount points", id);
         final NetconfDeviceRpc deviceRpc = new NetconfDeviceRpc(schemaContext, listener,
-            new NetconfMessageTransformer(emptyContext, false, baseSchema));
+            new NetconfMessageTransformer(getSchemaIndex(emptyContext), false, baseSchema, false));
 
         return Futures.transform(deviceRpc.invokeRpc(NetconfMessageTransformUtil.NETCONF_GET_QNAME,
             Builders.containerBuilder().withNodeIdentifier(NETCONF_GET_NODEID)
@@ -355,6 +431,7 @@ public class NetconfDevice
         sourceRegistrations.forEach(SchemaSourceRegistration::close);
         sourceRegistrations.clear();
         resetMessageTransformer();
+        releaseSharedSchema();
     }
 
     @Override
@@ -375,7 +452,7 @@ public class NetconfDevice
     protected NetconfDeviceRpc getDeviceSpecificRpc(final MountPointContext result,
             final RemoteDeviceCommunicator<NetconfMessage> listener, final BaseSchema schema) {
         return new NetconfDeviceRpc(result.getEffectiveModelContext(), listener,
-            new NetconfMessageTransformer(result, true, schema));
+            new NetconfMessageTransformer(getSchemaIndex(result), true, schema, true), rpcReplyExecutor);
     }
 
     /**
@@ -386,15 +463,36 @@ public class NetconfDevice
         private final SchemaRepository schemaRepository;
         private final EffectiveModelContextFactory schemaContextFactory;
         private final NetconfDeviceSchemasResolver stateSchemasResolver;
+        private final @Nullable ModuleSetCache moduleSetCache;
+        private final @Nullable SharedSchemaRegistry sharedSchemaRegistry;
 
         public SchemaResourcesDTO(final SchemaSourceRegistry schemaRegistry,
                                   final SchemaRepository schemaRepository,
                                   final EffectiveModelContextFactory schemaContextFactory,
                                   final NetconfDeviceSchemasResolver deviceSchemasResolver) {
+            this(schemaRegistry, schemaRepository, schemaContextFactory, deviceSchemasResolver, null);
+        }
+
+        public SchemaResourcesDTO(final SchemaSourceRegistry schemaRegistry,
+                                  final SchemaRepository schemaRepository,
+                                  final EffectiveModelContextFactory schemaContextFactory,
+                                  final NetconfDeviceSchemasResolver deviceSchemasResolver,
+                                  final @Nullable ModuleSetCache moduleSetCache) {
+            this(schemaRegistry, schemaRepository, schemaContextFactory, deviceSchemasResolver, moduleSetCache, null);
+        }
+
+        public SchemaResourcesDTO(final SchemaSourceRegistry schemaRegistry,
+                                  final SchemaRepository schemaRepository,
+                                  final EffectiveModelContextFactory schemaContextFactory,
+                                  final NetconfDeviceSchemasResolver deviceSchemasResolver,
+                                  final @Nullable ModuleSetCache moduleSetCache,
+                                  final @Nullable SharedSchemaRegistry sharedSchemaRegistry) {
             this.schemaRegistry = requireNonNull(schemaRegistry);
             this.schemaRepository = requireNonNull(schemaRepository);
             this.schemaContextFactory = requireNonNull(schemaContextFactory);
             this.stateSchemasResolver = requireNonNull(deviceSchemasResolver);
+            this.moduleSetCache = moduleSetCache;
+            this.sharedSchemaRegistry = sharedSchemaRegistry;
         }
 
         public SchemaSourceRegistry getSchemaRegistry() {
@@ -412,6 +510,14 @@ public class NetconfDevice
         public NetconfDeviceSchemasResolver getStateSchemasResolver() {
             return stateSchemasResolver;
         }
+
+        public @Nullable ModuleSetCache getModuleSetCache() {
+            return moduleSetCache;
+        }
+
+        public @Nullable SharedSchemaRegistry getSharedSchemaRegistry() {
+            return sharedSchemaRegistry;
+        }
     }
 
     /**
@@ -427,6 +533,32 @@ public class NetconfDevice
         }
     }
 
+    private boolean isDependencyPruningEnabled() {
+        if (nodeOptional == null) {
+            return false;
+        }
+        final SchemaDependencyPruning pruning = nodeOptional.getSchemaDependencyPruning();
+        return pruning != null && Boolean.TRUE.equals(pruning.getEnabled());
+    }
+
+    private int getSchemaPrefetchWindow() {
+        int window = DEFAULT_SCHEMA_PREFETCH_WINDOW;
+        if (nodeOptional != null) {
+            final SchemaPrefetch prefetch = nodeOptional.getSchemaPrefetch();
+            if (prefetch != null && prefetch.getMaxInFlight() != null) {
+                window = prefetch.getMaxInFlight().toJava();
+            }
+        }
+        // Do not exceed the concurrent RPC limit, as requests above it would be rejected
+        if (node != null && node.getConcurrentRpcLimit() != null) {
+            final int rpcLimit = node.getConcurrentRpcLimit().toJava();
+            if (rpcLimit > 0) {
+                window = Math.min(window, rpcLimit);
+            }
+        }
+        return window;
+    }
+
     /**
      * Schema builder that tries to build schema context from provided sources or biggest subset of it.
      */
@@ -437,12 +569,25 @@ public class NetconfDevice
         private final NetconfSessionPreferences remoteSessionCapabilities;
         private final NetconfDeviceCapabilities capabilities;
 
+        // Dependency information of required sources, only populated when dependency pruning is enabled and the
+        // outcome of resolution is not known from the module set cache
+        private Map<SourceIdentifier, YangModelDependencyInfo> dependencies;
+
+        // Sources found to be missing, either while prefetching or while building the schema context
+        private final Set<SourceIdentifier> missingSources = new HashSet<>();
+
         private Collection<SourceIdentifier> requiredSources;
+        // Sources advertised by the device and the cached outcome of their resolution, if any
+        private Collection<SourceIdentifier> advertisedSources;
+        private ModuleSetCache.Entry cachedOutcome;
+        // Hashes of contents of acquired sources, only populated when the module set cache is enabled
+        private final Map<SourceIdentifier, HashCode> sourceHashes = new ConcurrentHashMap<>();
 
         SchemaSetup(final DeviceSources deviceSources, final NetconfSessionPreferences remoteSessionCapabilities) {
             this.deviceSources = deviceSources;
             this.remoteSessionCapabilities = remoteSessionCapabilities;
             this.capabilities = remoteSessionCapabilities.getNetconfDeviceCapabilities();
+            this.dependencies = isDependencyPruningEnabled() ? new ConcurrentHashMap<>() : null;
 
             // If device supports notifications and does not contain necessary modules, add them automatically
             if (remoteSessionCapabilities.containsNonModuleCapability(
@@ -458,18 +603,106 @@ public class NetconfDevice
             }
 
             requiredSources = deviceSources.getRequiredSources();
-            final Collection<SourceIdentifier> missingSources = filterMissingSources(requiredSources);
-
-            capabilities.addUnresolvedCapabilities(getQNameFromSourceIdentifiers(missingSources),
-                    UnavailableCapability.FailureReason.MissingSource);
-            requiredSources.removeAll(missingSources);
         }
 
         ListenableFuture<EffectiveModelContext> startResolution() {
-            trySetupSchema();
+            advertisedSources = List.copyOf(requiredSources);
+            if (moduleSetCache != null) {
+                moduleSetCache.lookup(advertisedSources).ifPresent(this::applyCachedOutcome);
+            }
+            prefetchSources();
             return resultFuture;
         }
 
+        private void prefetchSources() {
+            // Acquire all sources up front, so that missing sources are known before we attempt to assemble them
+            Futures.addCallback(SchemaSourcePrefetcher.prefetch(id, schemaRepository, requiredSources,
+                getSchemaPrefetchWindow(), processingExecutor,
+                moduleSetCache == null && dependencies == null ? null : this::onSourceAcquired),
+                new FutureCallback<SchemaSourcePrefetcher.Result>() {
+                    @Override
+                    public void onSuccess(final SchemaSourcePrefetcher.Result result) {
+                        onSourcesPrefetched(result);
+                    }
+
+                    @Override
+                    public void onFailure(final Throwable cause) {
+                        LOG.debug("{}: Failed to acquire sources", id, cause);
+                        resultFuture.setException(cause);
+                    }
+                }, MoreExecutors.directExecutor());
+        }
+
+        private void applyCachedOutcome(final ModuleSetCache.Entry entry) {
+            LOG.debug("{}: Using cached resolution of {}, missing {}, unresolvable {}", id, entry.getResolved(),
+                entry.getMissing(), entry.getUnresolvable());
+            cachedOutcome = entry;
+            // Unresolvable sources are already known, there is no need to prune them
+            dependencies = null;
+            // Missing sources may have been missing only transiently or may have been side-loaded since, and any
+            // source may have been replaced with different content under the same name and revision. We therefore
+            // acquire all sources again and validate the outcome against them before relying on it.
+            requiredSources = new ArrayList<>(advertisedSources);
+        }
+
+        private boolean isCachedOutcomeStale(final Collection<SourceIdentifier> missing) {
+            // The cached outcome holds as long as all previously-missing sources are still missing. Otherwise the
+            // newly-acquired sources may resolve, as may sources depending on them.
+            if (!missing.containsAll(cachedOutcome.getMissing())) {
+                return true;
+            }
+            // ... and as long as the acquired sources have the same content as when the outcome was recorded
+            return !cachedOutcome.getContentDigest().equals(ModuleSetCache.contentDigest(sourceHashes));
+        }
+
+        private void storeOutcome() {
+            final Set<SourceIdentifier> resolved = Set.copyOf(requiredSources);
+            final List<SourceIdentifier> unresolvable = advertisedSources.stream()
+                .filter(source -> !resolved.contains(source) && !missingSources.contains(source))
+                .collect(Collectors.toList());
+            final Map<SourceIdentifier, HashCode> acquired = new HashMap<>(sourceHashes);
+            acquired.keySet().removeAll(missingSources);
+            final ModuleSetCache.Entry outcome = new ModuleSetCache.Entry(resolved, missingSources, unresolvable,
+                ModuleSetCache.contentDigest(acquired));
+            if (!outcome.equals(cachedOutcome)) {
+                moduleSetCache.store(advertisedSources, outcome);
+            }
+        }
+
+        private void onSourcesPrefetched(final SchemaSourcePrefetcher.Result result) {
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos());
+            LOG.debug("{}: Acquired {} sources ({} bytes) in {} ms", id, result.getSources(), result.getBytes(),
+                elapsedMillis);
+            capabilities.setSchemaDownloadStatistics(result.getSources(), result.getBytes(), elapsedMillis);
+
+            final Collection<SourceIdentifier> missing = result.getMissingSources();
+            if (cachedOutcome != null) {
+                if (isCachedOutcomeStale(missing)) {
+                    LOG.debug("{}: Sources changed since their resolution was cached, resolving {} from scratch", id,
+                        advertisedSources);
+                    cachedOutcome = null;
+                    sourceHashes.clear();
+                    dependencies = isDependencyPruningEnabled() ? new ConcurrentHashMap<>() : null;
+                    requiredSources = new ArrayList<>(advertisedSources);
+                    prefetchSources();
+                    return;
+                }
+                capabilities.addUnresolvedCapabilities(getQNameFromSourceIdentifiers(cachedOutcome.getUnresolvable()),
+                    UnavailableCapability.FailureReason.UnableToResolve);
+                requiredSources.removeAll(cachedOutcome.getUnresolvable());
+            }
+
+            capabilities.addUnresolvedCapabilities(getQNameFromSourceIdentifiers(missing),
+                    UnavailableCapability.FailureReason.MissingSource);
+            missingSources.addAll(missing);
+            requiredSources.removeAll(missing);
+
+            if (dependencies != null) {
+                requiredSources = pruneUnresolvableSources(requiredSources);
+            }
+            trySetupSchema();
+        }
+
         @Override
         public void onSuccess(final EffectiveModelContext result) {
             LOG.debug("{}: Schema context built successfully from {}", id, requiredSources);
@@ -487,7 +720,10 @@ public class NetconfDevice
                                     remoteSessionCapabilities.getNonModuleBasedCapsOrigin().get(entry)).build())
                     .collect(Collectors.toList()));
 
-            resultFuture.set(result);
+            if (moduleSetCache != null) {
+                storeOutcome();
+            }
+            resultFuture.set(acquireSharedSchema(requiredSources, result, capabilities));
         }
 
         @Override
@@ -506,6 +742,10 @@ public class NetconfDevice
                 return;
             }
 
+            if (dependencies != null) {
+                // The removed source may have had dependents, remove them as well
+                requiredSources = pruneUnresolvableSources(requiredSources);
+            }
             trySetupSchema();
         }
 
@@ -521,21 +761,50 @@ public class NetconfDevice
             }
         }
 
-        private Collection<SourceIdentifier> filterMissingSources(final Collection<SourceIdentifier> origSources) {
-            return origSources.parallelStream().filter(sourceIdentifier -> {
+        private void onSourceAcquired(final SourceIdentifier sourceIdentifier, final YangTextSchemaSource source) {
+            if (moduleSetCache != null) {
                 try {
-                    schemaRepository.getSchemaSource(sourceIdentifier, YangTextSchemaSource.class).get();
-                    return false;
-                } catch (InterruptedException | ExecutionException e) {
-                    return true;
+                    sourceHashes.put(sourceIdentifier, source.hash(Hashing.sha256()));
+                } catch (IOException e) {
+                    // The source will not match the cached content digest, hence its module set will be resolved
+                    // from scratch
+                    LOG.debug("{}: Failed to hash {}", id, sourceIdentifier, e);
                 }
-            }).collect(Collectors.toList());
+            }
+            if (dependencies != null) {
+                extractDependencies(sourceIdentifier, source);
+            }
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private void extractDependencies(final SourceIdentifier sourceIdentifier, final YangTextSchemaSource source) {
+            try {
+                dependencies.put(sourceIdentifier, YangModelDependencyInfo.forYangText(source));
+            } catch (IOException | YangSyntaxErrorException | RuntimeException e) {
+                // e.g. IllegalArgumentException for a source which is neither a module nor a submodule
+                // The source will be pruned as unresolvable
+                LOG.debug("{}: Failed to extract dependencies of {}", id, sourceIdentifier, e);
+            }
+        }
+
+        private Collection<SourceIdentifier> pruneUnresolvableSources(final Collection<SourceIdentifier> sources) {
+            final Set<SourceIdentifier> unresolvable = SchemaDependencyPruner.findUnresolvable(sources, dependencies);
+            if (unresolvable.isEmpty()) {
+                return sources;
+            }
+
+            LOG.warn("{}: Sources {} have unsatisfied dependencies, will attempt to build schema context without them",
+                id, unresolvable);
+            capabilities.addUnresolvedCapabilities(getQNameFromSourceIdentifiers(unresolvable),
+                UnavailableCapability.FailureReason.UnableToResolve);
+            return sources.stream().filter(source -> !unresolvable.contains(source)).collect(Collectors.toList());
         }
 
         private Collection<SourceIdentifier> handleMissingSchemaSourceException(
                 final MissingSchemaSourceException exception) {
             // In case source missing, try without it
             final SourceIdentifier missingSource = exception.getSourceId();
+            missingSources.add(missingSource);
             LOG.warn("{}: Unable to build schema context, missing source {}, will reattempt without it",
                 id, missingSource);
             LOG.debug("{}: Unable to build schema context, missing source {}, will reattempt without it",
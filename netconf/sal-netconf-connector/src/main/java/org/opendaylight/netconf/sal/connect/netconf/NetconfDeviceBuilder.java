@@ -11,6 +11,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.util.concurrent.ListeningExecutorService;
 import io.netty.util.concurrent.EventExecutor;
+import java.util.concurrent.Executor;
 import org.opendaylight.netconf.sal.connect.api.DeviceActionFactory;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
@@ -31,6 +32,7 @@ public class NetconfDeviceBuilder {
     private EventExecutor eventExecutor;
     private NetconfNodeAugmentedOptional nodeOptional;
     private BaseNetconfSchemas baseSchemas;
+    private Executor rpcReplyExecutor;
 
     public NetconfDeviceBuilder() {
     }
@@ -85,11 +87,24 @@ public class NetconfDeviceBuilder {
         return this;
     }
 
+    /**
+     * Set the executor used to transform RPC replies and notifications of the mounted device. Notifications are
+     * transformed one at a time, in the order in which they were received. If not set, replies and notifications are
+     * transformed on the thread which received them.
+     *
+     * @param rpcReplyExecutor executor to use
+     * @return this builder
+     */
+    public NetconfDeviceBuilder setRpcReplyExecutor(final Executor rpcReplyExecutor) {
+        this.rpcReplyExecutor = requireNonNull(rpcReplyExecutor);
+        return this;
+    }
+
     public NetconfDevice build() {
         validation();
         return new NetconfDevice(this.schemaResourcesDTO, this.baseSchemas, this.id, this.salFacade,
             this.globalProcessingExecutor, this.reconnectOnSchemasChange, this.deviceActionFactory, this.node,
-            this.eventExecutor, this.nodeOptional);
+            this.eventExecutor, this.nodeOptional, this.rpcReplyExecutor);
     }
 
     private void validation() {
@@ -11,9 +11,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.xml.XmlUtil;
@@ -25,6 +27,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Handles incoming notifications. Either caches them(until onRemoteSchemaUp is called) or passes to sal Facade.
+ * Notifications are transformed and passed on the supplied executor, in the order in which they were received, so that
+ * the thread delivering them, typically the session's event loop, is not blocked by parsing them.
  */
 final class NotificationHandler {
 
@@ -33,19 +37,44 @@ final class NotificationHandler {
     private final RemoteDeviceHandler<?> salFacade;
     private final List<NetconfMessage> queue = new LinkedList<>();
     private final RemoteDeviceId id;
+    private final Executor executor;
     private boolean passNotifications = false;
 
     private NotificationFilter filter;
     private MessageTransformer<NetconfMessage> messageTransformer;
 
     NotificationHandler(final RemoteDeviceHandler<?> salFacade, final RemoteDeviceId id) {
+        this(salFacade, id, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Create a new handler.
+     *
+     * @param salFacade facade to pass notifications to
+     * @param id device identifier
+     * @param executor executor on which notifications are transformed and passed, it has to execute tasks one at
+     *                 a time, in the order in which they were submitted
+     */
+    NotificationHandler(final RemoteDeviceHandler<?> salFacade, final RemoteDeviceId id, final Executor executor) {
         this.salFacade = requireNonNull(salFacade);
         this.id = requireNonNull(id);
+        this.executor = requireNonNull(executor);
+    }
+
+    void handleNotification(final NetconfMessage notification) {
+        executor.execute(() -> processNotification(notification));
     }
 
-    synchronized void handleNotification(final NetconfMessage notification) {
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private synchronized void processNotification(final NetconfMessage notification) {
         if (passNotifications) {
-            passNotification(transformNotification(notification));
+            try {
+                passNotification(transformNotification(notification));
+            } catch (RuntimeException e) {
+                // There is nobody to report the failure to when running on an executor, log it and carry on with
+                // subsequent notifications
+                LOG.warn("{}: Failed to process notification {}", id, notification, e);
+            }
         } else {
             queueNotification(notification);
         }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
+
+/**
+ * Utility for computing which sources cannot be assembled into a schema context because their imports or includes
+ * are not satisfied, either directly or transitively. This allows a device with a number of broken or missing modules
+ * to be pruned in a single step, rather than discovering each unresolvable source through a failed context build.
+ */
+final class SchemaDependencyPruner {
+    private SchemaDependencyPruner() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Find sources whose dependencies cannot be satisfied from the set of sources. A dependency with a revision is
+     * satisfied only by a source with that exact revision, a dependency without a revision is satisfied by any source
+     * with a matching name.
+     *
+     * @param sources Sources to examine
+     * @param dependencies Dependency information of sources, sources without dependency information are considered
+     *                     to be unresolvable
+     * @return Sources which need to be removed, in encounter order of {@code sources}
+     */
+    static Set<SourceIdentifier> findUnresolvable(final Collection<SourceIdentifier> sources,
+            final Map<SourceIdentifier, YangModelDependencyInfo> dependencies) {
+        final Set<SourceIdentifier> remaining = new HashSet<>(sources);
+        final Map<String, List<SourceIdentifier>> byName = new HashMap<>();
+        final Map<String, List<SourceIdentifier>> dependents = new HashMap<>();
+        for (SourceIdentifier source : sources) {
+            byName.computeIfAbsent(source.getName(), key -> new ArrayList<>()).add(source);
+            final YangModelDependencyInfo info = dependencies.get(source);
+            if (info != null) {
+                for (ModuleImport dependency : info.getDependencies()) {
+                    dependents.computeIfAbsent(dependency.getModuleName(), key -> new ArrayList<>()).add(source);
+                }
+            }
+        }
+
+        final Set<SourceIdentifier> removed = new HashSet<>();
+        final Queue<SourceIdentifier> work = new ArrayDeque<>(sources);
+        while (!work.isEmpty()) {
+            final SourceIdentifier source = work.remove();
+            if (remaining.contains(source) && !isSatisfied(dependencies.get(source), remaining, byName)) {
+                remaining.remove(source);
+                removed.add(source);
+                // Anything depending on this source needs to be re-examined
+                work.addAll(dependents.getOrDefault(source.getName(), List.of()));
+            }
+        }
+
+        final Set<SourceIdentifier> ret = new LinkedHashSet<>();
+        for (SourceIdentifier source : sources) {
+            if (removed.contains(source)) {
+                ret.add(source);
+            }
+        }
+        return ret;
+    }
+
+    private static boolean isSatisfied(final YangModelDependencyInfo info, final Set<SourceIdentifier> remaining,
+            final Map<String, List<SourceIdentifier>> byName) {
+        if (info == null) {
+            return false;
+        }
+        for (ModuleImport dependency : info.getDependencies()) {
+            if (!isSatisfied(dependency, remaining, byName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSatisfied(final ModuleImport dependency, final Set<SourceIdentifier> remaining,
+            final Map<String, List<SourceIdentifier>> byName) {
+        final Optional<Revision> revision = dependency.getRevision();
+        for (SourceIdentifier candidate : byName.getOrDefault(dependency.getModuleName(), List.of())) {
+            if (remaining.contains(candidate)
+                    && (revision.isEmpty() || revision.equals(candidate.getRevision()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
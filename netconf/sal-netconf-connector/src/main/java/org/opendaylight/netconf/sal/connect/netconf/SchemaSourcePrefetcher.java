@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.lock.qual.Holding;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Acquires a set of {@link YangTextSchemaSource}s from a {@link SchemaRepository} ahead of schema context assembly.
+ * Sources which are not cached are downloaded from the device via get-schema, hence the number of concurrently
+ * outstanding requests is capped so as not to overwhelm the device, while still keeping the session busy. No thread
+ * is blocked while waiting for the sources, completions are processed on the supplied executor.
+ */
+final class SchemaSourcePrefetcher {
+    /**
+     * Outcome of a prefetch operation.
+     */
+    static final class Result {
+        private final List<SourceIdentifier> missingSources;
+        private final int sources;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        Result(final List<SourceIdentifier> missingSources, final int sources, final long bytes,
+                final long elapsedNanos) {
+            this.missingSources = requireNonNull(missingSources);
+            this.sources = sources;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Return the sources which could not be acquired, in the order in which they were requested.
+         *
+         * @return Missing sources
+         */
+        List<SourceIdentifier> getMissingSources() {
+            return missingSources;
+        }
+
+        /**
+         * Return the number of sources which were successfully acquired.
+         *
+         * @return Number of sources
+         */
+        int getSources() {
+            return sources;
+        }
+
+        /**
+         * Return the total size of sources which were successfully acquired.
+         *
+         * @return Size in bytes
+         */
+        long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Return the time it took to acquire all sources.
+         *
+         * @return Elapsed time in nanoseconds
+         */
+        long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaSourcePrefetcher.class);
+
+    private final SettableFuture<Result> future = SettableFuture.create();
+    private final RemoteDeviceId id;
+    private final SchemaRepository repository;
+    private final Collection<SourceIdentifier> sources;
+    private final BiConsumer<SourceIdentifier, YangTextSchemaSource> sourceCallback;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final long startNanos = System.nanoTime();
+
+    @GuardedBy("this")
+    private final Iterator<SourceIdentifier> pending;
+    @GuardedBy("this")
+    private final Set<SourceIdentifier> missingSources = new HashSet<>();
+    @GuardedBy("this")
+    private int inFlight;
+    @GuardedBy("this")
+    private int remaining;
+    @GuardedBy("this")
+    private int fetchedSources;
+    @GuardedBy("this")
+    private long fetchedBytes;
+
+    private SchemaSourcePrefetcher(final RemoteDeviceId id, final SchemaRepository repository,
+            final Collection<SourceIdentifier> sources, final int maxInFlight, final Executor executor,
+            final @Nullable BiConsumer<SourceIdentifier, YangTextSchemaSource> sourceCallback) {
+        this.id = requireNonNull(id);
+        this.repository = requireNonNull(repository);
+        this.sources = List.copyOf(sources);
+        this.maxInFlight = maxInFlight;
+        this.executor = requireNonNull(executor);
+        this.sourceCallback = sourceCallback;
+        pending = this.sources.iterator();
+        remaining = this.sources.size();
+    }
+
+    /**
+     * Acquire specified sources.
+     *
+     * @param id Device identifier, used for logging
+     * @param repository Repository to acquire sources from
+     * @param sources Sources to acquire
+     * @param maxInFlight Maximum number of sources being acquired at any given time
+     * @param executor Executor on which completions are processed
+     * @param sourceCallback Optional callback invoked with each acquired source
+     * @return A future completing when all sources have been either acquired or found to be missing
+     * @throws IllegalArgumentException if {@code maxInFlight} is not positive
+     */
+    static ListenableFuture<Result> prefetch(final RemoteDeviceId id, final SchemaRepository repository,
+            final Collection<SourceIdentifier> sources, final int maxInFlight, final Executor executor,
+            final @Nullable BiConsumer<SourceIdentifier, YangTextSchemaSource> sourceCallback) {
+        checkArgument(maxInFlight > 0, "Invalid maximum number of in-flight requests %s", maxInFlight);
+        final SchemaSourcePrefetcher prefetcher = new SchemaSourcePrefetcher(id, repository, sources, maxInFlight,
+            executor, sourceCallback);
+        prefetcher.start();
+        return prefetcher.future;
+    }
+
+    private synchronized void start() {
+        LOG.debug("{}: Acquiring {} sources with up to {} requests in flight", id, remaining, maxInFlight);
+        if (remaining == 0) {
+            complete();
+        } else {
+            fetchNext();
+        }
+    }
+
+    @Holding("this")
+    private void fetchNext() {
+        while (inFlight < maxInFlight && pending.hasNext()) {
+            final SourceIdentifier sourceId = pending.next();
+            inFlight++;
+            Futures.addCallback(repository.getSchemaSource(sourceId, YangTextSchemaSource.class),
+                new FutureCallback<YangTextSchemaSource>() {
+                    @Override
+                    public void onSuccess(final YangTextSchemaSource result) {
+                        onSourceAcquired(sourceId, result);
+                    }
+
+                    @Override
+                    public void onFailure(final Throwable cause) {
+                        onSourceMissing(sourceId, cause);
+                    }
+                }, executor);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void onSourceAcquired(final SourceIdentifier sourceId, final YangTextSchemaSource source) {
+        long size;
+        try {
+            size = source.size();
+        } catch (IOException e) {
+            LOG.debug("{}: Failed to determine size of {}", id, sourceId, e);
+            size = 0;
+        }
+
+        try {
+            if (sourceCallback != null) {
+                sourceCallback.accept(sourceId, source);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("{}: Failed to process source {}", id, sourceId, e);
+        } finally {
+            // The source has been acquired regardless of what the callback did with it, account for it so that we
+            // always complete
+            synchronized (this) {
+                fetchedSources++;
+                fetchedBytes += size;
+                onSourceCompleted();
+            }
+        }
+    }
+
+    private synchronized void onSourceMissing(final SourceIdentifier sourceId, final Throwable cause) {
+        LOG.debug("{}: Failed to acquire source {}", id, sourceId, cause);
+        missingSources.add(sourceId);
+        onSourceCompleted();
+    }
+
+    @Holding("this")
+    private void onSourceCompleted() {
+        inFlight--;
+        if (--remaining == 0) {
+            complete();
+        } else {
+            fetchNext();
+        }
+    }
+
+    @Holding("this")
+    private void complete() {
+        final long elapsed = System.nanoTime() - startNanos;
+        LOG.debug("{}: Acquired {} sources ({} bytes) in {} ns, {} sources missing", id, fetchedSources, fetchedBytes,
+            elapsed, missingSources.size());
+        future.set(new Result(sources.stream().filter(missingSources::contains).collect(Collectors.toList()),
+            fetchedSources, fetchedBytes, elapsed));
+    }
+}
@@ -13,15 +13,25 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SchemaDownload;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SchemaDownloadBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SharedSchema;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.SharedSchemaBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.unavailable.capabilities.UnavailableCapability.FailureReason;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
 
 public final class NetconfDeviceCapabilities {
     private final Map<QName, FailureReason> unresolvedCapabilites;
     private final Set<AvailableCapability>  resolvedCapabilities;
     private final Set<AvailableCapability> nonModuleBasedCapabilities;
 
+    private volatile SchemaDownload schemaDownload;
+    private volatile SharedSchema sharedSchema;
+
     public NetconfDeviceCapabilities() {
         this.unresolvedCapabilites = new HashMap<>();
         this.resolvedCapabilities = new HashSet<>();
@@ -58,4 +68,45 @@ public final class NetconfDeviceCapabilities {
         return resolvedCapabilities;
     }
 
+    /**
+     * Record statistics of schema sources acquired while the schema context of the device was being assembled.
+     *
+     * @param sources number of sources acquired
+     * @param bytes total size of acquired sources
+     * @param millis time it took to acquire the sources, in milliseconds
+     */
+    public void setSchemaDownloadStatistics(final int sources, final long bytes, final long millis) {
+        schemaDownload = new SchemaDownloadBuilder()
+            .setSources(Uint32.valueOf(sources))
+            .setBytes(Uint64.valueOf(bytes))
+            .setTime(Uint64.valueOf(millis))
+            .build();
+    }
+
+    public @Nullable SchemaDownload getSchemaDownload() {
+        return schemaDownload;
+    }
+
+    /**
+     * Record statistics of the shared schema registry at the time the schema of the device was acquired from it.
+     *
+     * @param shared whether the schema was already held by the registry
+     * @param hits number of times a schema was found in the registry
+     * @param misses number of times a schema was not found in the registry
+     * @param schemas number of schemas held by the registry
+     */
+    public void setSharedSchemaStatistics(final boolean shared, final long hits, final long misses,
+            final int schemas) {
+        sharedSchema = new SharedSchemaBuilder()
+            .setShared(shared)
+            .setHits(Uint64.valueOf(hits))
+            .setMisses(Uint64.valueOf(misses))
+            .setSchemas(Uint32.valueOf(schemas))
+            .build();
+    }
+
+    public @Nullable SharedSchema getSharedSchema() {
+        return sharedSchema;
+    }
+
 }
@@ -11,16 +11,21 @@ import com.google.common.base.Strings;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.netty.util.concurrent.Future;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.netconf.api.DeferredRpcReplyMessage;
 import org.opendaylight.netconf.api.FailedNetconfMessage;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
 import org.opendaylight.netconf.api.NetconfMessage;
@@ -44,7 +49,25 @@ import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Communicator with a single NETCONF device. Outstanding requests are tracked in a concurrent map keyed by their
+ * {@code message-id}, hence issuing a request does not contend with processing of replies and replies are matched to
+ * their requests regardless of the order in which the device sends them. Replies without a {@code message-id} are
+ * matched to the oldest outstanding request. Replies carrying a {@code message-id} which does not match any outstanding
+ * request, for example late replies to requests which have already timed out, are logged and discarded.
+ *
+ * <p>
+ * Each request can optionally be subject to a deadline, after which it is failed and its slot is released, so that
+ * a device which never replies does not exhaust the concurrent RPC limit. Deadlines are independent of keepalive
+ * timeouts enforced by {@code KeepaliveSalFacade} and are only scheduled when explicitly configured.
+ *
+ * <p>
+ * Requests issued while the session is not writable, i.e. while previous requests are still waiting for transport,
+ * are held back and sent in order once it becomes writable again.
+ */
 public class NetconfDeviceCommunicator
         implements NetconfClientSessionListener, RemoteDeviceCommunicator<NetconfMessage> {
 
@@ -57,9 +80,14 @@ public class NetconfDeviceCommunicator
 
     private final Semaphore semaphore;
     private final int concurentRpcMsgs;
+    private final @Nullable ScheduledExecutorService deadlineExecutor;
+    private final long requestDeadlineMillis;
 
-    private final Queue<Request> requests = new ArrayDeque<>();
-    private NetconfClientSession currentSession;
+    private final ConcurrentMap<String, Request> requests = new ConcurrentHashMap<>();
+    private final AtomicLong requestSequence = new AtomicLong();
+    // Requests held back while the session is not writable, in the order they were issued
+    private final Queue<Request> heldRequests = new ConcurrentLinkedQueue<>();
+    private volatile NetconfClientSession currentSession;
 
     private final SettableFuture<NetconfDeviceCapabilities> firstConnectionFuture;
     private Future<?> initFuture;
@@ -81,21 +109,43 @@ public class NetconfDeviceCommunicator
             final RemoteDeviceId id,
             final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
             final UserPreferences netconfSessionPreferences, final int rpcMessageLimit) {
-        this(id, remoteDevice, Optional.of(netconfSessionPreferences), rpcMessageLimit);
+        this(id, remoteDevice, Optional.of(netconfSessionPreferences), rpcMessageLimit, null, 0);
     }
 
     public NetconfDeviceCommunicator(
             final RemoteDeviceId id,
             final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
             final int rpcMessageLimit) {
-        this(id, remoteDevice, Optional.empty(), rpcMessageLimit);
+        this(id, remoteDevice, Optional.empty(), rpcMessageLimit, null, 0);
+    }
+
+    /**
+     * Create a communicator which fails requests not answered by the device within specified time.
+     *
+     * @param id remote device id
+     * @param remoteDevice remote device
+     * @param netconfSessionPreferences user-specified capabilities, may be null
+     * @param rpcMessageLimit maximum number of outstanding requests, non-positive values mean no limit
+     * @param deadlineExecutor executor used to schedule request deadlines, may be null
+     * @param requestDeadlineMillis request deadline in milliseconds, non-positive values mean no deadline
+     */
+    public NetconfDeviceCommunicator(
+            final RemoteDeviceId id,
+            final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
+            final @Nullable UserPreferences netconfSessionPreferences, final int rpcMessageLimit,
+            final @Nullable ScheduledExecutorService deadlineExecutor, final long requestDeadlineMillis) {
+        this(id, remoteDevice, Optional.ofNullable(netconfSessionPreferences), rpcMessageLimit,
+            deadlineExecutor, requestDeadlineMillis);
     }
 
     private NetconfDeviceCommunicator(
             final RemoteDeviceId id,
             final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
-            final Optional<UserPreferences> overrideNetconfCapabilities, final int rpcMessageLimit) {
+            final Optional<UserPreferences> overrideNetconfCapabilities, final int rpcMessageLimit,
+            final @Nullable ScheduledExecutorService deadlineExecutor, final long requestDeadlineMillis) {
         this.concurentRpcMsgs = rpcMessageLimit;
+        this.deadlineExecutor = deadlineExecutor;
+        this.requestDeadlineMillis = requestDeadlineMillis;
         this.id = id;
         this.remoteDevice = remoteDevice;
         this.overrideNetconfCapabilities = overrideNetconfCapabilities;
@@ -179,42 +229,26 @@ public class NetconfDeviceCommunicator
             LOG.warn("It's curious that no one to close the session but tearDown is called!");
         }
         LOG.debug("Tearing down {}", reason);
-        final List<UncancellableFuture<RpcResult<NetconfMessage>>> futuresToCancel = new ArrayList<>();
         sessionLock.lock();
         try {
             if (currentSession != null) {
                 currentSession = null;
-                /*
-                 * Walk all requests, check if they have been executing
-                 * or cancelled and remove them from the queue.
-                 */
-                final Iterator<Request> it = requests.iterator();
-                while (it.hasNext()) {
-                    final Request r = it.next();
-                    if (r.future.isUncancellable()) {
-                        futuresToCancel.add(r.future);
-                        it.remove();
-                    } else if (r.future.isCancelled()) {
-                        // This just does some house-cleaning
-                        it.remove();
-                    }
-                }
-
                 remoteDevice.onRemoteSessionDown();
             }
         } finally {
             sessionLock.unlock();
         }
 
-        // Notify pending request futures outside of the sessionLock to avoid unnecessarily
-        // blocking the caller.
-        for (final UncancellableFuture<RpcResult<NetconfMessage>> future : futuresToCancel) {
-            if (Strings.isNullOrEmpty(reason)) {
-                future.set(createSessionDownRpcResult());
-            } else {
-                future.set(createErrorRpcResult(RpcError.ErrorType.TRANSPORT, reason));
-            }
+        /*
+         * Fail all outstanding requests. This is done outside of the sessionLock to avoid unnecessarily blocking
+         * the caller. Any request racing with us observes currentSession being null and fails itself.
+         */
+        final RpcResult<NetconfMessage> result = Strings.isNullOrEmpty(reason) ? createSessionDownRpcResult()
+            : createErrorRpcResult(RpcError.ErrorType.TRANSPORT, reason);
+        for (final Request request : requests.values()) {
+            completeRequest(request, result);
         }
+        heldRequests.clear();
 
         closing = 0;
     }
@@ -260,8 +294,7 @@ public class NetconfDeviceCommunicator
     @Override
     public void onMessage(final NetconfClientSession session, final NetconfMessage message) {
         /*
-         * Dispatch between notifications and messages. Messages need to be processed
-         * with lock held, notifications do not.
+         * Dispatch between notifications and messages.
          */
         if (isNotification(message)) {
             processNotification(message);
@@ -271,111 +304,197 @@ public class NetconfDeviceCommunicator
     }
 
     private void processMessage(final NetconfMessage message) {
-        Request request = null;
-        sessionLock.lock();
-
-        try {
-            request = requests.peek();
-            if (request != null && request.future.isUncancellable()) {
-                request = requests.poll();
-                // we have just removed one request from the queue
-                // we can also release one permit
-                if (semaphore != null) {
-                    semaphore.release();
-                }
+        final String messageId = messageId(message);
+        final Request request = matchRequest(messageId);
+        if (request == null) {
+            if (messageId != null) {
+                LOG.warn("{}: Discarding reply with unknown message-id {}, {} requests outstanding: {}", id,
+                    messageId, requests.size(), msgToS(message));
             } else {
-                request = null;
-                LOG.warn("{}: Ignoring unsolicited message {}", id,
-                        msgToS(message));
+                LOG.warn("{}: Discarding unsolicited message without message-id, no request is outstanding: {}", id,
+                    msgToS(message));
             }
-        } finally {
-            sessionLock.unlock();
+            return;
         }
 
-        if (request != null) {
+        if (FailedNetconfMessage.class.isInstance(message)) {
+            completeRequest(request, NetconfMessageTransformUtil.toRpcResult((FailedNetconfMessage) message));
+            return;
+        }
 
-            if (FailedNetconfMessage.class.isInstance(message)) {
-                request.future.set(NetconfMessageTransformUtil.toRpcResult((FailedNetconfMessage) message));
-                return;
-            }
+        LOG.debug("{}: Message received {}", id, message);
 
-            LOG.debug("{}: Message received {}", id, message);
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{}: Matched request: {} to response: {}", id, msgToS(request.request), msgToS(message));
+        }
 
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("{}: Matched request: {} to response: {}", id, msgToS(request.request), msgToS(message));
+        // Deferred replies have been checked not to contain rpc-error by the decoder, hence we can skip parsing them
+        try {
+            if (!(message instanceof DeferredRpcReplyMessage)) {
+                NetconfMessageTransformUtil.checkSuccessReply(message);
             }
+        } catch (final NetconfDocumentedException e) {
+            LOG.warn(
+                    "{}: Error reply from remote device, request: {}, response: {}",
+                    id, msgToS(request.request), msgToS(message), e);
+
+            completeRequest(request, RpcResultBuilder.<NetconfMessage>failed()
+                    .withRpcError(NetconfMessageTransformUtil.toRpcError(e)).build());
+            return;
+        }
 
-            try {
-                NetconfMessageTransformUtil.checkValidReply(request.request, message);
-            } catch (final NetconfDocumentedException e) {
-                LOG.warn(
-                        "{}: Invalid request-reply match,"
-                                + "reply message contains different message-id, request: {}, response: {}",
-                        id, msgToS(request.request), msgToS(message), e);
-
-                request.future.set(RpcResultBuilder.<NetconfMessage>failed()
-                        .withRpcError(NetconfMessageTransformUtil.toRpcError(e)).build());
+        completeRequest(request, RpcResultBuilder.success(message).build());
+    }
 
-                //recursively processing message to eventually find matching request
-                processMessage(message);
+    /**
+     * Find the outstanding request a reply corresponds to. Replies carrying a {@code message-id} are looked up
+     * directly, replies without one (including messages which failed to parse) are attributed to the oldest request.
+     *
+     * @param messageId Reply message-id, null if the reply does not have one
+     * @return Matching request, or null if there is none
+     */
+    private @Nullable Request matchRequest(final @Nullable String messageId) {
+        if (messageId != null) {
+            return requests.get(messageId);
+        }
 
-                return;
+        Request oldest = null;
+        for (final Request request : requests.values()) {
+            if (oldest == null || request.sequence < oldest.sequence) {
+                oldest = request;
             }
+        }
+        return oldest;
+    }
 
-            try {
-                NetconfMessageTransformUtil.checkSuccessReply(message);
-            } catch (final NetconfDocumentedException e) {
-                LOG.warn(
-                        "{}: Error reply from remote device, request: {}, response: {}",
-                        id, msgToS(request.request), msgToS(message), e);
-
-                request.future.set(RpcResultBuilder.<NetconfMessage>failed()
-                        .withRpcError(NetconfMessageTransformUtil.toRpcError(e)).build());
-                return;
-            }
+    /**
+     * Complete a request with specified result, unless it has already been completed. Whoever removes the request
+     * from the map wins the race and is responsible for releasing its concurrency permit.
+     *
+     * @param request Request to complete
+     * @param result Result to report
+     */
+    private void completeRequest(final Request request, final RpcResult<NetconfMessage> result) {
+        if (!requests.remove(request.key, request)) {
+            return;
+        }
+        if (semaphore != null) {
+            semaphore.release();
+        }
+        final ScheduledFuture<?> deadline = request.deadline;
+        if (deadline != null) {
+            deadline.cancel(false);
+        }
+        request.future.set(result);
+    }
 
-            request.future.set(RpcResultBuilder.success(message).build());
+    private static @Nullable String messageId(final NetconfMessage message) {
+        if (message instanceof DeferredRpcReplyMessage) {
+            return ((DeferredRpcReplyMessage) message).getMessageId();
         }
+        final Document document = message.getDocument();
+        if (document == null) {
+            return null;
+        }
+        final Element element = document.getDocumentElement();
+        if (element == null || !element.hasAttribute(NetconfMessageTransformUtil.MESSAGE_ID_ATTR)) {
+            return null;
+        }
+        return element.getAttribute(NetconfMessageTransformUtil.MESSAGE_ID_ATTR);
     }
 
     private static String msgToS(final NetconfMessage msg) {
-        return XmlUtil.toString(msg.getDocument());
+        return msg instanceof DeferredRpcReplyMessage ? msg.toString() : XmlUtil.toString(msg.getDocument());
     }
 
     @Override
     public ListenableFuture<RpcResult<NetconfMessage>> sendRequest(final NetconfMessage message, final QName rpc) {
-        sessionLock.lock();
-        try {
-            if (semaphore != null && !semaphore.tryAcquire()) {
-                LOG.warn("Limit of concurrent rpc messages was reached (limit: {}). Rpc reply message is needed. "
-                    + "Discarding request of Netconf device with id: {}", concurentRpcMsgs, id.getName());
-                return FluentFutures.immediateFailedFluentFuture(new NetconfDocumentedException(
-                        "Limit of rpc messages was reached (Limit :" + concurentRpcMsgs
-                        + ") waiting for emptying the queue of Netconf device with id: " + id.getName()));
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{}: Sending message {}", id, msgToS(message));
+        }
+
+        final NetconfClientSession session = currentSession;
+        if (session == null) {
+            LOG.warn("{}: Session is disconnected, failing RPC request {}", id, message);
+            return FluentFutures.immediateFluentFuture(createSessionDownRpcResult());
+        }
+
+        if (semaphore != null && !semaphore.tryAcquire()) {
+            LOG.warn("Limit of concurrent rpc messages was reached (limit: {}). Rpc reply message is needed. "
+                + "Discarding request of Netconf device with id: {}", concurentRpcMsgs, id.getName());
+            return FluentFutures.immediateFailedFluentFuture(new NetconfDocumentedException(
+                    "Limit of rpc messages was reached (Limit :" + concurentRpcMsgs
+                    + ") waiting for emptying the queue of Netconf device with id: " + id.getName()));
+        }
+
+        final long sequence = requestSequence.getAndIncrement();
+        final String messageId = messageId(message);
+        // Requests without a message-id are keyed by a value which cannot appear in XML
+        final Request req = new Request(new UncancellableFuture<>(true), message,
+            messageId != null ? messageId : "\u0000" + sequence, sequence);
+        if (requests.putIfAbsent(req.key, req) != null) {
+            if (semaphore != null) {
+                semaphore.release();
             }
+            LOG.warn("{}: Request with message-id {} is already outstanding, failing RPC request {}", id, messageId,
+                message);
+            return FluentFutures.immediateFluentFuture(createErrorRpcResult(RpcError.ErrorType.PROTOCOL,
+                "Request with message-id " + messageId + " is already outstanding"));
+        }
 
-            return sendRequestWithLock(message, rpc);
-        } finally {
-            sessionLock.unlock();
+        // Recheck session: if tearDown() has raced with us it may have missed our request
+        if (currentSession != session) {
+            completeRequest(req, createSessionDownRpcResult());
+            return req.future;
         }
-    }
 
-    private ListenableFuture<RpcResult<NetconfMessage>> sendRequestWithLock(final NetconfMessage message,
-                                                                            final QName rpc) {
-        if (LOG.isTraceEnabled()) {
-            LOG.trace("{}: Sending message {}", id, msgToS(message));
+        if (deadlineExecutor != null && requestDeadlineMillis > 0) {
+            req.deadline = deadlineExecutor.schedule(() -> {
+                LOG.debug("{}: Request {} timed out", id, req.key);
+                completeRequest(req, createErrorRpcResult(RpcError.ErrorType.TRANSPORT,
+                    "Request timed out after " + requestDeadlineMillis + "ms"));
+            }, requestDeadlineMillis, TimeUnit.MILLISECONDS);
         }
 
-        if (currentSession == null) {
-            LOG.warn("{}: Session is disconnected, failing RPC request {}",
-                    id, message);
-            return FluentFutures.immediateFluentFuture(createSessionDownRpcResult());
+        if (!heldRequests.isEmpty() || !session.isWritable()) {
+            LOG.debug("{}: Session is not writable, holding request {}", id, req.key);
+            heldRequests.add(req);
+            // Writability may have been restored before we have queued the request
+            if (session.isWritable()) {
+                sendHeldRequests(session);
+            }
+        } else {
+            writeRequest(session, req);
         }
+        return req.future;
+    }
 
-        final Request req = new Request(new UncancellableFuture<>(true), message);
-        requests.add(req);
+    @Override
+    public void onSessionWritabilityChanged(final NetconfClientSession session, final boolean writable) {
+        LOG.debug("{}: Session writability changed to {}", id, writable);
+        if (writable && session == currentSession) {
+            sendHeldRequests(session);
+        }
+    }
+
+    private void sendHeldRequests(final NetconfClientSession session) {
+        // Serialize senders, so that held requests are sent in order
+        synchronized (heldRequests) {
+            while (session.isWritable()) {
+                final Request req = heldRequests.poll();
+                if (req == null) {
+                    break;
+                }
+                // Skip requests which have been completed while held, e.g. by their deadline
+                if (requests.get(req.key) == req) {
+                    writeRequest(session, req);
+                }
+            }
+        }
+    }
 
-        currentSession.sendMessage(req.request).addListener(future -> {
+    private void writeRequest(final NetconfClientSession session, final Request req) {
+        session.sendMessage(req.request).addListener(future -> {
             if (!future.isSuccess()) {
                 // We expect that a session down will occur at this point
                 LOG.debug("{}: Failed to send request {}", id,
@@ -383,18 +502,15 @@ public class NetconfDeviceCommunicator
                         future.cause());
 
                 if (future.cause() != null) {
-                    req.future.set(createErrorRpcResult(RpcError.ErrorType.TRANSPORT,
+                    completeRequest(req, createErrorRpcResult(RpcError.ErrorType.TRANSPORT,
                             future.cause().getLocalizedMessage()));
                 } else {
-                    req.future.set(createSessionDownRpcResult()); // assume session is down
+                    completeRequest(req, createSessionDownRpcResult()); // assume session is down
                 }
-                req.future.setException(future.cause());
             } else {
                 LOG.trace("Finished sending request {}", req.request);
             }
         });
-
-        return req.future;
     }
 
     private void processNotification(final NetconfMessage notification) {
@@ -406,7 +522,7 @@ public class NetconfDeviceCommunicator
     }
 
     private static boolean isNotification(final NetconfMessage message) {
-        if (message.getDocument() == null) {
+        if (message instanceof DeferredRpcReplyMessage || message.getDocument() == null) {
             // We have no message, which mean we have a FailedNetconfMessage
             return false;
         }
@@ -417,11 +533,17 @@ public class NetconfDeviceCommunicator
     private static final class Request {
         final UncancellableFuture<RpcResult<NetconfMessage>> future;
         final NetconfMessage request;
+        final String key;
+        final long sequence;
+
+        volatile ScheduledFuture<?> deadline;
 
         private Request(final UncancellableFuture<RpcResult<NetconfMessage>> future,
-                        final NetconfMessage request) {
+                        final NetconfMessage request, final String key, final long sequence) {
             this.future = future;
             this.request = request;
+            this.key = key;
+            this.sequence = sequence;
         }
     }
 
@@ -16,9 +16,12 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.lock.qual.Holding;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
@@ -28,13 +31,16 @@ import org.opendaylight.mdsal.dom.spi.DefaultDOMRpcResult;
 import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.netconf.dom.api.NetconfDataTreeService;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
+import org.opendaylight.netconf.sal.connect.netconf.util.EditConfigModification;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfBaseOps;
+import org.opendaylight.netconf.sal.connect.netconf.util.NetconfReadCache;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfRpcFutureCallback;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
 import org.opendaylight.yangtools.yang.common.RpcError;
 import org.opendaylight.yangtools.yang.common.RpcError.ErrorSeverity;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
@@ -153,6 +159,9 @@ public abstract class AbstractNetconfDataTreeService implements NetconfDataTreeS
 
     // FIXME: what do we do with locks acquired before this got flipped?
     private volatile boolean isLockAllowed = true;
+    // Maximum number of modifications coalesced into a single edit-config by transactions, 0 if modifications are not
+    // coalesced
+    private volatile int maxBatchedEdits = 0;
 
     AbstractNetconfDataTreeService(final RemoteDeviceId id, final NetconfBaseOps netconfOps,
             final boolean rollbackSupport) {
@@ -164,7 +173,13 @@ public abstract class AbstractNetconfDataTreeService implements NetconfDataTreeS
     public static @NonNull AbstractNetconfDataTreeService of(final RemoteDeviceId id,
             final MountPointContext mountContext, final DOMRpcService rpc,
             final NetconfSessionPreferences netconfSessionPreferences) {
-        final NetconfBaseOps netconfOps = new NetconfBaseOps(rpc, mountContext);
+        return of(id, mountContext, rpc, netconfSessionPreferences, null);
+    }
+
+    public static @NonNull AbstractNetconfDataTreeService of(final RemoteDeviceId id,
+            final MountPointContext mountContext, final DOMRpcService rpc,
+            final NetconfSessionPreferences netconfSessionPreferences, final @Nullable NetconfReadCache readCache) {
+        final NetconfBaseOps netconfOps = new NetconfBaseOps(rpc, mountContext, readCache);
         final boolean rollbackSupport = netconfSessionPreferences.isRollbackSupported();
 
         // Examine preferences and decide which implementation to use
@@ -284,9 +299,7 @@ public abstract class AbstractNetconfDataTreeService implements NetconfDataTreeS
             final YangInstanceIdentifier path, final NormalizedNode<?, ?> data,
             final Optional<ModifyAction> defaultOperation) {
         checkEditable(store);
-        return editConfig(
-            netconfOps.createEditConfigStrcture(Optional.ofNullable(data), Optional.of(ModifyAction.MERGE), path),
-            defaultOperation.orElse(null));
+        return editConfig(path, Optional.ofNullable(data), ModifyAction.MERGE, defaultOperation.orElse(null));
     }
 
     @Override
@@ -294,9 +307,7 @@ public abstract class AbstractNetconfDataTreeService implements NetconfDataTreeS
             final YangInstanceIdentifier path, final NormalizedNode<?, ?> data,
             final Optional<ModifyAction> defaultOperation) {
         checkEditable(store);
-        return editConfig(
-            netconfOps.createEditConfigStrcture(Optional.ofNullable(data), Optional.of(ModifyAction.REPLACE), path),
-            defaultOperation.orElse(null));
+        return editConfig(path, Optional.ofNullable(data), ModifyAction.REPLACE, defaultOperation.orElse(null));
     }
 
     @Override
@@ -304,23 +315,19 @@ public abstract class AbstractNetconfDataTreeService implements NetconfDataTreeS
             final YangInstanceIdentifier path, final NormalizedNode<?, ?> data,
             final Optional<ModifyAction> defaultOperation) {
         checkEditable(store);
-        return editConfig(
-            netconfOps.createEditConfigStrcture(Optional.ofNullable(data), Optional.of(ModifyAction.CREATE), path),
-            defaultOperation.orElse(null));
+        return editConfig(path, Optional.ofNullable(data), ModifyAction.CREATE, defaultOperation.orElse(null));
     }
 
     @Override
     public synchronized ListenableFuture<? extends DOMRpcResult> delete(final LogicalDatastoreType store,
             final YangInstanceIdentifier path) {
-        return editConfig(netconfOps.createEditConfigStrcture(Optional.empty(), Optional.of(ModifyAction.DELETE), path),
-            null);
+        return editConfig(path, Optional.empty(), ModifyAction.DELETE, null);
     }
 
     @Override
     public synchronized ListenableFuture<? extends DOMRpcResult> remove(final LogicalDatastoreType store,
             final YangInstanceIdentifier path) {
-        return editConfig(netconfOps.createEditConfigStrcture(Optional.empty(), Optional.of(ModifyAction.REMOVE), path),
-            null);
+        return editConfig(path, Optional.empty(), ModifyAction.REMOVE, null);
     }
 
     @Override
@@ -328,6 +335,22 @@ public abstract class AbstractNetconfDataTreeService implements NetconfDataTreeS
         return netconfOps.commit(new NetconfRpcFutureCallback("Commit", id));
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If edit batching is enabled, the returned transaction records modifications and reports their success right
+     * away, without contacting the device. They are sent to the device as part of {@link #commit()} of
+     * the transaction, hence any errors reported by the device for them surface only as the result of the commit.
+     * Modifications made directly through this service, which is shared by all users of the mount point, are always
+     * sent to the device as they are made.
+     */
+    @Override
+    public NetconfDataTreeService forTransaction() {
+        final int maxEdits = maxBatchedEdits;
+        return maxEdits == 0 ? this : new BatchingTransaction(maxEdits);
+    }
+
     @Override
     public final Object getDeviceId() {
         return id;
@@ -337,6 +360,26 @@ public abstract class AbstractNetconfDataTreeService implements NetconfDataTreeS
         this.isLockAllowed = isLockAllowedOrig;
     }
 
+    /**
+     * Set the maximum number of modifications coalesced into a single edit-config request by transactions returned
+     * from {@link #forTransaction()}. When non-zero, modifications are recorded and their returned futures complete
+     * immediately. They are sent to the device as part of the transaction's commit, which reports any errors they
+     * encounter. Transactions already in progress are not affected.
+     *
+     * @param maxBatchedEdits maximum number of modifications, 0 if modifications should be sent to the device as they
+     *                        are made
+     */
+    final void setMaxBatchedEdits(final int maxBatchedEdits) {
+        checkArgument(maxBatchedEdits >= 0, "Invalid maximum number of batched edits %s", maxBatchedEdits);
+        this.maxBatchedEdits = maxBatchedEdits;
+    }
+
+    private ListenableFuture<? extends DOMRpcResult> editConfig(final YangInstanceIdentifier path,
+            final Optional<NormalizedNode<?, ?>> data, final ModifyAction operation,
+            final @Nullable ModifyAction defaultOperation) {
+        return editConfig(netconfOps.createEditConfigStrcture(data, Optional.of(operation), path), defaultOperation);
+    }
+
     abstract ListenableFuture<? extends DOMRpcResult> editConfig(DataContainerChild<?, ?> editStructure,
         @Nullable ModifyAction defaultOperation);
 
@@ -366,4 +409,163 @@ public abstract class AbstractNetconfDataTreeService implements NetconfDataTreeS
     private static boolean allWarnings(final Collection<? extends @NonNull RpcError> errors) {
         return errors.stream().allMatch(error -> error.getSeverity() == ErrorSeverity.WARNING);
     }
+
+    /**
+     * Transaction of a single user of this service, which records its modifications and sends them to the device on
+     * commit, coalesced into as few edit-config requests as possible. Modifications recorded by concurrent
+     * transactions are kept apart. Everything else is delegated to the service.
+     */
+    private final class BatchingTransaction implements NetconfDataTreeService {
+        private final int maxEdits;
+
+        // Modifications waiting to be sent on commit, all sharing the same default operation
+        @GuardedBy("this")
+        private final List<EditConfigModification> batchedEdits = new ArrayList<>();
+        @GuardedBy("this")
+        private @Nullable ModifyAction batchedDefaultOperation;
+        // Results of batched edit-config requests already sent, to be checked before commit
+        @GuardedBy("this")
+        private final List<ListenableFuture<? extends DOMRpcResult>> batchedResults = new ArrayList<>();
+
+        BatchingTransaction(final int maxEdits) {
+            this.maxEdits = maxEdits;
+        }
+
+        @Override
+        public ListenableFuture<? extends DOMRpcResult> lock() {
+            return AbstractNetconfDataTreeService.this.lock();
+        }
+
+        @Override
+        public ListenableFuture<? extends DOMRpcResult> unlock() {
+            return AbstractNetconfDataTreeService.this.unlock();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * Any modifications recorded by this transaction, which were not sent to the device yet, are dropped.
+         */
+        @Override
+        public synchronized ListenableFuture<? extends DOMRpcResult> discardChanges() {
+            batchedEdits.clear();
+            batchedResults.clear();
+            return AbstractNetconfDataTreeService.this.discardChanges();
+        }
+
+        @Override
+        public ListenableFuture<Optional<NormalizedNode<?, ?>>> get(final YangInstanceIdentifier path) {
+            return AbstractNetconfDataTreeService.this.get(path);
+        }
+
+        @Override
+        public ListenableFuture<Optional<NormalizedNode<?, ?>>> get(final YangInstanceIdentifier path,
+                final List<YangInstanceIdentifier> fields) {
+            return AbstractNetconfDataTreeService.this.get(path, fields);
+        }
+
+        @Override
+        public ListenableFuture<Optional<NormalizedNode<?, ?>>> getConfig(final YangInstanceIdentifier path) {
+            return AbstractNetconfDataTreeService.this.getConfig(path);
+        }
+
+        @Override
+        public ListenableFuture<Optional<NormalizedNode<?, ?>>> getConfig(final YangInstanceIdentifier path,
+                final List<YangInstanceIdentifier> fields) {
+            return AbstractNetconfDataTreeService.this.getConfig(path, fields);
+        }
+
+        @Override
+        public synchronized ListenableFuture<? extends DOMRpcResult> merge(final LogicalDatastoreType store,
+                final YangInstanceIdentifier path, final NormalizedNode<?, ?> data,
+                final Optional<ModifyAction> defaultOperation) {
+            checkEditable(store);
+            return record(path, Optional.ofNullable(data), ModifyAction.MERGE, defaultOperation.orElse(null));
+        }
+
+        @Override
+        public synchronized ListenableFuture<? extends DOMRpcResult> replace(final LogicalDatastoreType store,
+                final YangInstanceIdentifier path, final NormalizedNode<?, ?> data,
+                final Optional<ModifyAction> defaultOperation) {
+            checkEditable(store);
+            return record(path, Optional.ofNullable(data), ModifyAction.REPLACE, defaultOperation.orElse(null));
+        }
+
+        @Override
+        public synchronized ListenableFuture<? extends DOMRpcResult> create(final LogicalDatastoreType store,
+                final YangInstanceIdentifier path, final NormalizedNode<?, ?> data,
+                final Optional<ModifyAction> defaultOperation) {
+            checkEditable(store);
+            return record(path, Optional.ofNullable(data), ModifyAction.CREATE, defaultOperation.orElse(null));
+        }
+
+        @Override
+        public synchronized ListenableFuture<? extends DOMRpcResult> delete(final LogicalDatastoreType store,
+                final YangInstanceIdentifier path) {
+            return record(path, Optional.empty(), ModifyAction.DELETE, null);
+        }
+
+        @Override
+        public synchronized ListenableFuture<? extends DOMRpcResult> remove(final LogicalDatastoreType store,
+                final YangInstanceIdentifier path) {
+            return record(path, Optional.empty(), ModifyAction.REMOVE, null);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         * Modifications recorded so far are sent to the device first. The commit is issued only if they succeed,
+         * otherwise their errors are reported.
+         */
+        @Override
+        public synchronized ListenableFuture<? extends DOMRpcResult> commit() {
+            flushBatchedEdits();
+            if (batchedResults.isEmpty()) {
+                return AbstractNetconfDataTreeService.this.commit();
+            }
+
+            final ListenableFuture<DOMRpcResult> edits = mergeFutures(List.copyOf(batchedResults));
+            batchedResults.clear();
+            return Futures.transformAsync(edits, result -> allWarnings(result.getErrors())
+                ? mergeFutures(List.of(AbstractNetconfDataTreeService.this.commit()))
+                    : Futures.immediateFuture(result), MoreExecutors.directExecutor());
+        }
+
+        @Override
+        public Object getDeviceId() {
+            return id;
+        }
+
+        @Holding("this")
+        private ListenableFuture<? extends DOMRpcResult> record(final YangInstanceIdentifier path,
+                final Optional<NormalizedNode<?, ?>> data, final ModifyAction operation,
+                final @Nullable ModifyAction defaultOperation) {
+            // Modifications are coalesced only as long as they share the default operation, so as to retain their
+            // semantics
+            if (defaultOperation != batchedDefaultOperation) {
+                flushBatchedEdits();
+                batchedDefaultOperation = defaultOperation;
+            }
+            LOG.trace("{}: Batching {} of {}", id, operation, path);
+            batchedEdits.add(new EditConfigModification(path, data, Optional.of(operation)));
+            return RPC_SUCCESS;
+        }
+
+        @Holding("this")
+        private void flushBatchedEdits() {
+            if (batchedEdits.isEmpty()) {
+                return;
+            }
+
+            final List<ChoiceNode> editStructures = netconfOps.createEditConfigStructures(batchedEdits, maxEdits);
+            LOG.debug("{}: Coalesced {} modifications into {} edit-config requests", id, batchedEdits.size(),
+                editStructures.size());
+            for (ChoiceNode editStructure : editStructures) {
+                batchedResults.add(editConfig(editStructure, batchedDefaultOperation));
+            }
+            batchedEdits.clear();
+        }
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import org.opendaylight.mdsal.binding.api.DataObjectModification;
+import org.opendaylight.mdsal.binding.api.DataTreeChangeListener;
+import org.opendaylight.mdsal.binding.api.DataTreeModification;
+import org.opendaylight.netconf.dom.api.NetconfDataTreeService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.netconf.node.fields.optional.topology.node.EditBatching;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class EditBatchingChangeListener implements DataTreeChangeListener<EditBatching> {
+    private static final Logger LOG = LoggerFactory.getLogger(EditBatchingChangeListener.class);
+
+    private final NetconfDeviceDataBroker netconfDeviceDataBroker;
+    private final AbstractNetconfDataTreeService netconfDataTreeService;
+
+    EditBatchingChangeListener(final NetconfDeviceDataBroker netconfDeviceDataBroker,
+            final NetconfDataTreeService netconfDataTreeService) {
+        this.netconfDeviceDataBroker = requireNonNull(netconfDeviceDataBroker);
+        this.netconfDataTreeService = (AbstractNetconfDataTreeService) netconfDataTreeService;
+    }
+
+    @Override
+    public void onDataTreeChanged(final Collection<DataTreeModification<EditBatching>> changes) {
+        for (final DataTreeModification<EditBatching> change : changes) {
+            final DataObjectModification<EditBatching> rootNode = change.getRootNode();
+            switch (rootNode.getModificationType()) {
+                case SUBTREE_MODIFIED:
+                case WRITE:
+                    final EditBatching batching = rootNode.getDataAfter();
+                    setMaxBatchedEdits(Boolean.TRUE.equals(batching.getEnabled())
+                        ? batching.getMaxEdits().toJava() : 0);
+                    break;
+                case DELETE:
+                    setMaxBatchedEdits(0);
+                    break;
+                default:
+                    LOG.debug("Unsupported modification type: {}.", rootNode.getModificationType());
+            }
+        }
+    }
+
+    private void setMaxBatchedEdits(final int maxBatchedEdits) {
+        netconfDeviceDataBroker.setMaxBatchedEdits(maxBatchedEdits);
+        netconfDataTreeService.setMaxBatchedEdits(maxBatchedEdits);
+    }
+}
@@ -10,6 +10,7 @@ package org.opendaylight.netconf.sal.connect.netconf.sal;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.ImmutableClassToInstanceMap;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMDataBrokerExtension;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
@@ -33,6 +34,7 @@ import org.opendaylight.netconf.sal.connect.netconf.sal.tx.WriteCandidateRunning
 import org.opendaylight.netconf.sal.connect.netconf.sal.tx.WriteCandidateTx;
 import org.opendaylight.netconf.sal.connect.netconf.sal.tx.WriteRunningTx;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfBaseOps;
+import org.opendaylight.netconf.sal.connect.netconf.util.NetconfReadCache;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
 
@@ -47,11 +49,18 @@ public final class NetconfDeviceDataBroker implements PingPongMergingDOMDataBrok
     private final boolean runningWritable;
 
     private boolean isLockAllowed = true;
+    private volatile int maxBatchedEdits = 0;
 
     public NetconfDeviceDataBroker(final RemoteDeviceId id, final MountPointContext mountContext,
                                    final DOMRpcService rpc, final NetconfSessionPreferences netconfSessionPreferences) {
+        this(id, mountContext, rpc, netconfSessionPreferences, null);
+    }
+
+    public NetconfDeviceDataBroker(final RemoteDeviceId id, final MountPointContext mountContext,
+                                   final DOMRpcService rpc, final NetconfSessionPreferences netconfSessionPreferences,
+                                   final @Nullable NetconfReadCache readCache) {
         this.id = id;
-        this.netconfOps = new NetconfBaseOps(rpc, mountContext);
+        this.netconfOps = new NetconfBaseOps(rpc, mountContext, readCache);
         // get specific attributes from netconf preferences and get rid of it
         // no need to keep the entire preferences object, its quite big with all the capability QNames
         candidateSupported = netconfSessionPreferences.isCandidateSupported();
@@ -76,12 +85,13 @@ public final class NetconfDeviceDataBroker implements PingPongMergingDOMDataBrok
     public DOMDataTreeWriteTransaction newWriteOnlyTransaction() {
         if (candidateSupported) {
             if (runningWritable) {
-                return new WriteCandidateRunningTx(id, netconfOps, rollbackSupport, isLockAllowed);
+                return new WriteCandidateRunningTx(id, netconfOps, rollbackSupport, isLockAllowed,
+                    maxBatchedEdits);
             } else {
-                return new WriteCandidateTx(id, netconfOps, rollbackSupport, isLockAllowed);
+                return new WriteCandidateTx(id, netconfOps, rollbackSupport, isLockAllowed, maxBatchedEdits);
             }
         } else {
-            return new WriteRunningTx(id, netconfOps, rollbackSupport, isLockAllowed);
+            return new WriteRunningTx(id, netconfOps, rollbackSupport, isLockAllowed, maxBatchedEdits);
         }
     }
 
@@ -99,6 +109,17 @@ public final class NetconfDeviceDataBroker implements PingPongMergingDOMDataBrok
         this.isLockAllowed = isLockAllowedOrig;
     }
 
+    /**
+     * Set the maximum number of modifications coalesced into a single edit-config request issued when a write
+     * transaction is committed.
+     *
+     * @param maxBatchedEdits maximum number of modifications, 0 if modifications should be sent to the device as they
+     *                        are made
+     */
+    void setMaxBatchedEdits(final int maxBatchedEdits) {
+        this.maxBatchedEdits = maxBatchedEdits;
+    }
+
     private final class NetconfDOMDataBrokerFieldsExtensionImpl implements NetconfDOMDataBrokerFieldsExtension {
         @Override
         public NetconfDOMFieldsReadTransaction newReadOnlyTransaction() {
@@ -15,6 +15,7 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
+import java.util.concurrent.Executor;
 import org.opendaylight.mdsal.dom.api.DOMRpcAvailabilityListener;
 import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMRpcImplementationNotAvailableException;
@@ -39,13 +40,30 @@ public final class NetconfDeviceRpc implements DOMRpcService {
     private final RemoteDeviceCommunicator<NetconfMessage> communicator;
     private final MessageTransformer<NetconfMessage> transformer;
     private final SchemaContext schemaContext;
+    private final Executor replyExecutor;
 
     public NetconfDeviceRpc(final SchemaContext schemaContext,
             final RemoteDeviceCommunicator<NetconfMessage> communicator,
             final MessageTransformer<NetconfMessage> transformer) {
+        this(schemaContext, communicator, transformer, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Create an instance which transforms RPC replies on specified executor. This allows replies to be parsed in
+     * parallel with each other and with notifications, rather than on the thread which received them.
+     *
+     * @param schemaContext device schema context
+     * @param communicator device communicator
+     * @param transformer message transformer
+     * @param replyExecutor executor used to transform replies
+     */
+    public NetconfDeviceRpc(final SchemaContext schemaContext,
+            final RemoteDeviceCommunicator<NetconfMessage> communicator,
+            final MessageTransformer<NetconfMessage> transformer, final Executor replyExecutor) {
         this.communicator = communicator;
         this.transformer = transformer;
         this.schemaContext = requireNonNull(schemaContext);
+        this.replyExecutor = requireNonNull(replyExecutor);
     }
 
     @Override
@@ -72,7 +90,7 @@ public final class NetconfDeviceRpc implements DOMRpcService {
                 ret.setException(new DOMRpcImplementationNotAvailableException(cause, "Unable to invoke rpc %s", type));
             }
 
-        }, MoreExecutors.directExecutor());
+        }, replyExecutor);
         return ret;
     }
 
@@ -11,6 +11,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.List;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.binding.api.DataTreeIdentifier;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
@@ -22,13 +23,17 @@ import org.opendaylight.netconf.dom.api.NetconfDataTreeService;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
+import org.opendaylight.netconf.sal.connect.netconf.util.NetconfReadCache;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.notifications.rev120206.NetconfConfigChange;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.NetconfNodeFieldsOptional;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.netconf.node.fields.optional.Topology;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.netconf.node.fields.optional.TopologyKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.netconf.node.fields.optional.topology.Node;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.netconf.node.fields.optional.topology.NodeKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.netconf.node.fields.optional.topology.node.DatastoreLock;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.netconf.node.fields.optional.topology.node.EditBatching;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.netconf.node.fields.optional.topology.node.ReadCache;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionStatus.ConnectionStatus;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
@@ -51,12 +56,22 @@ public final class NetconfDeviceSalFacade implements AutoCloseable, RemoteDevice
     private final String topologyId;
 
     private ListenerRegistration<LockChangeListener> listenerRegistration = null;
+    private ListenerRegistration<EditBatchingChangeListener> batchingListenerRegistration = null;
+    private ListenerRegistration<ReadCacheChangeListener> readCacheListenerRegistration = null;
+    private NetconfReadCache readCache = null;
 
     public NetconfDeviceSalFacade(final RemoteDeviceId id, final DOMMountPointService mountPointService,
             final DataBroker dataBroker, final String topologyId) {
         this(id, new NetconfDeviceSalProvider(id, mountPointService, dataBroker), dataBroker, topologyId);
     }
 
+    public NetconfDeviceSalFacade(final RemoteDeviceId id, final DOMMountPointService mountPointService,
+            final DataBroker dataBroker, final String topologyId,
+            final @Nullable NetconfTopologyStatusWriter statusWriter) {
+        this(id, new NetconfDeviceSalProvider(id, mountPointService, dataBroker, statusWriter), dataBroker,
+            topologyId);
+    }
+
     @VisibleForTesting
     NetconfDeviceSalFacade(final RemoteDeviceId id, final NetconfDeviceSalProvider salProvider,
             final DataBroker dataBroker, final String topologyId) {
@@ -68,6 +83,14 @@ public final class NetconfDeviceSalFacade implements AutoCloseable, RemoteDevice
 
     @Override
     public synchronized void onNotification(final DOMNotification domNotification) {
+        if (readCache != null) {
+            // Configuration changes are announced explicitly, any other notification may indicate a change of state
+            if (NetconfConfigChange.QNAME.equals(domNotification.getType().lastNodeIdentifier())) {
+                readCache.invalidate();
+            } else {
+                readCache.invalidate(LogicalDatastoreType.OPERATIONAL);
+            }
+        }
         salProvider.getMountInstance().publish(domNotification);
     }
 
@@ -76,11 +99,12 @@ public final class NetconfDeviceSalFacade implements AutoCloseable, RemoteDevice
                                                final NetconfSessionPreferences netconfSessionPreferences,
                                                final DOMRpcService deviceRpc, final DOMActionService deviceAction) {
         final EffectiveModelContext schemaContext = mountContext.getEffectiveModelContext();
+        readCache = new NetconfReadCache(id);
         final NetconfDeviceDataBroker netconfDeviceDataBroker =
-                new NetconfDeviceDataBroker(id, mountContext, deviceRpc, netconfSessionPreferences);
+                new NetconfDeviceDataBroker(id, mountContext, deviceRpc, netconfSessionPreferences, readCache);
         final NetconfDataTreeService netconfService =
-                AbstractNetconfDataTreeService.of(id, mountContext, deviceRpc, netconfSessionPreferences);
-        registerLockListener(netconfDeviceDataBroker, netconfService);
+                AbstractNetconfDataTreeService.of(id, mountContext, deviceRpc, netconfSessionPreferences, readCache);
+        registerLockListener(netconfDeviceDataBroker, netconfService, readCache);
         final NetconfDeviceNotificationService notificationService = new NetconfDeviceNotificationService();
 
         salProvider.getMountInstance()
@@ -135,20 +159,37 @@ public final class NetconfDeviceSalFacade implements AutoCloseable, RemoteDevice
         if (listenerRegistration != null) {
             listenerRegistration.close();
         }
+        if (batchingListenerRegistration != null) {
+            batchingListenerRegistration.close();
+        }
+        if (readCacheListenerRegistration != null) {
+            readCacheListenerRegistration.close();
+        }
+        readCache = null;
     }
 
     private void registerLockListener(final NetconfDeviceDataBroker netconfDeviceDataBroker,
-                                      final NetconfDataTreeService netconfDataTreeService) {
+                                      final NetconfDataTreeService netconfDataTreeService,
+                                      final NetconfReadCache netconfReadCache) {
         listenerRegistration = dataBroker.registerDataTreeChangeListener(
                 DataTreeIdentifier.create(LogicalDatastoreType.CONFIGURATION, createTopologyListPath()),
                 new LockChangeListener(netconfDeviceDataBroker, netconfDataTreeService));
+        batchingListenerRegistration = dataBroker.registerDataTreeChangeListener(
+                DataTreeIdentifier.create(LogicalDatastoreType.CONFIGURATION,
+                    createNodePath().child(EditBatching.class)),
+                new EditBatchingChangeListener(netconfDeviceDataBroker, netconfDataTreeService));
+        readCacheListenerRegistration = dataBroker.registerDataTreeChangeListener(
+                DataTreeIdentifier.create(LogicalDatastoreType.CONFIGURATION, createNodePath().child(ReadCache.class)),
+                new ReadCacheChangeListener(netconfReadCache));
     }
 
     private InstanceIdentifier<DatastoreLock> createTopologyListPath() {
+        return createNodePath().child(DatastoreLock.class);
+    }
+
+    private InstanceIdentifier<Node> createNodePath() {
         return InstanceIdentifier.create(NetconfNodeFieldsOptional.class)
                 .child(Topology.class, new TopologyKey(new TopologyId(topologyId)))
-                .child(Node.class, new NodeKey(new NodeId(id.getName())))
-                .child(DatastoreLock.class);
-
+                .child(Node.class, new NodeKey(new NodeId(id.getName())));
     }
 }
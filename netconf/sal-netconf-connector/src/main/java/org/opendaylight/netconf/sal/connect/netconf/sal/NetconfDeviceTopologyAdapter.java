@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.binding.api.TransactionChain;
 import org.opendaylight.mdsal.binding.api.WriteTransaction;
 import org.opendaylight.mdsal.common.api.CommitInfo;
@@ -56,6 +57,7 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfDeviceTopologyAdapter.class);
 
     private final RemoteDeviceId id;
+    private final @Nullable NetconfTopologyStatusWriter statusWriter;
     private TransactionChain txChain;
 
     private final InstanceIdentifier<NetworkTopology> networkTopologyPath;
@@ -63,8 +65,22 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
     private static final String UNKNOWN_REASON = "Unknown reason";
 
     NetconfDeviceTopologyAdapter(final RemoteDeviceId id, final TransactionChain txChain) {
+        this(id, txChain, null);
+    }
+
+    /**
+     * Create an adapter. If a status writer is provided, device state is written through it instead of the transaction
+     * chain.
+     *
+     * @param id device identifier
+     * @param txChain transaction chain
+     * @param statusWriter status writer shared with other devices, or {@code null}
+     */
+    NetconfDeviceTopologyAdapter(final RemoteDeviceId id, final TransactionChain txChain,
+            final @Nullable NetconfTopologyStatusWriter statusWriter) {
         this.id = id;
         this.txChain = requireNonNull(txChain);
+        this.statusWriter = statusWriter;
 
         this.networkTopologyPath = InstanceIdentifier.builder(NetworkTopology.class).build();
         this.topologyListPath = networkTopologyPath
@@ -74,10 +90,6 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
     }
 
     private void initDeviceData() {
-        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
-
-        createNetworkTopologyIfNotPresent(writeTx);
-
         final Node node = getNodeIdBuilder(id)
                 .addAugmentation(new NetconfNodeBuilder()
                     .setConnectionStatus(ConnectionStatus.Connecting)
@@ -85,6 +97,17 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
                     .setPort(new PortNumber(Uint16.valueOf(id.getAddress().getPort()))).build())
                 .build();
 
+        if (statusWriter != null) {
+            // Parent structure is created along with the node
+            LOG.trace("{}: Queueing init of device state", id);
+            statusWriter.put(LogicalDatastoreType.OPERATIONAL, id.getTopologyBindingPath(), node);
+            return;
+        }
+
+        final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
+
+        createNetworkTopologyIfNotPresent(writeTx);
+
         LOG.trace("{}: Init device state transaction {} putting if absent operational data started.",
                 id, writeTx.getIdentifier());
         writeTx.put(LogicalDatastoreType.OPERATIONAL, id.getTopologyBindingPath(), node);
@@ -104,6 +127,9 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
         } else {
             data = buildDataForNetconfNode(connectionStatus, capabilities, dsType, node);
         }
+        if (queueUpdate(dsType, data)) {
+            return;
+        }
 
         final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
         LOG.trace("{}: Update device state transaction {} merging operational data started.",
@@ -123,6 +149,9 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
     public void updateClusteredDeviceData(final boolean up, final String masterAddress,
                                           final NetconfDeviceCapabilities capabilities) {
         final NetconfNode data = buildDataForNetconfClusteredNode(up, masterAddress, capabilities);
+        if (queueUpdate(LogicalDatastoreType.OPERATIONAL, data)) {
+            return;
+        }
 
         final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
         LOG.trace("{}: Update device state transaction {} merging operational data started.",
@@ -142,6 +171,9 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
                 .setHost(id.getHost())
                 .setPort(new PortNumber(Uint16.valueOf(id.getAddress().getPort())))
                 .setConnectionStatus(ConnectionStatus.UnableToConnect).setConnectedMessage(reason).build();
+        if (queueUpdate(LogicalDatastoreType.OPERATIONAL, data)) {
+            return;
+        }
 
         final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
         LOG.trace(
@@ -171,6 +203,8 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
             .setConnectionStatus(connectionStatus)
             .setAvailableCapabilities(avCapabalitiesBuilder.build())
             .setUnavailableCapabilities(unavailableCapabilities(capabilities.getUnresolvedCapabilites()))
+            .setSchemaDownload(capabilities.getSchemaDownload())
+            .setSharedSchema(capabilities.getSharedSchema())
             .build();
     }
 
@@ -188,6 +222,9 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
                 .setConnectionStatus(up ? ConnectionStatus.Connected : ConnectionStatus.Connecting)
                 .setAvailableCapabilities(avCapabalitiesBuilder.build())
                 .setUnavailableCapabilities(unavailableCapabilities(capabilities.getUnresolvedCapabilites()))
+                .setSchemaDownload(capabilities.getSchemaDownload())
+                .setSharedSchema(capabilities.getSharedSchema())
+            .setSharedSchema(capabilities.getSharedSchema())
                 .setClusteredConnectionStatus(
                         new ClusteredConnectionStatusBuilder().setNetconfMasterNode(masterNodeAddress).build());
 
@@ -201,6 +238,17 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
     }
 
     public void removeDeviceConfiguration() {
+        if (statusWriter != null) {
+            LOG.trace("{}: Queueing removal of device state", id);
+            try {
+                statusWriter.delete(LogicalDatastoreType.OPERATIONAL, id.getTopologyBindingPath()).get();
+            } catch (InterruptedException | ExecutionException e) {
+                LOG.error("{}: Removal of device state FAILED!", id, e);
+                throw new IllegalStateException(id + "  Removal of device state not committed correctly", e);
+            }
+            return;
+        }
+
         final WriteTransaction writeTx = txChain.newWriteOnlyTransaction();
 
         LOG.trace(
@@ -233,6 +281,15 @@ public class NetconfDeviceTopologyAdapter implements AutoCloseable {
         writeTx.merge(LogicalDatastoreType.OPERATIONAL, topologyListPath, topology);
     }
 
+    private boolean queueUpdate(final LogicalDatastoreType dsType, final NetconfNode data) {
+        if (statusWriter == null) {
+            return false;
+        }
+        LOG.trace("{}: Queueing update of device state", id);
+        statusWriter.put(dsType, id.getTopologyBindingPath().augmentation(NetconfNode.class), data);
+        return true;
+    }
+
     private void commitTransaction(final WriteTransaction transaction, final String txType) {
         LOG.trace("{}: Committing Transaction {}:{}", id, txType,
                 transaction.getIdentifier());
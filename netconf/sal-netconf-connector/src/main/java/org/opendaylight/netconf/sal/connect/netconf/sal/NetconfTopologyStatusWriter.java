@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.lock.qual.Holding;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.binding.api.WriteTransaction;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writer of device state into the datastore, shared by many devices. Writes are queued and committed together in a
+ * single transaction once the oldest queued write has waited for the configured delay, or once enough writes have been
+ * queued. Only the last write to a path is kept, so a device flapping between states results in a single write of its
+ * final state. At most one transaction is being committed at any time, writes queued meanwhile are committed once it
+ * completes. Writes of a transaction which fails to commit are queued again, unless they have been superseded by
+ * newer writes meanwhile, and are given up on after {@value #MAX_ATTEMPTS} attempts.
+ */
+@Beta
+public final class NetconfTopologyStatusWriter implements AutoCloseable {
+    private static final class Key {
+        private final LogicalDatastoreType store;
+        private final InstanceIdentifier<?> path;
+
+        Key(final LogicalDatastoreType store, final InstanceIdentifier<?> path) {
+            this.store = requireNonNull(store);
+            this.path = requireNonNull(path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(store, path);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return store == other.store && path.equals(other.path);
+        }
+    }
+
+    private static final class Write {
+        private final Key key;
+        private final Consumer<WriteTransaction> operation;
+        private final List<SettableFuture<Void>> futures;
+        private final boolean urgent;
+        private final int attempts;
+
+        Write(final Key key, final Consumer<WriteTransaction> operation, final List<SettableFuture<Void>> futures,
+                final boolean urgent, final int attempts) {
+            this.key = key;
+            this.operation = operation;
+            this.futures = futures;
+            this.urgent = urgent;
+            this.attempts = attempts;
+        }
+    }
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+    public static final int MAX_ATTEMPTS = 3;
+
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfTopologyStatusWriter.class);
+
+    private final DataBroker dataBroker;
+    private final ScheduledExecutorService executor;
+    private final long maxDelayNanos;
+    private final int maxBatchSize;
+
+    @GuardedBy("this")
+    private final LinkedHashMap<Key, Write> pending = new LinkedHashMap<>();
+    @GuardedBy("this")
+    private long firstPendingNanos;
+    @GuardedBy("this")
+    private ScheduledFuture<?> scheduledFlush;
+    @GuardedBy("this")
+    private boolean urgent;
+    @GuardedBy("this")
+    private boolean committing;
+    @GuardedBy("this")
+    private boolean closed;
+
+    /**
+     * Create a writer.
+     *
+     * @param dataBroker data broker
+     * @param executor executor used to schedule commits
+     * @param maxDelayMillis maximum time in milliseconds for which a write is queued
+     */
+    public NetconfTopologyStatusWriter(final DataBroker dataBroker, final ScheduledExecutorService executor,
+            final long maxDelayMillis) {
+        this(dataBroker, executor, maxDelayMillis, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    @VisibleForTesting
+    NetconfTopologyStatusWriter(final DataBroker dataBroker, final ScheduledExecutorService executor,
+            final long maxDelayMillis, final int maxBatchSize) {
+        checkArgument(maxDelayMillis > 0, "Invalid delay %s", maxDelayMillis);
+        checkArgument(maxBatchSize > 0, "Invalid batch size %s", maxBatchSize);
+        this.dataBroker = requireNonNull(dataBroker);
+        this.executor = requireNonNull(executor);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Queue a write of data, creating its parent structure if needed.
+     *
+     * @param store datastore
+     * @param path path of the data
+     * @param data data to write
+     * @param <T> data type
+     */
+    public <T extends DataObject> void put(final LogicalDatastoreType store, final InstanceIdentifier<T> path,
+            final T data) {
+        requireNonNull(data);
+        enqueue(new Key(store, path), tx -> tx.mergeParentStructurePut(store, path, data), null, false);
+    }
+
+    /**
+     * Queue a delete of data. Unlike other writes, a delete is committed without waiting for more writes.
+     *
+     * @param store datastore
+     * @param path path of the data
+     * @return Future completed once the delete has been committed
+     */
+    public ListenableFuture<Void> delete(final LogicalDatastoreType store, final InstanceIdentifier<?> path) {
+        final SettableFuture<Void> future = SettableFuture.create();
+        enqueue(new Key(store, path), tx -> tx.delete(store, path), future, true);
+        return future;
+    }
+
+    private synchronized void enqueue(final Key key, final Consumer<WriteTransaction> operation,
+            final SettableFuture<Void> future, final boolean isUrgent) {
+        if (pending.isEmpty()) {
+            firstPendingNanos = System.nanoTime();
+        }
+
+        // Keep only the last write to a path, ordered after any writes queued before it
+        final Write previous = pending.remove(key);
+        final List<SettableFuture<Void>> futures = previous == null ? new ArrayList<>(1) : previous.futures;
+        if (future != null) {
+            futures.add(future);
+        }
+        if (previous != null) {
+            LOG.trace("Coalescing writes to {} {}", key.store, key.path);
+        }
+        pending.put(key, new Write(key, operation, futures, isUrgent, 0));
+        urgent |= isUrgent;
+        scheduleFlush();
+    }
+
+    @Holding("this")
+    private void scheduleFlush() {
+        if (committing || pending.isEmpty()) {
+            return;
+        }
+
+        final boolean immediate = closed || urgent || pending.size() >= maxBatchSize;
+        if (scheduledFlush != null) {
+            if (!immediate || !scheduledFlush.cancel(false)) {
+                return;
+            }
+        }
+
+        final long delay = immediate ? 0 : Math.max(0, firstPendingNanos + maxDelayNanos - System.nanoTime());
+        scheduledFlush = executor.schedule(this::flush, delay, TimeUnit.NANOSECONDS);
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void flush() {
+        final List<Write> batch;
+        synchronized (this) {
+            scheduledFlush = null;
+            if (committing || pending.isEmpty()) {
+                return;
+            }
+
+            batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+            final Iterator<Write> it = pending.values().iterator();
+            while (it.hasNext() && batch.size() < maxBatchSize) {
+                batch.add(it.next());
+                it.remove();
+            }
+            urgent = pending.values().stream().anyMatch(write -> write.urgent);
+            committing = true;
+        }
+
+        LOG.debug("Committing {} device state writes", batch.size());
+        final WriteTransaction tx = dataBroker.newWriteOnlyTransaction();
+        try {
+            batch.forEach(write -> write.operation.accept(tx));
+        } catch (RuntimeException e) {
+            LOG.error("Failed to prepare device state transaction {}", tx.getIdentifier(), e);
+            tx.cancel();
+            completeBatch(batch, e);
+            return;
+        }
+
+        tx.commit().addCallback(new FutureCallback<CommitInfo>() {
+            @Override
+            public void onSuccess(final CommitInfo result) {
+                LOG.trace("Device state transaction {} SUCCESSFUL", tx.getIdentifier());
+                completeBatch(batch, null);
+            }
+
+            @Override
+            public void onFailure(final Throwable cause) {
+                LOG.error("Device state transaction {} FAILED!", tx.getIdentifier(), cause);
+                retryBatch(batch, cause);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void retryBatch(final List<Write> batch, final Throwable cause) {
+        final List<Write> failed = new ArrayList<>();
+        synchronized (this) {
+            for (Write write : batch) {
+                final Write newer = pending.get(write.key);
+                if (newer != null) {
+                    // Superseded while committing, the newer write completes the futures of this one as well
+                    newer.futures.addAll(write.futures);
+                } else if (write.attempts + 1 < MAX_ATTEMPTS) {
+                    if (pending.isEmpty()) {
+                        firstPendingNanos = System.nanoTime();
+                    }
+                    // Not urgent, so that a retry waits for the configured delay unless other writes are urgent
+                    pending.put(write.key, new Write(write.key, write.operation, write.futures, false,
+                        write.attempts + 1));
+                } else {
+                    LOG.warn("Giving up on write to {} {} after {} attempts", write.key.store, write.key.path,
+                        MAX_ATTEMPTS);
+                    failed.add(write);
+                }
+            }
+        }
+        completeBatch(failed, cause);
+    }
+
+    private void completeBatch(final List<Write> batch, final Throwable cause) {
+        for (Write write : batch) {
+            for (SettableFuture<Void> future : write.futures) {
+                if (cause == null) {
+                    future.set(null);
+                } else {
+                    future.setException(cause);
+                }
+            }
+        }
+
+        synchronized (this) {
+            committing = false;
+            // Writes queued while committing have waited long enough
+            scheduleFlush();
+        }
+    }
+
+    @VisibleForTesting
+    synchronized int pendingSize() {
+        return pending.size();
+    }
+
+    /**
+     * Stop batching. Queued writes, as well as any writes queued afterwards, are committed without further delay.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        scheduleFlush();
+    }
+}
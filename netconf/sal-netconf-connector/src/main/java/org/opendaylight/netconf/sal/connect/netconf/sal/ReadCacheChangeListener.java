@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import org.opendaylight.mdsal.binding.api.DataObjectModification;
+import org.opendaylight.mdsal.binding.api.DataTreeChangeListener;
+import org.opendaylight.mdsal.binding.api.DataTreeModification;
+import org.opendaylight.netconf.sal.connect.netconf.util.NetconfReadCache;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.netconf.node.fields.optional.topology.node.ReadCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class ReadCacheChangeListener implements DataTreeChangeListener<ReadCache> {
+    private static final Logger LOG = LoggerFactory.getLogger(ReadCacheChangeListener.class);
+
+    private final NetconfReadCache readCache;
+
+    ReadCacheChangeListener(final NetconfReadCache readCache) {
+        this.readCache = requireNonNull(readCache);
+    }
+
+    @Override
+    public void onDataTreeChanged(final Collection<DataTreeModification<ReadCache>> changes) {
+        for (final DataTreeModification<ReadCache> change : changes) {
+            final DataObjectModification<ReadCache> rootNode = change.getRootNode();
+            switch (rootNode.getModificationType()) {
+                case SUBTREE_MODIFIED:
+                case WRITE:
+                    final ReadCache config = rootNode.getDataAfter();
+                    if (Boolean.TRUE.equals(config.getEnabled())) {
+                        readCache.configure(config.getTtl().toJava(), config.getMaxEntries().toJava());
+                    } else {
+                        readCache.disable();
+                    }
+                    break;
+                case DELETE:
+                    readCache.disable();
+                    break;
+                default:
+                    LOG.debug("Unsupported modification type: {}.", rootNode.getModificationType());
+            }
+        }
+    }
+}
@@ -30,12 +30,14 @@ import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
+import org.opendaylight.netconf.sal.connect.netconf.util.EditConfigModification;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfBaseOps;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.yang.common.RpcError;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.MixinNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -54,13 +56,35 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
     // Allow commit to be called only once
     protected volatile boolean finished = false;
     protected final boolean isLockAllowed;
+    // Maximum number of modifications coalesced into a single edit-config, 0 if modifications are not coalesced
+    private final int maxBatchedEdits;
+    private final List<EditConfigModification> batchedEdits = new ArrayList<>();
+    private Optional<ModifyAction> batchedDefaultOperation = Optional.empty();
 
     public AbstractWriteTx(final RemoteDeviceId id, final NetconfBaseOps netconfOps, final boolean rollbackSupport,
             final boolean isLockAllowed) {
+        this(id, netconfOps, rollbackSupport, isLockAllowed, 0);
+    }
+
+    /**
+     * Create a new transaction.
+     *
+     * @param id device identifier
+     * @param netconfOps NETCONF operations
+     * @param rollbackSupport whether the device supports rollback-on-error
+     * @param isLockAllowed whether the datastore should be locked
+     * @param maxBatchedEdits maximum number of modifications coalesced into a single edit-config issued when
+     *                        the transaction is committed, 0 if each modification should be sent to the device
+     *                        as soon as it is made
+     */
+    public AbstractWriteTx(final RemoteDeviceId id, final NetconfBaseOps netconfOps, final boolean rollbackSupport,
+            final boolean isLockAllowed, final int maxBatchedEdits) {
+        checkArgument(maxBatchedEdits >= 0, "Invalid maximum number of batched edits %s", maxBatchedEdits);
         this.netOps = netconfOps;
         this.id = id;
         this.rollbackSupport = rollbackSupport;
         this.isLockAllowed = isLockAllowed;
+        this.maxBatchedEdits = maxBatchedEdits;
         init();
     }
 
@@ -108,9 +132,7 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
             return;
         }
 
-        final DataContainerChild<?, ?> editStructure = netOps.createEditConfigStrcture(Optional.ofNullable(data),
-                        Optional.of(ModifyAction.REPLACE), path);
-        editConfig(path, Optional.ofNullable(data), editStructure, Optional.empty(), "put");
+        modify(path, Optional.ofNullable(data), Optional.of(ModifyAction.REPLACE), Optional.empty(), "put");
     }
 
     @Override
@@ -125,9 +147,7 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
             return;
         }
 
-        final DataContainerChild<?, ?> editStructure =  netOps.createEditConfigStrcture(Optional.ofNullable(data),
-            Optional.empty(), path);
-        editConfig(path, Optional.ofNullable(data), editStructure, Optional.empty(), "merge");
+        modify(path, Optional.ofNullable(data), Optional.empty(), Optional.empty(), "merge");
     }
 
     /**
@@ -143,9 +163,41 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
     @Override
     public synchronized void delete(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         checkEditable(store);
-        final DataContainerChild<?, ?> editStructure = netOps.createEditConfigStrcture(Optional.empty(),
-                        Optional.of(ModifyAction.DELETE), path);
-        editConfig(path, Optional.empty(), editStructure, Optional.of(ModifyAction.NONE), "delete");
+        modify(path, Optional.empty(), Optional.of(ModifyAction.DELETE), Optional.of(ModifyAction.NONE), "delete");
+    }
+
+    private void modify(final YangInstanceIdentifier path, final Optional<NormalizedNode<?, ?>> data,
+            final Optional<ModifyAction> operation, final Optional<ModifyAction> defaultOperation,
+            final String operationName) {
+        if (maxBatchedEdits == 0) {
+            editConfig(path, data, netOps.createEditConfigStrcture(data, operation, path), defaultOperation,
+                operationName);
+            return;
+        }
+
+        // Modifications are coalesced only as long as they share the default operation, so as to retain their
+        // semantics
+        if (!defaultOperation.equals(batchedDefaultOperation)) {
+            flushBatchedEdits();
+            batchedDefaultOperation = defaultOperation;
+        }
+        LOG.trace("{}: Batching {} of {}", id, operationName, path);
+        batchedEdits.add(new EditConfigModification(path, data, operation));
+    }
+
+    private synchronized void flushBatchedEdits() {
+        if (batchedEdits.isEmpty()) {
+            return;
+        }
+
+        final List<ChoiceNode> editStructures = netOps.createEditConfigStructures(batchedEdits, maxBatchedEdits);
+        LOG.debug("{}: Coalesced {} modifications into {} edit-config requests", id, batchedEdits.size(),
+            editStructures.size());
+        for (ChoiceNode editStructure : editStructures) {
+            editConfig(YangInstanceIdentifier.empty(), Optional.empty(), editStructure, batchedDefaultOperation,
+                "batch");
+        }
+        batchedEdits.clear();
     }
 
     @Override
@@ -178,6 +230,7 @@ public abstract class AbstractWriteTx implements DOMDataTreeWriteTransaction {
     protected final ListenableFuture<RpcResult<Void>> commitConfiguration() {
         listeners.forEach(listener -> listener.onTransactionSubmitted(this));
         checkNotFinished();
+        flushBatchedEdits();
         finished = true;
         final ListenableFuture<RpcResult<Void>> result = performCommit();
         Futures.addCallback(result, new FutureCallback<RpcResult<Void>>() {
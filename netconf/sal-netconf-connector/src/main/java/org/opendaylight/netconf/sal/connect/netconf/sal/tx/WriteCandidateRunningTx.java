@@ -35,6 +35,11 @@ public class WriteCandidateRunningTx extends WriteCandidateTx {
         super(id, netconfOps, rollbackSupport, isLockAllowed);
     }
 
+    public WriteCandidateRunningTx(final RemoteDeviceId id, final NetconfBaseOps netconfOps,
+            final boolean rollbackSupport, final boolean isLockAllowed, final int maxBatchedEdits) {
+        super(id, netconfOps, rollbackSupport, isLockAllowed, maxBatchedEdits);
+    }
+
     @Override
     protected synchronized void init() {
         lockRunning();
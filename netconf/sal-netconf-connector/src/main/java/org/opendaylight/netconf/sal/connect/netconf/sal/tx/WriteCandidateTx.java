@@ -58,6 +58,11 @@ public class WriteCandidateTx extends AbstractWriteTx {
         super(id, netconfOps, rollbackSupport, isLockAllowed);
     }
 
+    public WriteCandidateTx(final RemoteDeviceId id, final NetconfBaseOps netconfOps, final boolean rollbackSupport,
+            final boolean isLockAllowed, final int maxBatchedEdits) {
+        super(id, netconfOps, rollbackSupport, isLockAllowed, maxBatchedEdits);
+    }
+
     @Override
     protected synchronized void init() {
         LOG.trace("{}: Initializing {} transaction", id, getClass().getSimpleName());
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent cache of schema resolution outcomes, keyed by a fingerprint of the requested module set. It records
+ * which sources of a module set were found to be missing or unresolvable when a schema context was last assembled from
+ * it, so that subsequent devices advertising the same module set can be set up without re-discovering unresolvable
+ * sources through failed context assembly attempts.
+ *
+ * <p>
+ * Missing sources are recorded, but they are not a deterministic property of the module set: they may have failed to
+ * download due to a transient error or they may have been side-loaded since. Users are therefore expected to attempt
+ * to acquire them again and to disregard an entry if any of them is acquired.
+ *
+ * <p>
+ * The fingerprint covers only names and revisions of the sources, while their contents may change without either of
+ * them changing, for example when a corrected source is side-loaded. Each entry therefore carries a digest of the
+ * contents of the sources which were acquired, see {@link #contentDigest(Map)}. Users are expected to acquire the
+ * sources again and to disregard an entry whose digest does not match the sources they have acquired. Only the outcome
+ * of resolution is persisted, the schema context itself still needs to be assembled from the sources.
+ *
+ * <p>
+ * Each module set is stored in a separate file in the cache directory. Entries are validated when they are loaded and
+ * the number of entries is bounded, evicting the least recently used ones.
+ */
+@Beta
+public final class ModuleSetCache {
+    /**
+     * Resolution outcome of a module set.
+     */
+    public static final class Entry {
+        private final List<SourceIdentifier> resolved;
+        private final List<SourceIdentifier> missing;
+        private final List<SourceIdentifier> unresolvable;
+        private final String contentDigest;
+
+        public Entry(final Collection<SourceIdentifier> resolved, final Collection<SourceIdentifier> missing,
+                final Collection<SourceIdentifier> unresolvable, final String contentDigest) {
+            this.resolved = List.copyOf(resolved);
+            this.missing = List.copyOf(missing);
+            this.unresolvable = List.copyOf(unresolvable);
+            this.contentDigest = requireNonNull(contentDigest);
+        }
+
+        /**
+         * Return sources from which the schema context was assembled.
+         *
+         * @return Resolved sources
+         */
+        public List<SourceIdentifier> getResolved() {
+            return resolved;
+        }
+
+        /**
+         * Return sources which could not be acquired.
+         *
+         * @return Missing sources
+         */
+        public List<SourceIdentifier> getMissing() {
+            return missing;
+        }
+
+        /**
+         * Return sources which were acquired, but could not be assembled into the schema context.
+         *
+         * @return Unresolvable sources
+         */
+        public List<SourceIdentifier> getUnresolvable() {
+            return unresolvable;
+        }
+
+        /**
+         * Return the digest of contents of the sources which were acquired, i.e. both resolved and unresolvable ones.
+         *
+         * @return Content digest
+         */
+        public String getContentDigest() {
+            return contentDigest;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(Set.copyOf(resolved), Set.copyOf(missing), Set.copyOf(unresolvable), contentDigest);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry other = (Entry) obj;
+            return Set.copyOf(resolved).equals(Set.copyOf(other.resolved))
+                && Set.copyOf(missing).equals(Set.copyOf(other.missing))
+                && Set.copyOf(unresolvable).equals(Set.copyOf(other.unresolvable))
+                && contentDigest.equals(other.contentDigest);
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(ModuleSetCache.class);
+    private static final String SUFFIX = ".moduleset";
+    private static final String HEADER = "# netconf module set ";
+    private static final String REQUESTED = "requested";
+    private static final String RESOLVED = "resolved";
+    private static final String MISSING = "missing";
+    private static final String UNRESOLVABLE = "unresolvable";
+    private static final String DIGEST = "digest";
+
+    private final Path directory;
+    private final int maxEntries;
+
+    public ModuleSetCache(final Path directory, final int maxEntries) {
+        checkArgument(maxEntries > 0, "Invalid maximum number of entries %s", maxEntries);
+        this.directory = requireNonNull(directory);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Look up the resolution outcome of a module set.
+     *
+     * @param requested requested module set
+     * @return Resolution outcome, or empty if the module set is not cached
+     */
+    public Optional<Entry> lookup(final Collection<SourceIdentifier> requested) {
+        final String fingerprint = fingerprint(requested);
+        final Path file = directory.resolve(fingerprint + SUFFIX);
+
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            LOG.warn("Failed to read module set {}", file, e);
+            return Optional.empty();
+        }
+
+        final Optional<Entry> entry = parse(fingerprint, lines, requested);
+        if (entry.isEmpty()) {
+            LOG.warn("Module set {} failed validation, discarding it", file);
+            deleteFile(file);
+            return entry;
+        }
+
+        // Mark the entry as recently used
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            LOG.debug("Failed to update timestamp of {}", file, e);
+        }
+        LOG.debug("Module set {} found in cache", fingerprint);
+        return entry;
+    }
+
+    /**
+     * Store the resolution outcome of a module set. Failures to persist the entry are logged and otherwise ignored.
+     *
+     * @param requested requested module set
+     * @param entry resolution outcome
+     */
+    public void store(final Collection<SourceIdentifier> requested, final Entry entry) {
+        final String fingerprint = fingerprint(requested);
+        final List<String> lines = new ArrayList<>();
+        lines.add(HEADER + fingerprint);
+        appendLines(lines, REQUESTED, requested);
+        appendLines(lines, RESOLVED, entry.getResolved());
+        appendLines(lines, MISSING, entry.getMissing());
+        appendLines(lines, UNRESOLVABLE, entry.getUnresolvable());
+        lines.add(DIGEST + ' ' + entry.getContentDigest());
+
+        final Path file = directory.resolve(fingerprint + SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            // Write to a temporary file first, so that concurrent readers never observe a partial entry
+            final Path tmp = Files.createTempFile(directory, fingerprint, ".tmp");
+            try {
+                Files.write(tmp, lines, StandardCharsets.UTF_8);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to store module set {}", file, e);
+            return;
+        }
+
+        LOG.debug("Module set {} stored in cache", fingerprint);
+        evict();
+    }
+
+    /**
+     * Compute the digest of contents of a set of sources, as reported by {@link Entry#getContentDigest()}.
+     *
+     * @param sources SHA-256 hashes of source contents
+     * @return Content digest
+     */
+    public static String contentDigest(final Map<SourceIdentifier, HashCode> sources) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        final Map<String, HashCode> sorted = new TreeMap<>();
+        sources.forEach((source, hash) -> sorted.put(toString(source), hash));
+        sorted.forEach((source, hash) -> hasher.putString(source, StandardCharsets.UTF_8).putChar(' ')
+            .putBytes(hash.asBytes()).putChar('\n'));
+        return hasher.hash().toString();
+    }
+
+    @VisibleForTesting
+    static String fingerprint(final Collection<SourceIdentifier> sources) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (String source : sorted(sources)) {
+            hasher.putString(source, StandardCharsets.UTF_8).putChar('\n');
+        }
+        return hasher.hash().toString();
+    }
+
+    private synchronized void evict() {
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            LOG.warn("Failed to list module sets in {}", directory, e);
+            return;
+        }
+        if (files.size() <= maxEntries) {
+            return;
+        }
+
+        files.sort(Comparator.comparing(ModuleSetCache::lastModified));
+        for (Path file : files.subList(0, files.size() - maxEntries)) {
+            LOG.debug("Evicting module set {}", file);
+            deleteFile(file);
+        }
+    }
+
+    private static Optional<Entry> parse(final String fingerprint, final List<String> lines,
+            final Collection<SourceIdentifier> requested) {
+        if (lines.isEmpty() || !lines.get(0).equals(HEADER + fingerprint)) {
+            return Optional.empty();
+        }
+
+        final Set<SourceIdentifier> storedRequested = new HashSet<>();
+        final List<SourceIdentifier> resolved = new ArrayList<>();
+        final List<SourceIdentifier> missing = new ArrayList<>();
+        final List<SourceIdentifier> unresolvable = new ArrayList<>();
+        String contentDigest = null;
+        for (String line : lines.subList(1, lines.size())) {
+            final int space = line.indexOf(' ');
+            if (space == -1) {
+                return Optional.empty();
+            }
+            if (line.startsWith(DIGEST + ' ')) {
+                contentDigest = line.substring(space + 1);
+                continue;
+            }
+            final SourceIdentifier source;
+            try {
+                source = parseSource(line.substring(space + 1));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                LOG.debug("Invalid source in line {}", line, e);
+                return Optional.empty();
+            }
+            switch (line.substring(0, space)) {
+                case REQUESTED:
+                    storedRequested.add(source);
+                    break;
+                case RESOLVED:
+                    resolved.add(source);
+                    break;
+                case MISSING:
+                    missing.add(source);
+                    break;
+                case UNRESOLVABLE:
+                    unresolvable.add(source);
+                    break;
+                default:
+                    return Optional.empty();
+            }
+        }
+
+        // Guard against fingerprint collisions and corrupted entries
+        if (contentDigest == null || !storedRequested.equals(new HashSet<>(requested))
+                || !storedRequested.containsAll(resolved) || !storedRequested.containsAll(missing)
+                || !storedRequested.containsAll(unresolvable)) {
+            return Optional.empty();
+        }
+        return Optional.of(new Entry(resolved, missing, unresolvable, contentDigest));
+    }
+
+    private static void appendLines(final List<String> lines, final String state,
+            final Collection<SourceIdentifier> sources) {
+        for (String source : sorted(sources)) {
+            lines.add(state + ' ' + source);
+        }
+    }
+
+    private static TreeSet<String> sorted(final Collection<SourceIdentifier> sources) {
+        final TreeSet<String> ret = new TreeSet<>();
+        for (SourceIdentifier source : sources) {
+            ret.add(toString(source));
+        }
+        return ret;
+    }
+
+    private static String toString(final SourceIdentifier source) {
+        final Optional<Revision> revision = source.getRevision();
+        return revision.isPresent() ? source.getName() + '@' + revision.get() : source.getName();
+    }
+
+    private static SourceIdentifier parseSource(final String str) {
+        checkArgument(!str.isEmpty(), "Empty source");
+        final int at = str.indexOf('@');
+        return at == -1 ? RevisionSourceIdentifier.create(str)
+            : RevisionSourceIdentifier.create(str.substring(0, at), Revision.of(str.substring(at + 1)));
+    }
+
+    private static FileTime lastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            LOG.debug("Failed to read timestamp of {}", file, e);
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteFile(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Failed to delete module set {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.NetconfMessageTransformer.SchemaIndex;
+import org.opendaylight.yangtools.concepts.AbstractRegistration;
+import org.opendaylight.yangtools.rcf8528.data.util.EmptyMountPointContext;
+import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A reference-counted registry of schema artifacts shared by devices which resolved to the same set of sources. It
+ * hands out a single {@link EffectiveModelContext}, {@link MountPointContext} and {@link SchemaIndex} for each such
+ * set, so that devices running the same firmware do not hold their own copies. Artifacts are released once the last
+ * device using them closes its {@link SharedSchema}.
+ */
+@Beta
+public final class SharedSchemaRegistry {
+    /**
+     * A shared schema acquired by a device. It needs to be closed when the device no longer uses it.
+     */
+    public static final class SharedSchema extends AbstractRegistration {
+        private final SharedSchemaRegistry registry;
+        private final Entry entry;
+        private final boolean reused;
+
+        SharedSchema(final SharedSchemaRegistry registry, final Entry entry, final boolean reused) {
+            this.registry = requireNonNull(registry);
+            this.entry = requireNonNull(entry);
+            this.reused = reused;
+        }
+
+        /**
+         * Return {@code true} if this schema was already held by the registry when it was acquired.
+         *
+         * @return True if the schema was reused
+         */
+        public boolean isReused() {
+            return reused;
+        }
+
+        public EffectiveModelContext getEffectiveModelContext() {
+            return entry.mountContext.getEffectiveModelContext();
+        }
+
+        /**
+         * Return the shared mount point context, which does not contain any mount points.
+         *
+         * @return A MountPointContext
+         */
+        public MountPointContext getMountPointContext() {
+            return entry.mountContext;
+        }
+
+        /**
+         * Return a schema index for a mount point context. If the context is the {@link #getMountPointContext() shared
+         * one}, the shared index is returned, otherwise a new index is created.
+         *
+         * @param mountContext mount point context
+         * @return A SchemaIndex
+         */
+        public SchemaIndex getSchemaIndex(final MountPointContext mountContext) {
+            return mountContext == entry.mountContext ? entry.getIndex() : SchemaIndex.of(mountContext);
+        }
+
+        @Override
+        protected void removeRegistration() {
+            registry.release(entry);
+        }
+    }
+
+    private static final class Entry {
+        final ImmutableSet<SourceIdentifier> sources;
+        final MountPointContext mountContext;
+
+        @GuardedBy("this")
+        private SchemaIndex index;
+        // Guarded by the registry
+        int refCount;
+
+        Entry(final ImmutableSet<SourceIdentifier> sources, final EffectiveModelContext context) {
+            this.sources = requireNonNull(sources);
+            this.mountContext = new EmptyMountPointContext(context);
+        }
+
+        synchronized SchemaIndex getIndex() {
+            // Indexed lazily, as we do not know if the device supports schema mount until later
+            if (index == null) {
+                index = SchemaIndex.of(mountContext);
+            }
+            return index;
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedSchemaRegistry.class);
+
+    @GuardedBy("this")
+    private final Map<ImmutableSet<SourceIdentifier>, Entry> entries = new HashMap<>();
+    @GuardedBy("this")
+    private long hits;
+    @GuardedBy("this")
+    private long misses;
+
+    /**
+     * Acquire the shared schema for a set of sources. If there is no shared schema for the set, the supplied context
+     * becomes the shared one.
+     *
+     * @param sources sources from which the context was assembled
+     * @param context assembled context
+     * @return A SharedSchema, which needs to be closed once the schema is no longer used
+     */
+    public synchronized SharedSchema acquire(final Collection<SourceIdentifier> sources,
+            final EffectiveModelContext context) {
+        final ImmutableSet<SourceIdentifier> key = ImmutableSet.copyOf(sources);
+        Entry entry = entries.get(key);
+        final boolean reused = entry != null;
+        if (reused) {
+            hits++;
+        } else {
+            misses++;
+            entry = new Entry(key, context);
+            entries.put(key, entry);
+        }
+        entry.refCount++;
+
+        LOG.debug("Acquired schema of {} sources, {} users, {} shared schemas, hit rate {}", key.size(),
+            entry.refCount, entries.size(), getHitRate());
+        return new SharedSchema(this, entry, reused);
+    }
+
+    /**
+     * Return the number of times a shared schema was found.
+     *
+     * @return Number of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Return the number of times a shared schema was not found.
+     *
+     * @return Number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Return the ratio of hits to all acquisitions.
+     *
+     * @return Hit rate, between 0 and 1
+     */
+    public synchronized double getHitRate() {
+        final long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Return the number of schemas currently held.
+     *
+     * @return Number of schemas
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void release(final Entry entry) {
+        checkState(entry.refCount > 0, "Entry %s is not referenced", entry.sources);
+        if (--entry.refCount == 0) {
+            LOG.debug("Releasing schema of {} sources", entry.sources.size());
+            entries.remove(entry.sources);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import static java.util.Objects.requireNonNull;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.CREATE_SUBSCRIPTION_RPC_QNAME;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.IETF_NETCONF_NOTIFICATIONS;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_URI;
+import static org.opendaylight.netconf.util.NetconfUtil.NETCONF_DATA_QNAME;
 
 import com.google.common.annotations.Beta;
 import com.google.common.annotations.VisibleForTesting;
@@ -23,6 +24,7 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Streams;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Instant;
@@ -31,17 +33,22 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMActionResult;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
@@ -50,13 +57,16 @@ import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.spi.DefaultDOMRpcResult;
 import org.opendaylight.mdsal.dom.spi.SimpleDOMActionResult;
+import org.opendaylight.netconf.api.DeferredRpcReplyMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.xml.MissingNameSpaceException;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.sal.connect.api.MessageTransformer;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
 import org.opendaylight.netconf.sal.connect.util.MessageCounter;
+import org.opendaylight.netconf.util.NetconfUtil;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.Revision;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -80,6 +90,7 @@ import org.opendaylight.yangtools.yang.model.api.InputSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.NotificationNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -93,7 +104,58 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+/**
+ * {@link MessageTransformer} backed by a device's schema. Instances are thread-safe: all parsing state is confined to a
+ * single invocation, hence notifications and RPC replies for a single device can be transformed concurrently.
+ */
 public class NetconfMessageTransformer implements MessageTransformer<NetconfMessage> {
+    /**
+     * Indices of a device's schema used by {@link NetconfMessageTransformer}. Building them requires walking the entire
+     * schema, hence they should be shared by all transformers operating on the same {@link MountPointContext}.
+     * Instances are immutable and thread-safe.
+     */
+    @Beta
+    public static final class SchemaIndex {
+        private final MountPointContext mountContext;
+        private final DataSchemaContextTree contextTree;
+        private final ImmutableMap<QName, ? extends RpcDefinition> mappedRpcs;
+        private final Multimap<QName, ? extends NotificationDefinition> mappedNotifications;
+        private final ImmutableMap<QName, NotificationSchema> topLevelNotifications;
+        private final ImmutableMap<NotificationDefinition, NotificationSchema> nestedNotifications;
+        private final ImmutableMap<Absolute, ActionDefinition> actions;
+
+        private SchemaIndex(final MountPointContext mountContext) {
+            this.mountContext = requireNonNull(mountContext);
+
+            final EffectiveModelContext schemaContext = mountContext.getEffectiveModelContext();
+            this.contextTree = DataSchemaContextTree.from(schemaContext);
+
+            this.mappedRpcs = Maps.uniqueIndex(schemaContext.getOperations(), SchemaNode::getQName);
+            this.actions = Maps.uniqueIndex(getActions(schemaContext), action -> action.getPath().asAbsolute());
+
+            // RFC6020 normal notifications
+            this.mappedNotifications = Multimaps.index(schemaContext.getNotifications(),
+                node -> node.getQName().withoutRevision());
+            this.topLevelNotifications = ImmutableMap.copyOf(Maps.transformValues(mappedNotifications.asMap(),
+                definitions -> new NotificationSchema(getMostRecentNotification(definitions))));
+            this.nestedNotifications = indexNestedNotifications(schemaContext);
+        }
+
+        /**
+         * Index a mount point context.
+         *
+         * @param mountContext mount point context
+         * @return A SchemaIndex
+         */
+        public static SchemaIndex of(final MountPointContext mountContext) {
+            return new SchemaIndex(mountContext);
+        }
+
+        public MountPointContext getMountPointContext() {
+            return mountContext;
+        }
+    }
+
     private static final Logger LOG = LoggerFactory.getLogger(NetconfMessageTransformer.class);
 
     private static final ImmutableSet<URI> BASE_OR_NOTIFICATION_NS = ImmutableSet.of(
@@ -107,25 +169,55 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     private final MessageCounter counter;
     private final ImmutableMap<QName, ? extends RpcDefinition> mappedRpcs;
     private final Multimap<QName, ? extends NotificationDefinition> mappedNotifications;
+    private final ImmutableMap<QName, NotificationSchema> topLevelNotifications;
+    private final ImmutableMap<NotificationDefinition, NotificationSchema> nestedNotifications;
     private final boolean strictParsing;
+    private final boolean parseDataReplies;
     private final ImmutableMap<Absolute, ActionDefinition> actions;
 
     public NetconfMessageTransformer(final MountPointContext mountContext, final boolean strictParsing,
                                      final BaseSchema baseSchema) {
-        this.counter = new MessageCounter();
-        this.mountContext = requireNonNull(mountContext);
-
-        final EffectiveModelContext schemaContext = mountContext.getEffectiveModelContext();
-        this.contextTree = DataSchemaContextTree.from(schemaContext);
+        this(mountContext, strictParsing, baseSchema, false);
+    }
 
-        this.mappedRpcs = Maps.uniqueIndex(schemaContext.getOperations(), SchemaNode::getQName);
-        this.actions = Maps.uniqueIndex(getActions(schemaContext), action -> action.getPath().asAbsolute());
+    /**
+     * Create a new transformer.
+     *
+     * @param mountContext device mount context
+     * @param strictParsing whether unknown elements should cause parsing to fail
+     * @param baseSchema base NETCONF schema
+     * @param parseDataReplies if {@code true}, replies to data retrieval operations which were delivered as
+     *                         {@link DeferredRpcReplyMessage}s are parsed directly into a {@link ContainerNode},
+     *                         otherwise they are exposed as an anyxml node
+     */
+    public NetconfMessageTransformer(final MountPointContext mountContext, final boolean strictParsing,
+                                     final BaseSchema baseSchema, final boolean parseDataReplies) {
+        this(SchemaIndex.of(mountContext), strictParsing, baseSchema, parseDataReplies);
+    }
 
-        // RFC6020 normal notifications
-        this.mappedNotifications = Multimaps.index(schemaContext.getNotifications(),
-            node -> node.getQName().withoutRevision());
+    /**
+     * Create a new transformer using a pre-built schema index.
+     *
+     * @param index device schema index
+     * @param strictParsing whether unknown elements should cause parsing to fail
+     * @param baseSchema base NETCONF schema
+     * @param parseDataReplies if {@code true}, replies to data retrieval operations which were delivered as
+     *                         {@link DeferredRpcReplyMessage}s are parsed directly into a {@link ContainerNode},
+     *                         otherwise they are exposed as an anyxml node
+     */
+    public NetconfMessageTransformer(final SchemaIndex index, final boolean strictParsing,
+                                     final BaseSchema baseSchema, final boolean parseDataReplies) {
+        this.counter = new MessageCounter();
+        this.mountContext = index.mountContext;
+        this.contextTree = index.contextTree;
+        this.mappedRpcs = index.mappedRpcs;
+        this.actions = index.actions;
+        this.mappedNotifications = index.mappedNotifications;
+        this.topLevelNotifications = index.topLevelNotifications;
+        this.nestedNotifications = index.nestedNotifications;
         this.baseSchema = baseSchema;
         this.strictParsing = strictParsing;
+        this.parseDataReplies = parseDataReplies;
     }
 
     @VisibleForTesting
@@ -154,7 +246,7 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     }
 
     @Override
-    public synchronized DOMNotification toNotification(final NetconfMessage message) {
+    public DOMNotification toNotification(final NetconfMessage message) {
         final Entry<Instant, XmlElement> stripped = NetconfMessageTransformUtil.stripNotification(message);
         final QName notificationNoRev;
         try {
@@ -165,35 +257,29 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
                     "Unable to parse notification " + message + ", cannot find namespace", e);
         }
 
-        Collection<? extends NotificationDefinition> notificationDefinitions =
-                mappedNotifications.get(notificationNoRev);
+        NotificationSchema notificationSchema = topLevelNotifications.get(notificationNoRev);
         Element element = stripped.getValue().getDomElement();
 
         NestedNotificationInfo nestedNotificationInfo = null;
-        if (notificationDefinitions.isEmpty()) {
+        if (notificationSchema == null) {
             // check if notification is nested notification
             Optional<NestedNotificationInfo> nestedNotificationOptional = findNestedNotification(message, element);
             if (nestedNotificationOptional.isPresent()) {
                 nestedNotificationInfo = nestedNotificationOptional.get();
-                notificationDefinitions = Collections.singletonList(nestedNotificationInfo.notificationDefinition);
+                notificationSchema = nestedNotificationSchema(nestedNotificationInfo.notificationDefinition);
                 element = (Element) nestedNotificationInfo.notificationNode;
             }
         }
-        Preconditions.checkArgument(notificationDefinitions.size() > 0,
+        Preconditions.checkArgument(notificationSchema != null,
                 "Unable to parse notification %s, unknown notification. Available notifications: %s",
-                notificationDefinitions, mappedNotifications.keySet());
-
-        final NotificationDefinition mostRecentNotification = getMostRecentNotification(notificationDefinitions);
-
-        final ContainerSchemaNode notificationAsContainerSchemaNode =
-                NetconfMessageTransformUtil.createSchemaForNotification(mostRecentNotification);
+                notificationNoRev, mappedNotifications.keySet());
 
         final ContainerNode content;
         try {
             final NormalizedNodeResult resultHolder = new NormalizedNodeResult();
             final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(resultHolder);
             final XmlParserStream xmlParser = XmlParserStream.create(writer, mountContext,
-                    notificationAsContainerSchemaNode, strictParsing);
+                    notificationSchema.container, strictParsing);
             xmlParser.traverse(new DOMSource(element));
             content = (ContainerNode) resultHolder.getResult();
         } catch (XMLStreamException | URISyntaxException | IOException | SAXException
@@ -202,13 +288,41 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
         }
 
         if (nestedNotificationInfo != null) {
-            return new NetconfDeviceTreeNotification(content,
-                // FIXME: improve this to cache the path
-                mostRecentNotification.getPath().asAbsolute(),
-                stripped.getKey(), nestedNotificationInfo.domDataTreeIdentifier);
+            return new NetconfDeviceTreeNotification(content, notificationSchema.path, stripped.getKey(),
+                nestedNotificationInfo.domDataTreeIdentifier);
         }
 
-        return new NetconfDeviceNotification(content, stripped.getKey());
+        return new NetconfDeviceNotification(content, notificationSchema.path, stripped.getKey());
+    }
+
+    private NotificationSchema nestedNotificationSchema(final NotificationDefinition definition) {
+        final NotificationSchema cached = nestedNotifications.get(definition);
+        return cached != null ? cached : new NotificationSchema(definition);
+    }
+
+    private static ImmutableMap<NotificationDefinition, NotificationSchema> indexNestedNotifications(
+            final EffectiveModelContext schemaContext) {
+        final Map<NotificationDefinition, NotificationSchema> builder = new IdentityHashMap<>();
+        for (Module module : schemaContext.getModules()) {
+            for (DataSchemaNode child : module.getChildNodes()) {
+                indexNestedNotifications(child, builder);
+            }
+        }
+        return ImmutableMap.copyOf(builder);
+    }
+
+    private static void indexNestedNotifications(final DataSchemaNode schemaNode,
+            final Map<NotificationDefinition, NotificationSchema> builder) {
+        // Mirrors traverseXmlNodeContainingNotification(): nested notifications are reachable through containers and
+        // lists only
+        if (schemaNode instanceof ContainerSchemaNode || schemaNode instanceof ListSchemaNode) {
+            for (NotificationDefinition notification : ((NotificationNodeContainer) schemaNode).getNotifications()) {
+                builder.put(notification, new NotificationSchema(notification));
+            }
+            for (DataSchemaNode child : ((DataNodeContainer) schemaNode).getChildNodes()) {
+                indexNestedNotifications(child, builder);
+            }
+        }
     }
 
     private Optional<NestedNotificationInfo> findNestedNotification(final NetconfMessage message,
@@ -399,9 +513,18 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     }
 
     @Override
-    public synchronized DOMRpcResult toRpcResult(final NetconfMessage message, final QName rpc) {
+    public DOMRpcResult toRpcResult(final NetconfMessage message, final QName rpc) {
         final NormalizedNode<?, ?> normalizedNode;
         if (NetconfMessageTransformUtil.isDataRetrievalOperation(rpc)) {
+            if (parseDataReplies && message instanceof DeferredRpcReplyMessage) {
+                final ContainerNode data = parseDataReply((DeferredRpcReplyMessage) message);
+                if (data != null) {
+                    return new DefaultDOMRpcResult(Builders.containerBuilder()
+                        .withNodeIdentifier(NetconfMessageTransformUtil.NETCONF_RPC_REPLY_NODEID)
+                        .withChild(data)
+                        .build());
+                }
+            }
             normalizedNode = Builders.containerBuilder()
                     .withNodeIdentifier(NetconfMessageTransformUtil.NETCONF_RPC_REPLY_NODEID)
                     .withChild(Builders.anyXmlBuilder()
@@ -445,29 +568,121 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
 
     private NormalizedNode<?, ?> parseResult(final NetconfMessage message,
             final OperationDefinition operationDefinition) {
+        // Deferred replies are streamed directly, without building their DOM
+        if (message instanceof DeferredRpcReplyMessage) {
+            final DeferredRpcReplyMessage deferred = (DeferredRpcReplyMessage) message;
+            return checkOkResponse(isOkReply(deferred), message, operationDefinition) ? null
+                : parseDeferredResult(deferred, operationDefinition);
+        }
+
         final Optional<XmlElement> okResponseElement = XmlElement.fromDomDocument(message.getDocument())
                 .getOnlyChildElementWithSameNamespaceOptionally("ok");
-        if (operationDefinition.getOutput().getChildNodes().isEmpty()) {
-            Preconditions.checkArgument(okResponseElement.isPresent(),
-                "Unexpected content in response of rpc: %s, %s", operationDefinition.getQName(), message);
+        if (checkOkResponse(okResponseElement.isPresent(), message, operationDefinition)) {
             return null;
-        } else {
-            if (okResponseElement.isPresent()) {
-                LOG.debug("Received response <ok/> for RPC with defined Output");
-                return null;
+        }
+
+        Element element = message.getDocument().getDocumentElement();
+        try {
+            final NormalizedNodeResult resultHolder = new NormalizedNodeResult();
+            final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(resultHolder);
+            final XmlParserStream xmlParser = XmlParserStream.create(writer, mountContext,
+                    operationDefinition.getOutput(), strictParsing);
+            xmlParser.traverse(new DOMSource(element));
+            return resultHolder.getResult();
+        } catch (XMLStreamException | URISyntaxException | IOException | SAXException e) {
+            throw new IllegalArgumentException(String.format("Failed to parse RPC response %s", element), e);
+        }
+    }
+
+    /**
+     * Check whether a response carrying {@code <ok/>} is complete, i.e. it does not need to be parsed.
+     *
+     * @param isOk whether the response carries {@code <ok/>}
+     * @param message response message
+     * @param operationDefinition operation the response belongs to
+     * @return true if there is nothing to parse
+     * @throws IllegalArgumentException if the operation has no output and the response does not carry {@code <ok/>}
+     */
+    private static boolean checkOkResponse(final boolean isOk, final NetconfMessage message,
+            final OperationDefinition operationDefinition) {
+        if (operationDefinition.getOutput().getChildNodes().isEmpty()) {
+            Preconditions.checkArgument(isOk, "Unexpected content in response of rpc: %s, %s",
+                operationDefinition.getQName(), message);
+            return true;
+        }
+        if (isOk) {
+            LOG.debug("Received response <ok/> for RPC with defined Output");
+        }
+        return isOk;
+    }
+
+    /**
+     * Check whether a deferred reply carries {@code <ok/>}. Only the start of the reply is read.
+     *
+     * @param message reply message
+     * @return true if the first child of {@code rpc-reply} is {@code ok}
+     */
+    private static boolean isOkReply(final DeferredRpcReplyMessage message) {
+        try (InputStream is = message.openStream()) {
+            final XMLStreamReader reader = UntrustedXML.createXMLStreamReader(is);
+            try {
+                // Position on rpc-reply and then on its first child, if any
+                reader.nextTag();
+                final String namespace = reader.getNamespaceURI();
+                return reader.nextTag() == XMLStreamConstants.START_ELEMENT && "ok".equals(reader.getLocalName())
+                    && Objects.equals(namespace, reader.getNamespaceURI());
+            } finally {
+                reader.close();
             }
+        } catch (XMLStreamException | IOException e) {
+            throw new IllegalArgumentException(String.format("Failed to parse RPC response %s", message), e);
+        }
+    }
 
-            Element element = message.getDocument().getDocumentElement();
+    private NormalizedNode<?, ?> parseDeferredResult(final DeferredRpcReplyMessage message,
+            final OperationDefinition operationDefinition) {
+        try (InputStream is = message.openStream()) {
+            final XMLStreamReader reader = UntrustedXML.createXMLStreamReader(is);
             try {
                 final NormalizedNodeResult resultHolder = new NormalizedNodeResult();
                 final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(resultHolder);
                 final XmlParserStream xmlParser = XmlParserStream.create(writer, mountContext,
                         operationDefinition.getOutput(), strictParsing);
-                xmlParser.traverse(new DOMSource(element));
+                xmlParser.parse(reader);
                 return resultHolder.getResult();
-            } catch (XMLStreamException | URISyntaxException | IOException | SAXException e) {
-                throw new IllegalArgumentException(String.format("Failed to parse RPC response %s", element), e);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | URISyntaxException | IOException | SAXException e) {
+            throw new IllegalArgumentException(String.format("Failed to parse RPC response %s", message), e);
+        }
+    }
+
+    /**
+     * Parse the {@code data} element of a deferred reply directly from its serialized form, without building a DOM
+     * document.
+     *
+     * @param message reply message
+     * @return Parsed data, or null if the reply does not contain a data element
+     */
+    private @Nullable ContainerNode parseDataReply(final DeferredRpcReplyMessage message) {
+        try (InputStream is = message.openStream()) {
+            final XMLStreamReader reader = UntrustedXML.createXMLStreamReader(is);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT
+                            && NETCONF_DATA_QNAME.getLocalName().equals(reader.getLocalName())
+                            && NETCONF_URI.toString().equals(reader.getNamespaceURI())) {
+                        return (ContainerNode) NetconfUtil.transformXMLStreamToNormalizedNode(mountContext, reader)
+                            .getResult();
+                    }
+                }
+                return null;
+            } finally {
+                reader.close();
             }
+        } catch (XMLStreamException | URISyntaxException | IOException | SAXException e) {
+            throw new IllegalArgumentException(String.format("Failed to parse data reply %s", message), e);
         }
     }
 
@@ -520,6 +735,20 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
         }
     }
 
+    /**
+     * Everything needed to parse a particular notification: the container schema to feed to the parser and the
+     * notification's schema path.
+     */
+    private static final class NotificationSchema {
+        private final ContainerSchemaNode container;
+        private final Absolute path;
+
+        NotificationSchema(final NotificationDefinition definition) {
+            container = NetconfMessageTransformUtil.createSchemaForNotification(definition);
+            path = definition.getPath().asAbsolute();
+        }
+    }
+
     private static final class NestedNotificationInfo {
         private final NotificationDefinition notificationDefinition;
         private final DOMDataTreeIdentifier domDataTreeIdentifier;
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_CONFIG_NODEID;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_CONFIG_QNAME;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_OPERATION_QNAME_LEGACY;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.netconf.api.ModifyAction;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.util.NetconfUtil;
+import org.opendaylight.yangtools.rfc7952.data.util.ImmutableNormalizedMetadata;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DOMSourceAnyxmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableAugmentationNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableChoiceNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableOrderedLeafSetNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableOrderedMapNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.w3c.dom.Element;
+
+/**
+ * A set of {@link EditConfigModification}s which can be carried by a single edit-config request. Modifications are
+ * accepted as long as they do not overlap, i.e. no modification targets a node which is a parent or a child of a node
+ * targeted by another modification. The parent structure of all modifications is then merged, so that every node is
+ * present in the resulting config element at most once.
+ */
+final class EditConfigBatch {
+    private static final class PathNode {
+        final Map<PathArgument, PathNode> children = new HashMap<>();
+        @Nullable ModifyAction operation;
+        boolean target;
+    }
+
+    private final PathNode root = new PathNode();
+    private final List<EditConfigModification> modifications = new ArrayList<>();
+    private final EffectiveModelContext ctx;
+
+    EditConfigBatch(final EffectiveModelContext ctx) {
+        this.ctx = requireNonNull(ctx);
+    }
+
+    /**
+     * Split modifications into batches, each carrying at most {@code maxModifications} modifications.
+     *
+     * @param ctx model context
+     * @param modifications modifications to split, in order of their execution
+     * @param maxModifications maximum number of modifications in a single batch
+     * @return Config structures, one for each batch
+     */
+    static List<DOMSourceAnyxmlNode> createEditConfigStructures(final EffectiveModelContext ctx,
+            final List<EditConfigModification> modifications, final int maxModifications) {
+        checkArgument(maxModifications > 0, "Invalid maximum number of modifications %s", maxModifications);
+        final List<DOMSourceAnyxmlNode> ret = new ArrayList<>();
+        EditConfigBatch batch = new EditConfigBatch(ctx);
+        for (EditConfigModification modification : modifications) {
+            if (batch.size() == maxModifications || !batch.tryAdd(modification)) {
+                ret.add(batch.toConfigStructure());
+                batch = new EditConfigBatch(ctx);
+                // Cannot fail on an empty batch
+                batch.tryAdd(modification);
+            }
+        }
+        if (batch.size() != 0) {
+            ret.add(batch.toConfigStructure());
+        }
+        return ret;
+    }
+
+    int size() {
+        return modifications.size();
+    }
+
+    /**
+     * Attempt to add a modification to this batch.
+     *
+     * @param modification modification to add
+     * @return True if the modification was added, false if it overlaps with a modification already present
+     */
+    boolean tryAdd(final EditConfigModification modification) {
+        final List<PathArgument> args = modification.getPath().getPathArguments();
+        if (args.isEmpty()) {
+            // Modification of the entire datastore cannot be combined with anything
+            if (!modifications.isEmpty()) {
+                return false;
+            }
+            root.target = true;
+            modifications.add(modification);
+            return true;
+        }
+
+        // First pass: check for overlaps
+        PathNode node = root;
+        for (PathArgument arg : args) {
+            if (node.target) {
+                return false;
+            }
+            node = node.children.get(arg);
+            if (node == null) {
+                break;
+            }
+        }
+        if (node != null && (node.target || !node.children.isEmpty())) {
+            return false;
+        }
+
+        // Second pass: record the modification
+        node = root;
+        for (PathArgument arg : args) {
+            node = node.children.computeIfAbsent(arg, key -> new PathNode());
+        }
+        node.target = true;
+        node.operation = modification.getOperation().orElse(null);
+        modifications.add(modification);
+        return true;
+    }
+
+    DOMSourceAnyxmlNode toConfigStructure() {
+        checkArgument(!modifications.isEmpty(), "Empty batch");
+        if (modifications.size() == 1) {
+            final EditConfigModification modification = modifications.get(0);
+            return NetconfMessageTransformUtil.createEditConfigAnyxml(ctx, modification.getPath(),
+                modification.getOperation(), modification.getData());
+        }
+
+        // Merge the structures of all modifications, indexed by their top-level node
+        final Map<PathArgument, NormalizedNode<?, ?>> topLevel = new LinkedHashMap<>();
+        for (EditConfigModification modification : modifications) {
+            final NormalizedNode<?, ?> structure = ImmutableNodes.fromInstanceId(ctx, modification.getPath(),
+                modification.getData());
+            topLevel.merge(structure.getIdentifier(), structure, EditConfigBatch::mergeStructure);
+        }
+
+        final Element element = XmlUtil.createElement(XmlUtil.newDocument(), NETCONF_CONFIG_QNAME.getLocalName(),
+            Optional.of(NETCONF_CONFIG_QNAME.getNamespace().toString()));
+        for (NormalizedNode<?, ?> node : topLevel.values()) {
+            final PathArgument arg = node.getIdentifier();
+            try {
+                NetconfUtil.writeNormalizedNode(node, buildMetadata(arg, root.children.get(arg)),
+                    new DOMResult(element), SchemaPath.ROOT, ctx);
+            } catch (IOException | XMLStreamException e) {
+                throw new IllegalStateException("Unable to serialize edit config content element for " + arg, e);
+            }
+        }
+
+        return Builders.anyXmlBuilder().withNodeIdentifier(NETCONF_CONFIG_NODEID).withValue(new DOMSource(element))
+                .build();
+    }
+
+    private static @Nullable ImmutableNormalizedMetadata buildMetadata(final PathArgument arg, final PathNode node) {
+        ImmutableNormalizedMetadata.Builder builder = null;
+        if (node.operation != null) {
+            builder = ImmutableNormalizedMetadata.builder().withIdentifier(arg)
+                .withAnnotation(NETCONF_OPERATION_QNAME_LEGACY, node.operation.toString().toLowerCase(Locale.US));
+        }
+        for (Map.Entry<PathArgument, PathNode> entry : node.children.entrySet()) {
+            final ImmutableNormalizedMetadata child = buildMetadata(entry.getKey(), entry.getValue());
+            if (child != null) {
+                if (builder == null) {
+                    builder = ImmutableNormalizedMetadata.builder().withIdentifier(arg);
+                }
+                builder.withChild(child);
+            }
+        }
+        return builder == null ? null : builder.build();
+    }
+
+    /*
+     * Merge parent structures of two non-overlapping modifications. Since the modified nodes themselves do not
+     * overlap, we only ever encounter them as distinct children, except for list keys, which are present in both
+     * structures.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static NormalizedNode<?, ?> mergeStructure(final NormalizedNode<?, ?> existing,
+            final NormalizedNode<?, ?> added) {
+        if (existing instanceof DataContainerNode) {
+            final DataContainerNodeBuilder builder;
+            if (existing instanceof ContainerNode) {
+                builder = Builders.containerBuilder((ContainerNode) existing);
+            } else if (existing instanceof MapEntryNode) {
+                builder = Builders.mapEntryBuilder((MapEntryNode) existing);
+            } else if (existing instanceof AugmentationNode) {
+                builder = ImmutableAugmentationNodeBuilder.create((AugmentationNode) existing);
+            } else if (existing instanceof ChoiceNode) {
+                builder = ImmutableChoiceNodeBuilder.create((ChoiceNode) existing);
+            } else {
+                throw new IllegalArgumentException("Unhandled structure node " + existing);
+            }
+
+            final DataContainerNode<?> existingContainer = (DataContainerNode<?>) existing;
+            for (DataContainerChild<?, ?> child : ((DataContainerNode<?>) added).getValue()) {
+                final Optional<DataContainerChild<?, ?>> current = existingContainer.getChild(child.getIdentifier());
+                builder.withChild(current.isPresent() ? (DataContainerChild<?, ?>) mergeStructure(current.get(), child)
+                    : child);
+            }
+            return builder.build();
+        }
+        if (existing instanceof MapNode) {
+            final MapNode existingMap = (MapNode) existing;
+            final CollectionNodeBuilder<MapEntryNode, ? extends MapNode> builder = existing instanceof OrderedMapNode
+                ? ImmutableOrderedMapNodeBuilder.create(existingMap) : Builders.mapBuilder(existingMap);
+            for (MapEntryNode entry : ((MapNode) added).getValue()) {
+                final Optional<MapEntryNode> current = existingMap.getChild(entry.getIdentifier());
+                builder.withChild(current.isPresent() ? (MapEntryNode) mergeStructure(current.get(), entry) : entry);
+            }
+            return builder.build();
+        }
+        if (existing instanceof LeafSetNode) {
+            final LeafSetNode existingSet = (LeafSetNode) existing;
+            final ListNodeBuilder builder = existing instanceof OrderedLeafSetNode
+                ? ImmutableOrderedLeafSetNodeBuilder.create(existingSet) : Builders.leafSetBuilder(existingSet);
+            for (LeafSetEntryNode<?> entry : ((LeafSetNode<?>) added).getValue()) {
+                builder.withChild(entry);
+            }
+            return builder.build();
+        }
+
+        checkArgument(existing.equals(added), "Conflicting modifications of %s", existing.getIdentifier());
+        return existing;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.util;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.Optional;
+import org.opendaylight.netconf.api.ModifyAction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A single modification to be carried by an edit-config request, as specified to
+ * {@link NetconfBaseOps#createEditConfigStrcture(Optional, Optional, YangInstanceIdentifier)}.
+ */
+public final class EditConfigModification {
+    private final YangInstanceIdentifier path;
+    private final Optional<NormalizedNode<?, ?>> data;
+    private final Optional<ModifyAction> operation;
+
+    public EditConfigModification(final YangInstanceIdentifier path, final Optional<NormalizedNode<?, ?>> data,
+            final Optional<ModifyAction> operation) {
+        this.path = requireNonNull(path);
+        this.data = requireNonNull(data);
+        this.operation = requireNonNull(operation);
+    }
+
+    public YangInstanceIdentifier getPath() {
+        return path;
+    }
+
+    public Optional<NormalizedNode<?, ?>> getData() {
+        return data;
+    }
+
+    public Optional<ModifyAction> getOperation() {
+        return operation;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("path", path).add("operation", operation).toString();
+    }
+}
@@ -39,6 +39,7 @@ import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTr
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.toId;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -49,8 +50,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.api.DOMRpcService;
 import org.opendaylight.netconf.api.ModifyAction;
@@ -78,14 +82,40 @@ import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContaine
 public final class NetconfBaseOps {
     private static final NodeIdentifier CONFIG_SOURCE_NODEID = NodeIdentifier.create(ConfigSource.QNAME);
     private static final NodeIdentifier CONFIG_TARGET_NODEID = NodeIdentifier.create(ConfigTarget.QNAME);
+    private static final FutureCallback<DOMRpcResult> NOOP_CALLBACK = new FutureCallback<>() {
+        @Override
+        public void onSuccess(final DOMRpcResult result) {
+            // No-op
+        }
+
+        @Override
+        public void onFailure(final Throwable throwable) {
+            // No-op
+        }
+    };
 
     private final DOMRpcService rpc;
     private final MountPointContext mountContext;
     private final RpcStructureTransformer transformer;
+    private final @Nullable NetconfReadCache readCache;
 
     public NetconfBaseOps(final DOMRpcService rpc, final MountPointContext mountContext) {
+        this(rpc, mountContext, null);
+    }
+
+    /**
+     * Create base operations which serve data reads through a cache. The cache is invalidated whenever the running
+     * datastore is modified through these operations.
+     *
+     * @param rpc device RPC service
+     * @param mountContext device mount context
+     * @param readCache cache of read data, or {@code null} if reads should not be cached
+     */
+    public NetconfBaseOps(final DOMRpcService rpc, final MountPointContext mountContext,
+            final @Nullable NetconfReadCache readCache) {
         this.rpc = rpc;
         this.mountContext = mountContext;
+        this.readCache = readCache;
 
         if (rpc instanceof KeepaliveDOMRpcService
                 && ((KeepaliveDOMRpcService) rpc).getDeviceRpc() instanceof SchemalessNetconfDeviceRpc) {
@@ -158,6 +188,7 @@ public final class NetconfBaseOps {
 
         final ListenableFuture<? extends DOMRpcResult> future = rpc.invokeRpc(NETCONF_COMMIT_QNAME, COMMIT_RPC_CONTENT);
         Futures.addCallback(future, callback, MoreExecutors.directExecutor());
+        invalidateReads(future);
         return future;
     }
 
@@ -186,6 +217,9 @@ public final class NetconfBaseOps {
         final ListenableFuture<? extends DOMRpcResult> future = rpc.invokeRpc(NETCONF_COPY_CONFIG_QNAME,
             getCopyConfigContent(requireNonNull(source), requireNonNull(target)));
         Futures.addCallback(future, callback, MoreExecutors.directExecutor());
+        if (NETCONF_RUNNING_QNAME.equals(target)) {
+            invalidateReads(future);
+        }
         return future;
     }
 
@@ -246,7 +280,8 @@ public final class NetconfBaseOps {
      */
     public ListenableFuture<Optional<NormalizedNode<?, ?>>> getConfigRunningData(
             final FutureCallback<DOMRpcResult> callback, final Optional<YangInstanceIdentifier> filterPath) {
-        return extractData(filterPath, getConfigRunning(callback, filterPath));
+        return cachedRead(LogicalDatastoreType.CONFIGURATION, filterPath, List.of(), callback,
+            readCallback -> getConfigRunning(readCallback, filterPath));
     }
 
     /**
@@ -267,8 +302,8 @@ public final class NetconfBaseOps {
                 "Failed to build NETCONF GET-CONFIG RPC: provided list of fields is empty; filter path: "
                     + filterPath));
         }
-        final ListenableFuture<? extends DOMRpcResult> response = getConfigRunning(callback, filterPath, fields);
-        return extractData(filterPath, response);
+        return cachedRead(LogicalDatastoreType.CONFIGURATION, filterPath, fields, callback,
+            readCallback -> getConfigRunning(readCallback, filterPath, fields));
     }
 
     /**
@@ -280,7 +315,8 @@ public final class NetconfBaseOps {
      */
     public ListenableFuture<Optional<NormalizedNode<?, ?>>> getData(final FutureCallback<DOMRpcResult> callback,
                                                                     final Optional<YangInstanceIdentifier> filterPath) {
-        return extractData(filterPath, get(callback, filterPath));
+        return cachedRead(LogicalDatastoreType.OPERATIONAL, filterPath, List.of(), callback,
+            readCallback -> get(readCallback, filterPath));
     }
 
     /**
@@ -299,10 +335,36 @@ public final class NetconfBaseOps {
             return Futures.immediateFailedFuture(new IllegalArgumentException(
                     "Failed to build NETCONF GET RPC: provided list of fields is empty; filter path: " + filterPath));
         }
-        final ListenableFuture<? extends DOMRpcResult> response = get(callback, filterPath, fields);
+        return cachedRead(LogicalDatastoreType.OPERATIONAL, filterPath, fields, callback,
+            readCallback -> get(readCallback, filterPath, fields));
+    }
+
+    private ListenableFuture<Optional<NormalizedNode<?, ?>>> cachedRead(final LogicalDatastoreType store,
+            final Optional<YangInstanceIdentifier> filterPath, final List<YangInstanceIdentifier> fields,
+            final FutureCallback<DOMRpcResult> callback,
+            final Function<FutureCallback<DOMRpcResult>, ListenableFuture<? extends DOMRpcResult>> reader) {
+        if (readCache == null) {
+            return extractData(filterPath, reader.apply(callback));
+        }
+
+        // The reply may be shared with other readers, hence the request is issued without a callback and the callback
+        // of each reader is attached to the reply
+        requireNonNull(callback);
+        final ListenableFuture<? extends DOMRpcResult> response = readCache.read(store, filterPath, fields,
+            () -> reader.apply(NOOP_CALLBACK));
+        Futures.addCallback(response, callback, MoreExecutors.directExecutor());
         return extractData(filterPath, response);
     }
 
+    private void invalidateReads(final ListenableFuture<?> modification) {
+        if (readCache != null) {
+            // Invalidate both now and once the device has processed the modification, so that reads issued while it
+            // is in flight are not retained
+            readCache.invalidate();
+            modification.addListener(readCache::invalidate, MoreExecutors.directExecutor());
+        }
+    }
+
     private ListenableFuture<Optional<NormalizedNode<?, ?>>> extractData(
             final Optional<YangInstanceIdentifier> path, final ListenableFuture<? extends DOMRpcResult> configRunning) {
         return Futures.transform(configRunning, result -> {
@@ -420,6 +482,9 @@ public final class NetconfBaseOps {
                 getEditConfigContent(requireNonNull(datastore), requireNonNull(editStructure), modifyAction, rollback));
 
         Futures.addCallback(future, callback, MoreExecutors.directExecutor());
+        if (NETCONF_RUNNING_QNAME.equals(datastore)) {
+            invalidateReads(future);
+        }
         return future;
     }
 
@@ -432,6 +497,20 @@ public final class NetconfBaseOps {
                 .build();
     }
 
+    /**
+     * Create edit-config structures for a sequence of modifications, combining them into as few structures as
+     * possible.
+     *
+     * @param modifications modifications, in order of their execution
+     * @param maxModifications maximum number of modifications combined into a single structure
+     * @return edit-config structures, in order of their execution
+     */
+    public List<ChoiceNode> createEditConfigStructures(final List<EditConfigModification> modifications,
+                                                       final int maxModifications) {
+        return Lists.transform(transformer.createEditConfigStructures(modifications, maxModifications),
+            config -> Builders.choiceBuilder().withNodeIdentifier(EDIT_CONTENT_NODEID).withChild(config).build());
+    }
+
     private static ContainerNode getEditConfigContent(
             final QName datastore, final DataContainerChild<?, ?> editStructure,
             final Optional<ModifyAction> defaultOperation, final boolean rollback) {
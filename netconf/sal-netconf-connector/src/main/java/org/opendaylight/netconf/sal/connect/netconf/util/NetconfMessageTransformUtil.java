@@ -155,7 +155,7 @@ public final class NetconfMessageTransformUtil {
     public static final @NonNull SchemaPath NETCONF_COPY_CONFIG_PATH = toPath(NETCONF_COPY_CONFIG_QNAME);
 
     public static final @NonNull QName NETCONF_OPERATION_QNAME = QName.create(NETCONF_QNAME, "operation").intern();
-    private static final @NonNull QName NETCONF_OPERATION_QNAME_LEGACY =
+    static final @NonNull QName NETCONF_OPERATION_QNAME_LEGACY =
         NETCONF_OPERATION_QNAME.withoutRevision().intern();
     public static final @NonNull QName NETCONF_DEFAULT_OPERATION_QNAME =
             QName.create(NETCONF_OPERATION_QNAME, "default-operation").intern();
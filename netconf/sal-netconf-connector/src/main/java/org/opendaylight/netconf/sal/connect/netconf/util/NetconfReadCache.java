@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of replies to reads from a single device, keyed by datastore, path and selected fields. Entries expire
+ * a configurable time after the reply is received and the number of entries is bounded. Concurrent identical reads are
+ * coalesced, so that they are served by a single get or get-config request.
+ *
+ * <p>
+ * The cache is disabled until it is {@link #configure(long, long) configured}. Entries are invalidated when the device
+ * reports a change through a notification, or when its running datastore is modified through this mount point.
+ */
+@Beta
+public final class NetconfReadCache {
+    private static final class Key {
+        private final LogicalDatastoreType store;
+        private final YangInstanceIdentifier path;
+        private final List<YangInstanceIdentifier> fields;
+
+        Key(final LogicalDatastoreType store, final YangInstanceIdentifier path,
+                final List<YangInstanceIdentifier> fields) {
+            this.store = requireNonNull(store);
+            this.path = path;
+            this.fields = List.copyOf(fields);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(store, path, fields);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return store == other.store && Objects.equals(path, other.path) && fields.equals(other.fields);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("store", store).add("path", path).add("fields", fields)
+                .toString();
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(NetconfReadCache.class);
+
+    private final RemoteDeviceId id;
+    private final Ticker ticker;
+
+    private volatile Cache<Key, ListenableFuture<DOMRpcResult>> cache;
+
+    public NetconfReadCache(final RemoteDeviceId id) {
+        this(id, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    NetconfReadCache(final RemoteDeviceId id, final Ticker ticker) {
+        this.id = requireNonNull(id);
+        this.ticker = requireNonNull(ticker);
+    }
+
+    /**
+     * Enable the cache, discarding any previously cached data.
+     *
+     * @param ttlMillis time in milliseconds, counted from the reception of a reply, for which it is served from the
+     *                  cache
+     * @param maxEntries maximum number of cached reads
+     * @throws IllegalArgumentException if any of the arguments is not positive
+     */
+    public void configure(final long ttlMillis, final long maxEntries) {
+        checkArgument(ttlMillis > 0, "Invalid time to live %s", ttlMillis);
+        checkArgument(maxEntries > 0, "Invalid maximum number of entries %s", maxEntries);
+        LOG.debug("{}: Caching up to {} reads for {} ms", id, maxEntries, ttlMillis);
+        cache = CacheBuilder.newBuilder().ticker(ticker).expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+            .maximumSize(maxEntries).build();
+    }
+
+    /**
+     * Disable the cache, discarding any cached data.
+     */
+    public void disable() {
+        LOG.debug("{}: Read caching disabled", id);
+        cache = null;
+    }
+
+    /**
+     * Read through the cache. If the same read is cached or is in progress, the returned future completes with its
+     * reply, otherwise the reader is invoked. Failed reads and replies carrying errors are not cached.
+     *
+     * @param store datastore being read
+     * @param path path to read
+     * @param fields fields selected under the path
+     * @param reader reader issuing the request to the device
+     * @return asynchronous completion token with the reply of the device
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public ListenableFuture<? extends DOMRpcResult> read(final LogicalDatastoreType store,
+            final Optional<YangInstanceIdentifier> path, final List<YangInstanceIdentifier> fields,
+            final Supplier<ListenableFuture<? extends DOMRpcResult>> reader) {
+        final Cache<Key, ListenableFuture<DOMRpcResult>> local = cache;
+        if (local == null) {
+            return reader.get();
+        }
+
+        final Key key = new Key(store, path.orElse(null), fields);
+        final ListenableFuture<DOMRpcResult> cached = local.getIfPresent(key);
+        if (cached != null) {
+            if (isUsable(cached)) {
+                LOG.trace("{}: Serving {} from cache", id, key);
+                return Futures.nonCancellationPropagating(cached);
+            }
+            local.asMap().remove(key, cached);
+        }
+
+        final SettableFuture<DOMRpcResult> created = SettableFuture.create();
+        final ListenableFuture<DOMRpcResult> existing = local.asMap().putIfAbsent(key, created);
+        if (existing != null) {
+            // Lost a race with an identical read
+            return Futures.nonCancellationPropagating(existing);
+        }
+
+        // Do not retain failures. Replace successful replies with themselves, so that their time to live starts now
+        // rather than when the request was issued. This does not resurrect entries invalidated in the meantime.
+        created.addListener(() -> {
+            if (isUsable(created)) {
+                local.asMap().replace(key, created, created);
+            } else {
+                local.asMap().remove(key, created);
+            }
+        }, MoreExecutors.directExecutor());
+        try {
+            created.setFuture(reader.get());
+        } catch (RuntimeException e) {
+            created.setException(e);
+            throw e;
+        }
+        return Futures.nonCancellationPropagating(created);
+    }
+
+    /**
+     * Discard all cached data.
+     */
+    public void invalidate() {
+        final Cache<?, ?> local = cache;
+        if (local != null) {
+            LOG.trace("{}: Invalidating all reads", id);
+            local.invalidateAll();
+        }
+    }
+
+    /**
+     * Discard data cached from a datastore.
+     *
+     * @param store datastore
+     */
+    public void invalidate(final LogicalDatastoreType store) {
+        final Cache<Key, ?> local = cache;
+        if (local != null) {
+            LOG.trace("{}: Invalidating reads from {}", id, store);
+            local.asMap().keySet().removeIf(key -> key.store == store);
+        }
+    }
+
+    @VisibleForTesting
+    long size() {
+        final Cache<?, ?> local = cache;
+        return local == null ? 0 : local.size();
+    }
+
+    private static boolean isUsable(final ListenableFuture<DOMRpcResult> future) {
+        if (!future.isDone()) {
+            return true;
+        }
+        try {
+            return Futures.getDone(future).getErrors().isEmpty();
+        } catch (ExecutionException | CancellationException e) {
+            return false;
+        }
+    }
+}
@@ -65,6 +65,13 @@ class NetconfRpcStructureTransformer implements RpcStructureTransformer {
             operation, data);
     }
 
+    @Override
+    public List<DOMSourceAnyxmlNode> createEditConfigStructures(final List<EditConfigModification> modifications,
+                                                                final int maxModifications) {
+        return EditConfigBatch.createEditConfigStructures(mountContext.getEffectiveModelContext(), modifications,
+            maxModifications);
+    }
+
     @Override
     public DataContainerChild<?, ?> toFilterStructure(final YangInstanceIdentifier path) {
         // FIXME: propagate MountPointContext
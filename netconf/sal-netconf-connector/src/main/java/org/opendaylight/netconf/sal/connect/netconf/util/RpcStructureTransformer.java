@@ -32,6 +32,18 @@ interface RpcStructureTransformer {
     DOMSourceAnyxmlNode createEditConfigStructure(Optional<NormalizedNode<?, ?>> data,
                                                   YangInstanceIdentifier dataPath, Optional<ModifyAction> operation);
 
+    /**
+     * Transforms a sequence of modifications to config element structures. Implementations may combine multiple
+     * modifications into a single structure, as long as the result is equivalent to executing each structure
+     * in turn.
+     *
+     * @param modifications modifications, in order of their execution
+     * @param maxModifications maximum number of modifications combined into a single structure
+     * @return config structures, in order of their execution
+     */
+    List<DOMSourceAnyxmlNode> createEditConfigStructures(List<EditConfigModification> modifications,
+                                                         int maxModifications);
+
     /**
      * Transforms path to filter structure.
      *
@@ -18,6 +18,7 @@ import static org.opendaylight.netconf.util.NetconfUtil.appendListKeyNodes;
 import static org.opendaylight.netconf.util.NetconfUtil.writeSchemalessFilter;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -114,6 +115,17 @@ class SchemalessRpcStructureTransformer implements RpcStructureTransformer {
                 .build();
     }
 
+    /**
+     * This class in not context aware, hence it cannot merge modifications. Each modification results in a separate
+     * structure.
+     */
+    @Override
+    public List<DOMSourceAnyxmlNode> createEditConfigStructures(final List<EditConfigModification> modifications,
+            final int maxModifications) {
+        return Lists.transform(modifications, modification -> createEditConfigStructure(modification.getData(),
+            modification.getPath(), modification.getOperation()));
+    }
+
     /**
      * This class in not context aware. All elements are present in resulting structure, which are present in data path.
      * @see RpcStructureTransformer#toFilterStructure(YangInstanceIdentifier)
@@ -19,6 +19,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
@@ -28,12 +29,16 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -41,10 +46,16 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.opendaylight.mdsal.dom.api.DOMActionService;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
@@ -60,12 +71,16 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabi
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceRpc;
+import org.opendaylight.netconf.sal.connect.netconf.schema.ModuleSetCache;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SharedSchemaRegistry;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
@@ -75,7 +90,6 @@ import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceExcepti
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
-import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceRepresentation;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
@@ -84,6 +98,8 @@ import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
 import org.xml.sax.SAXException;
 
 public class NetconfDeviceTest extends AbstractTestModelTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     private static final NetconfMessage NOTIFICATION;
 
@@ -115,6 +131,8 @@ public class NetconfDeviceTest extends AbstractTestModelTest {
 
     private static final NetconfDeviceSchemasResolver STATE_SCHEMAS_RESOLVER =
         (deviceRpc, remoteSessionCapabilities, id, schemaContext) -> NetconfStateSchemas.EMPTY;
+    // Hash of sources returned by getSchemaRepository()
+    private static final HashCode EMPTY_HASH = Hashing.sha256().hashBytes(new byte[0]);
 
 
     @Test
@@ -255,6 +273,94 @@ public class NetconfDeviceTest extends AbstractTestModelTest {
         verify(schemaFactory, times(1)).createEffectiveModelContext(anyCollection());
     }
 
+    @Test
+    public void testNetconfDeviceReacquiresCachedMissingSource() throws Exception {
+        final RemoteDeviceHandler<NetconfSessionPreferences> facade = getFacade();
+        final NetconfDeviceCommunicator listener = getListener();
+        final EffectiveModelContextFactory schemaFactory = getSchemaFactory();
+
+        // A previous connection failed to acquire the second source, it is available now
+        final ModuleSetCache moduleSetCache = new ModuleSetCache(folder.getRoot().toPath(), 16);
+        moduleSetCache.store(List.of(TEST_SID, TEST_SID2),
+            new ModuleSetCache.Entry(List.of(TEST_SID), List.of(TEST_SID2), List.of(),
+                ModuleSetCache.contentDigest(Map.of(TEST_SID, EMPTY_HASH))));
+
+        final NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = new NetconfDevice.SchemaResourcesDTO(
+            getSchemaRegistry(), getSchemaRepository(), schemaFactory, STATE_SCHEMAS_RESOLVER, moduleSetCache);
+        final NetconfDevice device = new NetconfDeviceBuilder()
+                .setReconnectOnSchemasChange(true)
+                .setSchemaResourcesDTO(schemaResourcesDTO)
+                .setGlobalProcessingExecutor(getExecutor())
+                .setBaseSchemas(BASE_SCHEMAS)
+                .setId(getId())
+                .setSalFacade(facade)
+                .build();
+        device.onRemoteSessionUp(getSessionCaps(false, List.of(TEST_CAPABILITY, TEST_CAPABILITY2)), listener);
+
+        verify(facade, timeout(5000)).onDeviceConnected(any(MountPointContext.class),
+            any(NetconfSessionPreferences.class), any(NetconfDeviceRpc.class), isNull());
+        verify(schemaFactory).createEffectiveModelContext(
+            ArgumentMatchers.<Collection<SourceIdentifier>>argThat(
+                sources -> Set.copyOf(sources).equals(Set.of(TEST_SID, TEST_SID2))));
+
+        // The cached outcome has been corrected
+        assertEquals(Optional.of(new ModuleSetCache.Entry(List.of(TEST_SID, TEST_SID2), List.of(), List.of(),
+            ModuleSetCache.contentDigest(Map.of(TEST_SID, EMPTY_HASH, TEST_SID2, EMPTY_HASH)))),
+            moduleSetCache.lookup(List.of(TEST_SID, TEST_SID2)));
+    }
+
+    @Test
+    public void testNetconfDeviceSkipsCachedUnresolvableSource() throws Exception {
+        final EffectiveModelContextFactory schemaFactory = getSchemaFactory();
+        final ModuleSetCache moduleSetCache = new ModuleSetCache(folder.getRoot().toPath(), 16);
+        moduleSetCache.store(List.of(TEST_SID, TEST_SID2),
+            new ModuleSetCache.Entry(List.of(TEST_SID), List.of(), List.of(TEST_SID2),
+                ModuleSetCache.contentDigest(Map.of(TEST_SID, EMPTY_HASH, TEST_SID2, EMPTY_HASH))));
+
+        connectWithModuleSetCache(schemaFactory, moduleSetCache);
+        verify(schemaFactory).createEffectiveModelContext(
+            ArgumentMatchers.<Collection<SourceIdentifier>>argThat(sources -> Set.copyOf(sources).equals(
+                Set.of(TEST_SID))));
+    }
+
+    @Test
+    public void testNetconfDeviceRevalidatesChangedUnresolvableSource() throws Exception {
+        final EffectiveModelContextFactory schemaFactory = getSchemaFactory();
+        // The second source was unresolvable, but it has been replaced with different content since
+        final ModuleSetCache moduleSetCache = new ModuleSetCache(folder.getRoot().toPath(), 16);
+        moduleSetCache.store(List.of(TEST_SID, TEST_SID2),
+            new ModuleSetCache.Entry(List.of(TEST_SID), List.of(), List.of(TEST_SID2),
+                ModuleSetCache.contentDigest(Map.of(TEST_SID, EMPTY_HASH,
+                    TEST_SID2, Hashing.sha256().hashString("broken", StandardCharsets.UTF_8)))));
+
+        connectWithModuleSetCache(schemaFactory, moduleSetCache);
+        verify(schemaFactory).createEffectiveModelContext(
+            ArgumentMatchers.<Collection<SourceIdentifier>>argThat(
+                sources -> Set.copyOf(sources).equals(Set.of(TEST_SID, TEST_SID2))));
+        assertEquals(Optional.of(new ModuleSetCache.Entry(List.of(TEST_SID, TEST_SID2), List.of(), List.of(),
+            ModuleSetCache.contentDigest(Map.of(TEST_SID, EMPTY_HASH, TEST_SID2, EMPTY_HASH)))),
+            moduleSetCache.lookup(List.of(TEST_SID, TEST_SID2)));
+    }
+
+    private void connectWithModuleSetCache(final EffectiveModelContextFactory schemaFactory,
+            final ModuleSetCache moduleSetCache) throws Exception {
+        final RemoteDeviceHandler<NetconfSessionPreferences> facade = getFacade();
+        final NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = new NetconfDevice.SchemaResourcesDTO(
+            getSchemaRegistry(), getSchemaRepository(), schemaFactory, STATE_SCHEMAS_RESOLVER, moduleSetCache);
+        final NetconfDevice device = new NetconfDeviceBuilder()
+                .setReconnectOnSchemasChange(true)
+                .setSchemaResourcesDTO(schemaResourcesDTO)
+                .setGlobalProcessingExecutor(getExecutor())
+                .setBaseSchemas(BASE_SCHEMAS)
+                .setId(getId())
+                .setSalFacade(facade)
+                .build();
+        device.onRemoteSessionUp(getSessionCaps(false, List.of(TEST_CAPABILITY, TEST_CAPABILITY2)), getListener());
+
+        verify(facade, timeout(5000)).onDeviceConnected(any(MountPointContext.class),
+            any(NetconfSessionPreferences.class), any(NetconfDeviceRpc.class), isNull());
+    }
+
     private static SchemaSourceRegistry getSchemaRegistry() {
         final SchemaSourceRegistry mock = mock(SchemaSourceRegistry.class);
         final SchemaSourceRegistration<?> mockReg = mock(SchemaSourceRegistration.class);
@@ -267,8 +373,8 @@ public class NetconfDeviceTest extends AbstractTestModelTest {
 
     private static SchemaRepository getSchemaRepository() {
         final SchemaRepository mock = mock(SchemaRepository.class);
-        final SchemaSourceRepresentation mockRep = mock(SchemaSourceRepresentation.class);
-        doReturn(Futures.immediateFuture(mockRep))
+        final YangTextSchemaSource source = YangTextSchemaSource.delegateForByteSource(TEST_SID, ByteSource.empty());
+        doReturn(Futures.immediateFuture(source))
                 .when(mock).getSchemaSource(any(SourceIdentifier.class), eq(YangTextSchemaSource.class));
         return mock;
     }
@@ -308,6 +414,38 @@ public class NetconfDeviceTest extends AbstractTestModelTest {
         verify(facade, timeout(10000).times(3)).onNotification(any(DOMNotification.class));
     }
 
+    @Test
+    public void testNotificationOffloaded() throws Exception {
+        final RemoteDeviceHandler<NetconfSessionPreferences> facade = getFacade();
+        final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        final EffectiveModelContextFactory schemaContextProviderFactory = mock(EffectiveModelContextFactory.class);
+        doReturn(Futures.immediateFuture(NetconfToNotificationTest.getNotificationSchemaContext(getClass(), false)))
+            .when(schemaContextProviderFactory).createEffectiveModelContext(any(Collection.class));
+        final NetconfDevice device = new NetconfDeviceBuilder()
+                .setReconnectOnSchemasChange(true)
+                .setSchemaResourcesDTO(new NetconfDevice.SchemaResourcesDTO(getSchemaRegistry(),
+                    getSchemaRepository(), schemaContextProviderFactory, STATE_SCHEMAS_RESOLVER))
+                .setGlobalProcessingExecutor(getExecutor())
+                .setRpcReplyExecutor(tasks::add)
+                .setId(getId())
+                .setSalFacade(facade)
+                .setBaseSchemas(BASE_SCHEMAS)
+                .build();
+        device.onRemoteSessionUp(getSessionCaps(true, Lists.newArrayList(TEST_CAPABILITY)), getListener());
+        verify(facade, timeout(5000)).onDeviceConnected(any(MountPointContext.class),
+            any(NetconfSessionPreferences.class), any(NetconfDeviceRpc.class), isNull());
+
+        // Notifications are not transformed by the thread delivering them
+        device.onNotification(NOTIFICATION);
+        device.onNotification(NOTIFICATION);
+        verify(facade, never()).onNotification(any(DOMNotification.class));
+
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+        verify(facade, times(2)).onNotification(any(DOMNotification.class));
+    }
+
     @Test
     public void testNetconfDeviceReconnect() throws Exception {
         final RemoteDeviceHandler<NetconfSessionPreferences> facade = getFacade();
@@ -416,6 +554,45 @@ public class NetconfDeviceTest extends AbstractTestModelTest {
                                 QName.create(entry.getCapability())).getName(), entry.getCapabilityOrigin().getName()));
     }
 
+    @Test
+    public void testNetconfDeviceSharedSchemaStatistics() throws Exception {
+        final SharedSchemaRegistry sharedSchemaRegistry = new SharedSchemaRegistry();
+
+        final NetconfDeviceCapabilities first = connectWithSharedSchemaRegistry(sharedSchemaRegistry);
+        assertEquals(Boolean.FALSE, first.getSharedSchema().getShared());
+        assertEquals(Uint64.ZERO, first.getSharedSchema().getHits());
+        assertEquals(Uint64.ONE, first.getSharedSchema().getMisses());
+        assertEquals(Uint32.ONE, first.getSharedSchema().getSchemas());
+
+        final NetconfDeviceCapabilities second = connectWithSharedSchemaRegistry(sharedSchemaRegistry);
+        assertEquals(Boolean.TRUE, second.getSharedSchema().getShared());
+        assertEquals(Uint64.ONE, second.getSharedSchema().getHits());
+        assertEquals(Uint64.ONE, second.getSharedSchema().getMisses());
+        assertEquals(Uint32.ONE, second.getSharedSchema().getSchemas());
+    }
+
+    private NetconfDeviceCapabilities connectWithSharedSchemaRegistry(final SharedSchemaRegistry sharedSchemaRegistry)
+            throws Exception {
+        final RemoteDeviceHandler<NetconfSessionPreferences> facade = getFacade();
+        final NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = new NetconfDevice.SchemaResourcesDTO(
+            getSchemaRegistry(), getSchemaRepository(), getSchemaFactory(), STATE_SCHEMAS_RESOLVER, null,
+            sharedSchemaRegistry);
+        final NetconfDevice device = new NetconfDeviceBuilder()
+                .setSchemaResourcesDTO(schemaResourcesDTO)
+                .setGlobalProcessingExecutor(getExecutor())
+                .setId(getId())
+                .setSalFacade(facade)
+                .setBaseSchemas(BASE_SCHEMAS)
+                .build();
+        device.onRemoteSessionUp(getSessionCaps(false, List.of(TEST_CAPABILITY)), getListener());
+
+        final ArgumentCaptor<NetconfSessionPreferences> argument =
+                ArgumentCaptor.forClass(NetconfSessionPreferences.class);
+        verify(facade, timeout(5000)).onDeviceConnected(any(MountPointContext.class), argument.capture(),
+            any(DOMRpcService.class), isNull());
+        return argument.getValue().getNetconfDeviceCapabilities();
+    }
+
     @Test
     public void testNetconfDeviceNotificationsModelNotPresentWithCapability() throws Exception {
         final RemoteDeviceHandler<NetconfSessionPreferences> facade = getFacade();
@@ -10,6 +10,7 @@ package org.opendaylight.netconf.sal.connect.netconf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 import com.google.common.collect.Iterables;
 import java.io.IOException;
@@ -57,6 +58,10 @@ public class NetconfNestedNotificationTest extends AbstractBaseSchemasTest {
                 ((DOMEvent) domNotification).getEventInstant());
         assertEquals(Absolute.of(INTERFACES_QNAME, INTERFACE_QNAME, INTERFACE_ENABLED_NOTIFICATION_QNAME),
                 domNotification.getType());
+
+        // Schema path is resolved once and reused
+        assertSame(domNotification.getType(), messageTransformer.toNotification(
+            prepareNotification("/nested-notification-payload.xml")).getType());
     }
 
     private EffectiveModelContext getNotificationSchemaContext(final Collection<String> yangResources) {
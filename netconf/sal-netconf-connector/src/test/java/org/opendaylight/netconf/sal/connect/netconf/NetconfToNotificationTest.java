@@ -10,10 +10,19 @@ package org.opendaylight.netconf.sal.connect.netconf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_LOCK_QNAME;
 
 import com.google.common.collect.Iterables;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.mdsal.dom.api.DOMEvent;
@@ -26,6 +35,7 @@ import org.opendaylight.yangtools.rcf8528.data.util.EmptyMountPointContext;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
 import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
 import org.w3c.dom.Document;
 
@@ -82,5 +92,59 @@ public class NetconfToNotificationTest extends AbstractBaseSchemasTest {
         assertEquals("user-visited-page", root.getNodeType().getLocalName());
         assertEquals(NetconfNotification.RFC3339_DATE_PARSER.apply("2015-10-23T09:42:27.67175+00:00").toInstant(),
                 ((DOMEvent) domNotification).getEventInstant());
+        assertEquals(Absolute.of(root.getNodeType()), domNotification.getType());
+    }
+
+    /**
+     * Transform notifications and RPC replies for a single device from multiple threads at the same time. Every
+     * transformation has to produce the same result it would produce on its own.
+     */
+    @Test
+    public void testConcurrentTransformation() throws Exception {
+        final EffectiveModelContext schemaContext = getNotificationSchemaContext(getClass(), false);
+        messageTransformer = new NetconfMessageTransformer(new EmptyMountPointContext(schemaContext), true,
+            BASE_SCHEMAS.getBaseSchema());
+
+        final String notification;
+        try (InputStream is = getClass().getResourceAsStream("/notification-payload.xml")) {
+            notification = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        final String reply = "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>";
+
+        final int threads = 4;
+        final int iterations = 100;
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; ++i) {
+                final boolean notifications = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    // Each message is parsed into its own Document, as DOM is not safe for concurrent access
+                    final List<NetconfMessage> messages = new ArrayList<>(iterations);
+                    for (int j = 0; j < iterations; ++j) {
+                        messages.add(new NetconfMessage(XmlUtil.readXmlToDocument(notifications ? notification
+                            : reply)));
+                    }
+
+                    barrier.await();
+                    for (NetconfMessage message : messages) {
+                        if (notifications) {
+                            assertEquals("user-visited-page",
+                                messageTransformer.toNotification(message).getBody().getNodeType().getLocalName());
+                        } else {
+                            assertNotNull(messageTransformer.toRpcResult(message, NETCONF_LOCK_QNAME));
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
     }
 }
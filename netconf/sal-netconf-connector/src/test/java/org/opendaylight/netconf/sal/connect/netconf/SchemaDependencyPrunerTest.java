@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.io.ByteSource;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
+
+public class SchemaDependencyPrunerTest {
+    private static final SourceIdentifier BASE = RevisionSourceIdentifier.create("base", Revision.of("2021-01-01"));
+    private static final SourceIdentifier FOO = RevisionSourceIdentifier.create("foo");
+    private static final SourceIdentifier BAR = RevisionSourceIdentifier.create("bar");
+    private static final SourceIdentifier BAZ = RevisionSourceIdentifier.create("baz");
+    private static final SourceIdentifier BROKEN = RevisionSourceIdentifier.create("broken");
+
+    private final Map<SourceIdentifier, YangModelDependencyInfo> dependencies = new HashMap<>();
+
+    @Test
+    public void testAllResolvable() throws Exception {
+        addModule(BASE, "module base { namespace base; prefix base; revision 2021-01-01; }");
+        addModule(FOO, "module foo { namespace foo; prefix foo; import base { prefix base; } }");
+        addModule(BAR, "module bar { namespace bar; prefix bar; import base { prefix base; revision-date 2021-01-01; }"
+            + " import foo { prefix foo; } }");
+
+        assertEquals(Set.of(), SchemaDependencyPruner.findUnresolvable(List.of(BAR, FOO, BASE), dependencies));
+    }
+
+    @Test
+    public void testTransitiveRemoval() throws Exception {
+        // foo imports a missing module, bar depends on foo, baz includes a submodule which imports bar
+        addModule(FOO, "module foo { namespace foo; prefix foo; import missing { prefix missing; } }");
+        addModule(BAR, "module bar { namespace bar; prefix bar; import foo { prefix foo; } }");
+        addModule(BAZ, "module baz { namespace baz; prefix baz; include broken; }");
+        addModule(BROKEN, "submodule broken { belongs-to baz { prefix baz; } import bar { prefix bar; } }");
+        addModule(BASE, "module base { namespace base; prefix base; revision 2021-01-01; }");
+
+        assertEquals(Set.of(FOO, BAR, BAZ, BROKEN),
+            SchemaDependencyPruner.findUnresolvable(List.of(BAZ, BAR, BASE, BROKEN, FOO), dependencies));
+    }
+
+    @Test
+    public void testRevisionMismatch() throws Exception {
+        addModule(BASE, "module base { namespace base; prefix base; revision 2021-01-01; }");
+        addModule(FOO, "module foo { namespace foo; prefix foo; import base { prefix base; revision-date 2020-01-01; }"
+            + " }");
+
+        assertEquals(Set.of(FOO), SchemaDependencyPruner.findUnresolvable(List.of(FOO, BASE), dependencies));
+    }
+
+    @Test
+    public void testMissingDependencyInformation() throws Exception {
+        addModule(FOO, "module foo { namespace foo; prefix foo; import base { prefix base; } }");
+
+        // base has no dependency information, hence both it and foo are unresolvable
+        assertEquals(Set.of(BASE, FOO), SchemaDependencyPruner.findUnresolvable(List.of(BASE, FOO), dependencies));
+    }
+
+    private void addModule(final SourceIdentifier id, final String text) throws Exception {
+        dependencies.put(id, YangModelDependencyInfo.forYangText(YangTextSchemaSource.delegateForByteSource(id,
+            ByteSource.wrap(text.getBytes(StandardCharsets.UTF_8)))));
+    }
+}
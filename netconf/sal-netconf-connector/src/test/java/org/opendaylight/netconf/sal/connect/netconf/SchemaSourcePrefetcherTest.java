@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.io.ByteSource;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
+
+public class SchemaSourcePrefetcherTest {
+    private static final RemoteDeviceId ID = new RemoteDeviceId("test",
+        InetSocketAddress.createUnresolved("localhost", 22));
+    private static final SourceIdentifier FOO = RevisionSourceIdentifier.create("foo");
+    private static final SourceIdentifier BAR = RevisionSourceIdentifier.create("bar");
+    private static final SourceIdentifier BAZ = RevisionSourceIdentifier.create("baz");
+
+    private final Map<SourceIdentifier, SettableFuture<YangTextSchemaSource>> requests = new LinkedHashMap<>();
+    private final SchemaRepository repository = mock(SchemaRepository.class);
+
+    @Before
+    public void before() {
+        doAnswer(invocation -> {
+            final SettableFuture<YangTextSchemaSource> future = SettableFuture.create();
+            requests.put(invocation.getArgument(0), future);
+            return future;
+        }).when(repository).getSchemaSource(any(SourceIdentifier.class), eq(YangTextSchemaSource.class));
+    }
+
+    @Test
+    public void testWindow() throws Exception {
+        final ListenableFuture<SchemaSourcePrefetcher.Result> future = SchemaSourcePrefetcher.prefetch(ID,
+            repository, List.of(FOO, BAR, BAZ), 2, MoreExecutors.directExecutor(), null);
+
+        // Only two requests may be outstanding
+        assertEquals(List.of(FOO, BAR), List.copyOf(requests.keySet()));
+
+        requests.get(BAR).setException(new MissingSchemaSourceException("missing", BAR));
+        assertEquals(List.of(FOO, BAR, BAZ), List.copyOf(requests.keySet()));
+
+        requests.get(BAZ).set(source(BAZ, "baz"));
+        assertFalse(future.isDone());
+        requests.get(FOO).set(source(FOO, "foo!"));
+        assertTrue(future.isDone());
+
+        final SchemaSourcePrefetcher.Result result = future.get();
+        assertEquals(List.of(BAR), result.getMissingSources());
+        assertEquals(2, result.getSources());
+        assertEquals(7, result.getBytes());
+    }
+
+    @Test
+    public void testSourceCallback() throws Exception {
+        final Map<SourceIdentifier, YangTextSchemaSource> acquired = new LinkedHashMap<>();
+        final ListenableFuture<SchemaSourcePrefetcher.Result> future = SchemaSourcePrefetcher.prefetch(ID,
+            repository, List.of(FOO, BAR), 16, MoreExecutors.directExecutor(), acquired::put);
+        assertEquals(2, requests.size());
+
+        final YangTextSchemaSource bar = source(BAR, "bar");
+        requests.get(BAR).set(bar);
+        requests.get(FOO).setException(new MissingSchemaSourceException("missing", FOO));
+
+        assertEquals(Map.of(BAR, bar), acquired);
+        assertEquals(List.of(FOO), future.get().getMissingSources());
+    }
+
+    @Test
+    public void testSourceCallbackFailure() throws Exception {
+        final ListenableFuture<SchemaSourcePrefetcher.Result> future = SchemaSourcePrefetcher.prefetch(ID,
+            repository, List.of(FOO, BAR), 16, MoreExecutors.directExecutor(), (sourceId, source) -> {
+                try {
+                    YangModelDependencyInfo.forYangText(source);
+                } catch (IOException | YangSyntaxErrorException e) {
+                    throw new AssertionError(e);
+                }
+            });
+
+        // Neither a module nor a submodule, dependency extraction throws IllegalArgumentException
+        requests.get(FOO).set(source(FOO, "container foo {}"));
+        requests.get(BAR).set(source(BAR, "module bar { namespace bar; prefix bar; }"));
+
+        assertTrue(future.isDone());
+        final SchemaSourcePrefetcher.Result result = future.get();
+        assertEquals(List.of(), result.getMissingSources());
+        assertEquals(2, result.getSources());
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        final SchemaSourcePrefetcher.Result result = SchemaSourcePrefetcher.prefetch(ID, repository, List.of(), 16,
+            MoreExecutors.directExecutor(), null).get();
+        assertEquals(List.of(), result.getMissingSources());
+        assertEquals(0, result.getSources());
+    }
+
+    private static YangTextSchemaSource source(final SourceIdentifier id, final String text) {
+        return YangTextSchemaSource.delegateForByteSource(id, ByteSource.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -16,16 +16,17 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.opendaylight.netconf.api.xml.XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0;
 
 import com.google.common.base.CharMatcher;
-import com.google.common.base.Strings;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.netty.channel.ChannelFuture;
@@ -42,6 +43,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import javax.xml.parsers.ParserConfigurationException;
@@ -95,6 +98,7 @@ public class NetconfDeviceCommunicatorTest {
 
     void setupSession() {
         doReturn(Collections.<String>emptySet()).when(mockSession).getServerCapabilities();
+        lenient().doReturn(true).when(mockSession).isWritable();
         doNothing().when(mockDevice).onRemoteSessionUp(any(NetconfSessionPreferences.class),
                 any(NetconfDeviceCommunicator.class));
         communicator.onSessionUp(mockSession);
@@ -237,6 +241,23 @@ public class NetconfDeviceCommunicatorTest {
         } // expected
     }
 
+    @Test
+    public void testSendRequestHeldWhileNotWritable() throws Exception {
+        setupSession();
+        doReturn(false).when(mockSession).isWritable();
+
+        final ListenableFuture<RpcResult<NetconfMessage>> first = sendRequest();
+        final ListenableFuture<RpcResult<NetconfMessage>> second = sendRequest();
+        verify(mockSession, never()).sendMessage(any(NetconfMessage.class));
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+
+        // Held requests are sent once the session becomes writable again
+        doReturn(true).when(mockSession).isWritable();
+        communicator.onSessionWritabilityChanged(mockSession, true);
+        verify(mockSession, times(2)).sendMessage(any(NetconfMessage.class));
+    }
+
     @Test
     public void testSendRequestWithNoSession() throws Exception {
         NetconfMessage message = new NetconfMessage(UntrustedXML.newDocumentBuilder().newDocument());
@@ -442,16 +463,92 @@ public class NetconfDeviceCommunicatorTest {
         String messageID = UUID.randomUUID().toString();
         ListenableFuture<RpcResult<NetconfMessage>> resultFuture = sendRequest(messageID, true);
 
+        // Unknown message-id is ignored and does not affect outstanding requests
         communicator.onMessage(mockSession, createSuccessResponseMessage(UUID.randomUUID().toString()));
+        assertFalse("Request completed", resultFuture.isDone());
 
-        RpcError rpcError = verifyErrorRpcResult(resultFuture.get(), RpcError.ErrorType.PROTOCOL,
-                "bad-attribute");
-        assertFalse("RpcError message non-empty", Strings.isNullOrEmpty(rpcError.getMessage()));
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID));
+        verifyResponseMessage(resultFuture.get(), messageID);
+    }
 
-        String errorInfo = rpcError.getInfo();
-        assertNotNull("RpcError info is null", errorInfo);
-        assertTrue("Error info contains \"actual-message-id\"", errorInfo.contains("actual-message-id"));
-        assertTrue("Error info contains \"expected-message-id\"", errorInfo.contains("expected-message-id"));
+    @Test
+    public void testOutOfOrderResponseMessages() throws Exception {
+        setupSession();
+
+        final String messageID1 = UUID.randomUUID().toString();
+        final ListenableFuture<RpcResult<NetconfMessage>> resultFuture1 = sendRequest(messageID1, true);
+        final String messageID2 = UUID.randomUUID().toString();
+        final ListenableFuture<RpcResult<NetconfMessage>> resultFuture2 = sendRequest(messageID2, true);
+        final String messageID3 = UUID.randomUUID().toString();
+        final ListenableFuture<RpcResult<NetconfMessage>> resultFuture3 = sendRequest(messageID3, true);
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID3));
+        assertFalse("Request 1 completed", resultFuture1.isDone());
+        assertFalse("Request 2 completed", resultFuture2.isDone());
+        verifyResponseMessage(resultFuture3.get(), messageID3);
+
+        communicator.onMessage(mockSession, createErrorResponseMessage(messageID2));
+        assertFalse("Request 1 completed", resultFuture1.isDone());
+        verifyErrorRpcResult(resultFuture2.get(), RpcError.ErrorType.RPC, "missing-attribute");
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID1));
+        verifyResponseMessage(resultFuture1.get(), messageID1);
+    }
+
+    @Test
+    public void testDuplicateMessageID() throws Exception {
+        setupSession();
+
+        String messageID = UUID.randomUUID().toString();
+        ListenableFuture<RpcResult<NetconfMessage>> resultFuture1 = sendRequest(messageID, true);
+        ListenableFuture<RpcResult<NetconfMessage>> resultFuture2 = sendRequest(messageID, true);
+
+        verifyErrorRpcResult(resultFuture2.get(), RpcError.ErrorType.PROTOCOL, "operation-failed");
+        assertFalse("Request 1 completed", resultFuture1.isDone());
+    }
+
+    @Test
+    public void testRequestDeadline() throws Exception {
+        final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        final ScheduledFuture<?> scheduled = mock(ScheduledFuture.class);
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(scheduled).when(executor).schedule(task.capture(), eq(100L), eq(TimeUnit.MILLISECONDS));
+        doReturn(false).when(scheduled).cancel(false);
+        communicator = new NetconfDeviceCommunicator(
+                new RemoteDeviceId("test", InetSocketAddress.createUnresolved("localhost", 22)), mockDevice, null, 1,
+                executor, 100);
+        setupSession();
+
+        final ListenableFuture<RpcResult<NetconfMessage>> resultFuture = sendRequest();
+        assertFalse("Request completed", resultFuture.isDone());
+
+        task.getValue().run();
+        verifyErrorRpcResult(resultFuture.get(), RpcError.ErrorType.TRANSPORT, "operation-failed");
+
+        // The permit has been released
+        final String messageID = UUID.randomUUID().toString();
+        final ListenableFuture<RpcResult<NetconfMessage>> nextFuture = sendRequest(messageID, true);
+        assertTrue("Request not accepted", nextFuture instanceof UncancellableFuture);
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID));
+        verifyResponseMessage(nextFuture.get(), messageID);
+        verify(scheduled, times(2)).cancel(false);
+    }
+
+    @Test
+    public void testConcurrentMessageLimitAfterSessionDown() throws Exception {
+        setupSession();
+        for (int i = 0; i < 10; i++) {
+            sendRequest();
+        }
+
+        doNothing().when(mockDevice).onRemoteSessionDown();
+        communicator.onSessionDown(mockSession, new Exception("mock ex"));
+
+        setupSession();
+        for (int i = 0; i < 10; i++) {
+            assertTrue("Request not accepted", sendRequest() instanceof UncancellableFuture);
+        }
     }
 
     @Test
@@ -7,10 +7,15 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_COMMIT_QNAME;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_DISCARD_CHANGES_QNAME;
@@ -21,12 +26,14 @@ import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTr
 
 import java.net.InetSocketAddress;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.opendaylight.mdsal.binding.runtime.spi.BindingRuntimeHelpers;
@@ -34,6 +41,7 @@ import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMRpcService;
 import org.opendaylight.mdsal.dom.spi.DefaultDOMRpcResult;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.dom.api.NetconfDataTreeService;
 import org.opendaylight.netconf.sal.connect.netconf.AbstractTestModelTest;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.tx.TxTestUtils;
@@ -45,11 +53,19 @@ import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.mon
 import org.opendaylight.yangtools.rcf8528.data.util.EmptyMountPointContext;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.RpcError;
+import org.opendaylight.yangtools.yang.common.RpcError.ErrorType;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 
 @RunWith(MockitoJUnitRunner.StrictStubs.class)
 public class NetconfDataTreeServiceImplTest extends AbstractTestModelTest {
+    private static final YangInstanceIdentifier E_ID = YangInstanceIdentifier.create(
+        new NodeIdentifier(QName.create("test:namespace", "2013-07-22", "e")));
+
     @Mock
     private DOMRpcService rpcService;
     private AbstractNetconfDataTreeService netconService;
@@ -160,6 +176,91 @@ public class NetconfDataTreeServiceImplTest extends AbstractTestModelTest {
         verify(rpcService).invokeRpc(eq(NETCONF_COMMIT_QNAME), any(ContainerNode.class));
     }
 
+    @Test
+    public void batchedEditsSentOnCommit() throws Exception {
+        netconService.setMaxBatchedEdits(16);
+        final NetconfDataTreeService tx = netconService.forTransaction();
+
+        // The sequence issued by RESTCONF: lock, modifications chained on each other's completion, commit
+        tx.lock();
+        assertTrue(tx.merge(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getLeafId(), TxTestUtils.getLeafNode(),
+            Optional.empty()).isDone());
+        assertTrue(tx.delete(LogicalDatastoreType.CONFIGURATION, E_ID).isDone());
+        verify(rpcService, never()).invokeRpc(eq(NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME), any());
+
+        assertTrue(tx.commit().get().getErrors().isEmpty());
+        final InOrder inOrder = inOrder(rpcService);
+        inOrder.verify(rpcService).invokeRpc(eq(NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME),
+            captor.capture());
+        inOrder.verify(rpcService).invokeRpc(eq(NETCONF_COMMIT_QNAME), any(ContainerNode.class));
+
+        final String message = netconfMessageTransformer.toRpcRequest(
+            NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME, captor.getValue()).toString();
+        assertTrue(message, message.contains("operation=\"merge\""));
+        assertTrue(message, message.contains("operation=\"delete\""));
+    }
+
+    @Test
+    public void batchedEditFailurePreventsCommit() throws Exception {
+        final RpcError error = RpcResultBuilder.newError(ErrorType.APPLICATION, "operation-failed", "Edit failed");
+        doReturn(FluentFutures.immediateFluentFuture(new DefaultDOMRpcResult(error))).when(rpcService)
+            .invokeRpc(eq(NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME), any());
+        netconService.setMaxBatchedEdits(16);
+        final NetconfDataTreeService tx = netconService.forTransaction();
+
+        // Success is reported right away, the device error surfaces at commit
+        assertTrue(tx.merge(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getLeafId(), TxTestUtils.getLeafNode(),
+            Optional.empty()).get().getErrors().isEmpty());
+        assertEquals(List.of(error), List.copyOf(tx.commit().get().getErrors()));
+        verify(rpcService, never()).invokeRpc(eq(NETCONF_COMMIT_QNAME), any());
+    }
+
+    @Test
+    public void batchedEditsDroppedOnDiscard() throws Exception {
+        doReturn(FluentFutures.immediateFluentFuture(new DefaultDOMRpcResult())).when(rpcService)
+                .invokeRpc(any(QName.class), isNull());
+        netconService.setMaxBatchedEdits(16);
+        final NetconfDataTreeService tx = netconService.forTransaction();
+
+        tx.merge(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getLeafId(), TxTestUtils.getLeafNode(),
+            Optional.empty());
+        tx.discardChanges();
+        tx.commit().get();
+        verify(rpcService, never()).invokeRpc(eq(NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME), any());
+    }
+
+    @Test
+    public void batchedEditsKeptPerTransaction() throws Exception {
+        doReturn(FluentFutures.immediateFluentFuture(new DefaultDOMRpcResult())).when(rpcService)
+                .invokeRpc(any(QName.class), isNull());
+        netconService.setMaxBatchedEdits(16);
+
+        // Two users of the same mount point interleave their transactions
+        final NetconfDataTreeService first = netconService.forTransaction();
+        final NetconfDataTreeService second = netconService.forTransaction();
+        first.merge(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getLeafId(), TxTestUtils.getLeafNode(),
+            Optional.empty());
+        second.delete(LogicalDatastoreType.CONFIGURATION, E_ID);
+        second.discardChanges();
+
+        // Discarding the second transaction does not drop modifications of the first one, nor does its commit send
+        // modifications of the second one
+        assertTrue(first.commit().get().getErrors().isEmpty());
+        verify(rpcService).invokeRpc(eq(NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME), captor.capture());
+        final String message = netconfMessageTransformer.toRpcRequest(
+            NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME, captor.getValue()).toString();
+        assertTrue(message, message.contains("operation=\"merge\""));
+        assertFalse(message, message.contains("operation=\"delete\""));
+    }
+
+    @Test
+    public void serviceEditsNotBatched() {
+        netconService.setMaxBatchedEdits(16);
+        netconService.merge(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getLeafId(), TxTestUtils.getLeafNode(),
+            Optional.empty());
+        verify(rpcService).invokeRpc(eq(NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME), any());
+    }
+
     private AbstractNetconfDataTreeService getNetconService() {
         NetconfSessionPreferences prefs = NetconfSessionPreferences.fromStrings(
                 Collections.singletonList(NetconfMessageTransformUtil.NETCONF_CANDIDATE_URI.toString()));
@@ -8,6 +8,7 @@
 package org.opendaylight.netconf.sal.connect.netconf.sal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
@@ -18,7 +19,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Queue;
 import java.util.concurrent.ExecutionException;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -62,7 +66,9 @@ public class NetconfDeviceRpcTest extends AbstractBaseSchemasTest {
     @Mock
     private RemoteDeviceCommunicator<NetconfMessage> communicator;
 
+    private final Queue<Runnable> replyTasks = new ArrayDeque<>();
     private NetconfDeviceRpc rpc;
+    private NetconfDeviceRpc replyExecutorRpc;
     private QName type;
     private DOMRpcResult expectedReply;
 
@@ -90,6 +96,7 @@ public class NetconfDeviceRpcTest extends AbstractBaseSchemasTest {
         doReturn(Futures.immediateFuture(result))
                 .when(communicator).sendRequest(any(NetconfMessage.class), any(QName.class));
         rpc = new NetconfDeviceRpc(SCHEMA_CONTEXT, communicator, transformer);
+        replyExecutorRpc = new NetconfDeviceRpc(SCHEMA_CONTEXT, communicator, transformer, replyTasks::add);
 
         type = QName.create("urn:ietf:params:xml:ns:netconf:base:1.0", "2011-06-01", "get-config");
         expectedReply = transformer.toRpcResult(reply, type);
@@ -117,6 +124,21 @@ public class NetconfDeviceRpcTest extends AbstractBaseSchemasTest {
         assertEquals(resolveNode(expectedReply), resolveNode(result));
     }
 
+    @Test
+    public void testInvokeRpcOnReplyExecutor() throws Exception {
+        ContainerNode input = createNode("urn:ietf:params:xml:ns:netconf:base:1.0", "2011-06-01", "filter");
+        final ListenableFuture<DOMRpcResult> future = replyExecutorRpc.invokeRpc(type, input);
+
+        // The reply has been received, but it is transformed only once the executor runs
+        assertFalse(future.isDone());
+        assertEquals(1, replyTasks.size());
+        replyTasks.remove().run();
+
+        final DOMRpcResult result = Futures.getDone(future);
+        assertEquals(expectedReply.getResult().getIdentifier(), result.getResult().getIdentifier());
+        assertEquals(resolveNode(expectedReply), resolveNode(result));
+    }
+
     private static Node resolveNode(final DOMRpcResult result) {
         DataContainerChild<?, ?> value = ((ContainerNode) result.getResult())
                 .getChild(NetconfMessageTransformUtil.NETCONF_DATA_NODEID).get();
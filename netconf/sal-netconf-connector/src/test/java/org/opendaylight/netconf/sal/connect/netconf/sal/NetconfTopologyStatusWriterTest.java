@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.mdsal.binding.api.DataBroker;
+import org.opendaylight.mdsal.binding.api.WriteTransaction;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionStatus.ConnectionStatus;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+@RunWith(MockitoJUnitRunner.StrictStubs.class)
+public class NetconfTopologyStatusWriterTest {
+    private static final InstanceIdentifier<NetconfNode> FIRST = path("first");
+    private static final InstanceIdentifier<NetconfNode> SECOND = path("second");
+    private static final NetconfNode CONNECTING = status(ConnectionStatus.Connecting);
+    private static final NetconfNode CONNECTED = status(ConnectionStatus.Connected);
+
+    @Mock
+    private DataBroker dataBroker;
+    @Mock
+    private WriteTransaction tx;
+
+    private ScheduledExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        doReturn(tx).when(dataBroker).newWriteOnlyTransaction();
+        doReturn("tx").when(tx).getIdentifier();
+        doNothing().when(tx).mergeParentStructurePut(any(), any(), any());
+        doReturn(CommitInfo.emptyFluentFuture()).when(tx).commit();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCoalescing() throws Exception {
+        final NetconfTopologyStatusWriter writer = new NetconfTopologyStatusWriter(dataBroker, executor,
+            TimeUnit.HOURS.toMillis(1));
+        doNothing().when(tx).delete(any(), any());
+
+        writer.put(LogicalDatastoreType.OPERATIONAL, FIRST, CONNECTING);
+        writer.put(LogicalDatastoreType.OPERATIONAL, SECOND, CONNECTING);
+        writer.put(LogicalDatastoreType.OPERATIONAL, FIRST, CONNECTED);
+        assertEquals(2, writer.pendingSize());
+
+        // A delete is committed immediately, together with everything queued
+        writer.delete(LogicalDatastoreType.OPERATIONAL, SECOND).get(5, TimeUnit.SECONDS);
+
+        verify(dataBroker).newWriteOnlyTransaction();
+        final InOrder order = inOrder(tx);
+        order.verify(tx).mergeParentStructurePut(LogicalDatastoreType.OPERATIONAL, FIRST, CONNECTED);
+        order.verify(tx).delete(LogicalDatastoreType.OPERATIONAL, SECOND);
+        order.verify(tx).commit();
+        verify(tx, never()).mergeParentStructurePut(LogicalDatastoreType.OPERATIONAL, FIRST, CONNECTING);
+        verify(tx, never()).mergeParentStructurePut(LogicalDatastoreType.OPERATIONAL, SECOND, CONNECTING);
+        assertEquals(0, writer.pendingSize());
+    }
+
+    @Test
+    public void testBoundedDelay() {
+        final NetconfTopologyStatusWriter writer = new NetconfTopologyStatusWriter(dataBroker, executor, 50);
+
+        writer.put(LogicalDatastoreType.OPERATIONAL, FIRST, CONNECTED);
+        verify(tx, timeout(5000)).commit();
+        verify(tx).mergeParentStructurePut(LogicalDatastoreType.OPERATIONAL, FIRST, CONNECTED);
+    }
+
+    @Test
+    public void testBatchSize() {
+        final NetconfTopologyStatusWriter writer = new NetconfTopologyStatusWriter(dataBroker, executor,
+            TimeUnit.HOURS.toMillis(1), 2);
+
+        writer.put(LogicalDatastoreType.OPERATIONAL, FIRST, CONNECTED);
+        writer.put(LogicalDatastoreType.OPERATIONAL, SECOND, CONNECTED);
+        verify(tx, timeout(5000)).commit();
+        verify(tx, times(2)).mergeParentStructurePut(any(), any(), any());
+    }
+
+    @Test
+    public void testRetryFailed() throws Exception {
+        final NetconfTopologyStatusWriter writer = new NetconfTopologyStatusWriter(dataBroker, executor, 50);
+        doNothing().when(tx).delete(any(), any());
+        doReturn(FluentFutures.immediateFailedFluentFuture(new TransactionCommitFailedException("fail")))
+            .doReturn(CommitInfo.emptyFluentFuture()).when(tx).commit();
+
+        writer.put(LogicalDatastoreType.OPERATIONAL, FIRST, CONNECTED);
+        writer.delete(LogicalDatastoreType.OPERATIONAL, SECOND).get(5, TimeUnit.SECONDS);
+
+        verify(dataBroker, times(2)).newWriteOnlyTransaction();
+        verify(tx, times(2)).mergeParentStructurePut(LogicalDatastoreType.OPERATIONAL, FIRST, CONNECTED);
+        verify(tx, times(2)).delete(LogicalDatastoreType.OPERATIONAL, SECOND);
+        assertEquals(0, writer.pendingSize());
+    }
+
+    @Test
+    public void testRetrySuperseded() throws Exception {
+        final NetconfTopologyStatusWriter writer = new NetconfTopologyStatusWriter(dataBroker, executor,
+            TimeUnit.HOURS.toMillis(1));
+        doNothing().when(tx).delete(any(), any());
+        final SettableFuture<CommitInfo> commit = SettableFuture.create();
+        doReturn(FluentFuture.from(commit)).doReturn(CommitInfo.emptyFluentFuture()).when(tx).commit();
+
+        final ListenableFuture<Void> delete = writer.delete(LogicalDatastoreType.OPERATIONAL, FIRST);
+        verify(tx, timeout(5000)).commit();
+
+        // Queued while the delete is being committed, hence it supersedes the delete once it fails
+        writer.put(LogicalDatastoreType.OPERATIONAL, FIRST, CONNECTING);
+        commit.setException(new TransactionCommitFailedException("fail"));
+        writer.close();
+
+        delete.get(5, TimeUnit.SECONDS);
+        verify(tx).delete(LogicalDatastoreType.OPERATIONAL, FIRST);
+        verify(tx).mergeParentStructurePut(LogicalDatastoreType.OPERATIONAL, FIRST, CONNECTING);
+        verify(tx, times(2)).commit();
+    }
+
+    @Test
+    public void testRetryLimit() {
+        final NetconfTopologyStatusWriter writer = new NetconfTopologyStatusWriter(dataBroker, executor, 50);
+        doNothing().when(tx).delete(any(), any());
+        doReturn(FluentFutures.immediateFailedFluentFuture(new TransactionCommitFailedException("fail")))
+            .when(tx).commit();
+
+        final ListenableFuture<Void> delete = writer.delete(LogicalDatastoreType.OPERATIONAL, FIRST);
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> delete.get(5, TimeUnit.SECONDS));
+        assertThat(ex.getCause(), instanceOf(TransactionCommitFailedException.class));
+        verify(tx, times(NetconfTopologyStatusWriter.MAX_ATTEMPTS)).commit();
+        assertEquals(0, writer.pendingSize());
+    }
+
+    private static InstanceIdentifier<NetconfNode> path(final String name) {
+        return new RemoteDeviceId(name, InetSocketAddress.createUnresolved("localhost", 830)).getTopologyBindingPath()
+            .augmentation(NetconfNode.class);
+    }
+
+    private static NetconfNode status(final ConnectionStatus status) {
+        return new NetconfNodeBuilder().setConnectionStatus(status).build();
+    }
+}
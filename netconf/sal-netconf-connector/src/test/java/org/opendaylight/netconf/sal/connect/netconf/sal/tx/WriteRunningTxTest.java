@@ -29,6 +29,10 @@ import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransform
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.yangtools.rcf8528.data.util.EmptyMountPointContext;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 
 @RunWith(MockitoJUnitRunner.StrictStubs.class)
 public class WriteRunningTxTest extends AbstractTestModelTest {
@@ -59,4 +63,17 @@ public class WriteRunningTxTest extends AbstractTestModelTest {
         //check, if unlock is called
         verify(rpc).invokeRpc(eq(NetconfMessageTransformUtil.NETCONF_UNLOCK_QNAME), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSubmitBatched() throws Exception {
+        final QName eqname = QName.create("test:namespace", "2013-07-22", "e");
+        final WriteRunningTx tx = new WriteRunningTx(id, netconfOps, true, true, 16);
+        tx.merge(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getLeafId(), TxTestUtils.getLeafNode());
+        tx.put(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.of(eqname),
+            Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(eqname)).build());
+        tx.delete(LogicalDatastoreType.CONFIGURATION, TxTestUtils.getContainerId());
+        tx.commit().get();
+        //check, if merge and put are coalesced, delete has a different default operation
+        verify(rpc, times(2)).invokeRpc(eq(NetconfMessageTransformUtil.NETCONF_EDIT_CONFIG_QNAME), any());
+    }
+}
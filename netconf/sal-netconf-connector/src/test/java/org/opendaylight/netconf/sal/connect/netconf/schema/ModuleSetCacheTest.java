@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+
+public class ModuleSetCacheTest {
+    private static final SourceIdentifier FOO = RevisionSourceIdentifier.create("foo", Revision.of("2021-01-01"));
+    private static final SourceIdentifier BAR = RevisionSourceIdentifier.create("bar");
+    private static final SourceIdentifier BAZ = RevisionSourceIdentifier.create("baz", Revision.of("2020-02-02"));
+    private static final String DIGEST = ModuleSetCache.contentDigest(Map.of(FOO, hash("foo")));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void before() {
+        directory = folder.getRoot().toPath().resolve("module-sets");
+    }
+
+    @Test
+    public void testStoreLookup() {
+        final ModuleSetCache cache = new ModuleSetCache(directory, 16);
+        assertEquals(Optional.empty(), cache.lookup(List.of(FOO, BAR, BAZ)));
+
+        cache.store(List.of(FOO, BAR, BAZ),
+            new ModuleSetCache.Entry(List.of(FOO), List.of(BAR), List.of(BAZ), DIGEST));
+
+        // Order of sources does not matter
+        final ModuleSetCache.Entry entry = new ModuleSetCache(directory, 16).lookup(List.of(BAZ, FOO, BAR))
+            .orElseThrow();
+        assertEquals(List.of(FOO), entry.getResolved());
+        assertEquals(List.of(BAR), entry.getMissing());
+        assertEquals(List.of(BAZ), entry.getUnresolvable());
+        assertEquals(DIGEST, entry.getContentDigest());
+
+        // A different module set is not found
+        assertEquals(Optional.empty(), cache.lookup(List.of(FOO, BAR)));
+    }
+
+    @Test
+    public void testStoreReplaces() {
+        final ModuleSetCache cache = new ModuleSetCache(directory, 16);
+        cache.store(List.of(FOO, BAR), new ModuleSetCache.Entry(List.of(FOO), List.of(BAR), List.of(), DIGEST));
+        cache.store(List.of(FOO, BAR), new ModuleSetCache.Entry(List.of(FOO, BAR), List.of(), List.of(), DIGEST));
+
+        // Order of sources in an outcome does not matter either
+        assertEquals(Optional.of(new ModuleSetCache.Entry(List.of(BAR, FOO), List.of(), List.of(), DIGEST)),
+            cache.lookup(List.of(FOO, BAR)));
+    }
+
+    @Test
+    public void testFingerprint() {
+        assertEquals(ModuleSetCache.fingerprint(List.of(FOO, BAR)), ModuleSetCache.fingerprint(List.of(BAR, FOO)));
+        final SourceIdentifier barWithRevision = RevisionSourceIdentifier.create("bar", Revision.of("2021-01-01"));
+        assertNotEquals(ModuleSetCache.fingerprint(List.of(FOO, BAR)),
+            ModuleSetCache.fingerprint(List.of(FOO, barWithRevision)));
+    }
+
+    @Test
+    public void testContentDigest() {
+        assertEquals(ModuleSetCache.contentDigest(Map.of(FOO, hash("foo"), BAR, hash("bar"))),
+            ModuleSetCache.contentDigest(Map.of(BAR, hash("bar"), FOO, hash("foo"))));
+        // Same names and revisions, different content
+        assertNotEquals(ModuleSetCache.contentDigest(Map.of(FOO, hash("foo"), BAR, hash("bar"))),
+            ModuleSetCache.contentDigest(Map.of(FOO, hash("foo"), BAR, hash("bar2"))));
+    }
+
+    @Test
+    public void testCorruptedEntry() throws Exception {
+        final ModuleSetCache cache = new ModuleSetCache(directory, 16);
+        cache.store(List.of(FOO, BAR), new ModuleSetCache.Entry(List.of(FOO, BAR), List.of(), List.of(), DIGEST));
+
+        final Path file = directory.resolve(ModuleSetCache.fingerprint(List.of(FOO, BAR)) + ".moduleset");
+        assertTrue(Files.exists(file));
+        Files.write(file, List.of("# netconf module set " + ModuleSetCache.fingerprint(List.of(FOO, BAR)),
+            "requested foo@2021-01-01", "resolved foo@2021-01-01"), StandardCharsets.UTF_8);
+
+        // Requested sources do not match, the entry is discarded
+        assertEquals(Optional.empty(), cache.lookup(List.of(FOO, BAR)));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        final ModuleSetCache cache = new ModuleSetCache(directory, 2);
+        final ModuleSetCache.Entry entry = new ModuleSetCache.Entry(List.of(FOO), List.of(), List.of(), DIGEST);
+
+        cache.store(List.of(FOO), entry);
+        setLastModified(List.of(FOO), 1000);
+        cache.store(List.of(FOO, BAR), entry);
+        setLastModified(List.of(FOO, BAR), 2000);
+
+        // Using the oldest entry makes it the most recently used one
+        assertTrue(cache.lookup(List.of(FOO)).isPresent());
+        cache.store(List.of(FOO, BAZ), entry);
+
+        assertTrue(cache.lookup(List.of(FOO)).isPresent());
+        assertTrue(cache.lookup(List.of(FOO, BAZ)).isPresent());
+        assertEquals(Optional.empty(), cache.lookup(List.of(FOO, BAR)));
+    }
+
+    private static HashCode hash(final String content) {
+        return Hashing.sha256().hashString(content, StandardCharsets.UTF_8);
+    }
+
+    private void setLastModified(final List<SourceIdentifier> sources, final long millis) throws Exception {
+        Files.setLastModifiedTime(directory.resolve(ModuleSetCache.fingerprint(sources) + ".moduleset"),
+            FileTime.fromMillis(millis));
+    }
+}
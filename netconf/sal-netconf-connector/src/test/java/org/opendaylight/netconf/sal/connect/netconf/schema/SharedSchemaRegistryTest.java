@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SharedSchemaRegistry.SharedSchema;
+import org.opendaylight.yangtools.rcf8528.data.util.EmptyMountPointContext;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class SharedSchemaRegistryTest {
+    private static final SourceIdentifier FOO = RevisionSourceIdentifier.create("foo", Revision.of("2021-01-01"));
+    private static final SourceIdentifier BAR = RevisionSourceIdentifier.create("bar");
+
+    private static EffectiveModelContext SCHEMA_CONTEXT;
+    private static EffectiveModelContext OTHER_CONTEXT;
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = YangParserTestUtils.parseYangResource("/schemas/test-module.yang");
+        OTHER_CONTEXT = YangParserTestUtils.parseYangResource("/schemas/test-module.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEMA_CONTEXT = null;
+        OTHER_CONTEXT = null;
+    }
+
+    @Test
+    public void testSharing() {
+        final SharedSchemaRegistry registry = new SharedSchemaRegistry();
+        final SharedSchema first = registry.acquire(List.of(FOO, BAR), SCHEMA_CONTEXT);
+        assertSame(SCHEMA_CONTEXT, first.getEffectiveModelContext());
+        assertFalse(first.isReused());
+
+        // Order of sources does not matter, the first context is shared
+        final SharedSchema second = registry.acquire(List.of(BAR, FOO), OTHER_CONTEXT);
+        assertSame(SCHEMA_CONTEXT, second.getEffectiveModelContext());
+        assertSame(first.getMountPointContext(), second.getMountPointContext());
+        assertTrue(second.isReused());
+
+        // A different set of sources is not shared
+        final SharedSchema third = registry.acquire(List.of(FOO), OTHER_CONTEXT);
+        assertSame(OTHER_CONTEXT, third.getEffectiveModelContext());
+
+        assertEquals(1, registry.getHits());
+        assertEquals(2, registry.getMisses());
+        assertEquals(1.0 / 3, registry.getHitRate(), 0.0001);
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void testRelease() {
+        final SharedSchemaRegistry registry = new SharedSchemaRegistry();
+        final SharedSchema first = registry.acquire(List.of(FOO), SCHEMA_CONTEXT);
+        final SharedSchema second = registry.acquire(List.of(FOO), OTHER_CONTEXT);
+
+        first.close();
+        // Closing twice does not release the schema
+        first.close();
+        assertEquals(1, registry.size());
+        second.close();
+        assertEquals(0, registry.size());
+
+        // Once released, the schema is not shared anymore
+        assertSame(OTHER_CONTEXT, registry.acquire(List.of(FOO), OTHER_CONTEXT).getEffectiveModelContext());
+    }
+
+    @Test
+    public void testSchemaIndex() {
+        final SharedSchemaRegistry registry = new SharedSchemaRegistry();
+        final SharedSchema first = registry.acquire(List.of(FOO), SCHEMA_CONTEXT);
+        final SharedSchema second = registry.acquire(List.of(FOO), SCHEMA_CONTEXT);
+
+        assertSame(first.getSchemaIndex(first.getMountPointContext()),
+            second.getSchemaIndex(second.getMountPointContext()));
+
+        // Other mount point contexts are indexed separately
+        final EmptyMountPointContext other = new EmptyMountPointContext(SCHEMA_CONTEXT);
+        assertNotSame(first.getSchemaIndex(other), first.getSchemaIndex(first.getMountPointContext()));
+        assertSame(other, first.getSchemaIndex(other).getMountPointContext());
+    }
+}
@@ -31,6 +31,7 @@ import static org.opendaylight.netconf.util.NetconfUtil.NETCONF_DATA_QNAME;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -51,6 +52,7 @@ import org.opendaylight.mdsal.binding.runtime.spi.BindingRuntimeHelpers;
 import org.opendaylight.mdsal.dom.api.DOMActionResult;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.netconf.api.DeferredRpcReplyMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.sal.connect.netconf.AbstractBaseSchemasTest;
@@ -341,6 +343,62 @@ public class NetconfMessageTransformerTest extends AbstractBaseSchemasTest {
         assertEquals(schemaNode, schemaParent.getValue().iterator().next());
     }
 
+    @Test
+    public void testDeferredGetConfigResponse() throws Exception {
+        final String reply = "<rpc-reply message-id=\"101\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n"
+                + "<data>\n"
+                + "<netconf-state xmlns=\"urn:ietf:params:xml:ns:yang:ietf-netconf-monitoring\">\n"
+                + "<schemas>\n"
+                + "<schema>\n"
+                + "<identifier>module</identifier>\n"
+                + "<version>2012-12-12</version>\n"
+                + "<format xmlns:x=\"urn:ietf:params:xml:ns:yang:ietf-netconf-monitoring\">x:yang</format>\n"
+                + "</schema>\n"
+                + "</schemas>\n"
+                + "</netconf-state>\n"
+                + "</data>\n"
+                + "</rpc-reply>";
+
+        final DOMSourceAnyxmlNode anyxml = (DOMSourceAnyxmlNode) ((ContainerNode) getTransformer(SCHEMA)
+                .toRpcResult(new NetconfMessage(XmlUtil.readXmlToDocument(reply)), NETCONF_GET_CONFIG_QNAME)
+                .getResult()).getChild(toId(NETCONF_DATA_QNAME)).get();
+        final NormalizedNode<?, ?> expected =
+                NetconfUtil.transformDOMSourceToNormalizedNode(SCHEMA, anyxml.getValue()).getResult();
+
+        final NetconfMessageTransformer transformer = new NetconfMessageTransformer(
+            new EmptyMountPointContext(SCHEMA), true, BASE_SCHEMAS.getBaseSchema(), true);
+        final DOMRpcResult result = transformer.toRpcResult(
+            new DeferredRpcReplyMessage(reply.getBytes(StandardCharsets.UTF_8), "101"), NETCONF_GET_CONFIG_QNAME);
+        assertTrue(result.getErrors().isEmpty());
+        final DataContainerChild<?, ?> data = ((ContainerNode) result.getResult())
+                .getChild(toId(NETCONF_DATA_QNAME)).get();
+        assertTrue(data instanceof ContainerNode);
+        assertEquals(expected, data);
+    }
+
+    @Test
+    public void testDeferredGetSchemaResponse() throws Exception {
+        final DOMRpcResult result = getTransformer(SCHEMA).toRpcResult(new DeferredRpcReplyMessage((
+                "<rpc-reply message-id=\"101\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">"
+                        + "<data xmlns=\"urn:ietf:params:xml:ns:yang:ietf-netconf-monitoring\">"
+                        + "Random YANG SCHEMA"
+                        + "</data>"
+                        + "</rpc-reply>").getBytes(StandardCharsets.UTF_8), "101"), GET_SCHEMA_QNAME);
+        assertTrue(result.getErrors().isEmpty());
+        final DOMSource schemaContent = ((DOMSourceAnyxmlNode) ((ContainerNode) result.getResult())
+                .getValue().iterator().next()).getValue();
+        assertThat(schemaContent.getNode().getTextContent(), CoreMatchers.containsString("Random YANG SCHEMA"));
+    }
+
+    @Test
+    public void testDeferredOkResponse() throws Exception {
+        final DeferredRpcReplyMessage reply = new DeferredRpcReplyMessage(("<rpc-reply message-id=\"101\" "
+                + "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>")
+                .getBytes(StandardCharsets.UTF_8), "101");
+        assertNull(getTransformer(SCHEMA).toRpcResult(reply, NETCONF_LOCK_QNAME).getResult());
+        assertNull(getTransformer(SCHEMA).toRpcResult(reply, GET_SCHEMA_QNAME).getResult());
+    }
+
     @Test
     public void testGetConfigLeafRequest() throws Exception {
         final DataContainerChild<?, ?> filter = toFilterStructure(
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import org.custommonkey.xmlunit.Diff;
+import org.custommonkey.xmlunit.XMLUnit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.netconf.api.ModifyAction;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.sal.connect.netconf.AbstractTestModelTest;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.DOMSourceAnyxmlNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.w3c.dom.Element;
+
+public class EditConfigBatchTest extends AbstractTestModelTest {
+    private static final QName C = QName.create("test:namespace", "2013-07-22", "c");
+    private static final QName A = QName.create(C, "a");
+    private static final QName B = QName.create(C, "b");
+    private static final QName E = QName.create(C, "e");
+
+    private static final EditConfigModification PUT_A = new EditConfigModification(
+        YangInstanceIdentifier.create(new NodeIdentifier(C), new NodeIdentifier(A)),
+        Optional.of(Builders.leafBuilder().withNodeIdentifier(new NodeIdentifier(A)).withValue("foo").build()),
+        Optional.of(ModifyAction.REPLACE));
+    private static final EditConfigModification MERGE_B = new EditConfigModification(
+        YangInstanceIdentifier.create(new NodeIdentifier(C), new NodeIdentifier(B)),
+        Optional.of(Builders.leafBuilder().withNodeIdentifier(new NodeIdentifier(B)).withValue("bar").build()),
+        Optional.empty());
+    private static final EditConfigModification DELETE_C = new EditConfigModification(
+        YangInstanceIdentifier.create(new NodeIdentifier(C)), Optional.empty(), Optional.of(ModifyAction.DELETE));
+    private static final EditConfigModification DELETE_E = new EditConfigModification(
+        YangInstanceIdentifier.create(new NodeIdentifier(E)), Optional.empty(), Optional.of(ModifyAction.DELETE));
+
+    @BeforeClass
+    public static void setupXmlUnit() {
+        XMLUnit.setIgnoreWhitespace(true);
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        final List<DOMSourceAnyxmlNode> structures = EditConfigBatch.createEditConfigStructures(SCHEMA_CONTEXT,
+            List.of(PUT_A, MERGE_B, DELETE_E), 16);
+        assertEquals(1, structures.size());
+
+        final Diff diff = XMLUnit.compareXML("<config xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" "
+                + "xmlns:nc=\"urn:ietf:params:xml:ns:netconf:base:1.0\">"
+                + "<c xmlns=\"test:namespace\"><a nc:operation=\"replace\">foo</a><b>bar</b></c>"
+                + "<e xmlns=\"test:namespace\" nc:operation=\"delete\"/>"
+                + "</config>",
+            XmlUtil.toString((Element) structures.get(0).getValue().getNode()));
+        assertTrue(diff.toString(), diff.similar());
+    }
+
+    @Test
+    public void testOverlappingModifications() {
+        // DELETE_C overlaps with both PUT_A and MERGE_B
+        assertEquals(3, EditConfigBatch.createEditConfigStructures(SCHEMA_CONTEXT,
+            List.of(PUT_A, DELETE_C, MERGE_B), 16).size());
+        assertEquals(2, EditConfigBatch.createEditConfigStructures(SCHEMA_CONTEXT,
+            List.of(PUT_A, MERGE_B, DELETE_C), 16).size());
+    }
+
+    @Test
+    public void testMaxModifications() {
+        assertEquals(2, EditConfigBatch.createEditConfigStructures(SCHEMA_CONTEXT,
+            List.of(PUT_A, MERGE_B, DELETE_E), 2).size());
+    }
+}
@@ -13,9 +13,12 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.util.concurrent.FutureCallback;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
@@ -33,6 +36,7 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.api.DOMRpcService;
 import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.netconf.api.NetconfMessage;
@@ -90,6 +94,8 @@ public class NetconfBaseOpsTest extends AbstractTestModelTest {
     private RemoteDeviceCommunicator<NetconfMessage> listener;
     private NetconfRpcFutureCallback callback;
     private NetconfBaseOps baseOps;
+    private DOMRpcService rpc;
+    private RemoteDeviceId deviceId;
 
     @Before
     public void setUp() throws Exception {
@@ -117,10 +123,9 @@ public class NetconfBaseOpsTest extends AbstractTestModelTest {
                 .thenReturn(RpcResultBuilder.success(ok).buildFuture());
         final MessageTransformer<NetconfMessage> transformer = new NetconfMessageTransformer(
             new EmptyMountPointContext(SCHEMA_CONTEXT), true, BASE_SCHEMAS.getBaseSchema());
-        final DOMRpcService rpc = new NetconfDeviceRpc(SCHEMA_CONTEXT, listener, transformer);
-        final RemoteDeviceId id =
-                new RemoteDeviceId("device-1", InetSocketAddress.createUnresolved("localhost", 17830));
-        callback = new NetconfRpcFutureCallback("prefix", id);
+        rpc = new NetconfDeviceRpc(SCHEMA_CONTEXT, listener, transformer);
+        deviceId = new RemoteDeviceId("device-1", InetSocketAddress.createUnresolved("localhost", 17830));
+        callback = new NetconfRpcFutureCallback("prefix", deviceId);
         baseOps = new NetconfBaseOps(rpc, new EmptyMountPointContext(SCHEMA_CONTEXT));
     }
 
@@ -215,6 +220,26 @@ public class NetconfBaseOpsTest extends AbstractTestModelTest {
         assertEquals(NetconfUtil.NETCONF_DATA_QNAME, dataOpt.get().getNodeType());
     }
 
+    @Test
+    public void testCachedGetDataNotifiesEveryCallback() throws Exception {
+        final NetconfReadCache readCache = new NetconfReadCache(deviceId);
+        readCache.configure(60000, 16);
+        final NetconfBaseOps cachingOps = new NetconfBaseOps(rpc, new EmptyMountPointContext(SCHEMA_CONTEXT),
+            readCache);
+        final FutureCallback<DOMRpcResult> first = mock(FutureCallback.class);
+        final FutureCallback<DOMRpcResult> second = mock(FutureCallback.class);
+        doNothing().when(first).onSuccess(any());
+        doNothing().when(second).onSuccess(any());
+
+        assertTrue(cachingOps.getData(first, Optional.of(YangInstanceIdentifier.empty())).get().isPresent());
+        assertTrue(cachingOps.getData(second, Optional.of(YangInstanceIdentifier.empty())).get().isPresent());
+
+        // The second read is served from the cache, but its callback is notified all the same
+        verify(listener).sendRequest(any(), eq(NetconfMessageTransformUtil.NETCONF_GET_QNAME));
+        verify(first).onSuccess(any());
+        verify(second).onSuccess(any());
+    }
+
     @Test
     public void testGetConfigRunning() throws Exception {
         baseOps.getConfigRunning(callback, Optional.empty());
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.Test;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.mdsal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.RpcError.ErrorType;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class NetconfReadCacheTest {
+    private static final RemoteDeviceId ID = new RemoteDeviceId("test",
+        InetSocketAddress.createUnresolved("localhost", 22));
+    private static final QName FOO = QName.create("urn:foo", "foo");
+    private static final Optional<YangInstanceIdentifier> PATH = Optional.of(YangInstanceIdentifier.of(FOO));
+    private static final DOMRpcResult DATA = new DefaultDOMRpcResult(ImmutableNodes.containerNode(FOO));
+
+    private final List<SettableFuture<DOMRpcResult>> requests = new ArrayList<>();
+    private final Supplier<ListenableFuture<? extends DOMRpcResult>> reader = () -> {
+        final SettableFuture<DOMRpcResult> future = SettableFuture.create();
+        requests.add(future);
+        return future;
+    };
+
+    private long nanos;
+    private final NetconfReadCache cache = new NetconfReadCache(ID, new Ticker() {
+        @Override
+        public long read() {
+            return nanos;
+        }
+    });
+
+    @Test
+    public void testDisabled() {
+        cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void testCoalescingAndExpiry() throws Exception {
+        cache.configure(1000, 16);
+
+        final ListenableFuture<? extends DOMRpcResult> first =
+            cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        final ListenableFuture<? extends DOMRpcResult> second =
+            cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        // A concurrent identical read shares the request
+        assertEquals(1, requests.size());
+        assertFalse(second.isDone());
+
+        requests.get(0).set(DATA);
+        assertSame(DATA, first.get());
+        assertSame(DATA, second.get());
+
+        // Different datastore is a different read
+        cache.read(LogicalDatastoreType.CONFIGURATION, PATH, List.of(), reader);
+        assertEquals(2, requests.size());
+
+        nanos += TimeUnit.MILLISECONDS.toNanos(999);
+        assertSame(DATA, cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader).get());
+        assertEquals(2, requests.size());
+
+        nanos += TimeUnit.MILLISECONDS.toNanos(1);
+        cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    public void testExpiryFromReply() throws Exception {
+        cache.configure(1000, 16);
+
+        cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        // The reply takes longer than the time to live
+        nanos += TimeUnit.MILLISECONDS.toNanos(900);
+        requests.get(0).set(DATA);
+
+        nanos += TimeUnit.MILLISECONDS.toNanos(900);
+        assertSame(DATA, cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader).get());
+        assertEquals(1, requests.size());
+
+        nanos += TimeUnit.MILLISECONDS.toNanos(100);
+        cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void testErrorsNotCached() {
+        cache.configure(1000, 16);
+
+        cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        requests.get(0).set(new DefaultDOMRpcResult(RpcResultBuilder.newError(ErrorType.RPC, "operation-failed",
+            "failed")));
+        assertEquals(0, cache.size());
+
+        cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void testFailureNotCached() {
+        cache.configure(1000, 16);
+
+        cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        requests.get(0).setException(new IllegalStateException("failed"));
+        assertEquals(0, cache.size());
+
+        cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.configure(1000, 16);
+
+        cache.read(LogicalDatastoreType.OPERATIONAL, PATH, List.of(), reader);
+        cache.read(LogicalDatastoreType.CONFIGURATION, PATH, List.of(), reader);
+        requests.forEach(future -> future.set(DATA));
+        assertEquals(2, cache.size());
+
+        cache.invalidate(LogicalDatastoreType.OPERATIONAL);
+        assertEquals(1, cache.size());
+        cache.read(LogicalDatastoreType.CONFIGURATION, PATH, List.of(), reader);
+        assertEquals(2, requests.size());
+
+        cache.invalidate();
+        assertEquals(0, cache.size());
+    }
+}
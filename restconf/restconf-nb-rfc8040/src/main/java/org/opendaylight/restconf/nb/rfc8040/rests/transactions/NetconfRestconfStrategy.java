@@ -41,7 +41,7 @@ public final class NetconfRestconfStrategy extends RestconfStrategy {
 
     @Override
     public RestconfTransaction prepareWriteExecution() {
-        return new NetconfRestconfTransaction(netconfService);
+        return new NetconfRestconfTransaction(netconfService.forTransaction());
     }
 
     @Override
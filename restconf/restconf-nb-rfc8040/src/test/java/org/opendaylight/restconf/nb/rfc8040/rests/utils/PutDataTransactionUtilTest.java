@@ -9,6 +9,7 @@ package org.opendaylight.restconf.nb.rfc8040.rests.utils;
 
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.opendaylight.yangtools.util.concurrent.FluentFutures.immediateFalseFluentFuture;
@@ -79,6 +80,8 @@ public class PutDataTransactionUtilTest {
 
     @Before
     public void setUp() throws Exception {
+        // Transactions use the service itself
+        lenient().doReturn(netconfService).when(netconfService).forTransaction();
         this.schema =
                 YangParserTestUtils.parseYangFiles(TestRestconfUtils.loadFiles(PATH_FOR_NEW_SCHEMA_CONTEXT));
 